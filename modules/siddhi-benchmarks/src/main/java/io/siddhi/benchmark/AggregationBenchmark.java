@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import io.siddhi.core.event.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of incremental aggregation over the timestamp attribute of the events, which advances by a millisecond
+ * per event, and of retrieving the per second aggregates of the first minute of events, aggregated before measuring.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AggregationBenchmark extends SiddhiAppBenchmark {
+
+    private static final int PRELOADED_EVENT_COUNT = 60000;
+    private static final String FIND_QUERY = "" +
+            "from StockAggregation " +
+            "within 0L, " + PRELOADED_EVENT_COUNT + "L " +
+            "per 'seconds' " +
+            "select symbol, avgPrice, totalVolume";
+
+    @Param({"10", "1000"})
+    private int groupCount;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        startSiddhiApp(STOCK_STREAM_DEFINITION +
+                "define aggregation StockAggregation " +
+                "from StockStream " +
+                "select symbol, avg(price) as avgPrice, sum(volume) as totalVolume " +
+                "group by symbol " +
+                "aggregate by timestamp every sec...year; ", groupCount);
+        for (int i = 0; i < PRELOADED_EVENT_COUNT; i++) {
+            sendEvent();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        shutdownSiddhiApp();
+    }
+
+    @Benchmark
+    public void aggregate() throws InterruptedException {
+        sendEvent();
+    }
+
+    @Benchmark
+    public Event[] find() {
+        return siddhiAppRuntime.query(FIND_QUERY);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the Siddhi benchmarks with the allocation profiler, writing the results as JSON such that they can be compared
+ * between releases.
+ * <p>
+ * Usage: {@code java -jar siddhi-benchmarks.jar [benchmark regexp...]}, where the benchmarks matching any of the given
+ * regular expressions are run, or all the benchmarks when none is given. The result file defaults to
+ * {@code siddhi-benchmarks.json} and can be changed via the {@code siddhi.benchmark.result} system property.
+ */
+public class BenchmarkRunner {
+
+    private static final String RESULT_FILE_PROPERTY = "siddhi.benchmark.result";
+    private static final String DEFAULT_RESULT_FILE = "siddhi-benchmarks.json";
+
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder optionsBuilder = new OptionsBuilder()
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty(RESULT_FILE_PROPERTY, DEFAULT_RESULT_FILE));
+        if (args.length == 0) {
+            optionsBuilder.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+        }
+        for (String include : args) {
+            optionsBuilder.include(include);
+        }
+        new Runner(optionsBuilder.build()).run();
+    }
+}
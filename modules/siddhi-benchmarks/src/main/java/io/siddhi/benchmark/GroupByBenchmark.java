@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of group-by selectors with several aggregations, with and without a window, for a low and a high number
+ * of groups.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GroupByBenchmark extends SiddhiAppBenchmark {
+
+    @Param({"10", "1000"})
+    private int groupCount;
+
+    @Param({"none", "length"})
+    private String window;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        startSiddhiApp(STOCK_STREAM_DEFINITION +
+                "@info(name = 'query1') " +
+                "from StockStream" + ("length".equals(window) ? "#window.length(1000) " : " ") +
+                "select symbol, sum(volume) as totalVolume, avg(price) as avgPrice, max(price) as maxPrice, " +
+                "count() as eventCount " +
+                "group by symbol " +
+                "insert into OutputStream; ", groupCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        shutdownSiddhiApp();
+    }
+
+    @Benchmark
+    public void groupBy() throws InterruptedException {
+        sendEvent();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of joining each event with a named length window, or with a table keyed by the symbol, both of which
+ * are populated from the same stream.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JoinBenchmark extends SiddhiAppBenchmark {
+
+    @Param({"window", "table"})
+    private String joinWith;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String siddhiApp;
+        if ("window".equals(joinWith)) {
+            siddhiApp = STOCK_STREAM_DEFINITION +
+                    "define window StockWindow (symbol string, price float, volume long) length(1000); " +
+                    "" +
+                    "@info(name = 'query1') " +
+                    "from StockStream as s unidirectional join StockWindow as w " +
+                    "on s.symbol == w.symbol " +
+                    "select s.symbol, s.price, w.price as windowPrice " +
+                    "insert into OutputStream; " +
+                    "" +
+                    "@info(name = 'query2') " +
+                    "from StockStream " +
+                    "select symbol, price, volume " +
+                    "insert into StockWindow; ";
+        } else {
+            siddhiApp = STOCK_STREAM_DEFINITION +
+                    "@PrimaryKey('symbol') " +
+                    "define table StockTable (symbol string, price float, volume long); " +
+                    "" +
+                    "@info(name = 'query1') " +
+                    "from StockStream as s join StockTable as t " +
+                    "on s.symbol == t.symbol " +
+                    "select s.symbol, s.price, t.price as tablePrice " +
+                    "insert into OutputStream; " +
+                    "" +
+                    "@info(name = 'query2') " +
+                    "from StockStream " +
+                    "select symbol, price, volume " +
+                    "update or insert into StockTable " +
+                    "on StockTable.symbol == symbol; ";
+        }
+        startSiddhiApp(siddhiApp, 100);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        shutdownSiddhiApp();
+    }
+
+    @Benchmark
+    public void join() throws InterruptedException {
+        sendEvent();
+    }
+}
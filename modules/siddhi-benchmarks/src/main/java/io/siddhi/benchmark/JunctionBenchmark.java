@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of dispatching events from a stream junction to its subscribed queries, either synchronously or through
+ * the ring buffer of an {@code @async} stream. Async throughput is bounded by the consuming workers once the buffer
+ * is full.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JunctionBenchmark extends SiddhiAppBenchmark {
+
+    @Param({"sync", "async"})
+    private String dispatch;
+
+    @Param({"1", "4"})
+    private int subscriberCount;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringBuilder siddhiApp = new StringBuilder();
+        if ("async".equals(dispatch)) {
+            siddhiApp.append("@async(buffer.size='1024', workers='1', batch.size.max='64') ");
+        }
+        siddhiApp.append(STOCK_STREAM_DEFINITION);
+        for (int i = 0; i < subscriberCount; i++) {
+            siddhiApp.append("@info(name = 'query").append(i).append("') ")
+                    .append("from StockStream select symbol, price, volume insert into OutputStream; ");
+        }
+        startSiddhiApp(siddhiApp.toString(), 100);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        shutdownSiddhiApp();
+    }
+
+    @Benchmark
+    public void dispatch() throws InterruptedException {
+        sendEvent();
+    }
+}
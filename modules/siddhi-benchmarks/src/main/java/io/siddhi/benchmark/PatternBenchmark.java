@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of every patterns, with and without a within time, of counting patterns and of sequences.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PatternBenchmark extends SiddhiAppBenchmark {
+
+    private static final Map<String, String> STATES = new HashMap<>();
+
+    static {
+        STATES.put("pattern", "every e1=StockStream[price > 70] -> " +
+                "e2=StockStream[symbol == e1.symbol and price < e1.price] ");
+        STATES.put("patternWithin", "every e1=StockStream[price > 70] -> " +
+                "e2=StockStream[symbol == e1.symbol and price < e1.price] within 100 milliseconds ");
+        STATES.put("countingPattern", "every e1=StockStream[price > 70] -> " +
+                "e2=StockStream[symbol == e1.symbol]<2:5> ");
+        STATES.put("sequence", "every e1=StockStream[price > 70], e2=StockStream[price < e1.price] ");
+    }
+
+    @Param({"pattern", "patternWithin", "countingPattern", "sequence"})
+    private String state;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        startSiddhiApp(STOCK_STREAM_DEFINITION +
+                "@info(name = 'query1') " +
+                "from " + STATES.get(state) +
+                "select e1.symbol, e1.price as initialPrice, e2[0].price as price " +
+                "insert into OutputStream; ", 100);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        shutdownSiddhiApp();
+    }
+
+    @Benchmark
+    public void match() throws InterruptedException {
+        sendEvent();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Base of the benchmarks that run a Siddhi app, sending generated stock events to {@code StockStream} and counting
+ * the events arriving at the output stream, such that the work done by the queries cannot be eliminated.
+ */
+public abstract class SiddhiAppBenchmark {
+
+    protected static final String STOCK_STREAM_DEFINITION = "" +
+            "define stream StockStream (symbol string, price float, volume long, timestamp long); ";
+    protected static final String STOCK_STREAM = "StockStream";
+    protected static final String OUTPUT_STREAM = "OutputStream";
+
+    private static final int EVENT_COUNT = 1024;
+
+    protected SiddhiManager siddhiManager;
+    protected SiddhiAppRuntime siddhiAppRuntime;
+    protected final LongAdder outputCount = new LongAdder();
+    private InputHandler inputHandler;
+    private String[] symbols;
+    private float[] prices;
+    private long[] volumes;
+    private int eventIndex;
+    private long timestamp;
+
+    /**
+     * Creates and starts the Siddhi app, with events of the given number of distinct symbols.
+     *
+     * @param siddhiApp   Siddhi app consuming {@code StockStream}
+     * @param symbolCount number of distinct symbols of the sent events
+     */
+    protected void startSiddhiApp(String siddhiApp, int symbolCount) {
+        symbols = new String[EVENT_COUNT];
+        prices = new float[EVENT_COUNT];
+        volumes = new long[EVENT_COUNT];
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            symbols[i] = "SYMBOL" + (i % symbolCount);
+            prices[i] = 50f + (i * 31 % 100);
+            volumes[i] = 10L + (i * 17 % 200);
+        }
+        eventIndex = 0;
+        timestamp = 0;
+        outputCount.reset();
+
+        siddhiManager = new SiddhiManager();
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        if (siddhiAppRuntime.getStreamDefinitionMap().containsKey(OUTPUT_STREAM)) {
+            siddhiAppRuntime.addCallback(OUTPUT_STREAM, new StreamCallback() {
+                @Override
+                public void receive(Event[] events) {
+                    outputCount.add(events.length);
+                }
+            });
+        }
+        inputHandler = siddhiAppRuntime.getInputHandler(STOCK_STREAM);
+        siddhiAppRuntime.start();
+    }
+
+    /**
+     * Sends the next stock event, whose timestamp attribute is incremented by a millisecond for each event.
+     */
+    protected void sendEvent() throws InterruptedException {
+        int index = eventIndex++ & (EVENT_COUNT - 1);
+        inputHandler.send(new Object[]{symbols[index], prices[index], volumes[index], timestamp++});
+    }
+
+    /**
+     * Gets the symbol of the event to be sent next.
+     */
+    protected String getNextSymbol() {
+        return symbols[eventIndex & (EVENT_COUNT - 1)];
+    }
+
+    protected void shutdownSiddhiApp() {
+        if (siddhiAppRuntime != null) {
+            siddhiAppRuntime.shutdown();
+        }
+        if (siddhiManager != null) {
+            siddhiManager.shutdown();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import io.siddhi.query.api.SiddhiApp;
+import io.siddhi.query.api.execution.query.OnDemandQuery;
+import io.siddhi.query.api.expression.Expression;
+import io.siddhi.query.compiler.SiddhiCompiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse time benchmarks of {@link SiddhiCompiler}. The uncached benchmarks clear the parse cache before each
+ * invocation, hence they measure lexing, parsing and visiting the content, while the cached benchmarks only measure
+ * visiting the cached parse trees.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SiddhiCompilerBenchmark {
+
+    private static final String ON_DEMAND_QUERY = "from StockTable on price > 10 and symbol == 'WSO2' " +
+            "select symbol, sum(volume) as totalVolume group by symbol having totalVolume > 100 " +
+            "order by totalVolume desc limit 10;";
+    private static final String EXPRESSION = "(price * volume > 1000 and symbol != 'IBM') or " +
+            "(volume / 2 + 1 < 50 and not available)";
+
+    @Benchmark
+    public SiddhiApp parseSiddhiApp(SiddhiAppState siddhiAppState, EmptyParseCache emptyParseCache) {
+        return SiddhiCompiler.parse(siddhiAppState.siddhiApp);
+    }
+
+    @Benchmark
+    public SiddhiApp parseCachedSiddhiApp(SiddhiAppState siddhiAppState) {
+        return SiddhiCompiler.parse(siddhiAppState.siddhiApp);
+    }
+
+    @Benchmark
+    public OnDemandQuery parseOnDemandQuery(EmptyParseCache emptyParseCache) {
+        return SiddhiCompiler.parseOnDemandQuery(ON_DEMAND_QUERY);
+    }
+
+    @Benchmark
+    public OnDemandQuery parseCachedOnDemandQuery() {
+        return SiddhiCompiler.parseOnDemandQuery(ON_DEMAND_QUERY);
+    }
+
+    @Benchmark
+    public Expression parseExpression() {
+        return SiddhiCompiler.parseExpression(EXPRESSION);
+    }
+
+    /**
+     * Siddhi app with the given number of filter, window, pattern and join queries.
+     */
+    @State(Scope.Benchmark)
+    public static class SiddhiAppState {
+
+        @Param({"10", "100"})
+        private int queryCount;
+
+        private String siddhiApp;
+
+        @Setup(Level.Trial)
+        public void createSiddhiApp() {
+            StringBuilder siddhiAppBuilder = new StringBuilder("@app:name('ParseBenchmark') " +
+                    "define stream StockStream (symbol string, price float, volume long, available bool); " +
+                    "define table StockTable (symbol string, price float, volume long); ");
+            for (int i = 0; i < queryCount; i++) {
+                siddhiAppBuilder.append("@info(name = 'query").append(i).append("') ");
+                switch (i % 4) {
+                    case 0:
+                        siddhiAppBuilder.append("from StockStream[price > ").append(i).append(" and available] ")
+                                .append("select symbol, price * volume as value insert into FilterStream")
+                                .append(i).append("; ");
+                        break;
+                    case 1:
+                        siddhiAppBuilder.append("from StockStream#window.time(").append(i).append(" sec) ")
+                                .append("select symbol, avg(price) as avgPrice, count() as total ")
+                                .append("group by symbol having avgPrice > 10 ")
+                                .append("insert all events into WindowStream").append(i).append("; ");
+                        break;
+                    case 2:
+                        siddhiAppBuilder.append("from every e1=StockStream[price > 10] -> ")
+                                .append("e2=StockStream[symbol == e1.symbol and price > e1.price] within ")
+                                .append(i + 1).append(" min select e1.symbol, e2.price as price ")
+                                .append("insert into PatternStream").append(i).append("; ");
+                        break;
+                    default:
+                        siddhiAppBuilder.append("from StockStream#window.length(10) join StockTable ")
+                                .append("on StockStream.symbol == StockTable.symbol ")
+                                .append("select StockStream.symbol, StockTable.volume ")
+                                .append("insert into JoinStream").append(i).append("; ");
+                }
+            }
+            siddhiApp = siddhiAppBuilder.toString();
+        }
+    }
+
+    /**
+     * Clears the parse cache before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class EmptyParseCache {
+
+        @Setup(Level.Invocation)
+        public void clearParseCache() {
+            SiddhiCompiler.clearParseCache();
+        }
+    }
+}
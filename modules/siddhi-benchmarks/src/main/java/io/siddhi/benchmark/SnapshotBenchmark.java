@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time taken to take and to restore a full snapshot of a Siddhi app holding the given number of events in each of
+ * its windows, along with group-by, pattern and table states.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapshotBenchmark extends SiddhiAppBenchmark {
+
+    @Param({"1000", "100000"})
+    private int windowLength;
+
+    private byte[] snapshot;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        startSiddhiApp(STOCK_STREAM_DEFINITION +
+                "define table StockTable (symbol string, price float, volume long); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream#window.length(" + windowLength + ") " +
+                "select symbol, sum(volume) as totalVolume, avg(price) as avgPrice " +
+                "group by symbol " +
+                "insert into OutputStream; " +
+                "" +
+                "@info(name = 'query2') " +
+                "from StockStream#window.externalTime(timestamp, " + windowLength + " milliseconds) " +
+                "select symbol, max(price) as maxPrice " +
+                "insert into MaxPriceStream; " +
+                "" +
+                "@info(name = 'query3') " +
+                "from every e1=StockStream[price > 140] -> e2=StockStream[symbol == e1.symbol and price < 60] " +
+                "select e1.symbol, e2.price as price " +
+                "insert into PatternStream; " +
+                "" +
+                "@info(name = 'query4') " +
+                "from StockStream " +
+                "select symbol, price, volume " +
+                "update or insert into StockTable " +
+                "on StockTable.symbol == symbol; ", 100);
+        for (int i = 0; i < windowLength; i++) {
+            sendEvent();
+        }
+        snapshot = siddhiAppRuntime.snapshot();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        shutdownSiddhiApp();
+    }
+
+    @Benchmark
+    public byte[] snapshot() {
+        return siddhiAppRuntime.snapshot();
+    }
+
+    @Benchmark
+    public void restore() throws CannotRestoreSiddhiAppStateException {
+        siddhiAppRuntime.restore(snapshot);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import io.siddhi.core.event.Event;
+import io.siddhi.core.query.PreparedOnDemandQuery;
+import io.siddhi.core.stream.input.InputHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of updating, deleting and finding the events of an in-memory table holding an event per symbol, when
+ * the symbol is not indexed, is indexed, or is the primary key of the table.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TableBenchmark extends SiddhiAppBenchmark {
+
+    private static final int SYMBOL_COUNT = 1000;
+    private static final Map<String, String> INDEXES = new HashMap<>();
+
+    static {
+        INDEXES.put("none", "");
+        INDEXES.put("index", "@Index('symbol') ");
+        INDEXES.put("primaryKey", "@PrimaryKey('symbol') ");
+    }
+
+    @Param({"none", "index", "primaryKey"})
+    private String index;
+
+    private InputHandler deleteInputHandler;
+    private PreparedOnDemandQuery findQuery;
+    private String[] findSymbols;
+    private int findIndex;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        startSiddhiApp(STOCK_STREAM_DEFINITION +
+                "define stream DeleteStockStream (symbol string); " +
+                INDEXES.get(index) +
+                "define table StockTable (symbol string, price float, volume long); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select symbol, price, volume " +
+                "update or insert into StockTable " +
+                "on StockTable.symbol == symbol; " +
+                "" +
+                "@info(name = 'query2') " +
+                "from DeleteStockStream " +
+                "delete StockTable " +
+                "on StockTable.symbol == symbol; ", SYMBOL_COUNT);
+        deleteInputHandler = siddhiAppRuntime.getInputHandler("DeleteStockStream");
+        findQuery = siddhiAppRuntime.prepareQuery("" +
+                "from StockTable " +
+                "on symbol == ? " +
+                "select symbol, price, volume ");
+        findSymbols = new String[SYMBOL_COUNT];
+        for (int i = 0; i < SYMBOL_COUNT; i++) {
+            findSymbols[i] = getNextSymbol();
+            sendEvent();
+        }
+        findIndex = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        shutdownSiddhiApp();
+    }
+
+    @Benchmark
+    public void updateOrInsert() throws InterruptedException {
+        sendEvent();
+    }
+
+    @Benchmark
+    public void deleteAndInsert() throws InterruptedException {
+        deleteInputHandler.send(new Object[]{getNextSymbol()});
+        sendEvent();
+    }
+
+    @Benchmark
+    public Event[] find() {
+        return findQuery.execute(findSymbols[findIndex++ % SYMBOL_COUNT]);
+    }
+}
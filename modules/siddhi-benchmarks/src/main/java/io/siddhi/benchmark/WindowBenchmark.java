@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of each built-in window, aggregating the events in the window. The external time based windows use the
+ * timestamp attribute of the events, which advances by a millisecond per event.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WindowBenchmark extends SiddhiAppBenchmark {
+
+    private static final Map<String, String> WINDOWS = new HashMap<>();
+
+    static {
+        WINDOWS.put("length", "length(1000)");
+        WINDOWS.put("lengthBatch", "lengthBatch(1000)");
+        WINDOWS.put("time", "time(1 sec)");
+        WINDOWS.put("timeBatch", "timeBatch(1 sec)");
+        WINDOWS.put("timeLength", "timeLength(1 sec, 1000)");
+        WINDOWS.put("externalTime", "externalTime(timestamp, 1 sec)");
+        WINDOWS.put("externalTimeBatch", "externalTimeBatch(timestamp, 1 sec)");
+        WINDOWS.put("sort", "sort(1000, price, 'asc')");
+        WINDOWS.put("frequent", "frequent(10, symbol)");
+        WINDOWS.put("lossyFrequent", "lossyFrequent(0.1, 0.01)");
+        WINDOWS.put("cron", "cron('*/1 * * * * ?')");
+        WINDOWS.put("delay", "delay(1 sec)");
+        WINDOWS.put("session", "session(1 sec, symbol)");
+        WINDOWS.put("batch", "batch()");
+        WINDOWS.put("expression", "expression('count() <= 1000')");
+        WINDOWS.put("expressionBatch", "expressionBatch('count() <= 1000')");
+    }
+
+    @Param({"length", "lengthBatch", "time", "timeBatch", "timeLength", "externalTime", "externalTimeBatch", "sort",
+            "frequent", "lossyFrequent", "cron", "delay", "session", "batch", "expression", "expressionBatch"})
+    private String window;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        startSiddhiApp(STOCK_STREAM_DEFINITION +
+                "@info(name = 'query1') " +
+                "from StockStream#window." + WINDOWS.get(window) + " " +
+                "select symbol, sum(volume) as totalVolume, avg(price) as avgPrice " +
+                "insert all events into OutputStream; ", 100);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        shutdownSiddhiApp();
+    }
+
+    @Benchmark
+    public void window() throws InterruptedException {
+        sendEvent();
+    }
+}
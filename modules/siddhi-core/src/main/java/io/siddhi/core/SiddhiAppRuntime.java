@@ -24,6 +24,8 @@ import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.CannotClearSiddhiAppStateException;
 import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
 import io.siddhi.core.partition.PartitionRuntime;
+import io.siddhi.core.query.OnDemandQueryCursor;
+import io.siddhi.core.query.PreparedOnDemandQuery;
 import io.siddhi.core.query.QueryRuntime;
 import io.siddhi.core.query.output.callback.QueryCallback;
 import io.siddhi.core.stream.input.InputHandler;
@@ -123,6 +125,36 @@ public interface SiddhiAppRuntime {
 
     Event[] query(String onDemandQuery);
 
+    /**
+     * Execute the on-demand query, binding the given values to its bind variables ({@code ?}) in order.
+     *
+     * @param onDemandQuery on-demand query with bind variables
+     * @param bindValues    values bound to the bind variables, which cannot be null
+     * @return resulting events
+     */
+    Event[] query(String onDemandQuery, Object... bindValues);
+
+    /**
+     * Execute the on-demand query, returning the resulting events lazily in pages, such that large results can be
+     * consumed without materializing them at once. The cursor has to be closed when it is not fully consumed.
+     *
+     * @param onDemandQuery on-demand query
+     * @param pageSize      maximum number of events in a page
+     * @return cursor over the pages of resulting events
+     */
+    OnDemandQueryCursor queryStream(String onDemandQuery, int pageSize);
+
+    OnDemandQueryCursor queryStream(OnDemandQuery onDemandQuery, int pageSize);
+
+    /**
+     * Prepare the on-demand query, such that it can be executed repeatedly with different bind values. The query is
+     * compiled for the types of the bound values and the compiled runtime is reused by later executions.
+     *
+     * @param onDemandQuery on-demand query with bind variables ({@code ?})
+     * @return prepared on-demand query
+     */
+    PreparedOnDemandQuery prepareQuery(String onDemandQuery);
+
     @Deprecated
     Event[] query(StoreQuery storeQuery);
 
@@ -166,6 +198,14 @@ public interface SiddhiAppRuntime {
 
     void clearAllRevisions() throws CannotClearSiddhiAppStateException;
 
+    /**
+     * Get the progress of the ongoing or the last state restore, as the fraction of the elements whose states have
+     * been restored.
+     *
+     * @return restore progress from 0 to 1, which is 1 when no restore has been started
+     */
+    double getRestoreProgress();
+
     void handleExceptionWith(ExceptionHandler<Object> exceptionHandler);
 
     void handleRuntimeExceptionWith(ExceptionListener exceptionListener);
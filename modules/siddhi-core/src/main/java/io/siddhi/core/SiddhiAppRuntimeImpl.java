@@ -22,6 +22,7 @@ import com.lmax.disruptor.ExceptionHandler;
 import io.siddhi.annotation.Extension;
 import io.siddhi.core.aggregation.AggregationRuntime;
 import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.config.SiddhiOnDemandQueryContext;
 import io.siddhi.core.debugger.SiddhiDebugger;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.CannotClearSiddhiAppStateException;
@@ -29,10 +30,13 @@ import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
 import io.siddhi.core.exception.DefinitionNotExistException;
 import io.siddhi.core.exception.OnDemandQueryCreationException;
 import io.siddhi.core.exception.QueryNotExistException;
+import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.exception.SiddhiAppRuntimeException;
 import io.siddhi.core.partition.PartitionRuntime;
 import io.siddhi.core.partition.PartitionRuntimeImpl;
+import io.siddhi.core.query.OnDemandQueryCursor;
 import io.siddhi.core.query.OnDemandQueryRuntime;
+import io.siddhi.core.query.PreparedOnDemandQuery;
 import io.siddhi.core.query.QueryRuntime;
 import io.siddhi.core.query.QueryRuntimeImpl;
 import io.siddhi.core.query.input.stream.StreamRuntime;
@@ -49,6 +53,7 @@ import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.stream.output.sink.Sink;
 import io.siddhi.core.stream.output.sink.SinkCallback;
 import io.siddhi.core.stream.output.sink.SinkHandlerManager;
+import io.siddhi.core.stream.output.sink.distributed.DistributedTransport;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.table.record.RecordTableHandler;
 import io.siddhi.core.table.record.RecordTableHandlerManager;
@@ -62,7 +67,9 @@ import io.siddhi.core.util.parser.OnDemandQueryParser;
 import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.core.util.persistence.util.PersistenceHelper;
 import io.siddhi.core.util.snapshot.PersistenceReference;
+import io.siddhi.core.util.snapshot.SnapshotService;
 import io.siddhi.core.util.statistics.BufferedEventsTracker;
+import io.siddhi.core.util.statistics.EventBufferHolder;
 import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.util.statistics.MemoryUsageTracker;
 import io.siddhi.core.util.statistics.metrics.Level;
@@ -79,10 +86,12 @@ import io.siddhi.query.api.exception.SiddhiAppContextException;
 import io.siddhi.query.api.execution.query.OnDemandQuery;
 import io.siddhi.query.api.execution.query.StoreQuery;
 import io.siddhi.query.compiler.SiddhiCompiler;
+import io.siddhi.query.compiler.exception.SiddhiParserException;
 import org.apache.log4j.Logger;
 
 import java.beans.ExceptionListener;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -126,7 +135,7 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
     private Map<String, Table> tableMap = new ConcurrentHashMap<String, Table>(); // Contains event tables.
     private Map<String, PartitionRuntime> partitionMap =
             new ConcurrentHashMap<String, PartitionRuntime>(); // Contains partitions.
-    private LinkedHashMap<OnDemandQuery, OnDemandQueryRuntime> onDemandQueryRuntimeMap =
+    private LinkedHashMap<OnDemandQueryKey, OnDemandQueryRuntime> onDemandQueryRuntimeMap =
             new LinkedHashMap<>(); // Contains partitions.
     private ConcurrentMap<String, Trigger> triggerMap;
     private SiddhiAppContext siddhiAppContext;
@@ -140,6 +149,7 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
     private Future futureIncrementalPersistor;
     private boolean incrementalDataPurging = true;
     private Set<String> warnings = new HashSet<>();
+    private int onDemandQueryCacheSize;
 
 
     public SiddhiAppRuntimeImpl(Map<String, AbstractDefinition> streamDefinitionMap,
@@ -174,6 +184,7 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
         this.triggerMap = triggerMap;
         this.siddhiAppContext = siddhiAppContext;
         this.siddhiAppRuntimeMap = siddhiAppRuntimeMap;
+        this.onDemandQueryCacheSize = getOnDemandQueryCacheSize(siddhiAppContext);
         if (siddhiAppContext.getStatisticsManager() != null) {
             monitorQueryMemoryUsage();
             monitorBufferedEvents();
@@ -193,6 +204,20 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
         }
     }
 
+    private static int getOnDemandQueryCacheSize(SiddhiAppContext siddhiAppContext) {
+        String cacheSize = siddhiAppContext.getSiddhiContext().getConfigManager()
+                .extractProperty(SiddhiConstants.ON_DEMAND_QUERY_CACHE_SIZE);
+        if (cacheSize == null) {
+            return SiddhiConstants.ON_DEMAND_QUERY_CACHE_SIZE_DEFAULT;
+        }
+        try {
+            return Integer.parseInt(cacheSize.trim());
+        } catch (NumberFormatException e) {
+            throw new SiddhiAppCreationException("Property '" + SiddhiConstants.ON_DEMAND_QUERY_CACHE_SIZE +
+                    "' should be an integer, but found '" + cacheSize + "'", e);
+        }
+    }
+
     public String getName() {
         return siddhiAppContext.getName();
     }
@@ -229,6 +254,7 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
     public Map<String, WindowDefinition> getWindowDefinitionMap() {
         return windowDefinitionMap.entrySet()
                 .stream()
+                .filter(e -> windowMap.get(e.getKey()) == null || !windowMap.get(e.getKey()).isShared())
                 .collect(Collectors.toMap(Map.Entry::getKey,
                         e -> (WindowDefinition) e.getValue()));
     }
@@ -308,15 +334,28 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
 
     public Event[] query(String onDemandQuery) {
         if (this.running) {
-            return query(SiddhiCompiler.parseOnDemandQuery(onDemandQuery), onDemandQuery);
+            return query(null, onDemandQuery, null);
         }
         throw new OnDemandQueryCreationException("The siddhi app, '" + this.getName() + "' is currently shut down, " +
                 "the on demand query '" + onDemandQuery + "' cannot be executed.");
     }
 
+    public Event[] query(String onDemandQuery, Object... bindValues) {
+        if (this.running) {
+            return query(null, onDemandQuery, bindValues);
+        }
+        throw new OnDemandQueryCreationException("The siddhi app, '" + this.getName() + "' is currently shut down, " +
+                "the on demand query '" + onDemandQuery + "' cannot be executed.");
+    }
+
+    public PreparedOnDemandQuery prepareQuery(String onDemandQuery) {
+        SiddhiCompiler.parseOnDemandQuery(onDemandQuery);
+        return new PreparedOnDemandQuery(this, onDemandQuery);
+    }
+
     public Event[] query(OnDemandQuery onDemandQuery) {
         if (this.running) {
-            return query(onDemandQuery, null);
+            return query(onDemandQuery, null, null);
         }
         throw new OnDemandQueryCreationException("The siddhi app, '" + this.getName() + "' is currently shut down, " +
                 "the on demand query '" + onDemandQuery.toString() + "' cannot be executed.");
@@ -325,37 +364,40 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
     @Deprecated
     public Event[] query(StoreQuery storeQuery) {
         if (this.running) {
-            return query(storeQuery.getOnDemandQuery(), null);
+            return query(storeQuery.getOnDemandQuery(), null, null);
         }
         throw new OnDemandQueryCreationException("The siddhi app, '" + this.getName() + "' is currently shut down, " +
                 "the on demand query '" + storeQuery.getOnDemandQuery().toString() + "' cannot be executed.");
     }
 
-    private Event[] query(OnDemandQuery onDemandQuery, String onDemandQueryString) {
+    /**
+     * Execute the on-demand query, given either as an object or as a string. Query runtimes are cached by the query
+     * string when given, such that cache hits do not need the query to be compiled again.
+     *
+     * @param onDemandQuery       the on-demand query, or null if it has to be compiled from the query string
+     * @param onDemandQueryString the on-demand query string, used to report errors with context if there are any
+     * @param bindValues          values bound to the bind variables of the query, or null if none are given
+     * @return the resulting events
+     */
+    private Event[] query(OnDemandQuery onDemandQuery, String onDemandQueryString, Object[] bindValues) {
         try {
             if (Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0 &&
                     onDemandQueryLatencyTracker != null) {
                 onDemandQueryLatencyTracker.markIn();
             }
-            OnDemandQueryRuntime onDemandQueryRuntime;
-            synchronized (this) {
-                onDemandQueryRuntime = onDemandQueryRuntimeMap.remove(onDemandQuery);
-                if (onDemandQueryRuntime == null) {
-                    onDemandQueryRuntime = OnDemandQueryParser.parse(onDemandQuery, onDemandQueryString,
-                            siddhiAppContext, tableMap, windowMap, aggregationMap);
-                } else {
-                    onDemandQueryRuntime.reset();
-                }
-                onDemandQueryRuntimeMap.put(onDemandQuery, onDemandQueryRuntime);
-                if (onDemandQueryRuntimeMap.size() > 50) {
-                    Iterator i = onDemandQueryRuntimeMap.entrySet().iterator();
-                    if (i.hasNext()) {
-                        i.next();
-                        i.remove();
-                    }
-                }
+            OnDemandQueryRuntime onDemandQueryRuntime = getOnDemandQueryRuntime(onDemandQuery, onDemandQueryString,
+                    getBindVariableTypes(bindValues));
+            if (bindValues == null) {
+                return onDemandQueryRuntime.execute();
             }
-            return onDemandQueryRuntime.execute();
+            SiddhiOnDemandQueryContext.setBindValues(bindValues);
+            try {
+                return onDemandQueryRuntime.execute();
+            } finally {
+                SiddhiOnDemandQueryContext.setBindValues(null);
+            }
+        } catch (SiddhiParserException e) {
+            throw e;
         } catch (RuntimeException e) {
             if (e instanceof SiddhiAppContextException) {
                 throw new OnDemandQueryCreationException(((SiddhiAppContextException) e).getMessageWithOutContext(), e,
@@ -371,8 +413,114 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
         }
     }
 
+    public OnDemandQueryCursor queryStream(String onDemandQuery, int pageSize) {
+        if (this.running) {
+            return queryInPages(null, onDemandQuery, pageSize);
+        }
+        throw new OnDemandQueryCreationException("The siddhi app, '" + this.getName() + "' is currently shut down, " +
+                "the on demand query '" + onDemandQuery + "' cannot be executed.");
+    }
+
+    public OnDemandQueryCursor queryStream(OnDemandQuery onDemandQuery, int pageSize) {
+        if (this.running) {
+            return queryInPages(onDemandQuery, null, pageSize);
+        }
+        throw new OnDemandQueryCreationException("The siddhi app, '" + this.getName() + "' is currently shut down, " +
+                "the on demand query '" + onDemandQuery.toString() + "' cannot be executed.");
+    }
+
+    private OnDemandQueryCursor queryInPages(OnDemandQuery onDemandQuery, String onDemandQueryString, int pageSize) {
+        if (pageSize <= 0) {
+            throw new OnDemandQueryCreationException("Page size of the on demand query should be greater than zero, " +
+                    "but found '" + pageSize + "'.");
+        }
+        // The latency is recorded by the cursor once it is exhausted or closed, as the results are read lazily
+        LatencyTracker latencyTracker = Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0 ?
+                onDemandQueryLatencyTracker : null;
+        long startTime = System.nanoTime();
+        try {
+            // The cursor executes its selector while being consumed, hence it is not shared through the query cache
+            if (onDemandQuery == null) {
+                onDemandQuery = SiddhiCompiler.parseOnDemandQuery(onDemandQueryString);
+            }
+            OnDemandQueryCursor cursor = OnDemandQueryParser.parse(onDemandQuery, onDemandQueryString, null,
+                    siddhiAppContext, tableMap, windowMap, aggregationMap).executeInPages(pageSize);
+            if (latencyTracker != null) {
+                cursor.trackLatency(latencyTracker, startTime);
+            }
+            return cursor;
+        } catch (SiddhiParserException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (latencyTracker != null) {
+                latencyTracker.recordLatency(System.nanoTime() - startTime);
+            }
+            if (e instanceof SiddhiAppContextException) {
+                throw new OnDemandQueryCreationException(((SiddhiAppContextException) e).getMessageWithOutContext(), e,
+                        ((SiddhiAppContextException) e).getQueryContextStartIndex(),
+                        ((SiddhiAppContextException) e).getQueryContextEndIndex(), null, onDemandQueryString);
+            }
+            throw new OnDemandQueryCreationException(e.getMessage(), e);
+        }
+    }
+
+    private synchronized OnDemandQueryRuntime getOnDemandQueryRuntime(OnDemandQuery onDemandQuery,
+                                                                      String onDemandQueryString,
+                                                                      Attribute.Type[] bindVariableTypes) {
+        OnDemandQueryKey onDemandQueryKey = new OnDemandQueryKey(
+                onDemandQuery != null ? onDemandQuery : onDemandQueryString, bindVariableTypes);
+        OnDemandQueryRuntime onDemandQueryRuntime = onDemandQueryRuntimeMap.remove(onDemandQueryKey);
+        if (onDemandQueryRuntime == null) {
+            if (onDemandQuery == null) {
+                onDemandQuery = SiddhiCompiler.parseOnDemandQuery(onDemandQueryString);
+            }
+            onDemandQueryRuntime = OnDemandQueryParser.parse(onDemandQuery, onDemandQueryString,
+                    bindVariableTypes, siddhiAppContext, tableMap, windowMap, aggregationMap);
+        } else {
+            onDemandQueryRuntime.reset();
+        }
+        onDemandQueryRuntimeMap.put(onDemandQueryKey, onDemandQueryRuntime);
+        if (onDemandQueryRuntimeMap.size() > onDemandQueryCacheSize) {
+            Iterator i = onDemandQueryRuntimeMap.entrySet().iterator();
+            if (i.hasNext()) {
+                i.next();
+                i.remove();
+            }
+        }
+        return onDemandQueryRuntime;
+    }
+
+    private static Attribute.Type[] getBindVariableTypes(Object[] bindValues) {
+        if (bindValues == null) {
+            return null;
+        }
+        Attribute.Type[] bindVariableTypes = new Attribute.Type[bindValues.length];
+        for (int i = 0; i < bindValues.length; i++) {
+            Object bindValue = bindValues[i];
+            if (bindValue == null) {
+                throw new OnDemandQueryCreationException("Value bound to the bind variable at index " + i +
+                        " is null, null values cannot be bound.");
+            } else if (bindValue instanceof String) {
+                bindVariableTypes[i] = Attribute.Type.STRING;
+            } else if (bindValue instanceof Integer) {
+                bindVariableTypes[i] = Attribute.Type.INT;
+            } else if (bindValue instanceof Long) {
+                bindVariableTypes[i] = Attribute.Type.LONG;
+            } else if (bindValue instanceof Float) {
+                bindVariableTypes[i] = Attribute.Type.FLOAT;
+            } else if (bindValue instanceof Double) {
+                bindVariableTypes[i] = Attribute.Type.DOUBLE;
+            } else if (bindValue instanceof Boolean) {
+                bindVariableTypes[i] = Attribute.Type.BOOL;
+            } else {
+                bindVariableTypes[i] = Attribute.Type.OBJECT;
+            }
+        }
+        return bindVariableTypes;
+    }
+
     public Attribute[] getOnDemandQueryOutputAttributes(String onDemandQuery) {
-        return getOnDemandQueryOutputAttributes(SiddhiCompiler.parseOnDemandQuery(onDemandQuery), onDemandQuery);
+        return getOnDemandQueryOutputAttributes(null, onDemandQuery);
     }
 
     public Attribute[] getOnDemandQueryOutputAttributes(OnDemandQuery onDemandQuery) {
@@ -381,7 +529,7 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
 
     @Deprecated
     public Attribute[] getStoreQueryOutputAttributes(String onDemandQuery) {
-        return getOnDemandQueryOutputAttributes(SiddhiCompiler.parseOnDemandQuery(onDemandQuery), onDemandQuery);
+        return getOnDemandQueryOutputAttributes(null, onDemandQuery);
     }
 
     @Deprecated
@@ -392,19 +540,30 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
     /**
      * This method get the onDemandQuery and return the corresponding output and its types.
      *
-     * @param onDemandQuery       this onDemandQuery is processed and get the output attributes.
+     * @param onDemandQuery       this onDemandQuery is processed and get the output attributes, or null if it has
+     *                            to be compiled from the onDemandQueryString.
      * @param onDemandQueryString this passed to report errors with context if there are any.
      * @return List of output attributes
      */
     private Attribute[] getOnDemandQueryOutputAttributes(OnDemandQuery onDemandQuery, String onDemandQueryString) {
         try {
-            OnDemandQueryRuntime onDemandQueryRuntime = onDemandQueryRuntimeMap.get(onDemandQuery);
-            if (onDemandQueryRuntime == null) {
-                onDemandQueryRuntime = OnDemandQueryParser.parse(onDemandQuery, onDemandQueryString,
-                        siddhiAppContext, tableMap, windowMap, aggregationMap);
-                onDemandQueryRuntimeMap.put(onDemandQuery, onDemandQueryRuntime);
+            OnDemandQueryKey onDemandQueryKey = new OnDemandQueryKey(
+                    onDemandQuery != null ? onDemandQuery : onDemandQueryString, null);
+            OnDemandQueryRuntime onDemandQueryRuntime;
+            synchronized (this) {
+                onDemandQueryRuntime = onDemandQueryRuntimeMap.get(onDemandQueryKey);
+                if (onDemandQueryRuntime == null) {
+                    if (onDemandQuery == null) {
+                        onDemandQuery = SiddhiCompiler.parseOnDemandQuery(onDemandQueryString);
+                    }
+                    onDemandQueryRuntime = OnDemandQueryParser.parse(onDemandQuery, onDemandQueryString,
+                            siddhiAppContext, tableMap, windowMap, aggregationMap);
+                    onDemandQueryRuntimeMap.put(onDemandQueryKey, onDemandQueryRuntime);
+                }
             }
             return onDemandQueryRuntime.getOnDemandQueryOutputAttributes();
+        } catch (SiddhiParserException e) {
+            throw e;
         } catch (RuntimeException e) {
             if (e instanceof SiddhiAppContextException) {
                 throw new OnDemandQueryCreationException(((SiddhiAppContextException) e).getMessageWithOutContext(), e,
@@ -438,7 +597,7 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
 
     @Override
     public Collection<Window> getWindows() {
-        return windowMap.values();
+        return windowMap.values().stream().filter(window -> !window.isShared()).collect(Collectors.toList());
     }
 
     @Override
@@ -763,6 +922,16 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
         }
     }
 
+    @Override
+    public double getRestoreProgress() {
+        SnapshotService snapshotService = siddhiAppContext.getSnapshotService();
+        int elementsToRestoreCount = snapshotService.getElementsToRestoreCount();
+        if (elementsToRestoreCount == 0) {
+            return 1;
+        }
+        return (double) snapshotService.getRestoredElementCount() / elementsToRestoreCount;
+    }
+
     private void monitorQueryMemoryUsage() {
         memoryUsageTracker = siddhiAppContext
                 .getSiddhiContext()
@@ -806,6 +975,30 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
                 registerForBufferedEvents(streamJunctionEntry);
             }
         }
+        for (Map.Entry<String, List<Sink>> entry : sinkMap.entrySet()) {
+            for (Sink sink : entry.getValue()) {
+                String metricName = siddhiAppContext.getSiddhiContext().getStatisticsConfiguration()
+                        .getMetricPrefix() + SiddhiConstants.METRIC_DELIMITER +
+                        SiddhiConstants.METRIC_INFIX_SIDDHI_APPS + SiddhiConstants.METRIC_DELIMITER + getName() +
+                        SiddhiConstants.METRIC_DELIMITER + SiddhiConstants.METRIC_INFIX_SIDDHI +
+                        SiddhiConstants.METRIC_DELIMITER + SiddhiConstants.METRIC_INFIX_SINKS +
+                        SiddhiConstants.METRIC_DELIMITER + entry.getKey() + SiddhiConstants.METRIC_DELIMITER +
+                        sink.getType();
+                if (sink instanceof DistributedTransport) {
+                    List<Sink> destinationSinks = ((DistributedTransport) sink).getDestinationSinks();
+                    for (int i = 0; i < destinationSinks.size(); i++) {
+                        if (destinationSinks.get(i).getPublishQueue() != null) {
+                            registerForBufferedEvents(destinationSinks.get(i).getPublishQueue(), metricName +
+                                    SiddhiConstants.METRIC_DELIMITER + "destination" + i +
+                                    SiddhiConstants.METRIC_DELIMITER + "size");
+                        }
+                    }
+                } else if (sink.getPublishQueue() != null) {
+                    registerForBufferedEvents(sink.getPublishQueue(), metricName +
+                            SiddhiConstants.METRIC_DELIMITER + "size");
+                }
+            }
+        }
     }
 
     private void registerForBufferedEvents(Map.Entry<String, StreamJunction> entry) {
@@ -816,17 +1009,21 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
                     SiddhiConstants.METRIC_INFIX_SIDDHI + SiddhiConstants.METRIC_DELIMITER +
                     SiddhiConstants.METRIC_INFIX_STREAMS + SiddhiConstants.METRIC_DELIMITER +
                     entry.getKey() + SiddhiConstants.METRIC_DELIMITER + "size";
-            boolean matchExist = false;
-            for (String regex : siddhiAppContext.getIncludedMetrics()) {
-                if (metricName.matches(regex)) {
-                    matchExist = true;
-                    break;
-                }
-            }
-            if (matchExist) {
-                bufferedEventsTracker.registerEventBufferHolder(entry.getValue(), metricName);
+            registerForBufferedEvents(entry.getValue(), metricName);
+        }
+    }
+
+    private void registerForBufferedEvents(EventBufferHolder eventBufferHolder, String metricName) {
+        boolean matchExist = false;
+        for (String regex : siddhiAppContext.getIncludedMetrics()) {
+            if (metricName.matches(regex)) {
+                matchExist = true;
+                break;
             }
         }
+        if (matchExist) {
+            bufferedEventsTracker.registerEventBufferHolder(eventBufferHolder, metricName);
+        }
     }
 
     public void handleExceptionWith(ExceptionHandler<Object> exceptionHandler) {
@@ -966,4 +1163,35 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
     public Set<String> getWarnings() {
         return warnings;
     }
+
+    /**
+     * Key of the cached on-demand query runtimes, which are compiled for the types of the bound values.
+     */
+    private static class OnDemandQueryKey {
+        private final Object onDemandQuery;
+        private final Attribute.Type[] bindVariableTypes;
+
+        OnDemandQueryKey(Object onDemandQuery, Attribute.Type[] bindVariableTypes) {
+            this.onDemandQuery = onDemandQuery;
+            this.bindVariableTypes = bindVariableTypes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof OnDemandQueryKey)) {
+                return false;
+            }
+            OnDemandQueryKey that = (OnDemandQueryKey) o;
+            return onDemandQuery.equals(that.onDemandQuery) &&
+                    Arrays.equals(bindVariableTypes, that.bindVariableTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * onDemandQuery.hashCode() + Arrays.hashCode(bindVariableTypes);
+        }
+    }
 }
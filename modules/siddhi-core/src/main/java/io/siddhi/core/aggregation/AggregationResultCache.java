@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.aggregation;
+
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.util.collection.operator.CompiledCondition;
+import io.siddhi.query.api.aggregation.TimePeriod;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * LRU cache of the finalized buckets read from the aggregation tables when serving {@code within ... per} reads.
+ * Entries are keyed by the compiled condition, the {@code per} duration and the {@code within} range, and hold a copy
+ * of the table records of the range that belong to buckets closed at the time they were read. The records of the
+ * buckets written after that, and the in-memory aggregates of the open buckets, are read live by each query.
+ * <p>
+ * A bucket of a duration is closed once the aggregation has moved on to a later bucket and the closed bucket's write
+ * to the table has completed, hence emitting new buckets does not invalidate the cached entries. Entries are only
+ * invalidated when closed buckets are modified, such as when buckets containing out-of-order events are rewritten,
+ * when old buckets are purged, or when the tables are restored. The cache is bounded by the estimated size of the
+ * cached records in bytes, and optionally by the number of entries.
+ * <p>
+ * The cache assumes that the aggregation tables are only written by the aggregation itself, records written to them
+ * by other queries are only visible once the entries covering them are evicted.
+ */
+public class AggregationResultCache {
+
+    private static final long EVENT_OVERHEAD_BYTES = 64;
+    private static final long REFERENCE_BYTES = 8;
+    private static final long OBJECT_BYTES = 16;
+
+    private final long maxBytes;
+    private final int maxEntries;
+    private final Map<TimePeriod.Duration, TableState> tableStates = new EnumMap<>(TimePeriod.Duration.class);
+    private final LinkedHashMap<CacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeInBytes = 0;
+
+    public AggregationResultCache(long maxBytes, int maxEntries) {
+        this.maxBytes = maxBytes;
+        this.maxEntries = maxEntries;
+        for (TimePeriod.Duration duration : TimePeriod.Duration.values()) {
+            tableStates.put(duration, new TableState());
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    /**
+     * Get the state of the given duration's table, which has to be obtained before reading the table.
+     *
+     * @param duration duration of the table
+     * @return the read position, holding the version of the table and the end of its closed buckets
+     */
+    public synchronized ReadPosition getReadPosition(TimePeriod.Duration duration) {
+        TableState tableState = tableStates.get(duration);
+        if (tableState.pendingModifications > 0) {
+            return new ReadPosition(-1, Long.MIN_VALUE);
+        }
+        return new ReadPosition(tableState.version, tableState.closedUntil);
+    }
+
+    /**
+     * Notify that a bucket is being written to the given duration's table. Rewriting a closed bucket invalidates the
+     * entries covering it.
+     *
+     * @param duration        duration of the table
+     * @param bucketTimestamp start time of the bucket being written
+     * @return whether a closed bucket is rewritten, to be passed on to
+     * {@link #bucketWriteCompleted(TimePeriod.Duration, boolean, long)}
+     */
+    public synchronized boolean bucketWriteStarted(TimePeriod.Duration duration, long bucketTimestamp) {
+        if (bucketTimestamp < tableStates.get(duration).closedUntil) {
+            modificationStarted(duration, bucketTimestamp, bucketTimestamp + 1);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Notify that a bucket has been written to the given duration's table, closing the buckets before the start time
+     * of the new aggregates.
+     *
+     * @param duration                 duration of the table
+     * @param closedBucketRewritten    whether a closed bucket was rewritten
+     * @param startTimeOfNewAggregates start time of the bucket currently aggregated in memory
+     */
+    public synchronized void bucketWriteCompleted(TimePeriod.Duration duration, boolean closedBucketRewritten,
+                                                  long startTimeOfNewAggregates) {
+        TableState tableState = tableStates.get(duration);
+        if (closedBucketRewritten) {
+            modificationCompleted(duration);
+        }
+        if (startTimeOfNewAggregates > tableState.closedUntil) {
+            tableState.closedUntil = startTimeOfNewAggregates;
+        }
+    }
+
+    /**
+     * Notify that the buckets before the given time are being purged from the given duration's table.
+     *
+     * @param duration  duration of the table
+     * @param purgeTime time before which the buckets are purged
+     */
+    public synchronized void purgeStarted(TimePeriod.Duration duration, long purgeTime) {
+        modificationStarted(duration, Long.MIN_VALUE, purgeTime);
+    }
+
+    public synchronized void purgeCompleted(TimePeriod.Duration duration) {
+        modificationCompleted(duration);
+    }
+
+    /**
+     * Invalidate the entries of all durations, used when the tables are modified as a whole, such as on restore.
+     */
+    public synchronized void invalidateAll() {
+        for (TableState tableState : tableStates.values()) {
+            tableState.version++;
+            tableState.closedUntil = Long.MIN_VALUE;
+        }
+        entries.clear();
+        sizeInBytes = 0;
+    }
+
+    private void modificationStarted(TimePeriod.Duration duration, long fromTimestamp, long toTimestamp) {
+        TableState tableState = tableStates.get(duration);
+        tableState.pendingModifications++;
+        tableState.version++;
+        for (Iterator<Map.Entry<CacheKey, CacheEntry>> iterator = entries.entrySet().iterator();
+             iterator.hasNext(); ) {
+            Map.Entry<CacheKey, CacheEntry> entry = iterator.next();
+            CacheKey key = entry.getKey();
+            if (key.duration == duration && key.startTime < toTimestamp &&
+                    fromTimestamp < entry.getValue().cachedUntil) {
+                sizeInBytes -= entry.getValue().sizeInBytes;
+                iterator.remove();
+            }
+        }
+    }
+
+    private void modificationCompleted(TimePeriod.Duration duration) {
+        TableState tableState = tableStates.get(duration);
+        tableState.version++;
+        tableState.pendingModifications--;
+    }
+
+    /**
+     * Get the cached table records.
+     *
+     * @param compiledCondition compiled condition used to read the table
+     * @param duration          per duration
+     * @param startTime         start of the within range
+     * @param endTime           end of the within range
+     * @return the cached records, or {@code null} if the cache does not contain an entry
+     */
+    public synchronized CacheEntry get(CompiledCondition compiledCondition, TimePeriod.Duration duration,
+                                       long startTime, long endTime) {
+        return entries.get(new CacheKey(compiledCondition, duration, startTime, endTime));
+    }
+
+    /**
+     * Cache the table records of the range read at the given position which belong to closed buckets, the records
+     * are copied and not retained. Nothing is cached if the table was modified since the position was obtained, or
+     * if the records do not fit in the cache.
+     *
+     * @param compiledCondition  compiled condition used to read the table
+     * @param duration           per duration
+     * @param startTime          start of the within range
+     * @param endTime            end of the within range
+     * @param readPosition       position obtained via {@link #getReadPosition(TimePeriod.Duration)} before reading
+     * @param events             the records of the range read from the table
+     * @param timestampPosition  position of the bucket start time in the output data of the records
+     */
+    public synchronized void put(CompiledCondition compiledCondition, TimePeriod.Duration duration, long startTime,
+                                 long endTime, ReadPosition readPosition, StreamEvent events,
+                                 int timestampPosition) {
+        TableState tableState = tableStates.get(duration);
+        if (readPosition.version == -1 || readPosition.version != tableState.version ||
+                tableState.pendingModifications > 0) {
+            return;
+        }
+        long cachedUntil = Math.min(readPosition.closedUntil, endTime);
+        if (cachedUntil <= startTime) {
+            return;
+        }
+        CacheKey key = new CacheKey(compiledCondition, duration, startTime, endTime);
+        CacheEntry existingEntry = entries.get(key);
+        if (existingEntry != null && existingEntry.cachedUntil >= cachedUntil) {
+            return;
+        }
+        StreamEvent first = null;
+        StreamEvent last = null;
+        long entrySizeInBytes = EVENT_OVERHEAD_BYTES;
+        for (StreamEvent event = events; event != null; event = event.getNext()) {
+            if ((Long) event.getOutputData()[timestampPosition] >= cachedUntil) {
+                continue;
+            }
+            StreamEvent copiedEvent = copy(event);
+            entrySizeInBytes += estimateSize(copiedEvent);
+            if (entrySizeInBytes > maxBytes) {
+                return;
+            }
+            if (first == null) {
+                first = copiedEvent;
+            } else {
+                last.setNext(copiedEvent);
+            }
+            last = copiedEvent;
+        }
+        if (existingEntry != null) {
+            entries.remove(key);
+            sizeInBytes -= existingEntry.sizeInBytes;
+        }
+        entries.put(key, new CacheEntry(first, cachedUntil, entrySizeInBytes));
+        sizeInBytes += entrySizeInBytes;
+        for (Iterator<CacheEntry> iterator = entries.values().iterator();
+             iterator.hasNext() && (sizeInBytes > maxBytes || entries.size() > maxEntries); ) {
+            sizeInBytes -= iterator.next().sizeInBytes;
+            iterator.remove();
+        }
+    }
+
+    private static StreamEvent copy(StreamEvent event) {
+        StreamEvent copiedEvent = new StreamEvent(0, 0, 0);
+        copiedEvent.setTimestamp(event.getTimestamp());
+        copiedEvent.setType(event.getType());
+        copiedEvent.setBeforeWindowData(clone(event.getBeforeWindowData()));
+        copiedEvent.setOnAfterWindowData(clone(event.getOnAfterWindowData()));
+        copiedEvent.setOutputData(clone(event.getOutputData()));
+        return copiedEvent;
+    }
+
+    private static StreamEvent copyAll(StreamEvent events) {
+        StreamEvent first = null;
+        StreamEvent last = null;
+        for (StreamEvent event = events; event != null; event = event.getNext()) {
+            StreamEvent copiedEvent = copy(event);
+            if (first == null) {
+                first = copiedEvent;
+            } else {
+                last.setNext(copiedEvent);
+            }
+            last = copiedEvent;
+        }
+        return first;
+    }
+
+    private static Object[] clone(Object[] data) {
+        return data == null ? null : data.clone();
+    }
+
+    private static long estimateSize(StreamEvent event) {
+        return EVENT_OVERHEAD_BYTES + estimateSize(event.getBeforeWindowData()) +
+                estimateSize(event.getOnAfterWindowData()) + estimateSize(event.getOutputData());
+    }
+
+    private static long estimateSize(Object[] data) {
+        if (data == null) {
+            return 0;
+        }
+        long size = OBJECT_BYTES + REFERENCE_BYTES * data.length;
+        for (Object value : data) {
+            if (value instanceof String) {
+                size += 2 * OBJECT_BYTES + 2L * ((String) value).length();
+            } else if (value != null) {
+                size += OBJECT_BYTES + REFERENCE_BYTES;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Version of a table and the end of its closed buckets, obtained before reading the table.
+     */
+    public static class ReadPosition {
+        private final long version;
+        private final long closedUntil;
+
+        ReadPosition(long version, long closedUntil) {
+            this.version = version;
+            this.closedUntil = closedUntil;
+        }
+    }
+
+    /**
+     * Cached table records of the closed buckets of a range.
+     */
+    public static class CacheEntry {
+        private final StreamEvent events;
+        private final long cachedUntil;
+        private final long sizeInBytes;
+
+        CacheEntry(StreamEvent events, long cachedUntil, long sizeInBytes) {
+            this.events = events;
+            this.cachedUntil = cachedUntil;
+            this.sizeInBytes = sizeInBytes;
+        }
+
+        /**
+         * Get a copy of the cached records, as the records are linked and modified by the readers.
+         *
+         * @return copy of the records, or {@code null} if no records were found
+         */
+        public StreamEvent getEvents() {
+            return copyAll(events);
+        }
+
+        /**
+         * @return the time until which the records of the range are cached, the records of the later buckets of the
+         * range have to be read from the table
+         */
+        public long getCachedUntil() {
+            return cachedUntil;
+        }
+    }
+
+    private static class TableState {
+        private long version = 0;
+        private long closedUntil = Long.MIN_VALUE;
+        private int pendingModifications = 0;
+    }
+
+    private static class CacheKey {
+        private final CompiledCondition compiledCondition;
+        private final TimePeriod.Duration duration;
+        private final long startTime;
+        private final long endTime;
+
+        CacheKey(CompiledCondition compiledCondition, TimePeriod.Duration duration, long startTime, long endTime) {
+            this.compiledCondition = compiledCondition;
+            this.duration = duration;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey cacheKey = (CacheKey) o;
+            return compiledCondition == cacheKey.compiledCondition && duration == cacheKey.duration &&
+                    startTime == cacheKey.startTime && endTime == cacheKey.endTime;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(compiledCondition), duration, startTime, endTime);
+        }
+    }
+}
@@ -113,6 +113,7 @@ public class AggregationRuntime implements MemoryCalculable {
     private boolean isFirstEventArrived;
     private String timeZone;
     private Map<String, Map<TimePeriod.Duration, Executor>> aggregationDurationExecutorMap;
+    private AggregationResultCache resultCache;
 
     public AggregationRuntime(AggregationDefinition aggregationDefinition, boolean isProcessingOnExternalTime,
                               boolean isDistributed, List<TimePeriod.Duration> aggregationDurations,
@@ -129,7 +130,7 @@ public class AggregationRuntime implements MemoryCalculable {
                               IncrementalExecutorsInitialiser incrementalExecutorInitialiser,
                               SingleStreamRuntime singleStreamRuntime, MetaStreamEvent tableMetaStreamEvent,
                               LatencyTracker latencyTrackerFind, ThroughputTracker throughputTrackerFind,
-                              String timeZone) {
+                              String timeZone, AggregationResultCache resultCache) {
         this.timeZone = timeZone;
         this.aggregationDefinition = aggregationDefinition;
         this.isProcessingOnExternalTime = isProcessingOnExternalTime;
@@ -162,7 +163,7 @@ public class AggregationRuntime implements MemoryCalculable {
         this.throughputTrackerFind = throughputTrackerFind;
         this.aggregationDurationExecutorMap = new HashMap<>();
         this.aggregationDurationExecutorMap.put(aggregationDefinition.getId(), incrementalExecutorMap);
-
+        this.resultCache = resultCache;
     }
 
     private static void initMetaStreamEvent(MetaStreamEvent metaStreamEvent, AbstractDefinition inputDefinition,
@@ -684,14 +685,24 @@ public class AggregationRuntime implements MemoryCalculable {
         onCompiledCondition = OperatorParser.constructOperator(new ComplexEventChunk<>(), expression,
                 matchingMetaInfoHolder, variableExpressionExecutors, tableMap, siddhiQueryContext);
 
+        // Table lookups can only be cached when they do not depend on the attributes of the joined stream
+        AggregationResultCache conditionResultCache = null;
+        if (isOnDemandQuery || !shouldApplyReducedCondition) {
+            conditionResultCache = resultCache;
+        }
+
         return new IncrementalAggregateCompileCondition(isOnDemandQuery, aggregationName, isProcessingOnExternalTime,
                 isDistributed, activeIncrementalDurations, aggregationTables, outputExpressionExecutors,
                 isOptimisedTableLookup, withinTableCompiledSelection, withinTableCompiledConditions,
                 withinInMemoryCompileCondition, withinTableLowerGranularityCompileCondition, onCompiledCondition,
                 additionalAttributes, perExpressionExecutor, startTimeEndTimeExpressionExecutor,
                 timestampFilterExecutors, aggregateMetaSteamEvent, matchingMetaInfoHolder,
-                metaInfoHolderForTableLookups, variableExpExecutorsForTableLookups);
+                metaInfoHolderForTableLookups, variableExpExecutorsForTableLookups, conditionResultCache);
+
+    }
 
+    public AggregationResultCache getResultCache() {
+        return resultCache;
     }
 
     public void startPurging() {
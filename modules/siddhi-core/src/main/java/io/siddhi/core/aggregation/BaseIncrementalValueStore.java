@@ -99,7 +99,7 @@ public class BaseIncrementalValueStore {
         }
     }
 
-    private long getTimestamp() {
+    long getTimestamp() {
         StoreState state = this.storeStateHolder.getState();
         try {
             return state.timestamp;
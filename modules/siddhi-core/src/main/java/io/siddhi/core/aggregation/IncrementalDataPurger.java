@@ -99,6 +99,7 @@ public class IncrementalDataPurger implements Runnable {
     private Map<String, AggregationRuntime> aggregationMap;
     private boolean purgingHalted = false;
     private String errorMessage;
+    private AggregationResultCache resultCache;
 
     public void init(AggregationDefinition aggregationDefinition, StreamEventFactory streamEventFactory,
                      Map<TimePeriod.Duration, Table> aggregationTables, Boolean isProcessingOnExternalTime,
@@ -210,6 +211,10 @@ public class IncrementalDataPurger implements Runnable {
         this.purgingEnabled = purgingEnabled;
     }
 
+    public void setResultCache(AggregationResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
     @Override
     public void run() {
         boolean isNeededToExecutePurgeTask = false;
@@ -250,6 +255,9 @@ public class IncrementalDataPurger implements Runnable {
                         StateEvent secEvent = createStreamEvent(purgeTimeArray, currentTime);
                         eventChunk.add(secEvent);
                         Table table = aggregationTables.get(duration);
+                        if (resultCache != null) {
+                            resultCache.purgeStarted(duration, purgeTime);
+                        }
                         try {
                             if (LOG.isDebugEnabled()) {
                                 LOG.debug("Purging data of table: " + table.getTableDefinition().getId() + " with a" +
@@ -261,6 +269,10 @@ public class IncrementalDataPurger implements Runnable {
                                     table.getTableDefinition().getId() + " table", e);
                             throw new DataPurgingException("Exception occurred while deleting events from " +
                                     table.getTableDefinition().getId() + " table", e);
+                        } finally {
+                            if (resultCache != null) {
+                                resultCache.purgeCompleted(duration);
+                            }
                         }
                     } else {
                         errorMessage = "Purging task halted!!!. Data purging for table: "
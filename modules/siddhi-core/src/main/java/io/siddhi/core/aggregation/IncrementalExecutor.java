@@ -68,6 +68,7 @@ public class IncrementalExecutor implements Executor {
     private ExecutorService executorService;
     private String timeZone;
     private BaseIncrementalValueStore baseIncrementalValueStore;
+    private AggregationResultCache resultCache;
 
 
     public IncrementalExecutor(String aggregatorName, TimePeriod.Duration duration,
@@ -107,6 +108,10 @@ public class IncrementalExecutor implements Executor {
         this.scheduler = scheduler;
     }
 
+    public void setResultCache(AggregationResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
     @Override
     public synchronized void execute(ComplexEventChunk streamEventChunk) {
         if (LOG.isDebugEnabled()) {
@@ -215,6 +220,8 @@ public class IncrementalExecutor implements Executor {
                 LOG.debug("Event dispatched by aggregation " + aggregatorName + " for duration " + this.duration);
             }
             if (isProcessingExecutor) {
+                boolean closedBucketRewritten = resultCache != null &&
+                        resultCache.bucketWriteStarted(duration, aBaseIncrementalValueStore.getTimestamp());
                 executorService.execute(() -> {
                     try {
                         table.addEvents(tableEventChunk, streamEventMap.size());
@@ -227,6 +234,10 @@ public class IncrementalExecutor implements Executor {
                             LOG.debug("Dropping Event chunk - \"" + eventChunk.toString() + "\"");
                         }
                     } finally {
+                        if (resultCache != null) {
+                            resultCache.bucketWriteCompleted(duration, closedBucketRewritten,
+                                    startTimeOfNewAggregates);
+                        }
                         isProcessFinished.set(true);
                     }
                 });
@@ -309,6 +320,9 @@ public class IncrementalExecutor implements Executor {
             nextEmitTime = (long) state.get("NextEmitTime");
             startTimeOfAggregates = (long) state.get("StartTimeOfAggregates");
             timerStarted = (boolean) state.get("TimerStarted");
+            if (resultCache != null) {
+                resultCache.invalidateAll();
+            }
         }
 
         public void setCanDestroy(boolean canDestroy) {
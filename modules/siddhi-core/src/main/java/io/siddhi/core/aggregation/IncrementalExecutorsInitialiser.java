@@ -24,9 +24,12 @@ import io.siddhi.core.event.Event;
 import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventFactory;
+import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.query.OnDemandQueryRuntime;
+import io.siddhi.core.table.InMemoryTable;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.util.IncrementalTimeConverterUtil;
+import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.parser.OnDemandQueryParser;
 import io.siddhi.core.window.Window;
 import io.siddhi.query.api.aggregation.TimePeriod;
@@ -37,6 +40,7 @@ import io.siddhi.query.api.execution.query.selection.Selector;
 import io.siddhi.query.api.expression.Expression;
 import io.siddhi.query.api.expression.condition.Compare;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -66,6 +70,7 @@ public class IncrementalExecutorsInitialiser {
     private boolean isInitialised;
     private boolean isReadOnly;
     private boolean isPersistedAggregation;
+    private final int recoveryPageSize;
 
     public IncrementalExecutorsInitialiser(List<TimePeriod.Duration> incrementalDurations,
                                            Map<TimePeriod.Duration, Table> aggregationTables,
@@ -93,6 +98,21 @@ public class IncrementalExecutorsInitialiser {
         this.isInitialised = false;
         this.isReadOnly = isReadOnly;
         this.isPersistedAggregation = isPersistedAggregation;
+        this.recoveryPageSize = getRecoveryPageSize(siddhiAppContext);
+    }
+
+    private static int getRecoveryPageSize(SiddhiAppContext siddhiAppContext) {
+        String recoveryPageSize = siddhiAppContext.getSiddhiContext().getConfigManager()
+                .extractProperty(SiddhiConstants.AGG_RECOVERY_PAGE_SIZE);
+        if (recoveryPageSize == null) {
+            return SiddhiConstants.AGG_RECOVERY_PAGE_SIZE_DEFAULT;
+        }
+        try {
+            return Integer.parseInt(recoveryPageSize.trim());
+        } catch (NumberFormatException e) {
+            throw new SiddhiAppCreationException("Property '" + SiddhiConstants.AGG_RECOVERY_PAGE_SIZE +
+                    "' should be an integer, but found '" + recoveryPageSize + "'", e);
+        }
     }
 
     public synchronized void initialiseExecutors() {
@@ -107,12 +127,9 @@ public class IncrementalExecutorsInitialiser {
         // Get max(AGG_TIMESTAMP) from table corresponding to max duration
         Table tableForMaxDuration = aggregationTables.get(incrementalDurations.get(incrementalDurations.size() - 1));
         OnDemandQuery onDemandQuery = getOnDemandQuery(tableForMaxDuration, true, endOFLatestEventTimestamp);
-        onDemandQuery.setType(OnDemandQuery.OnDemandQueryType.FIND);
-        OnDemandQueryRuntime onDemandQueryRuntime = OnDemandQueryParser.parse(onDemandQuery, null,
-                siddhiAppContext, tableMap, windowMap, aggregationMap);
 
         // Get latest event timestamp in tableForMaxDuration and get the end time of the aggregation record
-        events = onDemandQueryRuntime.execute();
+        events = find(onDemandQuery);
         if (events != null) {
             lastData = (Long) events[events.length - 1].getData(0);
             endOFLatestEventTimestamp = IncrementalTimeConverterUtil
@@ -132,10 +149,7 @@ public class IncrementalExecutorsInitialiser {
                 if (i > 1) {
                     onDemandQuery = getOnDemandQuery(aggregationTables.get(incrementalDurations.get(i - 1)), true,
                             endOFLatestEventTimestamp);
-                    onDemandQuery.setType(OnDemandQuery.OnDemandQueryType.FIND);
-                    onDemandQueryRuntime = OnDemandQueryParser.parse(onDemandQuery, null,
-                            siddhiAppContext, tableMap, windowMap, aggregationMap);
-                    events = onDemandQueryRuntime.execute();
+                    events = find(onDemandQuery);
                     if (events != null) {
                         lastData = (Long) events[events.length - 1].getData(0);
                     }
@@ -153,26 +167,13 @@ public class IncrementalExecutorsInitialiser {
                 // This lookup is filtered by endOFLatestEventTimestamp
                 Table recreateFromTable = aggregationTables.get(incrementalDurations.get(i - 1));
 
-                onDemandQuery = getOnDemandQuery(recreateFromTable, false, endOFLatestEventTimestamp);
-                onDemandQuery.setType(OnDemandQuery.OnDemandQueryType.FIND);
-                onDemandQueryRuntime = OnDemandQueryParser.parse(onDemandQuery, null, siddhiAppContext,
-                        tableMap, windowMap,
-                        aggregationMap);
-                events = onDemandQueryRuntime.execute();
+                Long referenceToNextLatestEvent = recreateFromTable(recreateFromTable, endOFLatestEventTimestamp,
+                        incrementalExecutor);
 
-                if (events != null) {
-                    long referenceToNextLatestEvent = (Long) events[events.length - 1].getData(0);
+                if (referenceToNextLatestEvent != null) {
                     endOFLatestEventTimestamp = IncrementalTimeConverterUtil
                             .getNextEmitTime(referenceToNextLatestEvent, incrementalDurations.get(i - 1), timeZone);
 
-                    ComplexEventChunk<StreamEvent> complexEventChunk = new ComplexEventChunk<>();
-                    for (Event event : events) {
-                        StreamEvent streamEvent = streamEventFactory.newInstance();
-                        streamEvent.setOutputData(event.getData());
-                        complexEventChunk.add(streamEvent);
-                    }
-                    incrementalExecutor.execute(complexEventChunk);
-
                     if (i == 1) {
                         TimePeriod.Duration rootDuration = incrementalDurations.get(0);
                         Executor rootIncrementalExecutor = incrementalExecutorMap.get(rootDuration);
@@ -196,31 +197,123 @@ public class IncrementalExecutorsInitialiser {
             endOFLatestEventTimestamp = IncrementalTimeConverterUtil
                     .getNextEmitTime(lastData, recreateForDuration, timeZone);
         }
-        OnDemandQuery onDemandQuery = getOnDemandQuery(recreateFromTable, false, endOFLatestEventTimestamp);
-        onDemandQuery.setType(OnDemandQuery.OnDemandQueryType.FIND);
-        OnDemandQueryRuntime onDemandQueryRuntime = OnDemandQueryParser.parse(onDemandQuery, null, siddhiAppContext,
-                tableMap, windowMap,
-                aggregationMap);
-        Event[] events = onDemandQueryRuntime.execute();
-        if (events != null) {
-            long referenceToNextLatestEvent = (Long) events[events.length - 1].getData(0);
-            ComplexEventChunk<StreamEvent> complexEventChunk = new ComplexEventChunk<>();
-            for (Event event : events) {
-                StreamEvent streamEvent = streamEventFactory.newInstance();
-                streamEvent.setOutputData(event.getData());
-                complexEventChunk.add(streamEvent);
-            }
-            incrementalExecutor.execute(complexEventChunk);
-            if (isBeforeRoot) {
-                TimePeriod.Duration rootDuration = incrementalDurations.get(0);
-                Executor rootIncrementalExecutor = incrementalExecutorMap.get(rootDuration);
-                long emitTimeOfLatestEventInTable = IncrementalTimeConverterUtil.getNextEmitTime(
-                        referenceToNextLatestEvent, rootDuration, timeZone);
+        Long referenceToNextLatestEvent = recreateFromTable(recreateFromTable, endOFLatestEventTimestamp,
+                incrementalExecutor);
+        if (referenceToNextLatestEvent != null && isBeforeRoot) {
+            TimePeriod.Duration rootDuration = incrementalDurations.get(0);
+            Executor rootIncrementalExecutor = incrementalExecutorMap.get(rootDuration);
+            long emitTimeOfLatestEventInTable = IncrementalTimeConverterUtil.getNextEmitTime(
+                    referenceToNextLatestEvent, rootDuration, timeZone);
+
+            rootIncrementalExecutor.setEmitTime(emitTimeOfLatestEventInTable);
+        }
+    }
 
-                rootIncrementalExecutor.setEmitTime(emitTimeOfLatestEventInTable);
+    /**
+     * Send the records of the table starting from the given timestamp to the executor in the order of their
+     * timestamps, in pages of {@code recoveryPageSize} such that the complete table is not loaded into memory at once.
+     * In-memory tables are read through a cursor ordered by the timestamp. Other tables are read one page at a time
+     * by keyset, such that each page is retrieved by the store using the primary key on the timestamp. As several
+     * records can share a timestamp, such a page only executes the records having timestamps smaller than its last
+     * timestamp, and the next page starts from that timestamp.
+     *
+     * @param recreateFromTable         table to read the records from
+     * @param endOFLatestEventTimestamp timestamp to read the records from, or null to read all records
+     * @param incrementalExecutor       executor to recreate
+     * @return timestamp of the last record, or null if there are no records
+     */
+    private Long recreateFromTable(Table recreateFromTable, Long endOFLatestEventTimestamp,
+                                   Executor incrementalExecutor) {
+        if (recoveryPageSize <= 0) {
+            Event[] events = find(getOnDemandQuery(recreateFromTable, false, endOFLatestEventTimestamp));
+            if (events == null) {
+                return null;
+            }
+            execute(events, events.length, incrementalExecutor);
+            return (Long) events[events.length - 1].getData(0);
+        }
+        if (recreateFromTable instanceof InMemoryTable) {
+            return recreateFromInMemoryTable((InMemoryTable) recreateFromTable, endOFLatestEventTimestamp,
+                    incrementalExecutor);
+        }
+        Long lastTimestamp = null;
+        Long fromTimestamp = endOFLatestEventTimestamp;
+        Compare.Operator fromOperator = Compare.Operator.GREATER_THAN_EQUAL;
+        while (true) {
+            Selector selector = Selector.selector()
+                    .orderBy(Expression.variable(AGG_START_TIMESTAMP_COL))
+                    .limit(Expression.value(recoveryPageSize));
+            Event[] events = find(getOnDemandQuery(recreateFromTable, selector, fromTimestamp == null ? null :
+                    Expression.compare(Expression.variable(AGG_START_TIMESTAMP_COL), fromOperator,
+                            Expression.value(fromTimestamp))));
+            if (events == null) {
+                return lastTimestamp;
+            }
+            long pageLastTimestamp = (Long) events[events.length - 1].getData(0);
+            if (events.length < recoveryPageSize) {
+                execute(events, events.length, incrementalExecutor);
+                return pageLastTimestamp;
+            }
+            int completeEvents = events.length;
+            while (completeEvents > 0 && (Long) events[completeEvents - 1].getData(0) == pageLastTimestamp) {
+                completeEvents--;
+            }
+            if (completeEvents > 0) {
+                // Records having the last timestamp of the page are executed with the next page
+                execute(events, completeEvents, incrementalExecutor);
+                lastTimestamp = (Long) events[completeEvents - 1].getData(0);
+                fromOperator = Compare.Operator.GREATER_THAN_EQUAL;
+            } else {
+                // All records of the page share the same timestamp, hence all records of it are read at once
+                events = find(getOnDemandQuery(recreateFromTable, Selector.selector(),
+                        Expression.compare(Expression.variable(AGG_START_TIMESTAMP_COL),
+                                Compare.Operator.EQUAL, Expression.value(pageLastTimestamp))));
+                execute(events, events.length, incrementalExecutor);
+                lastTimestamp = pageLastTimestamp;
+                fromOperator = Compare.Operator.GREATER_THAN;
+            }
+            fromTimestamp = pageLastTimestamp;
+        }
+    }
 
+    private Long recreateFromInMemoryTable(InMemoryTable recreateFromTable, Long endOFLatestEventTimestamp,
+                                           Executor incrementalExecutor) {
+        int shardIdPosition = isDistributed ?
+                recreateFromTable.getTableDefinition().getAttributePosition(AGG_SHARD_ID_COL) : -1;
+        Long lastTimestamp = null;
+        Iterator<Object[][]> pages = recreateFromTable.findInOrder(AGG_START_TIMESTAMP_COL,
+                endOFLatestEventTimestamp, recoveryPageSize);
+        while (pages.hasNext()) {
+            ComplexEventChunk<StreamEvent> complexEventChunk = new ComplexEventChunk<>();
+            for (Object[] data : pages.next()) {
+                if (shardIdPosition == -1 || shardId.equals(data[shardIdPosition])) {
+                    StreamEvent streamEvent = streamEventFactory.newInstance();
+                    streamEvent.setOutputData(data);
+                    complexEventChunk.add(streamEvent);
+                    lastTimestamp = (Long) data[0];
+                }
+            }
+            if (complexEventChunk.getFirst() != null) {
+                incrementalExecutor.execute(complexEventChunk);
             }
         }
+        return lastTimestamp;
+    }
+
+    private void execute(Event[] events, int length, Executor incrementalExecutor) {
+        ComplexEventChunk<StreamEvent> complexEventChunk = new ComplexEventChunk<>();
+        for (int i = 0; i < length; i++) {
+            StreamEvent streamEvent = streamEventFactory.newInstance();
+            streamEvent.setOutputData(events[i].getData());
+            complexEventChunk.add(streamEvent);
+        }
+        incrementalExecutor.execute(complexEventChunk);
+    }
+
+    private Event[] find(OnDemandQuery onDemandQuery) {
+        OnDemandQueryRuntime onDemandQueryRuntime = OnDemandQueryParser.parse(onDemandQuery, null,
+                siddhiAppContext, tableMap, windowMap, aggregationMap);
+        return onDemandQueryRuntime.execute();
     }
 
     private OnDemandQuery getOnDemandQuery(Table table, boolean isLargestGranularity, Long endOFLatestEventTimestamp) {
@@ -233,38 +326,31 @@ public class IncrementalExecutorsInitialiser {
         } else {
             selector = selector.orderBy(Expression.variable(AGG_START_TIMESTAMP_COL));
         }
+        Expression timestampCondition = null;
+        if (endOFLatestEventTimestamp != null) {
+            timestampCondition = Expression.compare(
+                    Expression.variable(AGG_START_TIMESTAMP_COL),
+                    Compare.Operator.GREATER_THAN_EQUAL,
+                    Expression.value(endOFLatestEventTimestamp));
+        }
+        return getOnDemandQuery(table, selector, timestampCondition);
+    }
 
+    private OnDemandQuery getOnDemandQuery(Table table, Selector selector, Expression timestampCondition) {
+        Expression condition = timestampCondition;
+        if (this.isDistributed) {
+            Expression shardCondition = Expression.compare(Expression.variable(AGG_SHARD_ID_COL),
+                    Compare.Operator.EQUAL, Expression.value(shardId));
+            condition = condition == null ? shardCondition : Expression.and(shardCondition, condition);
+        }
         InputStore inputStore;
-        if (!this.isDistributed) {
-            if (endOFLatestEventTimestamp == null) {
-                inputStore = InputStore.store(table.getTableDefinition().getId());
-            } else {
-                inputStore = InputStore.store(table.getTableDefinition().getId())
-                        .on(Expression.compare(
-                                Expression.variable(AGG_START_TIMESTAMP_COL),
-                                Compare.Operator.GREATER_THAN_EQUAL,
-                                Expression.value(endOFLatestEventTimestamp)
-                        ));
-            }
+        if (condition == null) {
+            inputStore = InputStore.store(table.getTableDefinition().getId());
         } else {
-            if (endOFLatestEventTimestamp == null) {
-                inputStore = InputStore.store(table.getTableDefinition().getId()).on(
-                        Expression.compare(Expression.variable(AGG_SHARD_ID_COL), Compare.Operator.EQUAL,
-                                Expression.value(shardId)));
-            } else {
-                inputStore = InputStore.store(table.getTableDefinition().getId()).on(
-                        Expression.and(
-                                Expression.compare(
-                                        Expression.variable(AGG_SHARD_ID_COL),
-                                        Compare.Operator.EQUAL,
-                                        Expression.value(shardId)),
-                                Expression.compare(
-                                        Expression.variable(AGG_START_TIMESTAMP_COL),
-                                        Compare.Operator.GREATER_THAN_EQUAL,
-                                        Expression.value(endOFLatestEventTimestamp))));
-            }
+            inputStore = InputStore.store(table.getTableDefinition().getId()).on(condition);
         }
-
-        return OnDemandQuery.query().from(inputStore).select(selector);
+        OnDemandQuery onDemandQuery = OnDemandQuery.query().from(inputStore).select(selector);
+        onDemandQuery.setType(OnDemandQuery.OnDemandQueryType.FIND);
+        return onDemandQuery;
     }
 }
@@ -82,7 +82,7 @@ public class SiddhiAppContext {
         this.externalReferencedHolders = Collections.synchronizedList(new LinkedList<>());
         this.triggerHolders = Collections.synchronizedList(new LinkedList<>());
         this.scriptFunctionMap = new HashMap<String, Script>();
-        this.schedulerList = new ArrayList<Scheduler>();
+        this.schedulerList = Collections.synchronizedList(new ArrayList<Scheduler>());
         this.rootMetricsLevel = Level.OFF;
     }
 
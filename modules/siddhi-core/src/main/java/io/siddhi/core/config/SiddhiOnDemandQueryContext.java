@@ -18,19 +18,57 @@
 
 package io.siddhi.core.config;
 
+import io.siddhi.query.api.definition.Attribute;
+
 /**
  * Holder object for OnDemand query context information.
  */
 public class SiddhiOnDemandQueryContext extends SiddhiQueryContext {
 
+    private static final ThreadLocal<Object[]> BIND_VALUES_THREAD_LOCAL = new ThreadLocal<>();
+    private static final Attribute.Type[] NO_BIND_VARIABLE_TYPES = new Attribute.Type[0];
+
     private String onDemandQueryString;
+    private Attribute.Type[] bindVariableTypes;
 
     public SiddhiOnDemandQueryContext(SiddhiAppContext siddhiAppContext, String queryName, String queryString) {
+        this(siddhiAppContext, queryName, queryString, NO_BIND_VARIABLE_TYPES);
+    }
+
+    public SiddhiOnDemandQueryContext(SiddhiAppContext siddhiAppContext, String queryName, String queryString,
+                                      Attribute.Type[] bindVariableTypes) {
         super(siddhiAppContext, queryName, null);
         this.onDemandQueryString = queryString;
+        this.bindVariableTypes = bindVariableTypes == null ? NO_BIND_VARIABLE_TYPES : bindVariableTypes;
     }
 
     public String getOnDemandQueryString() {
         return onDemandQueryString;
     }
+
+    /**
+     * Get the types of the values bound to the bind variables ({@code ?}) of the query, in their order.
+     *
+     * @return bind variable types
+     */
+    public Attribute.Type[] getBindVariableTypes() {
+        return bindVariableTypes;
+    }
+
+    /**
+     * Get the values bound to the bind variables of the on-demand query being executed by the current thread.
+     *
+     * @return bind values, or {@code null} if no values are bound
+     */
+    public static Object[] getBindValues() {
+        return BIND_VALUES_THREAD_LOCAL.get();
+    }
+
+    public static void setBindValues(Object[] bindValues) {
+        if (bindValues == null) {
+            BIND_VALUES_THREAD_LOCAL.remove();
+        } else {
+            BIND_VALUES_THREAD_LOCAL.set(bindValues);
+        }
+    }
 }
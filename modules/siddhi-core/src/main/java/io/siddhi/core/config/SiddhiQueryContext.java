@@ -18,6 +18,7 @@
 
 package io.siddhi.core.config;
 
+import io.siddhi.core.event.stream.holder.OffHeapStorageConfig;
 import io.siddhi.core.util.IdGenerator;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.snapshot.SnapshotService;
@@ -49,6 +50,9 @@ public class SiddhiQueryContext implements Serializable {
     private transient LatencyTracker latencyTracker;
     private transient IdGenerator idGenerator;
     private boolean stateful = false;
+    private OffHeapStorageConfig offHeapStorageConfig;
+    private boolean aggregateOnlySelection = false;
+    private boolean batchAggregation = false;
 
     public SiddhiQueryContext(SiddhiAppContext siddhiAppContext, String queryName) {
         this(siddhiAppContext, queryName, SiddhiConstants.PARTITION_ID_DEFAULT);
@@ -109,6 +113,42 @@ public class SiddhiQueryContext implements Serializable {
         partitioned = partitionable;
     }
 
+    public OffHeapStorageConfig getOffHeapStorageConfig() {
+        return offHeapStorageConfig;
+    }
+
+    public void setOffHeapStorageConfig(OffHeapStorageConfig offHeapStorageConfig) {
+        this.offHeapStorageConfig = offHeapStorageConfig;
+    }
+
+    /**
+     * Whether the query consumes a single stream through a window and only selects current events of aggregations and
+     * group-by attributes, such that batch windows can let the selector aggregate the events as they arrive.
+     *
+     * @return true if the selection only contains aggregations and group-by attributes
+     */
+    public boolean isAggregateOnlySelection() {
+        return aggregateOnlySelection;
+    }
+
+    public void setAggregateOnlySelection(boolean aggregateOnlySelection) {
+        this.aggregateOnlySelection = aggregateOnlySelection;
+    }
+
+    /**
+     * Whether the batch window of the query sends its events to the selector as they arrive, followed by a reset event
+     * at the end of each batch, instead of buffering the events of the batch.
+     *
+     * @return true if the selector has to aggregate the events of each batch and emit them at the reset event
+     */
+    public boolean isBatchAggregation() {
+        return batchAggregation;
+    }
+
+    public void setBatchAggregation(boolean batchAggregation) {
+        this.batchAggregation = batchAggregation;
+    }
+
     public String generateNewId() {
         return idGenerator.createNewId();
     }
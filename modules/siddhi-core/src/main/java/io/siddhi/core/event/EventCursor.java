@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only cursor over the events delivered to a callback, which exposes the attributes of the event at the cursor
+ * without copying them into {@link Event}s.
+ * <p>
+ * The cursor is reused across callback invocations, hence it and the data returned by it are only valid during the
+ * callback. Events that need to be kept beyond the callback should be materialized via {@link #toEvent()} or
+ * {@link #toEvents()}. Typed getters cast the attribute values, hence {@link #get(int)} should be used for attributes
+ * that can be null.
+ */
+public final class EventCursor {
+
+    private ComplexEvent firstComplexEvent;
+    private ComplexEvent complexEvent;
+    private Event[] events;
+    private int eventCount;
+    private int index;
+    private long timestamp;
+    private Object[] data;
+    private boolean expired;
+
+    /**
+     * Point the cursor to a chain of {@link ComplexEvent}s, of which only the current and expired events are
+     * visited.
+     *
+     * @param complexEvent first event of the chain
+     */
+    public void wrap(ComplexEvent complexEvent) {
+        clear();
+        this.firstComplexEvent = complexEvent;
+    }
+
+    /**
+     * Point the cursor to the given {@link Event}s.
+     *
+     * @param events     events
+     * @param eventCount number of events to visit from the start of the array
+     */
+    public void wrap(Event[] events, int eventCount) {
+        clear();
+        this.events = events;
+        this.eventCount = eventCount;
+    }
+
+    /**
+     * Point the cursor to a single current event.
+     *
+     * @param timestamp event timestamp
+     * @param data      event data
+     */
+    public void wrap(long timestamp, Object[] data) {
+        clear();
+        this.timestamp = timestamp;
+        this.data = data;
+        this.eventCount = 1;
+    }
+
+    /**
+     * Release the references to the events, such that they are not kept reachable via the reused cursor.
+     */
+    public void clear() {
+        firstComplexEvent = null;
+        complexEvent = null;
+        events = null;
+        eventCount = 0;
+        index = -1;
+        timestamp = -1;
+        data = null;
+        expired = false;
+    }
+
+    /**
+     * Move the cursor to the next event.
+     *
+     * @return false if there are no more events
+     */
+    public boolean next() {
+        if (firstComplexEvent != null) {
+            ComplexEvent nextEvent = index < 0 ? firstComplexEvent : complexEvent.getNext();
+            while (nextEvent != null && nextEvent.getType() != ComplexEvent.Type.CURRENT &&
+                    nextEvent.getType() != ComplexEvent.Type.EXPIRED) {
+                nextEvent = nextEvent.getNext();
+            }
+            if (nextEvent == null) {
+                return false;
+            }
+            index++;
+            complexEvent = nextEvent;
+            timestamp = nextEvent.getTimestamp();
+            data = nextEvent.getOutputData();
+            expired = nextEvent.getType() == ComplexEvent.Type.EXPIRED;
+            return true;
+        }
+        if (index + 1 >= eventCount) {
+            return false;
+        }
+        index++;
+        if (events != null) {
+            Event event = events[index];
+            timestamp = event.getTimestamp();
+            data = event.getData();
+            expired = event.isExpired();
+        }
+        return true;
+    }
+
+    /**
+     * Move the cursor back to before the first event, such that the events can be visited again.
+     */
+    public void rewind() {
+        index = -1;
+        complexEvent = null;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public boolean isExpired() {
+        return expired;
+    }
+
+    public int getAttributeCount() {
+        return data.length;
+    }
+
+    public Object get(int i) {
+        return data[i];
+    }
+
+    public String getString(int i) {
+        return (String) data[i];
+    }
+
+    public int getInt(int i) {
+        return (Integer) data[i];
+    }
+
+    public long getLong(int i) {
+        return (Long) data[i];
+    }
+
+    public float getFloat(int i) {
+        return (Float) data[i];
+    }
+
+    public double getDouble(int i) {
+        return (Double) data[i];
+    }
+
+    public boolean getBool(int i) {
+        return (Boolean) data[i];
+    }
+
+    /**
+     * Copy the event at the cursor into a new {@link Event}.
+     *
+     * @return event that can be kept beyond the callback
+     */
+    public Event toEvent() {
+        Event event = new Event(timestamp, data.clone());
+        event.setIsExpired(expired);
+        return event;
+    }
+
+    /**
+     * Copy all the events of the cursor into new {@link Event}s, without moving the cursor.
+     *
+     * @return events that can be kept beyond the callback
+     */
+    public Event[] toEvents() {
+        List<Event> eventList = new ArrayList<>();
+        if (firstComplexEvent != null) {
+            for (ComplexEvent event = firstComplexEvent; event != null; event = event.getNext()) {
+                if (event.getType() == ComplexEvent.Type.CURRENT || event.getType() == ComplexEvent.Type.EXPIRED) {
+                    eventList.add(new Event(event.getOutputData().length).copyFrom(event));
+                }
+            }
+        } else if (events != null) {
+            for (int i = 0; i < eventCount; i++) {
+                Event event = new Event(events[i].getTimestamp(), events[i].getData().clone());
+                event.setIsExpired(events[i].isExpired());
+                eventList.add(event);
+            }
+        } else if (eventCount == 1) {
+            eventList.add(new Event(timestamp, data.clone()));
+        }
+        return eventList.toArray(new Event[eventList.size()]);
+    }
+}
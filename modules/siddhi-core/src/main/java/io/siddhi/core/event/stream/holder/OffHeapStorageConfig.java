@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.event.stream.holder;
+
+import java.io.Serializable;
+
+/**
+ * Configuration of the {@link OffHeapStreamEventQueue}s used by time windows annotated with
+ * {@code @windowStorage(type='offheap')}.
+ */
+public class OffHeapStorageConfig implements Serializable {
+
+    public static final int DEFAULT_MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final long serialVersionUID = -4271520813526457216L;
+
+    private final String spillDirectory;
+    private final int maxSegmentSize;
+
+    /**
+     * @param spillDirectory directory to create the memory-mapped segment files in, or {@code null} to keep the
+     *                       segments in direct memory
+     * @param maxSegmentSize maximum size of a segment in bytes
+     */
+    public OffHeapStorageConfig(String spillDirectory, int maxSegmentSize) {
+        this.spillDirectory = spillDirectory;
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    public String getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public int getMaxSegmentSize() {
+        return maxSegmentSize;
+    }
+}
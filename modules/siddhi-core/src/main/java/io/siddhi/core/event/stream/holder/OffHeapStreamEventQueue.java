@@ -0,0 +1,561 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.event.stream.holder;
+
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.event.stream.Operation;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
+import io.siddhi.core.util.snapshot.ByteSerializer;
+import io.siddhi.core.util.snapshot.state.Snapshot;
+import io.siddhi.core.util.snapshot.state.SnapshotStateList;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link SnapshotableStreamEventQueue} keeping its events binary encoded outside of the Java heap, either in direct
+ * memory or in memory-mapped segment files of a spill directory, such that very large windows neither fill the heap
+ * nor lengthen the GC pauses.
+ * <p>
+ * Events are appended to segments whose sizes double up to the configured maximum segment size. Removing the first
+ * event only advances the read position of its segment, removing any other event marks it as deleted, and the
+ * segments at the head holding no more events are released. Events are decoded only when they are returned by the
+ * iterator, and the decoded first event is reused until it is removed. Snapshots of the queue are always full
+ * snapshots holding the encoded live events as they are, and overwriting events is not supported, as the queue is
+ * only used by windows.
+ */
+public class OffHeapStreamEventQueue extends SnapshotableStreamEventQueue {
+    private static final Logger log = Logger.getLogger(OffHeapStreamEventQueue.class);
+    private static final long serialVersionUID = 6590841125338734853L;
+    private static final int INITIAL_SEGMENT_SIZE = 64 * 1024;
+    private static final int RECORD_HEADER_SIZE = 5;
+    private static final byte LIVE = 1;
+    private static final byte DELETED = 0;
+    private static final byte NULL_VALUE = 0;
+    private static final byte STRING_VALUE = 1;
+    private static final byte INT_VALUE = 2;
+    private static final byte LONG_VALUE = 3;
+    private static final byte FLOAT_VALUE = 4;
+    private static final byte DOUBLE_VALUE = 5;
+    private static final byte BOOL_VALUE = 6;
+    private static final byte OBJECT_VALUE = 7;
+    private static final ComplexEvent.Type[] EVENT_TYPES = ComplexEvent.Type.values();
+
+    private transient OffHeapStorageConfig offHeapStorageConfig;
+    private transient SiddhiAppContext siddhiAppContext;
+    private transient List<Segment> segments = new ArrayList<>();
+    private transient ByteBuffer encodeBuffer = ByteBuffer.allocate(1024);
+    private transient Segment cursorSegment;
+    private transient Segment lastReturnedSegment;
+    private transient Segment lastAddedSegment;
+    private transient Segment firstEventSegment;
+    private transient StreamEvent firstEvent;
+    private int cursorOffset;
+    private int lastReturnedOffset;
+    private int lastAddedOffset;
+    private int nextSegmentSize;
+    private int eventCount;
+    private int eventIndex = -1;
+
+    public OffHeapStreamEventQueue(StreamEventClonerHolder eventClonerHolder,
+                                   OffHeapStorageConfig offHeapStorageConfig, SiddhiAppContext siddhiAppContext) {
+        super(eventClonerHolder);
+        this.offHeapStorageConfig = offHeapStorageConfig;
+        this.siddhiAppContext = siddhiAppContext;
+        this.nextSegmentSize = Math.min(INITIAL_SEGMENT_SIZE, offHeapStorageConfig.getMaxSegmentSize());
+    }
+
+    @Override
+    public void add(StreamEvent events) {
+        for (StreamEvent event = events; event != null; event = event.getNext()) {
+            append(encodeBuffer, encode(event));
+        }
+    }
+
+    @Override
+    public void remove() {
+        if (lastReturnedSegment == null) {
+            throw new IllegalStateException();
+        }
+        Segment segment = lastReturnedSegment;
+        int offset = lastReturnedOffset;
+        lastReturnedSegment = null;
+        segment.buffer.put(offset + 4, DELETED);
+        segment.eventCount--;
+        eventCount--;
+        eventIndex--;
+        if (segment == firstEventSegment && offset == segment.readPosition) {
+            firstEvent = null;
+            firstEventSegment = null;
+        }
+        if (offset == segment.readPosition) {
+            int position = offset;
+            while (position < segment.writePosition && segment.buffer.get(position + 4) == DELETED) {
+                position += segment.buffer.getInt(position);
+            }
+            segment.readPosition = position;
+        }
+        releaseEmptySegments();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return seekLiveEvent();
+    }
+
+    @Override
+    public StreamEvent next() {
+        if (!seekLiveEvent()) {
+            throw new NoSuchElementException();
+        }
+        lastReturnedSegment = cursorSegment;
+        lastReturnedOffset = cursorOffset;
+        cursorOffset += cursorSegment.buffer.getInt(cursorOffset);
+        eventIndex++;
+        return getEvent(lastReturnedSegment, lastReturnedOffset);
+    }
+
+    @Override
+    public void clear() {
+        segments.clear();
+        cursorSegment = null;
+        lastReturnedSegment = null;
+        lastAddedSegment = null;
+        firstEventSegment = null;
+        firstEvent = null;
+        nextSegmentSize = Math.min(INITIAL_SEGMENT_SIZE, offHeapStorageConfig.getMaxSegmentSize());
+        eventCount = 0;
+        eventIndex = -1;
+    }
+
+    @Override
+    public void reset() {
+        cursorSegment = null;
+        lastReturnedSegment = null;
+        eventIndex = -1;
+    }
+
+    @Override
+    public StreamEvent getFirst() {
+        if (eventCount == 0) {
+            return null;
+        }
+        Segment segment = segments.get(0);
+        return getEvent(segment, segment.readPosition);
+    }
+
+    @Override
+    public StreamEvent getLast() {
+        if (eventCount == 0) {
+            return null;
+        }
+        if (lastAddedSegment.buffer.get(lastAddedOffset + 4) == LIVE) {
+            return getEvent(lastAddedSegment, lastAddedOffset);
+        }
+        Segment lastSegment = null;
+        int lastOffset = 0;
+        for (Segment segment : segments) {
+            for (int offset = segment.readPosition; offset < segment.writePosition;
+                 offset += segment.buffer.getInt(offset)) {
+                if (segment.buffer.get(offset + 4) == LIVE) {
+                    lastSegment = segment;
+                    lastOffset = offset;
+                }
+            }
+        }
+        return getEvent(lastSegment, lastOffset);
+    }
+
+    @Override
+    public StreamEvent poll() {
+        reset();
+        if (!hasNext()) {
+            return null;
+        }
+        StreamEvent event = next();
+        remove();
+        reset();
+        return event;
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        int size = 0;
+        for (Segment segment : segments) {
+            for (int offset = segment.readPosition; offset < segment.writePosition;
+                 offset += segment.buffer.getInt(offset)) {
+                if (segment.buffer.get(offset + 4) == LIVE) {
+                    size += segment.buffer.getInt(offset);
+                }
+            }
+        }
+        ByteBuffer records = ByteBuffer.allocate(size);
+        for (Segment segment : segments) {
+            ByteBuffer buffer = segment.buffer.duplicate();
+            for (int offset = segment.readPosition; offset < segment.writePosition;
+                 offset += buffer.getInt(offset)) {
+                if (buffer.get(offset + 4) == LIVE) {
+                    buffer.limit(offset + buffer.getInt(offset));
+                    buffer.position(offset);
+                    records.put(buffer);
+                    buffer.limit(buffer.capacity());
+                }
+            }
+        }
+        return new Snapshot(records.array(), false);
+    }
+
+    @Override
+    public void restore(SnapshotStateList snapshotStateList) {
+        for (Snapshot snapshot : snapshotStateList.getSnapshotStates().values()) {
+            if (!snapshot.isIncrementalSnapshot()) {
+                clear();
+                if (snapshot.getState() instanceof byte[]) {
+                    restoreRecords((byte[]) snapshot.getState());
+                } else {
+                    add((StreamEvent) snapshot.getState());
+                }
+                continue;
+            }
+            for (Operation operation : (List<Operation>) snapshot.getState()) {
+                switch (operation.operation) {
+                    case ADD:
+                        add((StreamEvent) operation.parameters);
+                        break;
+                    case REMOVE:
+                        poll();
+                        break;
+                    case CLEAR:
+                        clear();
+                        break;
+                    case DELETE_BY_INDEX:
+                        int deleteIndex = (int) operation.parameters;
+                        while (hasNext()) {
+                            next();
+                            if (deleteIndex == eventIndex) {
+                                remove();
+                                break;
+                            }
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void overwrite(StreamEvent streamEvent) {
+        throw new UnsupportedOperationException("Events cannot be overwritten in the off-heap window storage");
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapEventQueue{" +
+                "size=" + eventCount +
+                ", segments=" + segments.size() +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    private boolean seekLiveEvent() {
+        if (cursorSegment == null) {
+            if (segments.isEmpty()) {
+                return false;
+            }
+            cursorSegment = segments.get(0);
+            cursorOffset = cursorSegment.readPosition;
+        }
+        while (true) {
+            if (cursorOffset < cursorSegment.writePosition) {
+                if (cursorSegment.buffer.get(cursorOffset + 4) == LIVE) {
+                    return true;
+                }
+                cursorOffset += cursorSegment.buffer.getInt(cursorOffset);
+            } else {
+                int nextSegmentIndex = segments.indexOf(cursorSegment) + 1;
+                if (nextSegmentIndex == 0 || nextSegmentIndex == segments.size()) {
+                    return false;
+                }
+                cursorSegment = segments.get(nextSegmentIndex);
+                cursorOffset = cursorSegment.readPosition;
+            }
+        }
+    }
+
+    private void restoreRecords(byte[] records) {
+        ByteBuffer buffer = ByteBuffer.wrap(records);
+        int offset = 0;
+        while (offset < records.length) {
+            int length = buffer.getInt(offset);
+            buffer.limit(offset + length);
+            buffer.position(offset);
+            append(buffer, length);
+            buffer.limit(records.length);
+            offset += length;
+        }
+    }
+
+    private void append(ByteBuffer record, int length) {
+        Segment segment = getSegment(length);
+        int offset = segment.writePosition;
+        segment.buffer.position(offset);
+        segment.buffer.put(record);
+        segment.writePosition += length;
+        segment.eventCount++;
+        lastAddedSegment = segment;
+        lastAddedOffset = offset;
+        eventCount++;
+    }
+
+    private void releaseEmptySegments() {
+        while (!segments.isEmpty() && segments.get(0).eventCount == 0) {
+            Segment segment = segments.get(0);
+            if (segments.size() == 1) {
+                segment.readPosition = 0;
+                segment.writePosition = 0;
+                if (cursorSegment == segment) {
+                    cursorOffset = 0;
+                }
+                return;
+            }
+            segments.remove(0);
+            if (cursorSegment == segment) {
+                cursorSegment = null;
+            }
+        }
+    }
+
+    private StreamEvent getEvent(Segment segment, int offset) {
+        if (segment == firstEventSegment && offset == segment.readPosition) {
+            return firstEvent;
+        }
+        StreamEvent event = decode(segment.buffer, offset);
+        if (segment == segments.get(0) && offset == segment.readPosition) {
+            firstEventSegment = segment;
+            firstEvent = event;
+        }
+        return event;
+    }
+
+    private Segment getSegment(int length) {
+        if (!segments.isEmpty()) {
+            Segment segment = segments.get(segments.size() - 1);
+            if (segment.buffer.capacity() - segment.writePosition >= length) {
+                return segment;
+            }
+        }
+        Segment segment = new Segment(allocate(Math.max(nextSegmentSize, length)));
+        nextSegmentSize = (int) Math.min(2L * nextSegmentSize, offHeapStorageConfig.getMaxSegmentSize());
+        segments.add(segment);
+        return segment;
+    }
+
+    private ByteBuffer allocate(int size) {
+        if (offHeapStorageConfig.getSpillDirectory() == null) {
+            return ByteBuffer.allocateDirect(size);
+        }
+        Path file = null;
+        try {
+            file = Files.createTempFile(Paths.get(offHeapStorageConfig.getSpillDirectory()),
+                    "siddhi-window-", ".segment");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+        } catch (IOException e) {
+            throw new SiddhiAppRuntimeException("Error when creating a window segment file of " + size +
+                    " bytes in '" + offHeapStorageConfig.getSpillDirectory() + "' of Siddhi app '" +
+                    siddhiAppContext.getName() + "'", e);
+        } finally {
+            if (file != null) {
+                // The mapping stays valid after the file is deleted, and its disk space is freed once the
+                // segment gets garbage collected
+                try {
+                    Files.delete(file);
+                } catch (IOException e) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Window segment file '" + file + "' will be deleted on exit as it cannot be " +
+                                "deleted while being mapped, " + e.getMessage());
+                    }
+                    file.toFile().deleteOnExit();
+                }
+            }
+        }
+    }
+
+    private int encode(StreamEvent event) {
+        encodeBuffer.clear();
+        ensureCapacity(RECORD_HEADER_SIZE + 9);
+        encodeBuffer.position(RECORD_HEADER_SIZE);
+        encodeBuffer.putLong(event.getTimestamp());
+        encodeBuffer.put((byte) event.getType().ordinal());
+        encodeData(event.getBeforeWindowData());
+        encodeData(event.getOnAfterWindowData());
+        encodeData(event.getOutputData());
+        int length = encodeBuffer.position();
+        encodeBuffer.putInt(0, length);
+        encodeBuffer.put(4, LIVE);
+        encodeBuffer.flip();
+        return length;
+    }
+
+    private void encodeData(Object[] data) {
+        ensureCapacity(4);
+        if (data == null) {
+            encodeBuffer.putInt(-1);
+            return;
+        }
+        encodeBuffer.putInt(data.length);
+        for (Object value : data) {
+            if (value instanceof String) {
+                encodeBytes(STRING_VALUE, ((String) value).getBytes(StandardCharsets.UTF_8));
+            } else if (value instanceof Integer) {
+                ensureCapacity(5);
+                encodeBuffer.put(INT_VALUE).putInt((Integer) value);
+            } else if (value instanceof Long) {
+                ensureCapacity(9);
+                encodeBuffer.put(LONG_VALUE).putLong((Long) value);
+            } else if (value instanceof Float) {
+                ensureCapacity(5);
+                encodeBuffer.put(FLOAT_VALUE).putFloat((Float) value);
+            } else if (value instanceof Double) {
+                ensureCapacity(9);
+                encodeBuffer.put(DOUBLE_VALUE).putDouble((Double) value);
+            } else if (value instanceof Boolean) {
+                ensureCapacity(2);
+                encodeBuffer.put(BOOL_VALUE).put((byte) ((Boolean) value ? 1 : 0));
+            } else if (value != null) {
+                byte[] bytes = ByteSerializer.objectToByte(value, siddhiAppContext);
+                if (bytes != null) {
+                    encodeBytes(OBJECT_VALUE, bytes);
+                } else {
+                    ensureCapacity(1);
+                    encodeBuffer.put(NULL_VALUE);
+                }
+            } else {
+                ensureCapacity(1);
+                encodeBuffer.put(NULL_VALUE);
+            }
+        }
+    }
+
+    private void encodeBytes(byte valueType, byte[] bytes) {
+        ensureCapacity(5 + bytes.length);
+        encodeBuffer.put(valueType).putInt(bytes.length).put(bytes);
+    }
+
+    private void ensureCapacity(int length) {
+        if (encodeBuffer.remaining() < length) {
+            ByteBuffer buffer = ByteBuffer.allocate(Math.max(2 * encodeBuffer.capacity(),
+                    encodeBuffer.position() + length));
+            encodeBuffer.flip();
+            buffer.put(encodeBuffer);
+            encodeBuffer = buffer;
+        }
+    }
+
+    private StreamEvent decode(ByteBuffer segmentBuffer, int offset) {
+        ByteBuffer buffer = segmentBuffer.duplicate();
+        buffer.position(offset + RECORD_HEADER_SIZE);
+        StreamEvent event = new StreamEvent(0, 0, 0);
+        event.setTimestamp(buffer.getLong());
+        event.setType(EVENT_TYPES[buffer.get()]);
+        event.setBeforeWindowData(decodeData(buffer));
+        event.setOnAfterWindowData(decodeData(buffer));
+        event.setOutputData(decodeData(buffer));
+        return event;
+    }
+
+    private Object[] decodeData(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        Object[] data = new Object[length];
+        for (int i = 0; i < length; i++) {
+            switch (buffer.get()) {
+                case STRING_VALUE:
+                    data[i] = new String(decodeBytes(buffer), StandardCharsets.UTF_8);
+                    break;
+                case INT_VALUE:
+                    data[i] = buffer.getInt();
+                    break;
+                case LONG_VALUE:
+                    data[i] = buffer.getLong();
+                    break;
+                case FLOAT_VALUE:
+                    data[i] = buffer.getFloat();
+                    break;
+                case DOUBLE_VALUE:
+                    data[i] = buffer.getDouble();
+                    break;
+                case BOOL_VALUE:
+                    data[i] = buffer.get() == 1;
+                    break;
+                case OBJECT_VALUE:
+                    data[i] = ByteSerializer.byteToObject(decodeBytes(buffer), siddhiAppContext);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return data;
+    }
+
+    private byte[] decodeBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Off-heap buffer holding encoded events, each prefixed by its length and a flag denoting whether it is deleted.
+     */
+    private static class Segment {
+        private final ByteBuffer buffer;
+        private int readPosition;
+        private int writePosition;
+        private int eventCount;
+
+        Segment(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+}
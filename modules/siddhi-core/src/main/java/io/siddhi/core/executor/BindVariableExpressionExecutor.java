@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.executor;
+
+import io.siddhi.core.config.SiddhiOnDemandQueryContext;
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
+import io.siddhi.query.api.definition.Attribute;
+
+/**
+ * Executor class for bind variables of prepared on-demand queries, returning the value bound to the variable when
+ * the query is executed by the current thread.
+ */
+public class BindVariableExpressionExecutor implements ExpressionExecutor {
+    private final int index;
+    private final Attribute.Type type;
+
+    public BindVariableExpressionExecutor(int index, Attribute.Type type) {
+        this.index = index;
+        this.type = type;
+    }
+
+    @Override
+    public Object execute(ComplexEvent event) {
+        Object[] bindValues = SiddhiOnDemandQueryContext.getBindValues();
+        if (bindValues == null || index >= bindValues.length) {
+            throw new SiddhiAppRuntimeException("No value bound to the bind variable at index " + index);
+        }
+        return bindValues[index];
+    }
+
+    @Override
+    public Attribute.Type getReturnType() {
+        return type;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+}
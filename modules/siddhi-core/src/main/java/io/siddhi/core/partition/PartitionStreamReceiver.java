@@ -77,6 +77,12 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
         return streamId;
     }
 
+    @Override
+    public boolean retainsEvents() {
+        // Received events are converted to stream events
+        return false;
+    }
+
 
     @Override
     public void receive(ComplexEvent complexEvent) {
@@ -82,31 +82,12 @@ public class FindOnDemandQueryRuntime extends OnDemandQueryRuntime {
     @Override
     public Event[] execute() {
         try {
-            StateEvent stateEvent = new StateEvent(1, 0);
-            StreamEvent streamEvents = null;
-            switch (eventType) {
-                case TABLE:
-                    streamEvents = table.find(stateEvent, compiledCondition);
-                    break;
-                case WINDOW:
-                    streamEvents = window.find(stateEvent, compiledCondition);
-                    break;
-                case AGGREGATE:
-                    stateEvent = new StateEvent(2, 0);
-                    streamEvents = aggregation.find(stateEvent, compiledCondition, siddhiQueryContext);
-                    break;
-                case DEFAULT:
-                    break;
-            }
+            StreamEvent streamEvents = find();
             if (streamEvents == null) {
                 return null;
             } else {
                 if (selector != null) {
-                    if (eventType == MetaStreamEvent.EventType.AGGREGATE) {
-                        return executeSelector(stateEventFactory, null, streamEvents, 1, selector);
-                    } else {
-                        return executeSelector(stateEventFactory, null, streamEvents, 0, selector);
-                    }
+                    return executeSelector(stateEventFactory, null, streamEvents, getStoreEventIndex(), selector);
                 } else {
                     List<Event> events = new ArrayList<Event>();
                     while (streamEvents != null) {
@@ -121,6 +102,43 @@ public class FindOnDemandQueryRuntime extends OnDemandQueryRuntime {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>When each event is selected independently, the found events are selected page by page, without building the
+     * selected events of all pages.</p>
+     */
+    @Override
+    public OnDemandQueryCursor executeInPages(int pageSize) {
+        if (selector == null || !selector.isEventWiseSelection()) {
+            return super.executeInPages(pageSize);
+        }
+        StreamEvent streamEvents;
+        try {
+            streamEvents = find();
+        } catch (Throwable t) {
+            throw new OnDemandQueryRuntimeException("Error executing '" + queryName + "', " + t.getMessage(), t);
+        }
+        return new OnDemandQueryCursor.SelectionCursor(queryName, pageSize, streamEvents, stateEventFactory,
+                getStoreEventIndex(), selector);
+    }
+
+    private StreamEvent find() {
+        switch (eventType) {
+            case TABLE:
+                return table.find(new StateEvent(1, 0), compiledCondition);
+            case WINDOW:
+                return window.find(new StateEvent(1, 0), compiledCondition);
+            case AGGREGATE:
+                return aggregation.find(new StateEvent(2, 0), compiledCondition, siddhiQueryContext);
+            default:
+                return null;
+        }
+    }
+
+    private int getStoreEventIndex() {
+        return eventType == MetaStreamEvent.EventType.AGGREGATE ? 1 : 0;
+    }
+
     @Override
     public void reset() {
         if (selector != null) {
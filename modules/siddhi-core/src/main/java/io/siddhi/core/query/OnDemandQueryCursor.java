@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.event.state.StateEvent;
+import io.siddhi.core.event.state.StateEventFactory;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.exception.OnDemandQueryRuntimeException;
+import io.siddhi.core.query.selector.QuerySelector;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.statistics.LatencyTracker;
+import org.apache.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Cursor over the results of an on-demand query, returning the resulting events in pages of at most the page size.
+ * Pages are produced lazily as the cursor is iterated, and the cursor has to be closed when it is not fully consumed,
+ * to release the resources held by the underlying store.
+ */
+public abstract class OnDemandQueryCursor implements Iterator<Event[]>, Closeable {
+
+    private static final Logger log = Logger.getLogger(OnDemandQueryCursor.class);
+
+    protected final String queryName;
+    protected final int pageSize;
+    private Event[] nextPage;
+    private boolean closed = false;
+    private LatencyTracker latencyTracker;
+    private long startTime;
+
+    protected OnDemandQueryCursor(String queryName, int pageSize) {
+        this.queryName = queryName;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Track the latency of the query from the given start time until the cursor is exhausted or closed.
+     *
+     * @param latencyTracker   the latency tracker of the on-demand queries
+     * @param startTimeInNanos the time the query was started at, as given by {@link System#nanoTime()}
+     */
+    public void trackLatency(LatencyTracker latencyTracker, long startTimeInNanos) {
+        this.latencyTracker = latencyTracker;
+        this.startTime = startTimeInNanos;
+    }
+
+    /**
+     * Produce the next page of events.
+     *
+     * @return the next page, or null if there are no more events
+     */
+    protected abstract Event[] nextPage();
+
+    /**
+     * Release the resources held by the cursor, called once when the cursor is closed or exhausted.
+     */
+    protected void release() {
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (nextPage == null) {
+            try {
+                nextPage = nextPage();
+            } catch (Throwable t) {
+                close();
+                throw new OnDemandQueryRuntimeException("Error executing '" + queryName + "', " + t.getMessage(), t);
+            }
+            if (nextPage == null) {
+                close();
+            }
+        }
+        return nextPage != null;
+    }
+
+    @Override
+    public Event[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more events in the results of '" + queryName + "'");
+        }
+        Event[] page = nextPage;
+        nextPage = null;
+        return page;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            nextPage = null;
+            try {
+                release();
+            } finally {
+                if (latencyTracker != null) {
+                    latencyTracker.recordLatency(System.nanoTime() - startTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cursor over already materialized events.
+     */
+    static class EventArrayCursor extends OnDemandQueryCursor {
+        private final Event[] events;
+        private int position = 0;
+
+        EventArrayCursor(String queryName, int pageSize, Event[] events) {
+            super(queryName, pageSize);
+            this.events = events;
+        }
+
+        @Override
+        protected Event[] nextPage() {
+            if (events == null || position >= events.length) {
+                return null;
+            }
+            int end = Math.min(events.length, position + pageSize);
+            Event[] page = Arrays.copyOfRange(events, position, end);
+            position = end;
+            return page;
+        }
+    }
+
+    /**
+     * Cursor over the events found from a table, window or aggregation, where the selection is applied to each page
+     * of found events, followed by the offset and the limit of the query.
+     */
+    static class SelectionCursor extends OnDemandQueryCursor {
+        private final StateEventFactory stateEventFactory;
+        private final int storeEventIndex;
+        private final QuerySelector selector;
+        private StreamEvent foundEvents;
+        private long remainingOffset;
+        private long remainingLimit;
+
+        SelectionCursor(String queryName, int pageSize, StreamEvent foundEvents, StateEventFactory stateEventFactory,
+                        int storeEventIndex, QuerySelector selector) {
+            super(queryName, pageSize);
+            this.foundEvents = foundEvents;
+            this.stateEventFactory = stateEventFactory;
+            this.storeEventIndex = storeEventIndex;
+            this.selector = selector;
+            this.remainingOffset = selector.getOffset() == SiddhiConstants.UNKNOWN_STATE ? 0 : selector.getOffset();
+            this.remainingLimit = selector.getLimit() == SiddhiConstants.UNKNOWN_STATE ?
+                    Long.MAX_VALUE : selector.getLimit();
+        }
+
+        @Override
+        protected Event[] nextPage() {
+            List<Event> page = new ArrayList<>(pageSize);
+            while (page.size() < pageSize && foundEvents != null && remainingLimit > 0) {
+                ComplexEventChunk<StateEvent> complexEventChunk = new ComplexEventChunk<>();
+                for (int i = page.size(); i < pageSize && foundEvents != null; i++) {
+                    StreamEvent foundEvent = foundEvents;
+                    foundEvents = foundEvents.getNext();
+                    foundEvent.setNext(null);
+                    StateEvent stateEvent = stateEventFactory.newInstance();
+                    stateEvent.addEvent(storeEventIndex, foundEvent);
+                    complexEventChunk.add(stateEvent);
+                }
+                ComplexEventChunk selectedEvents = selector.executeEventWise(complexEventChunk);
+                if (selectedEvents == null) {
+                    continue;
+                }
+                selectedEvents.reset();
+                while (selectedEvents.hasNext() && remainingLimit > 0) {
+                    ComplexEvent complexEvent = selectedEvents.next();
+                    if (remainingOffset > 0) {
+                        remainingOffset--;
+                    } else {
+                        page.add(new Event(complexEvent.getTimestamp(), complexEvent.getOutputData()));
+                        remainingLimit--;
+                    }
+                }
+            }
+            return page.isEmpty() ? null : page.toArray(new Event[0]);
+        }
+
+        @Override
+        protected void release() {
+            foundEvents = null;
+        }
+    }
+
+    /**
+     * Cursor over the records read from a store, to which the selection, offset and limit are already applied.
+     */
+    static class RecordCursor extends OnDemandQueryCursor {
+        private final Iterator<Object[]> records;
+        private final int outputSize;
+
+        RecordCursor(String queryName, int pageSize, Iterator<Object[]> records, int outputSize) {
+            super(queryName, pageSize);
+            this.records = records;
+            this.outputSize = outputSize;
+        }
+
+        @Override
+        protected Event[] nextPage() {
+            if (records == null) {
+                return null;
+            }
+            List<Event> page = new ArrayList<>(pageSize);
+            while (page.size() < pageSize && records.hasNext()) {
+                Object[] record = records.next();
+                if (record.length != outputSize) {
+                    record = Arrays.copyOf(record, outputSize);
+                }
+                page.add(new Event(-1, record));
+            }
+            return page.isEmpty() ? null : page.toArray(new Event[0]);
+        }
+
+        @Override
+        protected void release() {
+            if (records instanceof Closeable) {
+                try {
+                    ((Closeable) records).close();
+                } catch (IOException e) {
+                    log.error("Error closing the records of '" + queryName + "', " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
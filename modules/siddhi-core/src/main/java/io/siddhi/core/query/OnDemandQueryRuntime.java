@@ -68,6 +68,16 @@ public abstract class OnDemandQueryRuntime {
         }
     }
 
+    /**
+     * This method initiates the execution of on-demand Query, returning the resulting events in pages.
+     *
+     * @param pageSize maximum number of events in a page
+     * @return cursor over the pages of events.
+     */
+    public OnDemandQueryCursor executeInPages(int pageSize) {
+        return new OnDemandQueryCursor.EventArrayCursor(queryName, pageSize, execute());
+    }
+
     /**
      * This method sets a state event pool for on-demand Query runtime.
      *
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.event.Event;
+
+/**
+ * On-demand query with bind variables ({@code ?}), which can be executed repeatedly with different bind values
+ * without being compiled again. Obtained via {@link SiddhiAppRuntime#prepareQuery(String)}.
+ */
+public class PreparedOnDemandQuery {
+
+    private final SiddhiAppRuntime siddhiAppRuntime;
+    private final String onDemandQuery;
+
+    public PreparedOnDemandQuery(SiddhiAppRuntime siddhiAppRuntime, String onDemandQuery) {
+        this.siddhiAppRuntime = siddhiAppRuntime;
+        this.onDemandQuery = onDemandQuery;
+    }
+
+    /**
+     * Execute the query, binding the given values to its bind variables in order.
+     *
+     * @param bindValues values bound to the bind variables, which cannot be null
+     * @return resulting events
+     */
+    public Event[] execute(Object... bindValues) {
+        return siddhiAppRuntime.query(onDemandQuery, bindValues);
+    }
+
+    public String getOnDemandQuery() {
+        return onDemandQuery;
+    }
+}
@@ -25,11 +25,13 @@ import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.exception.OnDemandQueryRuntimeException;
 import io.siddhi.core.query.processor.stream.window.QueryableProcessor;
+import io.siddhi.core.table.record.AbstractQueryableRecordTable;
 import io.siddhi.core.util.collection.operator.CompiledCondition;
 import io.siddhi.core.util.collection.operator.CompiledSelection;
 import io.siddhi.query.api.definition.Attribute;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -72,10 +74,29 @@ public class SelectOnDemandQueryRuntime extends OnDemandQueryRuntime {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Records of stores are read lazily page by page, as the selection is already applied by the store.</p>
+     */
+    @Override
+    public OnDemandQueryCursor executeInPages(int pageSize) {
+        if (!(queryableProcessor instanceof AbstractQueryableRecordTable)) {
+            return super.executeInPages(pageSize);
+        }
+        try {
+            Iterator<Object[]> records = ((AbstractQueryableRecordTable) queryableProcessor).queryRecords(
+                    new StateEvent(1, 0), compiledCondition, compiledSelection, outputAttributes);
+            return new OnDemandQueryCursor.RecordCursor(queryName, pageSize, records, outputAttributes.length);
+        } catch (Throwable t) {
+            throw new OnDemandQueryRuntimeException("Error executing '" + queryName + "', " + t.getMessage(), t);
+        }
+    }
+
     @Override
     public void reset() {
         if (selector != null) {
-            selector.process(generateResetComplexEventChunk(metaStreamEvent));
+            // Selector of the compiled selection is executed by the table and not linked to a rate limiter
+            selector.execute(generateResetComplexEventChunk(metaStreamEvent));
         }
     }
 
@@ -29,6 +29,8 @@ import io.siddhi.core.event.stream.converter.StreamEventConverter;
 import io.siddhi.core.event.stream.converter.StreamEventConverterFactory;
 import io.siddhi.core.query.input.stream.state.PreStateProcessor;
 import io.siddhi.core.query.processor.Processor;
+import io.siddhi.core.query.processor.filter.FilterProcessor;
+import io.siddhi.core.stream.ReceiverPredicate;
 import io.siddhi.core.stream.StreamJunction;
 import io.siddhi.core.util.lock.LockWrapper;
 import io.siddhi.core.util.statistics.LatencyTracker;
@@ -55,6 +57,9 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
     private MetaStreamEvent metaStreamEvent;
     private StreamEventFactory streamEventFactory;
     private SiddhiDebugger siddhiDebugger;
+    private ReceiverPredicate receiverPredicate;
+    private FilterProcessor filterProcessor;
+    private final ThreadLocal<StreamEvent> filteringEvent = new ThreadLocal<>();
 
     public ProcessStreamReceiver(String streamId,
                                  SiddhiQueryContext siddhiQueryContext) {
@@ -67,18 +72,137 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
         return streamId;
     }
 
+    @Override
+    public boolean retainsEvents() {
+        // Received events are converted to stream events
+        return false;
+    }
+
     public void setSiddhiDebugger(SiddhiDebugger siddhiDebugger) {
         this.siddhiDebugger = siddhiDebugger;
     }
 
-    private void process(ComplexEventChunk<StreamEvent> streamEventChunk) {
+    /**
+     * Condition that must hold for the events to pass through the first filter of this receiver, used by the
+     * stream junction to skip dispatching the events this receiver would discard.
+     *
+     * @return the predicate, or {@code null} if all events must be dispatched to this receiver
+     */
+    public ReceiverPredicate getReceiverPredicate() {
+        if (siddhiDebugger != null) {
+            // All events are dispatched such that the debugger can observe them at the query input
+            return null;
+        }
+        return receiverPredicate;
+    }
+
+    public void setReceiverPredicate(ReceiverPredicate receiverPredicate) {
+        this.receiverPredicate = receiverPredicate;
+    }
+
+    /**
+     * Set the filter processing the events first, which is then evaluated by this receiver while converting the
+     * events, such that stream events are only allocated for the events passing the filter.
+     *
+     * @param filterProcessor the first processor of the query, or {@code null} if it does not start with a filter
+     */
+    public void setFilterProcessor(FilterProcessor filterProcessor) {
+        this.filterProcessor = filterProcessor;
+    }
+
+    private boolean isFilterPushedDown() {
+        // All events are processed by the filter when debugging such that the debugger can observe them
+        return filterProcessor != null && next == filterProcessor && siddhiDebugger == null;
+    }
+
+    /**
+     * Get the stream event to convert the next event of this thread into, which is reused until an event passes
+     * the filter.
+     *
+     * @return stream event to convert into
+     */
+    private StreamEvent getFilteringEvent() {
+        StreamEvent streamEvent = filteringEvent.get();
+        if (streamEvent == null) {
+            streamEvent = streamEventFactory.newInstance();
+            filteringEvent.set(streamEvent);
+        }
+        return streamEvent;
+    }
+
+    /**
+     * Evaluate the filter on the converted event, has to be called between {@link #startFiltering()} and
+     * {@link #endFiltering(LatencyTracker)}, such that the filter of a whole batch of events is evaluated under the
+     * lock taken to process them.
+     *
+     * @param streamEvent event obtained via {@link #getFilteringEvent()}, which is handed over if it passes the filter
+     * @return whether the event passed the filter
+     */
+    private boolean filter(StreamEvent streamEvent) {
+        Object result = filterProcessor.getConditionExecutor().execute(streamEvent);
+        if (result == null || !(Boolean) result) {
+            return false;
+        }
+        filteringEvent.set(null);
+        return true;
+    }
+
+    private void lock() {
         if (lockWrapper != null) {
             lockWrapper.lock();
         }
+    }
+
+    private void unlock() {
+        if (lockWrapper != null) {
+            lockWrapper.unlock();
+        }
+    }
+
+    /**
+     * Get the latency tracker of the query when latency is being tracked.
+     *
+     * @return the latency tracker, or {@code null} if latency is not tracked
+     */
+    private LatencyTracker getActiveLatencyTracker() {
+        LatencyTracker latencyTracker = siddhiQueryContext.getLatencyTracker();
+        if (Level.BASIC.compareTo(siddhiQueryContext.getSiddhiAppContext().getRootMetricsLevel()) <= 0 &&
+                latencyTracker != null) {
+            return latencyTracker;
+        }
+        return null;
+    }
+
+    /**
+     * Take the lock of the query and start tracking its latency, before the pushed-down filter is evaluated such
+     * that the latency covers the filter as it does when the filter processor runs.
+     *
+     * @return the latency tracker to be passed to {@link #endFiltering(LatencyTracker)}
+     */
+    private LatencyTracker startFiltering() {
+        lock();
+        LatencyTracker latencyTracker = getActiveLatencyTracker();
+        if (latencyTracker != null) {
+            latencyTracker.markIn();
+        }
+        return latencyTracker;
+    }
+
+    private void endFiltering(LatencyTracker latencyTracker) {
         try {
-            LatencyTracker latencyTracker = siddhiQueryContext.getLatencyTracker();
-            if (Level.BASIC.compareTo(siddhiQueryContext.getSiddhiAppContext().getRootMetricsLevel()) <= 0 &&
-                    latencyTracker != null) {
+            if (latencyTracker != null) {
+                latencyTracker.markOut();
+            }
+        } finally {
+            unlock();
+        }
+    }
+
+    private void process(ComplexEventChunk<StreamEvent> streamEventChunk) {
+        lock();
+        try {
+            LatencyTracker latencyTracker = getActiveLatencyTracker();
+            if (latencyTracker != null) {
                 try {
                     latencyTracker.markIn();
                     processAndClear(streamEventChunk);
@@ -89,25 +213,111 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
                 processAndClear(streamEventChunk);
             }
         } finally {
-            if (lockWrapper != null) {
-                lockWrapper.unlock();
-            }
+            unlock();
+        }
+    }
+
+    /**
+     * Process the events that passed the filter, has to be called between {@link #startFiltering()} and
+     * {@link #endFiltering(LatencyTracker)}.
+     *
+     * @param firstEvent first event that passed the filter, or {@code null} if none passed
+     * @param lastEvent  last event that passed the filter
+     */
+    private void processFiltered(StreamEvent firstEvent, StreamEvent lastEvent) {
+        if (firstEvent != null) {
+            ComplexEventChunk<StreamEvent> streamEventChunk = new ComplexEventChunk<StreamEvent>(firstEvent,
+                    lastEvent);
+            filterProcessor.getNextProcessor().process(streamEventChunk);
+            streamEventChunk.clear();
         }
     }
 
     @Override
     public void receive(ComplexEvent complexEvents) {
+        receive(complexEvents, false);
+    }
+
+    /**
+     * Receive the events a query publishes into the stream when this receiver is its only consumer, such that the
+     * events are handed over to this query without being dispatched through the stream junction. The events are
+     * cloned into the stream events of this query as they are converted, and expired events are rewritten as current
+     * events on the clones, leaving the events of the publishing query untouched.
+     *
+     * @param complexEvents events published into the stream
+     */
+    public void receiveAsCurrent(ComplexEvent complexEvents) {
+        if (siddhiDebugger != null) {
+            // The debugger observes the received events, hence they are rewritten before they are converted
+            for (ComplexEvent complexEvent = complexEvents; complexEvent != null;
+                 complexEvent = complexEvent.getNext()) {
+                toCurrent(complexEvent);
+            }
+        }
+        receive(complexEvents, true);
+    }
+
+    /**
+     * Whether the events published into the stream can be handed over to this receiver through
+     * {@link #receiveAsCurrent(ComplexEvent)}, which is not the case for the receivers of joins, patterns and
+     * sequences that extend this receiver.
+     *
+     * @return true if the publishing query can be fused with this receiver
+     */
+    public boolean isFusable() {
+        return getClass() == ProcessStreamReceiver.class;
+    }
+
+    private static void toCurrent(ComplexEvent complexEvent) {
+        if (complexEvent.getType() == ComplexEvent.Type.EXPIRED) {
+            complexEvent.setType(ComplexEvent.Type.CURRENT);
+        }
+    }
+
+    private void receive(ComplexEvent complexEvents, boolean asCurrent) {
+        if (isFilterPushedDown()) {
+            LatencyTracker latencyTracker = startFiltering();
+            try {
+                StreamEvent firstEvent = null;
+                StreamEvent currentEvent = null;
+                for (; complexEvents != null; complexEvents = complexEvents.getNext()) {
+                    StreamEvent nextEvent = getFilteringEvent();
+                    streamEventConverter.convertComplexEvent(complexEvents, nextEvent);
+                    if (asCurrent) {
+                        toCurrent(nextEvent);
+                    }
+                    if (filter(nextEvent)) {
+                        if (firstEvent == null) {
+                            firstEvent = nextEvent;
+                        } else {
+                            currentEvent.setNext(nextEvent);
+                        }
+                        currentEvent = nextEvent;
+                    }
+                }
+                processFiltered(firstEvent, currentEvent);
+            } finally {
+                endFiltering(latencyTracker);
+            }
+            return;
+        }
         if (siddhiDebugger != null) {
             siddhiDebugger.checkBreakPoint(siddhiQueryContext.getName(),
                     SiddhiDebugger.QueryTerminal.IN, complexEvents);
         }
         StreamEvent firstEvent = streamEventFactory.newInstance();
         streamEventConverter.convertComplexEvent(complexEvents, firstEvent);
+        if (asCurrent) {
+            toCurrent(firstEvent);
+        }
         StreamEvent currentEvent = firstEvent;
         complexEvents = complexEvents.getNext();
         while (complexEvents != null) {
             StreamEvent nextEvent = streamEventFactory.newInstance();
             streamEventConverter.convertComplexEvent(complexEvents, nextEvent);
+            if (asCurrent) {
+                toCurrent(nextEvent);
+            }
             currentEvent.setNext(nextEvent);
             currentEvent = nextEvent;
             complexEvents = complexEvents.getNext();
@@ -118,6 +328,19 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
     @Override
     public void receive(Event event) {
         if (event != null) {
+            if (isFilterPushedDown()) {
+                LatencyTracker latencyTracker = startFiltering();
+                try {
+                    StreamEvent newEvent = getFilteringEvent();
+                    streamEventConverter.convertEvent(event, newEvent);
+                    if (filter(newEvent)) {
+                        processFiltered(newEvent, newEvent);
+                    }
+                } finally {
+                    endFiltering(latencyTracker);
+                }
+                return;
+            }
             StreamEvent newEvent = streamEventFactory.newInstance();
             streamEventConverter.convertEvent(event, newEvent);
             if (siddhiDebugger != null) {
@@ -130,6 +353,29 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
 
     @Override
     public void receive(Event[] events) {
+        if (isFilterPushedDown()) {
+            LatencyTracker latencyTracker = startFiltering();
+            try {
+                StreamEvent firstEvent = null;
+                StreamEvent currentEvent = null;
+                for (Event event : events) {
+                    StreamEvent nextEvent = getFilteringEvent();
+                    streamEventConverter.convertEvent(event, nextEvent);
+                    if (filter(nextEvent)) {
+                        if (firstEvent == null) {
+                            firstEvent = nextEvent;
+                        } else {
+                            currentEvent.setNext(nextEvent);
+                        }
+                        currentEvent = nextEvent;
+                    }
+                }
+                processFiltered(firstEvent, currentEvent);
+            } finally {
+                endFiltering(latencyTracker);
+            }
+            return;
+        }
         StreamEvent firstEvent = streamEventFactory.newInstance();
         streamEventConverter.convertEvent(events[0], firstEvent);
         StreamEvent currentEvent = firstEvent;
@@ -147,6 +393,29 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
 
     @Override
     public void receive(List<Event> events) {
+        if (isFilterPushedDown()) {
+            LatencyTracker latencyTracker = startFiltering();
+            try {
+                StreamEvent firstEvent = null;
+                StreamEvent currentEvent = null;
+                for (Event event : events) {
+                    StreamEvent nextEvent = getFilteringEvent();
+                    streamEventConverter.convertEvent(event, nextEvent);
+                    if (filter(nextEvent)) {
+                        if (firstEvent == null) {
+                            firstEvent = nextEvent;
+                        } else {
+                            currentEvent.setNext(nextEvent);
+                        }
+                        currentEvent = nextEvent;
+                    }
+                }
+                processFiltered(firstEvent, currentEvent);
+            } finally {
+                endFiltering(latencyTracker);
+            }
+            return;
+        }
         StreamEvent firstEvent = null;
         StreamEvent currentEvent = null;
         for (Event event : events) {
@@ -168,6 +437,19 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
 
     @Override
     public void receive(long timestamp, Object[] data) {
+        if (isFilterPushedDown()) {
+            LatencyTracker latencyTracker = startFiltering();
+            try {
+                StreamEvent newEvent = getFilteringEvent();
+                streamEventConverter.convertData(timestamp, data, newEvent);
+                if (filter(newEvent)) {
+                    processFiltered(newEvent, newEvent);
+                }
+            } finally {
+                endFiltering(latencyTracker);
+            }
+            return;
+        }
         StreamEvent newEvent = streamEventFactory.newInstance();
         streamEventConverter.convertData(timestamp, data, newEvent);
         // Send to debugger
@@ -88,4 +88,8 @@ public class SingleStreamRuntime implements StreamRuntime {
     public ProcessingMode getProcessingMode() {
         return overallProcessingMode;
     }
+
+    public void setProcessingMode(ProcessingMode overallProcessingMode) {
+        this.overallProcessingMode = overallProcessingMode;
+    }
 }
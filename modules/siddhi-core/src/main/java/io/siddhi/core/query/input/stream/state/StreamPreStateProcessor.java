@@ -37,6 +37,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -324,6 +325,9 @@ public class StreamPreStateProcessor implements PreStateProcessor {
 
     @Override
     public void expireEvents(long timestamp) {
+        if (withinTime == SiddhiConstants.UNKNOWN_STATE) {
+            return;
+        }
         StreamPreState state = stateHolder.getState();
         lock.lock();
         try {
@@ -340,15 +344,32 @@ public class StreamPreStateProcessor implements PreStateProcessor {
                     break;
                 }
             }
-            for (Iterator<StateEvent> iterator = state.newAndEveryStateEventList.iterator(); iterator.hasNext(); ) {
-                StateEvent stateEvent = iterator.next();
-                if (isExpired(stateEvent, timestamp)) {
-                    iterator.remove();
+            indexNewAndEveryStateEvents(state);
+            if (state.newAndEveryTimeOrdered && state.newAndEveryMaxStartTimestamp - timestamp <= withinTime) {
+                // Only the states at the head of the time ordered list can be expired
+                while (!state.newAndEveryStateEventList.isEmpty() &&
+                        isExpired(state.newAndEveryStateEventList.getFirst(), timestamp)) {
+                    StateEvent stateEvent = state.newAndEveryStateEventList.removeFirst();
                     if (stateEvent.getType() != ComplexEvent.Type.EXPIRED) {
                         stateEvent.setType(ComplexEvent.Type.EXPIRED);
                         expiredStateEvent = stateEvent;
                     }
                 }
+                state.newAndEveryIndexedSize = state.newAndEveryStateEventList.size();
+            } else {
+                for (Iterator<StateEvent> iterator = state.newAndEveryStateEventList.iterator();
+                     iterator.hasNext(); ) {
+                    StateEvent stateEvent = iterator.next();
+                    if (isExpired(stateEvent, timestamp)) {
+                        iterator.remove();
+                        // The remaining states are indexed again, as they can be time ordered now
+                        state.newAndEveryIndexedSize = 0;
+                        if (stateEvent.getType() != ComplexEvent.Type.EXPIRED) {
+                            stateEvent.setType(ComplexEvent.Type.EXPIRED);
+                            expiredStateEvent = stateEvent;
+                        }
+                    }
+                }
             }
             if (expiredStateEvent != null && withinEveryPreStateProcessor != null) {
                 withinEveryPreStateProcessor.addEveryState(expiredStateEvent);
@@ -360,6 +381,53 @@ public class StreamPreStateProcessor implements PreStateProcessor {
         }
     }
 
+    /**
+     * Index the states added to the new and every state list since it was last indexed, to find whether the list is
+     * ordered by the timestamps of the start state events. The states are added to the list in their arrival order,
+     * hence the list is usually time ordered, allowing the expired states to be removed from its head without going
+     * through the whole list, which keeps growing until the events of this state arrive.
+     *
+     * @param state state of the processor
+     */
+    private void indexNewAndEveryStateEvents(StreamPreState state) {
+        LinkedList<StateEvent> stateEventList = state.newAndEveryStateEventList;
+        ListIterator<StateEvent> iterator = null;
+        if (state.newAndEveryIndexedSize > 0 && state.newAndEveryIndexedSize <= stateEventList.size()) {
+            iterator = stateEventList.listIterator(state.newAndEveryIndexedSize);
+            if (iterator.previous() != state.newAndEveryLastIndexedEvent) {
+                // The list is modified by other means than adding states, hence it is indexed again
+                iterator = null;
+            } else {
+                iterator.next();
+            }
+        }
+        if (iterator == null) {
+            iterator = stateEventList.listIterator();
+            state.newAndEveryTimeOrdered = true;
+            state.newAndEveryLastStartTimestamp = Long.MIN_VALUE;
+            state.newAndEveryMaxStartTimestamp = Long.MIN_VALUE;
+        }
+        while (iterator.hasNext()) {
+            StateEvent stateEvent = iterator.next();
+            long minStartTimestamp = Long.MAX_VALUE;
+            for (int startStateId : startStateIds) {
+                StreamEvent streamEvent = stateEvent.getStreamEvent(startStateId);
+                if (streamEvent != null) {
+                    minStartTimestamp = Math.min(minStartTimestamp, streamEvent.getTimestamp());
+                    state.newAndEveryMaxStartTimestamp = Math.max(state.newAndEveryMaxStartTimestamp,
+                            streamEvent.getTimestamp());
+                }
+            }
+            if (minStartTimestamp == Long.MAX_VALUE || minStartTimestamp < state.newAndEveryLastStartTimestamp) {
+                state.newAndEveryTimeOrdered = false;
+            } else {
+                state.newAndEveryLastStartTimestamp = minStartTimestamp;
+            }
+        }
+        state.newAndEveryIndexedSize = stateEventList.size();
+        state.newAndEveryLastIndexedEvent = stateEventList.peekLast();
+    }
+
     @Override
     public ComplexEventChunk<StateEvent> processAndReturn(ComplexEventChunk complexEventChunk) {
         ComplexEventChunk<StateEvent> returnEventChunk = new ComplexEventChunk<StateEvent>();
@@ -439,6 +507,11 @@ public class StreamPreStateProcessor implements PreStateProcessor {
         private volatile boolean stateChanged = false;
         private boolean initialized;
         private boolean started;
+        private int newAndEveryIndexedSize;
+        private StateEvent newAndEveryLastIndexedEvent;
+        private boolean newAndEveryTimeOrdered;
+        private long newAndEveryLastStartTimestamp;
+        private long newAndEveryMaxStartTimestamp;
 
         @Override
         public boolean canDestroy() {
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query.output.callback;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.event.EventCursor;
+import org.apache.log4j.Logger;
+
+import java.util.Arrays;
+
+/**
+ * {@link QueryCallback} receiving the output of a Siddhi query through a reused {@link EventCursor}, such that the
+ * output events are not copied into {@link Event}s unless the callback materializes them. Current and expired events
+ * are visited in their output order, and are distinguished via {@link EventCursor#isExpired()}. The cursor is only
+ * valid during {@link #receive(long, EventCursor)}.
+ */
+public abstract class CursorQueryCallback extends QueryCallback {
+
+    private static final Logger log = Logger.getLogger(CursorQueryCallback.class);
+
+    private final ThreadLocal<EventCursor> eventCursor = ThreadLocal.withInitial(EventCursor::new);
+
+    @Override
+    public void receiveStreamEvent(ComplexEventChunk complexEventChunk) {
+        long timestamp = -1;
+        ComplexEvent complexEvent = complexEventChunk.getFirst();
+        for (ComplexEvent event = complexEvent; event != null; event = event.getNext()) {
+            timestamp = event.getTimestamp();
+        }
+        EventCursor cursor = eventCursor.get();
+        cursor.wrap(complexEvent);
+        receiveCursor(timestamp, cursor);
+    }
+
+    @Override
+    public final void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+        int inEventCount = inEvents == null ? 0 : inEvents.length;
+        int removeEventCount = removeEvents == null ? 0 : removeEvents.length;
+        Event[] events = new Event[inEventCount + removeEventCount];
+        if (inEventCount > 0) {
+            System.arraycopy(inEvents, 0, events, 0, inEventCount);
+        }
+        if (removeEventCount > 0) {
+            System.arraycopy(removeEvents, 0, events, inEventCount, removeEventCount);
+        }
+        EventCursor cursor = eventCursor.get();
+        cursor.wrap(events, events.length);
+        receiveCursor(timestamp, cursor);
+    }
+
+    private void receiveCursor(long timestamp, EventCursor cursor) {
+        try {
+            receive(timestamp, cursor);
+        } catch (RuntimeException e) {
+            cursor.rewind();
+            log.error("Error on sending events" + Arrays.deepToString(cursor.toEvents()), e);
+        } finally {
+            cursor.clear();
+        }
+    }
+
+    /**
+     * Receive the output events of the query.
+     *
+     * @param timestamp timestamp of the last output event
+     * @param cursor    cursor positioned before the first event, which is only valid during the call
+     */
+    public abstract void receive(long timestamp, EventCursor cursor);
+
+}
@@ -18,7 +18,6 @@
 package io.siddhi.core.query.output.callback;
 
 import io.siddhi.core.debugger.SiddhiDebugger;
-import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.stream.StreamJunction;
 import io.siddhi.query.api.definition.StreamDefinition;
@@ -46,14 +45,7 @@ public class InsertIntoStreamCallback extends OutputCallback {
             getSiddhiDebugger()
                     .checkBreakPoint(getQueryName(), SiddhiDebugger.QueryTerminal.OUT, complexEventChunk.getFirst());
         }
-        complexEventChunk.reset();
-        while (complexEventChunk.hasNext()) {
-            ComplexEvent complexEvent = complexEventChunk.next();
-            if (complexEvent.getType() == ComplexEvent.Type.EXPIRED) {
-                complexEvent.setType(ComplexEvent.Type.CURRENT);
-            }
-        }
-        publisher.send(complexEventChunk.getFirst());
+        publisher.sendAsCurrent(complexEventChunk.getFirst());
     }
 
     public StreamDefinition getOutputStreamDefinition() {
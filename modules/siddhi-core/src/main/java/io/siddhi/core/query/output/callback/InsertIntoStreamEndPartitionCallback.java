@@ -19,7 +19,6 @@ package io.siddhi.core.query.output.callback;
 
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.debugger.SiddhiDebugger;
-import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.stream.StreamJunction;
 import io.siddhi.query.api.definition.StreamDefinition;
@@ -45,13 +44,7 @@ public class InsertIntoStreamEndPartitionCallback extends InsertIntoStreamCallba
             String flowId = SiddhiAppContext.getPartitionFlowId();
             SiddhiAppContext.stopPartitionFlow();
             try {
-                while (complexEventChunk.hasNext()) {
-                    ComplexEvent complexEvent = complexEventChunk.next();
-                    if (complexEvent.getType() == ComplexEvent.Type.EXPIRED) {
-                        complexEvent.setType(ComplexEvent.Type.CURRENT);
-                    }
-                }
-                publisher.send(complexEventChunk.getFirst());
+                publisher.sendAsCurrent(complexEventChunk.getFirst());
             } finally {
                 SiddhiAppContext.startPartitionFlow(flowId);
             }
@@ -44,6 +44,10 @@ public class FilterProcessor implements Processor {
         }
     }
 
+    public ExpressionExecutor getConditionExecutor() {
+        return conditionExecutor;
+    }
+
     @Override
     public void process(ComplexEventChunk complexEventChunk) {
         complexEventChunk.reset();
@@ -140,6 +140,7 @@ public class ExternalTimeBatchWindowProcessor
     private boolean findToBeExecuted = false;
     private boolean replaceTimestampWithBatchEndTime = false;
     private boolean outputExpectsExpiredEvents;
+    private boolean isBatchAggregation = false;
     private long commonStartTime = 0;
 
     @Override
@@ -225,6 +226,12 @@ public class ExternalTimeBatchWindowProcessor
                     "timeout, <bool> replaceTimestampWithBatchEndTime), but found " + attributeExpressionExecutors
                     .length + " input attributes");
         }
+        if (schedulerTimeout == 0 && !outputExpectsExpiredEvents && !findToBeExecuted &&
+                siddhiQueryContext.isAggregateOnlySelection()) {
+            // The selector aggregates the events as they arrive, hence the events of the batch are not buffered
+            isBatchAggregation = true;
+            siddhiQueryContext.setBatchAggregation(true);
+        }
         return () -> new WindowState(outputExpectsExpiredEvents, schedulerTimeout, commonStartTime);
     }
 
@@ -243,6 +250,17 @@ public class ExternalTimeBatchWindowProcessor
             return;
         }
 
+        if (isBatchAggregation) {
+            synchronized (state) {
+                initTiming(streamEventChunk.getFirst(), state);
+                processBatchAggregation(streamEventChunk, streamEventCloner, state);
+            }
+            if (streamEventChunk.getFirst() != null) {
+                nextProcessor.process(streamEventChunk);
+            }
+            return;
+        }
+
         List<ComplexEventChunk<StreamEvent>> complexEventChunks = new ArrayList<ComplexEventChunk<StreamEvent>>();
         synchronized (state) {
             initTiming(streamEventChunk.getFirst(), state);
@@ -310,6 +328,42 @@ public class ExternalTimeBatchWindowProcessor
         }
     }
 
+    /**
+     * Send the current events to the selector as they arrive, inserting the reset event of the previous batch in front
+     * of the first event of each new batch, such that the selector aggregates the events of the batch without them
+     * being buffered in the window.
+     */
+    private void processBatchAggregation(ComplexEventChunk<StreamEvent> streamEventChunk,
+                                         StreamEventCloner streamEventCloner, WindowState state) {
+        streamEventChunk.reset();
+        while (streamEventChunk.hasNext()) {
+            StreamEvent streamEvent = streamEventChunk.next();
+            if (streamEvent.getType() != ComplexEvent.Type.CURRENT) {
+                streamEventChunk.remove();
+                continue;
+            }
+            long currentEventTime = (Long) timestampExpressionExecutor.execute(streamEvent);
+            if (state.lastCurrentEventTime < currentEventTime) {
+                state.lastCurrentEventTime = currentEventTime;
+            }
+            if (currentEventTime >= state.endTime) {
+                if (state.resetEvent != null) {
+                    state.resetEvent.setTimestamp(state.lastCurrentEventTime);
+                    streamEventChunk.insertBeforeCurrent(state.resetEvent);
+                    state.resetEvent = null;
+                }
+                state.endTime = findEndTime(state.lastCurrentEventTime, state.startTime, timeToKeep);
+            }
+            if (state.resetEvent == null) {
+                state.resetEvent = streamEventCloner.copyStreamEvent(streamEvent);
+                state.resetEvent.setType(ComplexEvent.Type.RESET);
+            }
+            if (replaceTimestampWithBatchEndTime) {
+                streamEvent.setAttribute(state.endTime, timestampExpressionExecutor.getPosition());
+            }
+        }
+    }
+
     private void initTiming(StreamEvent firstStreamEvent, WindowState state) {
         // for window beginning, if window is empty, set lastSendTime to incomingChunk first.
         if (state.endTime < 0) {
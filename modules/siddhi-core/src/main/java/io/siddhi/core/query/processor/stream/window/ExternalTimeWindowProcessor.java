@@ -28,6 +28,8 @@ import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.state.StateEvent;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventCloner;
+import io.siddhi.core.event.stream.holder.OffHeapStorageConfig;
+import io.siddhi.core.event.stream.holder.OffHeapStreamEventQueue;
 import io.siddhi.core.event.stream.holder.SnapshotableStreamEventQueue;
 import io.siddhi.core.executor.ConstantExpressionExecutor;
 import io.siddhi.core.executor.ExpressionExecutor;
@@ -119,7 +121,7 @@ public class ExternalTimeWindowProcessor
                     "timeStamp, <int|long|time> windowTime), but found " + attributeExpressionExecutors.length + " " +
                     "input attributes");
         }
-        return () -> new WindowState();
+        return () -> new WindowState(siddhiQueryContext);
     }
 
     @Override
@@ -186,8 +188,17 @@ public class ExternalTimeWindowProcessor
     }
 
     class WindowState extends State {
-        private SnapshotableStreamEventQueue expiredEventQueue =
-                new SnapshotableStreamEventQueue(streamEventClonerHolder);
+        private SnapshotableStreamEventQueue expiredEventQueue;
+
+        WindowState(SiddhiQueryContext siddhiQueryContext) {
+            OffHeapStorageConfig offHeapStorageConfig = siddhiQueryContext.getOffHeapStorageConfig();
+            if (offHeapStorageConfig != null) {
+                expiredEventQueue = new OffHeapStreamEventQueue(streamEventClonerHolder, offHeapStorageConfig,
+                        siddhiQueryContext.getSiddhiAppContext());
+            } else {
+                expiredEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+            }
+        }
 
         @Override
         public boolean canDestroy() {
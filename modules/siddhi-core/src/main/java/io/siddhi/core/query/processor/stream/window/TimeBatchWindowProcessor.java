@@ -131,6 +131,7 @@ public class TimeBatchWindowProcessor extends BatchingFindableWindowProcessor<Ti
     private SiddhiQueryContext siddhiQueryContext;
     private boolean isStartTimeEnabled = false;
     private boolean isStreamCurrentEvents = false;
+    private boolean isBatchAggregation = false;
     private long startTime = 0;
 
     public void setTimeInMilliSeconds(long timeInMilliSeconds) {
@@ -225,6 +226,12 @@ public class TimeBatchWindowProcessor extends BatchingFindableWindowProcessor<Ti
                     attributeExpressionExecutors.length + " input " +
                     "attributes");
         }
+        if (!isStreamCurrentEvents && !outputExpectsExpiredEvents && !findToBeExecuted &&
+                siddhiQueryContext.isAggregateOnlySelection()) {
+            // The selector aggregates the events as they arrive, hence the events of the batch are not buffered
+            isBatchAggregation = true;
+            siddhiQueryContext.setBatchAggregation(true);
+        }
         return () -> new WindowState(streamEventClonerHolder, outputExpectsExpiredEvents, findToBeExecuted);
 
     }
@@ -284,53 +291,57 @@ public class TimeBatchWindowProcessor extends BatchingFindableWindowProcessor<Ti
                 sendEvents = false;
             }
 
-            while (streamEventChunk.hasNext()) {
-                StreamEvent streamEvent = streamEventChunk.next();
-                if (streamEvent.getType() != ComplexEvent.Type.CURRENT) {
-                    continue;
-                }
-                StreamEvent clonedStreamEvent = streamEventCloner.copyStreamEvent(streamEvent);
-                if (state.resetEvent == null) {
-                    state.resetEvent = streamEventCloner.copyStreamEvent(streamEvent);
-                    state.resetEvent.setType(ComplexEvent.Type.RESET);
+            if (isBatchAggregation) {
+                processBatchAggregation(streamEventChunk, streamEventCloner, state, sendEvents);
+            } else {
+                while (streamEventChunk.hasNext()) {
+                    StreamEvent streamEvent = streamEventChunk.next();
+                    if (streamEvent.getType() != ComplexEvent.Type.CURRENT) {
+                        continue;
+                    }
+                    StreamEvent clonedStreamEvent = streamEventCloner.copyStreamEvent(streamEvent);
+                    if (state.resetEvent == null) {
+                        state.resetEvent = streamEventCloner.copyStreamEvent(streamEvent);
+                        state.resetEvent.setType(ComplexEvent.Type.RESET);
+                    }
+                    if (!isStreamCurrentEvents) {
+                        state.currentEventQueue.add(clonedStreamEvent);
+                    } else if (state.expiredEventQueue != null) {
+                        clonedStreamEvent.setType(StreamEvent.Type.EXPIRED);
+                        state.expiredEventQueue.add(clonedStreamEvent);
+                    }
                 }
                 if (!isStreamCurrentEvents) {
-                    state.currentEventQueue.add(clonedStreamEvent);
-                } else if (state.expiredEventQueue != null) {
-                    clonedStreamEvent.setType(StreamEvent.Type.EXPIRED);
-                    state.expiredEventQueue.add(clonedStreamEvent);
+                    streamEventChunk.clear();
                 }
-            }
-            if (!isStreamCurrentEvents) {
-                streamEventChunk.clear();
-            }
-            if (sendEvents) {
-                if (outputExpectsExpiredEvents && state.expiredEventQueue.getFirst() != null) {
-                    while (state.expiredEventQueue.hasNext()) {
-                        StreamEvent expiredEvent = state.expiredEventQueue.next();
-                        expiredEvent.setTimestamp(currentTime);
+                if (sendEvents) {
+                    if (outputExpectsExpiredEvents && state.expiredEventQueue.getFirst() != null) {
+                        while (state.expiredEventQueue.hasNext()) {
+                            StreamEvent expiredEvent = state.expiredEventQueue.next();
+                            expiredEvent.setTimestamp(currentTime);
+                        }
+                        streamEventChunk.add(state.expiredEventQueue.getFirst());
+                        state.expiredEventQueue.clear();
                     }
-                    streamEventChunk.add(state.expiredEventQueue.getFirst());
-                    state.expiredEventQueue.clear();
-                }
 
-                if (state.resetEvent != null) {
-                    streamEventChunk.add(state.resetEvent);
-                    state.resetEvent = null;
-                }
+                    if (state.resetEvent != null) {
+                        streamEventChunk.add(state.resetEvent);
+                        state.resetEvent = null;
+                    }
 
-                if (state.currentEventQueue != null && state.currentEventQueue.getFirst() != null) {
-                    if (state.expiredEventQueue != null) {
-                        state.currentEventQueue.reset();
-                        while (state.currentEventQueue.hasNext()) {
-                            StreamEvent currentEvent = state.currentEventQueue.next();
-                            StreamEvent toExpireEvent = streamEventCloner.copyStreamEvent(currentEvent);
-                            toExpireEvent.setType(StreamEvent.Type.EXPIRED);
-                            state.expiredEventQueue.add(toExpireEvent);
+                    if (state.currentEventQueue != null && state.currentEventQueue.getFirst() != null) {
+                        if (state.expiredEventQueue != null) {
+                            state.currentEventQueue.reset();
+                            while (state.currentEventQueue.hasNext()) {
+                                StreamEvent currentEvent = state.currentEventQueue.next();
+                                StreamEvent toExpireEvent = streamEventCloner.copyStreamEvent(currentEvent);
+                                toExpireEvent.setType(StreamEvent.Type.EXPIRED);
+                                state.expiredEventQueue.add(toExpireEvent);
+                            }
                         }
+                        streamEventChunk.add(state.currentEventQueue.getFirst());
+                        state.currentEventQueue.clear();
                     }
-                    streamEventChunk.add(state.currentEventQueue.getFirst());
-                    state.currentEventQueue.clear();
                 }
             }
         }
@@ -339,6 +350,28 @@ public class TimeBatchWindowProcessor extends BatchingFindableWindowProcessor<Ti
         }
     }
 
+    /**
+     * Send the current events to the selector as they arrive, followed by the reset event at the end of the batch, such
+     * that the selector aggregates the events of the batch without them being buffered in the window.
+     */
+    private void processBatchAggregation(ComplexEventChunk<StreamEvent> streamEventChunk,
+                                         StreamEventCloner streamEventCloner, WindowState state, boolean sendEvents) {
+        streamEventChunk.reset();
+        while (streamEventChunk.hasNext()) {
+            StreamEvent streamEvent = streamEventChunk.next();
+            if (streamEvent.getType() != ComplexEvent.Type.CURRENT) {
+                streamEventChunk.remove();
+            } else if (state.resetEvent == null) {
+                state.resetEvent = streamEventCloner.copyStreamEvent(streamEvent);
+                state.resetEvent.setType(ComplexEvent.Type.RESET);
+            }
+        }
+        if (sendEvents && state.resetEvent != null) {
+            streamEventChunk.add(state.resetEvent);
+            state.resetEvent = null;
+        }
+    }
+
     private long getNextEmitTime(long currentTime) {
         // returns the next emission time based on system clock round time values.
         long elapsedTimeSinceLastEmit = (currentTime - startTime) % timeInMilliSeconds;
@@ -382,7 +415,7 @@ public class TimeBatchWindowProcessor extends BatchingFindableWindowProcessor<Ti
 
         WindowState(StreamEventClonerHolder streamEventClonerHolder,
                     boolean outputExpectsExpiredEvents, boolean findToBeExecuted) {
-            if (!isStreamCurrentEvents) {
+            if (!isStreamCurrentEvents && !isBatchAggregation) {
                 this.currentEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
             }
             if (outputExpectsExpiredEvents || findToBeExecuted) {
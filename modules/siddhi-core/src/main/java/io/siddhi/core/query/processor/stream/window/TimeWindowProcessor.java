@@ -27,6 +27,8 @@ import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.state.StateEvent;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventCloner;
+import io.siddhi.core.event.stream.holder.OffHeapStorageConfig;
+import io.siddhi.core.event.stream.holder.OffHeapStreamEventQueue;
 import io.siddhi.core.event.stream.holder.SnapshotableStreamEventQueue;
 import io.siddhi.core.event.stream.holder.StreamEventClonerHolder;
 import io.siddhi.core.executor.ConstantExpressionExecutor;
@@ -199,7 +201,15 @@ public class TimeWindowProcessor extends SlidingFindableWindowProcessor<TimeWind
 
 
         WindowState(StreamEventClonerHolder streamEventClonerHolder) {
-            expiredEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+            // Subclasses keeping their own query context, such as the delay window, use heap storage
+            OffHeapStorageConfig offHeapStorageConfig = siddhiQueryContext != null ?
+                    siddhiQueryContext.getOffHeapStorageConfig() : null;
+            if (offHeapStorageConfig != null) {
+                expiredEventQueue = new OffHeapStreamEventQueue(streamEventClonerHolder, offHeapStorageConfig,
+                        siddhiQueryContext.getSiddhiAppContext());
+            } else {
+                expiredEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+            }
         }
 
         @Override
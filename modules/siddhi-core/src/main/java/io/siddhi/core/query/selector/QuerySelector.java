@@ -25,18 +25,25 @@ import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.event.state.populater.StateEventPopulator;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
 import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
 import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
 import io.siddhi.core.query.processor.Processor;
 import io.siddhi.core.query.selector.attribute.processor.AttributeProcessor;
 import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.snapshot.state.State;
+import io.siddhi.core.util.snapshot.state.StateHolder;
 import io.siddhi.query.api.execution.query.selection.Selector;
 import org.apache.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 /**
  * Processor implementation representing selector portion of the Siddhi query.
@@ -45,6 +52,7 @@ public class QuerySelector implements Processor {
 
 
     private static final Logger log = Logger.getLogger(QuerySelector.class);
+    private static final int TOP_EVENTS_INITIAL_CAPACITY = 1024;
     private Selector selector;
     private SiddhiQueryContext siddhiQueryContext;
     private boolean currentOn = false;
@@ -62,6 +70,8 @@ public class QuerySelector implements Processor {
     private boolean batchingEnabled = true;
     private long limit = SiddhiConstants.UNKNOWN_STATE;
     private long offset = SiddhiConstants.UNKNOWN_STATE;
+    private boolean batchAggregation = false;
+    private StateHolder<BatchAggregationState> batchAggregationStateHolder;
 
     public QuerySelector(String id, Selector selector, boolean currentOn, boolean expiredOn, SiddhiQueryContext
             siddhiQueryContext) {
@@ -78,7 +88,9 @@ public class QuerySelector implements Processor {
             log.trace("event is processed by selector " + id + this);
         }
         ComplexEventChunk outputComplexEventChunk = null;
-            if (complexEventChunk.isBatch() && batchingEnabled) {
+        if (batchAggregation) {
+            outputComplexEventChunk = processBatchAggregation(complexEventChunk);
+        } else if (complexEventChunk.isBatch() && batchingEnabled) {
             if (isGroupBy) {
                 outputComplexEventChunk = processInBatchGroupBy(complexEventChunk);
             } else if (containsAggregator) {
@@ -141,7 +153,9 @@ public class QuerySelector implements Processor {
         if (log.isTraceEnabled()) {
             log.trace("event is executed by selector " + id + this);
         }
-        if (batchingEnabled) {
+        if (batchAggregation) {
+            return processBatchAggregation(complexEventChunk);
+        } else if (batchingEnabled) {
             if (isGroupBy) {
                 return processInBatchGroupBy(complexEventChunk);
             } else if (containsAggregator) {
@@ -158,7 +172,36 @@ public class QuerySelector implements Processor {
         }
     }
 
+    /**
+     * Execute the selection of each event independently, without applying the offset and limit, such that the events
+     * can be selected in pages. Only supported when {@link #isEventWiseSelection()} is true.
+     *
+     * @param complexEventChunk events to be selected
+     * @return the selected events, or null if no events are selected
+     */
+    public ComplexEventChunk executeEventWise(ComplexEventChunk complexEventChunk) {
+        if (!isEventWiseSelection()) {
+            throw new SiddhiAppRuntimeException("Selector " + id + " cannot select events independently, as it " +
+                    "aggregates, groups or orders events");
+        }
+        return processNoGroupBy(complexEventChunk, false);
+    }
+
+    /**
+     * Check whether each event is selected independently of the other events, such that the selection can be applied
+     * to the events in pages, followed by the offset and the limit.
+     *
+     * @return true if the selection does not aggregate, group or order events
+     */
+    public boolean isEventWiseSelection() {
+        return !containsAggregator && !isGroupBy && !isOrderBy;
+    }
+
     private ComplexEventChunk processNoGroupBy(ComplexEventChunk complexEventChunk) {
+        return processNoGroupBy(complexEventChunk, true);
+    }
+
+    private ComplexEventChunk processNoGroupBy(ComplexEventChunk complexEventChunk, boolean applyOffsetAndLimit) {
         complexEventChunk.reset();
         synchronized (this) {
             while (complexEventChunk.hasNext()) {
@@ -188,14 +231,16 @@ public class QuerySelector implements Processor {
                 }
             }
         }
-        if (isOrderBy) {
-            orderEventChunk(complexEventChunk);
-        }
-        if (offset != SiddhiConstants.UNKNOWN_STATE) {
-            offsetEventChunk(complexEventChunk);
-        }
-        if (limit != SiddhiConstants.UNKNOWN_STATE) {
-            limitEventChunk(complexEventChunk);
+        if (applyOffsetAndLimit) {
+            if (isOrderBy) {
+                orderEventChunk(complexEventChunk);
+            }
+            if (offset != SiddhiConstants.UNKNOWN_STATE) {
+                offsetEventChunk(complexEventChunk);
+            }
+            if (limit != SiddhiConstants.UNKNOWN_STATE) {
+                limitEventChunk(complexEventChunk);
+            }
         }
         complexEventChunk.reset();
         if (complexEventChunk.hasNext()) {
@@ -353,26 +398,102 @@ public class QuerySelector implements Processor {
         }
 
         if (groupedEvents.size() != 0) {
-            complexEventChunk.clear();
-            for (Map.Entry<String, ComplexEvent> groupedEventEntry : groupedEvents.entrySet()) {
-                complexEventChunk.add(new GroupedComplexEvent(groupedEventEntry.getKey(),
-                        groupedEventEntry.getValue()));
-            }
-            if (isOrderBy) {
-                orderEventChunk(complexEventChunk);
-            }
-            if (offset != SiddhiConstants.UNKNOWN_STATE) {
-                offsetEventChunk(complexEventChunk);
-            }
-            if (limit != SiddhiConstants.UNKNOWN_STATE) {
-                limitEventChunk(complexEventChunk);
-            }
-            complexEventChunk.reset();
+            addGroupedEvents(complexEventChunk, groupedEvents);
             return complexEventChunk;
         }
         return null;
     }
 
+    private void addGroupedEvents(ComplexEventChunk complexEventChunk, Map<String, ComplexEvent> groupedEvents) {
+        complexEventChunk.clear();
+        for (Map.Entry<String, ComplexEvent> groupedEventEntry : groupedEvents.entrySet()) {
+            complexEventChunk.add(new GroupedComplexEvent(groupedEventEntry.getKey(),
+                    groupedEventEntry.getValue()));
+        }
+        if (isOrderBy) {
+            orderEventChunk(complexEventChunk);
+        }
+        if (offset != SiddhiConstants.UNKNOWN_STATE) {
+            offsetEventChunk(complexEventChunk);
+        }
+        if (limit != SiddhiConstants.UNKNOWN_STATE) {
+            limitEventChunk(complexEventChunk);
+        }
+        complexEventChunk.reset();
+    }
+
+    /**
+     * Aggregate the current events of a batch as they arrive, retaining only the last selected event of each group,
+     * and emit the retained events when the batch window sends the reset event at the end of the batch. Only used when
+     * the batch window does not buffer the events of its batches, see {@link #enableBatchAggregation()}.
+     */
+    private ComplexEventChunk processBatchAggregation(ComplexEventChunk complexEventChunk) {
+        ComplexEventChunk<ComplexEvent> outputComplexEventChunk = null;
+        complexEventChunk.reset();
+        synchronized (this) {
+            BatchAggregationState state = batchAggregationStateHolder.getState();
+            try {
+                while (complexEventChunk.hasNext()) {
+                    ComplexEvent event = complexEventChunk.next();
+                    complexEventChunk.remove();
+                    switch (event.getType()) {
+                        case CURRENT:
+                            eventPopulator.populateStateEvent(event);
+                            String groupByKey = null;
+                            if (isGroupBy) {
+                                groupByKey = groupByKeyGenerator.constructEventKey(event);
+                                SiddhiAppContext.startGroupByFlow(groupByKey);
+                            }
+                            try {
+                                for (AttributeProcessor attributeProcessor : attributeProcessorList) {
+                                    attributeProcessor.process(event);
+                                }
+                                if (currentOn && !(havingConditionExecutor != null &&
+                                        !havingConditionExecutor.execute(event))) {
+                                    state.batchEvents.put(groupByKey, event);
+                                }
+                            } finally {
+                                if (isGroupBy) {
+                                    SiddhiAppContext.stopGroupByFlow();
+                                }
+                            }
+                            break;
+                        case RESET:
+                            if (!state.batchEvents.isEmpty()) {
+                                ComplexEventChunk<ComplexEvent> batchEventChunk = new ComplexEventChunk<>();
+                                if (isGroupBy) {
+                                    addGroupedEvents(batchEventChunk, state.batchEvents);
+                                } else if ((offset == SiddhiConstants.UNKNOWN_STATE || offset == 0) &&
+                                        (limit == SiddhiConstants.UNKNOWN_STATE || limit > 0)) {
+                                    batchEventChunk.add(state.batchEvents.get(null));
+                                }
+                                state.batchEvents.clear();
+                                if (batchEventChunk.getFirst() != null) {
+                                    if (outputComplexEventChunk == null) {
+                                        outputComplexEventChunk = batchEventChunk;
+                                    } else {
+                                        outputComplexEventChunk.add(batchEventChunk.getFirst());
+                                    }
+                                }
+                            }
+                            for (AttributeProcessor attributeProcessor : attributeProcessorList) {
+                                attributeProcessor.process(event);
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            } finally {
+                batchAggregationStateHolder.returnState(state);
+            }
+        }
+        if (outputComplexEventChunk != null) {
+            outputComplexEventChunk.reset();
+        }
+        return outputComplexEventChunk;
+    }
+
     @Override
     public Processor getNextProcessor() {
         return null;    //since there is no processors after a query selector
@@ -425,6 +546,17 @@ public class QuerySelector implements Processor {
         this.containsAggregator = this.containsAggregator || containsAggregator;
     }
 
+    /**
+     * Let the selector aggregate the current events of each batch as they arrive, and emit the selected events of the
+     * batch when it receives the reset event sent at the end of the batch, as the batch window of the query does not
+     * buffer the events of its batches.
+     */
+    public void enableBatchAggregation() {
+        batchAggregation = true;
+        batchAggregationStateHolder = siddhiQueryContext.generateStateHolder(this.getClass().getName(), false,
+                BatchAggregationState::new);
+    }
+
     public void setBatchingEnabled(boolean batchingEnabled) {
         this.batchingEnabled = batchingEnabled;
     }
@@ -441,6 +573,14 @@ public class QuerySelector implements Processor {
         this.limit = limit;
     }
 
+    public long getLimit() {
+        return limit;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
     public void setOffset(long offset) {
         if (offset < 0) {
             throw new SiddhiAppCreationException("'offset' cannot have negative value, but found '" + offset + "'",
@@ -450,6 +590,11 @@ public class QuerySelector implements Processor {
     }
 
     private void orderEventChunk(ComplexEventChunk complexEventChunk) {
+        if (limit != SiddhiConstants.UNKNOWN_STATE && currentOn && containsOnlyCurrentEvents(complexEventChunk)) {
+            // Only the events within the offset and limit are retained, hence they are selected via a bounded heap
+            topEventChunk(complexEventChunk, offset != SiddhiConstants.UNKNOWN_STATE ? offset + limit : limit);
+            return;
+        }
         ComplexEventChunk orderingComplexEventChunk = new ComplexEventChunk();
         List<ComplexEvent> eventList = new ArrayList<>();
 
@@ -482,6 +627,48 @@ public class QuerySelector implements Processor {
 
     }
 
+    private boolean containsOnlyCurrentEvents(ComplexEventChunk complexEventChunk) {
+        complexEventChunk.reset();
+        while (complexEventChunk.hasNext()) {
+            if (complexEventChunk.next().getType() != ComplexEvent.Type.CURRENT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Order the events of the chunk and retain only the first given number of events of the order, using a bounded
+     * max heap instead of sorting all the events. Events that are equal in the order retain their arrival order, as
+     * with the stable sort used when all the events are ordered.
+     *
+     * @param complexEventChunk events to be ordered
+     * @param count             number of events to be retained
+     */
+    private void topEventChunk(ComplexEventChunk complexEventChunk, long count) {
+        PriorityQueue<OrderedEvent> heap = new PriorityQueue<>(
+                (int) Math.min(count, TOP_EVENTS_INITIAL_CAPACITY) + 1, Collections.reverseOrder());
+        long arrivalIndex = 0;
+        complexEventChunk.reset();
+        while (complexEventChunk.hasNext()) {
+            ComplexEvent event = complexEventChunk.next();
+            complexEventChunk.remove();
+            if (heap.size() < count) {
+                heap.add(new OrderedEvent(event, arrivalIndex));
+            } else if (count > 0 && orderByEventComparator.compare(event, heap.peek().event) < 0) {
+                heap.poll();
+                heap.add(new OrderedEvent(event, arrivalIndex));
+            }
+            arrivalIndex++;
+        }
+        OrderedEvent[] orderedEvents = heap.toArray(new OrderedEvent[heap.size()]);
+        Arrays.sort(orderedEvents);
+        complexEventChunk.clear();
+        for (OrderedEvent orderedEvent : orderedEvents) {
+            complexEventChunk.add(orderedEvent.event);
+        }
+    }
+
     private void limitEventChunk(ComplexEventChunk complexEventChunk) {
         complexEventChunk.reset();
         int limitCount = 0;
@@ -517,4 +704,52 @@ public class QuerySelector implements Processor {
             }
         }
     }
+
+    /**
+     * Event ordered by the order by comparator, followed by its arrival order.
+     */
+    private class OrderedEvent implements Comparable<OrderedEvent> {
+        private final ComplexEvent event;
+        private final long arrivalIndex;
+
+        OrderedEvent(ComplexEvent event, long arrivalIndex) {
+            this.event = event;
+            this.arrivalIndex = arrivalIndex;
+        }
+
+        @Override
+        public int compareTo(OrderedEvent orderedEvent) {
+            int order = orderByEventComparator.compare(event, orderedEvent.event);
+            if (order != 0) {
+                return order;
+            }
+            return Long.compare(arrivalIndex, orderedEvent.arrivalIndex);
+        }
+    }
+
+    /**
+     * State holding the last selected event of each group of the batch being aggregated.
+     */
+    class BatchAggregationState extends State {
+
+        private final Map<String, ComplexEvent> batchEvents = new LinkedHashMap<>();
+
+        @Override
+        public boolean canDestroy() {
+            return batchEvents.isEmpty();
+        }
+
+        @Override
+        public Map<String, Object> snapshot() {
+            Map<String, Object> state = new HashMap<>();
+            state.put("BatchEvents", new LinkedHashMap<>(batchEvents));
+            return state;
+        }
+
+        @Override
+        public void restore(Map<String, Object> state) {
+            batchEvents.clear();
+            batchEvents.putAll((Map<String, ComplexEvent>) state.get("BatchEvents"));
+        }
+    }
 }
@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.selector.attribute.aggregator;
+
+import io.siddhi.core.config.SiddhiQueryContext;
+import io.siddhi.core.exception.OperationNotSupportedException;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.query.processor.ProcessingMode;
+import io.siddhi.core.util.config.ConfigReader;
+import io.siddhi.core.util.snapshot.state.State;
+import io.siddhi.core.util.snapshot.state.StateFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Parent class for attribute aggregators that can be expressed as an associative combine function over partial
+ * aggregates (a monoid). Implementations only describe how to lift a value into a partial aggregate, how to combine
+ * two partial aggregates and how to lower a partial aggregate into the result; the engine picks the cheapest
+ * evaluation strategy for the query's processing mode:
+ * <ul>
+ * <li>{@link SlidingAggregationStrategy#ACCUMULATE} when no events are expected to be removed,</li>
+ * <li>{@link SlidingAggregationStrategy#SUBTRACT_ON_EVICT} when the aggregator is invertible, and</li>
+ * <li>{@link SlidingAggregationStrategy#TWO_STACK} for non-invertible aggregators over sliding windows, giving
+ * amortized O(1) insert, evict and emit without re-aggregating the window history.</li>
+ * </ul>
+ * A {@code null} partial aggregate denotes the empty aggregate, hence {@link #combine(Object, Object)} is never
+ * called with {@code null} arguments.
+ */
+public abstract class AssociativeAttributeAggregatorExecutor
+        extends AttributeAggregatorExecutor<AssociativeAttributeAggregatorExecutor.AggregatorState> {
+
+    private SlidingAggregationStrategy slidingAggregationStrategy;
+
+    /**
+     * The initialization method for FunctionExecutor
+     *
+     * @param attributeExpressionExecutors are the executors of each attributes in the function
+     * @param processingMode               query processing mode
+     * @param outputExpectsExpiredEvents   is expired events sent as output
+     * @param configReader                 this hold the {@link AssociativeAttributeAggregatorExecutor}
+     *                                     extensions configuration reader.
+     * @param siddhiQueryContext           Siddhi query runtime context
+     */
+    @Override
+    protected StateFactory<AggregatorState> init(ExpressionExecutor[] attributeExpressionExecutors,
+                                                 ProcessingMode processingMode,
+                                                 boolean outputExpectsExpiredEvents, ConfigReader configReader,
+                                                 SiddhiQueryContext siddhiQueryContext) {
+        init(attributeExpressionExecutors, configReader, siddhiQueryContext);
+        if (processingMode != ProcessingMode.SLIDE && !outputExpectsExpiredEvents) {
+            slidingAggregationStrategy = SlidingAggregationStrategy.ACCUMULATE;
+        } else if (isInvertible()) {
+            slidingAggregationStrategy = SlidingAggregationStrategy.SUBTRACT_ON_EVICT;
+        } else {
+            slidingAggregationStrategy = SlidingAggregationStrategy.TWO_STACK;
+        }
+        if (slidingAggregationStrategy == SlidingAggregationStrategy.TWO_STACK) {
+            return () -> new TwoStackAggregatorState();
+        } else {
+            return () -> new AccumulatingAggregatorState();
+        }
+    }
+
+    /**
+     * The initialization method for the associative aggregator
+     *
+     * @param attributeExpressionExecutors are the executors of each attributes in the function
+     * @param configReader                 this hold the {@link AssociativeAttributeAggregatorExecutor}
+     *                                     extensions configuration reader.
+     * @param siddhiQueryContext           Siddhi query runtime context
+     */
+    protected abstract void init(ExpressionExecutor[] attributeExpressionExecutors, ConfigReader configReader,
+                                 SiddhiQueryContext siddhiQueryContext);
+
+    /**
+     * Converts a single attribute value into a partial aggregate.
+     *
+     * @param data the attribute value, never {@code null}
+     * @return the partial aggregate representing the value
+     */
+    protected abstract Object lift(Object data);
+
+    /**
+     * Converts the attribute values of a multi parameter aggregator into a partial aggregate.
+     *
+     * @param data the attribute values
+     * @return the partial aggregate representing the values
+     */
+    protected Object lift(Object[] data) {
+        throw new OperationNotSupportedException(this.getClass().getName() + " cannot process data array, but " +
+                "found " + Arrays.deepToString(data));
+    }
+
+    /**
+     * Associative combine function, {@code combine(a, combine(b, c))} must be equal to
+     * {@code combine(combine(a, b), c)}. The older partial aggregate is always passed as the first argument.
+     *
+     * @param olderPartial the partial aggregate of the older events
+     * @param newerPartial the partial aggregate of the newer events
+     * @return the combined partial aggregate
+     */
+    protected abstract Object combine(Object olderPartial, Object newerPartial);
+
+    /**
+     * Converts a partial aggregate into the aggregation result.
+     *
+     * @param partial the partial aggregate, {@code null} when there are no events to aggregate
+     * @return the aggregation result
+     */
+    protected abstract Object lower(Object partial);
+
+    /**
+     * Denotes whether the partial aggregates can be subtracted via {@link #inverse(Object, Object)}.
+     *
+     * @return true if the aggregator is invertible
+     */
+    protected boolean isInvertible() {
+        return false;
+    }
+
+    /**
+     * Removes a partial aggregate from an aggregate, only called when {@link #isInvertible()} returns true.
+     *
+     * @param partial        the current partial aggregate
+     * @param removedPartial the partial aggregate of the removed values
+     * @return the partial aggregate without the removed values
+     */
+    protected Object inverse(Object partial, Object removedPartial) {
+        throw new OperationNotSupportedException(this.getClass().getName() + " is not invertible");
+    }
+
+    public SlidingAggregationStrategy getSlidingAggregationStrategy() {
+        return slidingAggregationStrategy;
+    }
+
+    @Override
+    public Object processAdd(Object data, AggregatorState state) {
+        if (data == null) {
+            return lower(state.currentPartial());
+        }
+        return lower(state.add(data));
+    }
+
+    @Override
+    public Object processAdd(Object[] data, AggregatorState state) {
+        return lower(state.add(data));
+    }
+
+    @Override
+    public Object processRemove(Object data, AggregatorState state) {
+        if (data == null) {
+            return lower(state.currentPartial());
+        }
+        return lower(state.remove(data));
+    }
+
+    @Override
+    public Object processRemove(Object[] data, AggregatorState state) {
+        return lower(state.remove(data));
+    }
+
+    @Override
+    public Object reset(AggregatorState state) {
+        state.reset();
+        return lower(null);
+    }
+
+    private Object liftValue(Object data) {
+        if (data instanceof Object[]) {
+            return lift((Object[]) data);
+        }
+        return lift(data);
+    }
+
+    private Object combineNullable(Object olderPartial, Object newerPartial) {
+        if (olderPartial == null) {
+            return newerPartial;
+        } else if (newerPartial == null) {
+            return olderPartial;
+        }
+        return combine(olderPartial, newerPartial);
+    }
+
+    /**
+     * Strategies used to maintain the aggregate over the events of a window.
+     */
+    public enum SlidingAggregationStrategy {
+        ACCUMULATE,
+        SUBTRACT_ON_EVICT,
+        TWO_STACK
+    }
+
+    abstract class AggregatorState extends State {
+
+        public abstract Object add(Object data);
+
+        public abstract Object remove(Object data);
+
+        public abstract Object currentPartial();
+
+        public abstract void reset();
+    }
+
+    class AccumulatingAggregatorState extends AggregatorState {
+
+        private Object partial = null;
+        private long count = 0;
+
+        @Override
+        public Object add(Object data) {
+            partial = combineNullable(partial, liftValue(data));
+            count++;
+            return partial;
+        }
+
+        @Override
+        public Object remove(Object data) {
+            count--;
+            if (count <= 0) {
+                count = 0;
+                partial = null;
+            } else if (slidingAggregationStrategy == SlidingAggregationStrategy.SUBTRACT_ON_EVICT) {
+                partial = inverse(partial, liftValue(data));
+            }
+            return partial;
+        }
+
+        @Override
+        public Object currentPartial() {
+            return partial;
+        }
+
+        @Override
+        public void reset() {
+            partial = null;
+            count = 0;
+        }
+
+        @Override
+        public boolean canDestroy() {
+            return count == 0 && partial == null;
+        }
+
+        @Override
+        public Map<String, Object> snapshot() {
+            Map<String, Object> state = new HashMap<>();
+            state.put("Partial", partial);
+            state.put("Count", count);
+            return state;
+        }
+
+        @Override
+        public void restore(Map<String, Object> state) {
+            partial = state.get("Partial");
+            count = (long) state.get("Count");
+        }
+    }
+
+    /**
+     * Two-stack sliding aggregation. Newly added values are pushed to the back stack while maintaining a single
+     * running aggregate, and evictions pop from the front stack which stores suffix aggregates of the older values.
+     * When the front stack is empty the back stack is flipped onto it, so each value is lifted and combined a
+     * constant number of times. Out of order evictions fall back to rebuilding the stacks.
+     */
+    class TwoStackAggregatorState extends AggregatorState {
+
+        private final List<Object> backValues = new ArrayList<>();
+        private Object backPartial = null;
+        // Front stack, the oldest value of the window is at the top (last index).
+        private final List<Object> frontValues = new ArrayList<>();
+        private final List<Object> frontPartials = new ArrayList<>();
+
+        @Override
+        public Object add(Object data) {
+            backValues.add(data);
+            backPartial = combineNullable(backPartial, liftValue(data));
+            return currentPartial();
+        }
+
+        @Override
+        public Object remove(Object data) {
+            if (frontValues.isEmpty()) {
+                flip();
+            }
+            int top = frontValues.size() - 1;
+            if (top >= 0 && Objects.deepEquals(frontValues.get(top), data)) {
+                frontValues.remove(top);
+                frontPartials.remove(top);
+            } else {
+                removeOutOfOrder(data);
+            }
+            return currentPartial();
+        }
+
+        private void flip() {
+            Object partial = null;
+            for (int i = backValues.size() - 1; i >= 0; i--) {
+                Object value = backValues.get(i);
+                partial = combineNullable(liftValue(value), partial);
+                frontValues.add(value);
+                frontPartials.add(partial);
+            }
+            backValues.clear();
+            backPartial = null;
+        }
+
+        private void removeOutOfOrder(Object data) {
+            List<Object> values = windowValues();
+            for (int i = 0; i < values.size(); i++) {
+                if (Objects.deepEquals(values.get(i), data)) {
+                    values.remove(i);
+                    rebuild(values);
+                    return;
+                }
+            }
+        }
+
+        private List<Object> windowValues() {
+            List<Object> values = new ArrayList<>(frontValues.size() + backValues.size());
+            for (int i = frontValues.size() - 1; i >= 0; i--) {
+                values.add(frontValues.get(i));
+            }
+            values.addAll(backValues);
+            return values;
+        }
+
+        private void rebuild(List<Object> values) {
+            reset();
+            for (Object value : values) {
+                add(value);
+            }
+        }
+
+        @Override
+        public Object currentPartial() {
+            if (frontPartials.isEmpty()) {
+                return backPartial;
+            }
+            return combineNullable(frontPartials.get(frontPartials.size() - 1), backPartial);
+        }
+
+        @Override
+        public void reset() {
+            backValues.clear();
+            backPartial = null;
+            frontValues.clear();
+            frontPartials.clear();
+        }
+
+        @Override
+        public boolean canDestroy() {
+            return backValues.isEmpty() && frontValues.isEmpty();
+        }
+
+        @Override
+        public Map<String, Object> snapshot() {
+            Map<String, Object> state = new HashMap<>();
+            state.put("Values", windowValues());
+            return state;
+        }
+
+        @Override
+        public void restore(Map<String, Object> state) {
+            rebuild((List<Object>) state.get("Values"));
+        }
+    }
+}
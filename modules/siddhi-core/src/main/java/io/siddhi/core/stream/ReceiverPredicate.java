@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.stream;
+
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.expression.condition.Compare;
+
+/**
+ * Condition of the form {@code attribute <operator> constant} that must hold for an event to be accepted by a
+ * {@link StreamJunction.Receiver}. Used by the {@link ReceiverPredicateIndex} to only dispatch events to the
+ * receivers that can accept them.
+ * <p>
+ * Values are compared as {@link Long} for INT and LONG attributes, as {@link Double} for FLOAT and DOUBLE attributes
+ * and via equality for STRING and BOOL attributes, matching the semantics of the compare condition executors.
+ */
+public class ReceiverPredicate {
+
+    private final int attributePosition;
+    private final KeyType keyType;
+    private final Compare.Operator operator;
+    private final Comparable key;
+
+    private ReceiverPredicate(int attributePosition, KeyType keyType, Compare.Operator operator, Comparable key) {
+        this.attributePosition = attributePosition;
+        this.keyType = keyType;
+        this.operator = operator;
+        this.key = key;
+    }
+
+    /**
+     * Create the predicate for the given condition.
+     *
+     * @param attributePosition position of the attribute in the event data
+     * @param attributeType     type of the attribute
+     * @param operator          compare operator, having the attribute on its left
+     * @param constant          value the attribute is compared with
+     * @return the predicate, or {@code null} if the condition cannot be indexed without changing its semantics
+     */
+    public static ReceiverPredicate create(int attributePosition, Attribute.Type attributeType,
+                                           Compare.Operator operator, Object constant) {
+        if (constant == null || operator == Compare.Operator.NOT_EQUAL) {
+            return null;
+        }
+        switch (attributeType) {
+            case STRING:
+            case BOOL:
+                if (operator != Compare.Operator.EQUAL || !(attributeType == Attribute.Type.STRING ?
+                        constant instanceof String : constant instanceof Boolean)) {
+                    return null;
+                }
+                return new ReceiverPredicate(attributePosition, KeyType.OBJECT, operator, (Comparable) constant);
+            case INT:
+            case LONG:
+                // Integral attributes compared with floating point constants are promoted to floating point
+                if (!(constant instanceof Integer || constant instanceof Long)) {
+                    return null;
+                }
+                return new ReceiverPredicate(attributePosition, KeyType.LONG, operator,
+                        ((Number) constant).longValue());
+            case FLOAT:
+            case DOUBLE:
+                if (!(constant instanceof Number)) {
+                    return null;
+                }
+                Number number = (Number) constant;
+                if (constant instanceof Integer || constant instanceof Long) {
+                    // Only index integral constants that are exactly representable in the attribute's precision
+                    long longValue = number.longValue();
+                    if (attributeType == Attribute.Type.FLOAT ? (long) (float) longValue != longValue :
+                            (long) (double) longValue != longValue) {
+                        return null;
+                    }
+                }
+                return new ReceiverPredicate(attributePosition, KeyType.DOUBLE, operator,
+                        number.doubleValue() + 0.0d);
+            default:
+                return null;
+        }
+    }
+
+    public int getAttributePosition() {
+        return attributePosition;
+    }
+
+    public Compare.Operator getOperator() {
+        return operator;
+    }
+
+    public Comparable getKey() {
+        return key;
+    }
+
+    /**
+     * Convert an attribute value of an event to a key comparable with the predicate's key.
+     *
+     * @param value attribute value
+     * @return the key, or {@code null} if the value is {@code null} or not of the expected type
+     */
+    Comparable toKey(Object value) {
+        switch (keyType) {
+            case LONG:
+                if (value instanceof Integer || value instanceof Long) {
+                    return ((Number) value).longValue();
+                }
+                return null;
+            case DOUBLE:
+                if (value instanceof Double || value instanceof Float) {
+                    // Adding zero normalises -0.0 to 0.0, as they are equal when compared as primitives
+                    return ((Number) value).doubleValue() + 0.0d;
+                }
+                return null;
+            default:
+                if (value instanceof String || value instanceof Boolean) {
+                    return (Comparable) value;
+                }
+                return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ReceiverPredicate{" +
+                "attributePosition=" + attributePosition +
+                ", operator=" + operator +
+                ", key=" + key +
+                '}';
+    }
+
+    enum KeyType {
+        LONG,
+        DOUBLE,
+        OBJECT
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.stream;
+
+import io.siddhi.core.query.input.ProcessStreamReceiver;
+import io.siddhi.query.api.expression.condition.Compare;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Predicate index shared by the receivers of a {@link StreamJunction}, used to find the receivers that can accept an
+ * event without evaluating each receiver's filter. Equality predicates are looked up in a hash map per attribute,
+ * and range predicates are kept sorted by their bounds per attribute, such that only the matching bounds are visited.
+ * <p>
+ * The index only prunes receivers whose {@link ReceiverPredicate} does not hold; the matched receivers still
+ * evaluate their complete filter conditions.
+ */
+public class ReceiverPredicateIndex {
+
+    private static final int MIN_INDEXED_RECEIVERS = 2;
+
+    private final StreamJunction.Receiver[] receivers;
+    private final boolean[] unindexedReceivers;
+    private final AttributeIndex[] attributeIndexes;
+
+    private ReceiverPredicateIndex(StreamJunction.Receiver[] receivers, boolean[] unindexedReceivers,
+                                   AttributeIndex[] attributeIndexes) {
+        this.receivers = receivers;
+        this.unindexedReceivers = unindexedReceivers;
+        this.attributeIndexes = attributeIndexes;
+    }
+
+    /**
+     * Build the index for the given receivers.
+     *
+     * @param receivers receivers of the stream junction
+     * @return the index, or {@code null} if indexing does not reduce the number of receivers to be evaluated
+     */
+    public static ReceiverPredicateIndex build(List<StreamJunction.Receiver> receivers) {
+        StreamJunction.Receiver[] receiverArray = receivers.toArray(new StreamJunction.Receiver[0]);
+        boolean[] unindexedReceivers = new boolean[receiverArray.length];
+        Map<Integer, AttributeIndex> attributeIndexMap = new LinkedHashMap<>();
+        int indexedReceivers = 0;
+        for (int i = 0; i < receiverArray.length; i++) {
+            ReceiverPredicate predicate = null;
+            if (receiverArray[i] instanceof ProcessStreamReceiver) {
+                predicate = ((ProcessStreamReceiver) receiverArray[i]).getReceiverPredicate();
+            }
+            if (predicate == null) {
+                unindexedReceivers[i] = true;
+            } else {
+                attributeIndexMap.computeIfAbsent(predicate.getAttributePosition(), AttributeIndex::new)
+                        .add(predicate, i);
+                indexedReceivers++;
+            }
+        }
+        if (indexedReceivers < MIN_INDEXED_RECEIVERS) {
+            return null;
+        }
+        AttributeIndex[] attributeIndexes = attributeIndexMap.values().toArray(new AttributeIndex[0]);
+        for (AttributeIndex attributeIndex : attributeIndexes) {
+            attributeIndex.sort();
+        }
+        return new ReceiverPredicateIndex(receiverArray, unindexedReceivers, attributeIndexes);
+    }
+
+    public StreamJunction.Receiver[] getReceivers() {
+        return receivers;
+    }
+
+    /**
+     * Find the receivers that can accept an event.
+     *
+     * @param data event data
+     * @return flags denoting the receivers that can accept the event, in the order of {@link #getReceivers()}
+     */
+    public boolean[] match(Object[] data) {
+        if (data == null) {
+            boolean[] matches = new boolean[receivers.length];
+            Arrays.fill(matches, true);
+            return matches;
+        }
+        boolean[] matches = unindexedReceivers.clone();
+        for (AttributeIndex attributeIndex : attributeIndexes) {
+            attributeIndex.match(data[attributeIndex.attributePosition], matches);
+        }
+        return matches;
+    }
+
+    /**
+     * Predicates on a single attribute.
+     */
+    private static class AttributeIndex {
+
+        private final int attributePosition;
+        private final Map<Object, List<Integer>> equalReceivers = new HashMap<>();
+        // Sorted ascending, as all predicates having a lower bound smaller than the value match
+        private final List<Bound> lowerBounds = new ArrayList<>();
+        // Sorted descending, as all predicates having an upper bound greater than the value match
+        private final List<Bound> upperBounds = new ArrayList<>();
+        private final List<Integer> allReceivers = new ArrayList<>();
+        private ReceiverPredicate keyConverter;
+
+        AttributeIndex(int attributePosition) {
+            this.attributePosition = attributePosition;
+        }
+
+        void add(ReceiverPredicate predicate, int receiverIndex) {
+            keyConverter = predicate;
+            allReceivers.add(receiverIndex);
+            switch (predicate.getOperator()) {
+                case EQUAL:
+                    equalReceivers.computeIfAbsent(predicate.getKey(), k -> new ArrayList<>()).add(receiverIndex);
+                    break;
+                case GREATER_THAN:
+                case GREATER_THAN_EQUAL:
+                    lowerBounds.add(new Bound(predicate, receiverIndex));
+                    break;
+                case LESS_THAN:
+                case LESS_THAN_EQUAL:
+                    upperBounds.add(new Bound(predicate, receiverIndex));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Operator " + predicate.getOperator() +
+                            " cannot be indexed");
+            }
+        }
+
+        void sort() {
+            Comparator<Bound> comparator = (b1, b2) -> b1.key.compareTo(b2.key);
+            lowerBounds.sort(comparator);
+            upperBounds.sort(comparator.reversed());
+        }
+
+        void match(Object value, boolean[] matches) {
+            if (value == null) {
+                // Compare conditions evaluate to false for null values
+                return;
+            }
+            Comparable key = keyConverter.toKey(value);
+            if (key == null) {
+                // Unexpected value type, let the receivers' conditions decide
+                for (Integer receiverIndex : allReceivers) {
+                    matches[receiverIndex] = true;
+                }
+                return;
+            }
+            List<Integer> receiverIndexes = equalReceivers.get(key);
+            if (receiverIndexes != null) {
+                for (Integer receiverIndex : receiverIndexes) {
+                    matches[receiverIndex] = true;
+                }
+            }
+            for (Bound bound : lowerBounds) {
+                int comparison = bound.key.compareTo(key);
+                if (comparison > 0) {
+                    break;
+                }
+                if (comparison < 0 || bound.inclusive) {
+                    matches[bound.receiverIndex] = true;
+                }
+            }
+            for (Bound bound : upperBounds) {
+                int comparison = bound.key.compareTo(key);
+                if (comparison < 0) {
+                    break;
+                }
+                if (comparison > 0 || bound.inclusive) {
+                    matches[bound.receiverIndex] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Range predicate bound.
+     */
+    private static class Bound {
+
+        private final Comparable key;
+        private final boolean inclusive;
+        private final int receiverIndex;
+
+        Bound(ReceiverPredicate predicate, int receiverIndex) {
+            this.key = predicate.getKey();
+            this.inclusive = predicate.getOperator() == Compare.Operator.GREATER_THAN_EQUAL ||
+                    predicate.getOperator() == Compare.Operator.LESS_THAN_EQUAL;
+            this.receiverIndex = receiverIndex;
+        }
+    }
+}
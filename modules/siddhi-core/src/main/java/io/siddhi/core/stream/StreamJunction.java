@@ -29,6 +29,7 @@ import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventFactory;
 import io.siddhi.core.event.stream.converter.FaultStreamEventConverter;
 import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.query.input.ProcessStreamReceiver;
 import io.siddhi.core.stream.input.InputProcessor;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.SiddhiConstants;
@@ -69,6 +70,8 @@ public class StreamJunction implements EventBufferHolder {
     private int workers = -1;
     private int bufferSize;
     private List<Receiver> receivers = new LinkedList<>();
+    private volatile ReceiverPredicateIndex receiverPredicateIndex;
+    private volatile ProcessStreamReceiver fusedReceiver;
     private List<Publisher> publishers = new LinkedList<>();
     private ExecutorService executorService;
     private boolean async = false;
@@ -175,8 +178,31 @@ public class StreamJunction implements EventBufferHolder {
                 }
                 throughputTracker.eventsIn(messageCount);
             }
-            for (Receiver receiver : receivers) {
-                receiver.receive(complexEvent);
+            ReceiverPredicateIndex predicateIndex = receiverPredicateIndex;
+            if (predicateIndex != null) {
+                Receiver[] indexedReceivers = predicateIndex.getReceivers();
+                boolean[] matches = null;
+                for (complexEventList = complexEvent; complexEventList != null;
+                     complexEventList = complexEventList.getNext()) {
+                    boolean[] eventMatches = predicateIndex.match(complexEventList.getOutputData());
+                    if (matches == null) {
+                        matches = eventMatches;
+                    } else {
+                        for (int i = 0; i < matches.length; i++) {
+                            matches[i] |= eventMatches[i];
+                        }
+                    }
+                }
+                // Event chunks are dispatched as a whole, to retain the batching seen by the receivers
+                for (int i = 0; i < indexedReceivers.length; i++) {
+                    if (matches[i]) {
+                        indexedReceivers[i].receive(complexEvent);
+                    }
+                }
+            } else {
+                for (Receiver receiver : receivers) {
+                    receiver.receive(complexEvent);
+                }
             }
         }
     }
@@ -198,8 +224,19 @@ public class StreamJunction implements EventBufferHolder {
                 ringBuffer.publish(sequenceNo);
             }
         } else {
-            for (Receiver receiver : receivers) {
-                receiver.receive(event);
+            ReceiverPredicateIndex predicateIndex = receiverPredicateIndex;
+            if (predicateIndex != null) {
+                Receiver[] indexedReceivers = predicateIndex.getReceivers();
+                boolean[] matches = predicateIndex.match(event.getData());
+                for (int i = 0; i < indexedReceivers.length; i++) {
+                    if (matches[i]) {
+                        indexedReceivers[i].receive(event);
+                    }
+                }
+            } else {
+                for (Receiver receiver : receivers) {
+                    receiver.receive(event);
+                }
             }
         }
     }
@@ -223,8 +260,13 @@ public class StreamJunction implements EventBufferHolder {
                 }
             }
         } else {
-            for (Receiver receiver : receivers) {
-                receiver.receive(events);
+            ReceiverPredicateIndex predicateIndex = receiverPredicateIndex;
+            if (predicateIndex != null) {
+                sendIndexedEvents(predicateIndex, events);
+            } else {
+                for (Receiver receiver : receivers) {
+                    receiver.receive(events);
+                }
             }
         }
     }
@@ -245,8 +287,40 @@ public class StreamJunction implements EventBufferHolder {
                 }
             }
         } else {
-            for (Receiver receiver : receivers) {
-                receiver.receive(events.toArray(new Event[events.size()]));
+            ReceiverPredicateIndex predicateIndex = receiverPredicateIndex;
+            if (predicateIndex != null) {
+                sendIndexedEvents(predicateIndex, events.toArray(new Event[events.size()]));
+            } else {
+                for (Receiver receiver : receivers) {
+                    receiver.receive(events.toArray(new Event[events.size()]));
+                }
+            }
+        }
+    }
+
+    private void sendIndexedEvents(ReceiverPredicateIndex predicateIndex, Event[] events) {
+        Receiver[] indexedReceivers = predicateIndex.getReceivers();
+        boolean[][] eventMatches = new boolean[events.length][];
+        for (int i = 0; i < events.length; i++) {
+            eventMatches[i] = predicateIndex.match(events[i].getData());
+        }
+        for (int i = 0; i < indexedReceivers.length; i++) {
+            int matchCount = 0;
+            for (boolean[] matches : eventMatches) {
+                if (matches[i]) {
+                    matchCount++;
+                }
+            }
+            if (matchCount == events.length) {
+                indexedReceivers[i].receive(events);
+            } else if (matchCount > 0) {
+                Event[] matchedEvents = new Event[matchCount];
+                for (int j = 0, k = 0; j < events.length; j++) {
+                    if (eventMatches[j][i]) {
+                        matchedEvents[k++] = events[j];
+                    }
+                }
+                indexedReceivers[i].receive(matchedEvents);
             }
         }
     }
@@ -267,8 +341,19 @@ public class StreamJunction implements EventBufferHolder {
                 ringBuffer.publish(sequenceNo);
             }
         } else {
-            for (Receiver receiver : receivers) {
-                receiver.receive(timeStamp, data);
+            ReceiverPredicateIndex predicateIndex = receiverPredicateIndex;
+            if (predicateIndex != null) {
+                Receiver[] indexedReceivers = predicateIndex.getReceivers();
+                boolean[] matches = predicateIndex.match(data);
+                for (int i = 0; i < indexedReceivers.length; i++) {
+                    if (matches[i]) {
+                        indexedReceivers[i].receive(timeStamp, data);
+                    }
+                }
+            } else {
+                for (Receiver receiver : receivers) {
+                    receiver.receive(timeStamp, data);
+                }
             }
         }
     }
@@ -312,9 +397,30 @@ public class StreamJunction implements EventBufferHolder {
                     ((StreamCallback) receiver).startProcessing();
                 }
             }
+            receiverPredicateIndex = ReceiverPredicateIndex.build(receivers);
+            updateFusedReceiver();
         }
     }
 
+    /**
+     * Fuse the queries publishing into the stream with its consuming query, when that query is the only receiver of
+     * a synchronous stream, such that their events are handed over to the consuming query's processor chain. The
+     * fusion is revisited whenever receivers are subscribed or unsubscribed.
+     */
+    private void updateFusedReceiver() {
+        if (!async && !isTraceEnabled && receivers.size() == 1 &&
+                receivers.get(0) instanceof ProcessStreamReceiver &&
+                ((ProcessStreamReceiver) receivers.get(0)).isFusable()) {
+            fusedReceiver = (ProcessStreamReceiver) receivers.get(0);
+        } else {
+            fusedReceiver = null;
+        }
+    }
+
+    private boolean isThroughputTracked() {
+        return throughputTracker != null && Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0;
+    }
+
     public void stopProcessing() {
         if (disruptor != null) {
             disruptor.shutdown();
@@ -338,6 +444,10 @@ public class StreamJunction implements EventBufferHolder {
         // To have reverse order at the sequence/pattern processors.
         if (!receivers.contains(receiver)) {
             receivers.add(receiver);
+            if (receiverPredicateIndex != null) {
+                receiverPredicateIndex = ReceiverPredicateIndex.build(receivers);
+            }
+            updateFusedReceiver();
         }
     }
 
@@ -345,6 +455,32 @@ public class StreamJunction implements EventBufferHolder {
         List<Receiver> newReceivers = new LinkedList<>(receivers);
         newReceivers.remove(streamCallback);
         receivers = newReceivers;
+        if (receiverPredicateIndex != null) {
+            receiverPredicateIndex = ReceiverPredicateIndex.build(receivers);
+        }
+        updateFusedReceiver();
+    }
+
+    /**
+     * Whether the {@link Event}s sent to the junction can be referred after they are sent, such as by its receivers
+     * or by the error store, in which case the publishers cannot reuse the sent events.
+     *
+     * @return true if the sent events are retained
+     */
+    public boolean retainsEvents() {
+        if (onErrorAction == OnErrorAction.STORE) {
+            return true;
+        }
+        if (disruptor != null) {
+            // Events are copied to the ring buffer
+            return false;
+        }
+        for (Receiver receiver : receivers) {
+            if (receiver.retainsEvents()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public String getStreamId() {
@@ -478,6 +614,16 @@ public class StreamJunction implements EventBufferHolder {
         void receive(long timeStamp, Object[] data);
 
         void receive(Event[] events);
+
+        /**
+         * Whether the receiver keeps references to the received {@link Event}s or their data after receiving them,
+         * in which case the events sent to the junction cannot be reused by their publishers.
+         *
+         * @return true if the received events are retained
+         */
+        default boolean retainsEvents() {
+            return true;
+        }
     }
 
     /**
@@ -499,6 +645,33 @@ public class StreamJunction implements EventBufferHolder {
             }
         }
 
+        /**
+         * Send the events of a query, whose expired events are received as current events from the stream. When the
+         * stream is fused with its only consuming query, the events are handed over to that query, which rewrites
+         * the types of the events while cloning them. Otherwise they are rewritten in place and sent to the junction.
+         *
+         * @param complexEvent events to be sent
+         */
+        public void sendAsCurrent(ComplexEvent complexEvent) {
+            try {
+                ProcessStreamReceiver fusedReceiver = streamJunction.fusedReceiver;
+                if (fusedReceiver != null && !streamJunction.isThroughputTracked()) {
+                    if (complexEvent != null) {
+                        fusedReceiver.receiveAsCurrent(complexEvent);
+                    }
+                    return;
+                }
+                for (ComplexEvent event = complexEvent; event != null; event = event.getNext()) {
+                    if (event.getType() == ComplexEvent.Type.EXPIRED) {
+                        event.setType(ComplexEvent.Type.CURRENT);
+                    }
+                }
+                streamJunction.sendEvent(complexEvent);
+            } catch (Exception e) {
+                streamJunction.handleError(complexEvent, e);
+            }
+        }
+
         @Override
         public void send(Event event, int streamIndex) {
             try {
@@ -535,6 +708,11 @@ public class StreamJunction implements EventBufferHolder {
             }
         }
 
+        @Override
+        public boolean retainsEvents(int streamIndex) {
+            return streamJunction.retainsEvents();
+        }
+
         public String getStreamId() {
             return streamJunction.getStreamId();
         }
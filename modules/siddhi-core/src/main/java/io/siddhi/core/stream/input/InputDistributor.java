@@ -49,6 +49,11 @@ public class InputDistributor implements InputProcessor {
         inputProcessors.get(streamIndex).send(timestamp, data, streamIndex);
     }
 
+    @Override
+    public boolean retainsEvents(int streamIndex) {
+        return inputProcessors.get(streamIndex).retainsEvents(streamIndex);
+    }
+
     public void addInputProcessor(InputProcessor inputProcessor) {
         inputProcessors.add(inputProcessor);
 
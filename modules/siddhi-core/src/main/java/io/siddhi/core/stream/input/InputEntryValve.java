@@ -77,4 +77,9 @@ public class InputEntryValve implements InputProcessor {
             barrier.exit();
         }
     }
+
+    @Override
+    public boolean retainsEvents(int streamIndex) {
+        return inputProcessor.retainsEvents(streamIndex);
+    }
 }
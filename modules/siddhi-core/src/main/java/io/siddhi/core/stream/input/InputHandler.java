@@ -95,6 +95,17 @@ public class InputHandler {
         }
     }
 
+    /**
+     * Whether the sent {@link Event}s are referred after they are sent, in which case they cannot be reused by the
+     * senders.
+     *
+     * @return true if the sent events are retained
+     */
+    public boolean retainsEvents() {
+        InputProcessor inputProcessor = this.inputProcessor;
+        return inputProcessor == null || inputProcessor.retainsEvents(streamIndex);
+    }
+
     void connect() {
         this.inputProcessor = this.pausedInputPublisher;
     }
@@ -37,5 +37,16 @@ public interface InputProcessor {
 
     void send(long timestamp, Object[] data, int streamIndex);
 
+    /**
+     * Whether the sent {@link Event}s are referred after they are sent, in which case they cannot be reused by the
+     * senders.
+     *
+     * @param streamIndex index of the stream the events are sent to
+     * @return true if the sent events are retained
+     */
+    default boolean retainsEvents(int streamIndex) {
+        return true;
+    }
+
 }
 
@@ -25,10 +25,12 @@ import io.siddhi.annotation.ParameterOverload;
 import io.siddhi.annotation.util.DataType;
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.exception.ConnectionUnavailableException;
+import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.stream.ServiceDeploymentInfo;
 import io.siddhi.core.util.config.ConfigReader;
 import io.siddhi.core.util.snapshot.state.State;
 import io.siddhi.core.util.snapshot.state.StateFactory;
+import io.siddhi.core.util.transport.BufferedSubscriber;
 import io.siddhi.core.util.transport.InMemoryBroker;
 import io.siddhi.core.util.transport.OptionHolder;
 import org.apache.log4j.Logger;
@@ -47,24 +49,46 @@ import java.util.concurrent.locks.ReentrantLock;
                 "This provides a way to connect multiple Siddhi Apps deployed under the same Siddhi Manager (JVM). " +
                 "Here both the publisher and subscriber should have the same event schema (stream definition) " +
                 "for successful data transfer.",
-        parameters = @Parameter(name = "topic", type = DataType.STRING,
-                description = "Subscribes to the events sent on the given topic."),
+        parameters = {
+                @Parameter(name = "topic", type = DataType.STRING,
+                        description = "Subscribes to the events sent on the given topic."),
+                @Parameter(name = "buffer.size", type = DataType.INT,
+                        description = "Size of the ring buffer used to buffer the events published on the topic, " +
+                                "such that they are consumed by a dedicated thread of the source. Consecutive " +
+                                "buffered events are consumed as a batch, and the publishers are blocked when the " +
+                                "buffer is full. The size should be a power of two. When not specified, the " +
+                                "events are consumed by the publishing thread.",
+                        optional = true, defaultValue = "0")
+        },
         parameterOverloads = {
-                @ParameterOverload(parameterNames = {"topic"})
+                @ParameterOverload(parameterNames = {"topic"}),
+                @ParameterOverload(parameterNames = {"topic", "buffer.size"})
         },
-        examples = @Example(
-                syntax = "@source(type='inMemory', topic='Stocks', @map(type='passThrough'))\n" +
-                        "define stream StocksStream (symbol string, price float, volume long);",
-                description = "Here the `StocksStream` uses inMemory source to consume events published " +
-                        "on the topic `Stocks` by the inMemory sinks deployed in the same JVM."
-        )
+        examples = {
+                @Example(
+                        syntax = "@source(type='inMemory', topic='Stocks', @map(type='passThrough'))\n" +
+                                "define stream StocksStream (symbol string, price float, volume long);",
+                        description = "Here the `StocksStream` uses inMemory source to consume events published " +
+                                "on the topic `Stocks` by the inMemory sinks deployed in the same JVM."
+                ),
+                @Example(
+                        syntax = "@source(type='inMemory', topic='Stocks', buffer.size='1024', " +
+                                "@map(type='passThrough'))\n" +
+                                "define stream StocksStream (symbol string, price float, volume long);",
+                        description = "Here the events published on the topic `Stocks` are buffered in a ring " +
+                                "buffer of 1024 slots, and consumed in batches by a dedicated thread of the " +
+                                "`StocksStream` source."
+                )
+        }
 )
 
 public class InMemorySource extends Source {
     private static final Logger LOG = Logger.getLogger(InMemorySource.class);
     private static final String TOPIC_KEY = "topic";
+    private static final String BUFFER_SIZE_KEY = "buffer.size";
     private SourceEventListener sourceEventListener;
     private InMemoryBroker.Subscriber subscriber;
+    private BufferedSubscriber bufferedSubscriber;
     private ReentrantLock pauseLock = new ReentrantLock();
     private Condition unpaused = pauseLock.newCondition();
     private volatile boolean paused = false;
@@ -80,6 +104,11 @@ public class InMemorySource extends Source {
                                     SiddhiAppContext siddhiAppContext) {
         this.sourceEventListener = sourceEventListener;
         String topic = optionHolder.validateAndGetStaticValue(TOPIC_KEY, "input inMemory source");
+        int bufferSize = Integer.parseInt(optionHolder.validateAndGetStaticValue(BUFFER_SIZE_KEY, "0"));
+        if (bufferSize < 0 || Integer.bitCount(bufferSize) > 1) {
+            throw new SiddhiAppCreationException("Parameter '" + BUFFER_SIZE_KEY + "' of the inMemory source " +
+                    "subscribed to topic '" + topic + "' should be a power of two, but found '" + bufferSize + "'");
+        }
         this.subscriber = new InMemoryBroker.Subscriber() {
             @Override
             public void onMessage(Object event) {
@@ -103,6 +132,10 @@ public class InMemorySource extends Source {
                 return topic;
             }
         };
+        if (bufferSize > 0) {
+            this.bufferedSubscriber = new BufferedSubscriber(subscriber, bufferSize);
+            this.subscriber = bufferedSubscriber;
+        }
         return null;
     }
 
@@ -113,12 +146,18 @@ public class InMemorySource extends Source {
 
     @Override
     public void connect(ConnectionCallback connectionCallback, State state) throws ConnectionUnavailableException {
+        if (bufferedSubscriber != null) {
+            bufferedSubscriber.start();
+        }
         InMemoryBroker.subscribe(subscriber);
     }
 
     @Override
     public void disconnect() {
         InMemoryBroker.unsubscribe(subscriber);
+        if (bufferedSubscriber != null) {
+            bufferedSubscriber.stop();
+        }
     }
 
     @Override
@@ -39,6 +39,8 @@ public class InputEventHandler {
 
     private final ThreadLocal<Object[]> trpProperties;
     private final TimestampGenerator timestampGenerator;
+    private final ThreadLocal<Event[]> eventBuffer = new ThreadLocal<>();
+    private final int attributeCount;
     private ThreadLocal<String[]> trpSyncProperties;
     private String sourceType;
     private LatencyTracker latencyTracker;
@@ -51,7 +53,7 @@ public class InputEventHandler {
     InputEventHandler(InputHandler inputHandler, List<AttributeMapping> transportMapping,
                       ThreadLocal<Object[]> trpProperties, ThreadLocal<String[]> trpSyncProperties, String sourceType,
                       LatencyTracker latencyTracker, SiddhiAppContext siddhiAppContext,
-                      InputEventHandlerCallback inputEventHandlerCallback) {
+                      InputEventHandlerCallback inputEventHandlerCallback, int attributeCount) {
         this.inputHandler = inputHandler;
         this.transportMapping = transportMapping;
         this.trpProperties = trpProperties;
@@ -61,6 +63,7 @@ public class InputEventHandler {
         this.siddhiAppContext = siddhiAppContext;
         this.inputEventHandlerCallback = inputEventHandlerCallback;
         this.timestampGenerator = siddhiAppContext.getTimestampGenerator();
+        this.attributeCount = attributeCount;
     }
 
     public void sendEvent(Event event) throws InterruptedException {
@@ -120,6 +123,57 @@ public class InputEventHandler {
         }
     }
 
+    /**
+     * Get a buffer of events to be filled in place by the mapper and sent via {@link #commitEventBuffer(Event[])}.
+     * The buffer, and its events, are reused by the subsequent calls from the same thread when the committed events
+     * are not retained by the stream they are sent to, hence all the attributes of the events should be set. The
+     * timestamps of the events are reset to -1, to be set with the current time unless set by the mapper.
+     *
+     * @param size number of events
+     * @return the event buffer
+     */
+    public Event[] getEventBuffer(int size) {
+        Event[] events = eventBuffer.get();
+        if (events == null || events.length != size) {
+            Event[] pooledEvents = events;
+            events = new Event[size];
+            int pooledSize = 0;
+            if (pooledEvents != null) {
+                pooledSize = Math.min(size, pooledEvents.length);
+                System.arraycopy(pooledEvents, 0, events, 0, pooledSize);
+            }
+            for (int i = pooledSize; i < size; i++) {
+                events[i] = new Event(attributeCount);
+            }
+            eventBuffer.set(events);
+        }
+        for (Event event : events) {
+            event.setTimestamp(-1);
+            event.setIsExpired(false);
+        }
+        return events;
+    }
+
+    /**
+     * Send the events of the buffer obtained via {@link #getEventBuffer(int)}, the events are handed over to the
+     * stream without being copied, and the buffer is only reused when the stream does not retain them.
+     *
+     * @param events the event buffer
+     * @throws InterruptedException if the Siddhi app is not running
+     */
+    public void commitEventBuffer(Event[] events) throws InterruptedException {
+        boolean reusable = false;
+        try {
+            reusable = events == eventBuffer.get() &&
+                    inputEventHandlerCallback instanceof PassThroughSourceHandler && !inputHandler.retainsEvents();
+            sendEvents(events);
+        } finally {
+            if (!reusable) {
+                eventBuffer.remove();
+            }
+        }
+    }
+
     long getEventCount() {
         return eventCount;
     }
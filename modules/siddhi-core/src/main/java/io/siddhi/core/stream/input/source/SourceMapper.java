@@ -136,7 +136,7 @@ public abstract class SourceMapper implements SourceEventListener {
         }
         this.inputEventHandler = new InputEventHandler(inputHandler, transportMappings,
                 trpProperties, trpSyncProperties, sourceType, mapperLatencyTracker, siddhiAppContext,
-                inputEventHandlerCallback);
+                inputEventHandlerCallback, streamDefinition.getAttributeList().size());
     }
 
     public final void onEvent(Object eventObject, String[] transportProperties) {
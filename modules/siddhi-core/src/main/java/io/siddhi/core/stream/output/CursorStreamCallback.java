@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream.output;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.event.EventCursor;
+import org.apache.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link StreamCallback} receiving the events of a Siddhi Stream through a reused {@link EventCursor}, such that the
+ * events are not copied into {@link Event}s unless the callback materializes them. The cursor is only valid during
+ * {@link #receive(EventCursor)}.
+ */
+public abstract class CursorStreamCallback extends StreamCallback {
+
+    private static final Logger log = Logger.getLogger(CursorStreamCallback.class);
+
+    private final ThreadLocal<EventCursor> eventCursor = ThreadLocal.withInitial(EventCursor::new);
+
+    @Override
+    public void receive(ComplexEvent complexEvent) {
+        EventCursor cursor = eventCursor.get();
+        cursor.wrap(complexEvent);
+        receiveCursor(cursor);
+    }
+
+    @Override
+    public void receive(Event event) {
+        EventCursor cursor = eventCursor.get();
+        cursor.wrap(new Event[]{event}, 1);
+        receiveCursor(cursor);
+    }
+
+    @Override
+    public void receive(List<Event> events) {
+        receive(events.toArray(new Event[events.size()]));
+    }
+
+    @Override
+    public void receive(long timestamp, Object[] data) {
+        EventCursor cursor = eventCursor.get();
+        cursor.wrap(timestamp, data);
+        receiveCursor(cursor);
+    }
+
+    @Override
+    public final void receive(Event[] events) {
+        EventCursor cursor = eventCursor.get();
+        cursor.wrap(events, events.length);
+        receiveCursor(cursor);
+    }
+
+    private void receiveCursor(EventCursor cursor) {
+        try {
+            receive(cursor);
+        } catch (RuntimeException e) {
+            cursor.rewind();
+            log.error("Error on sending events " + Arrays.deepToString(cursor.toEvents()) +
+                    " in the stream '" + getStreamId() + "'", e);
+        } finally {
+            cursor.clear();
+        }
+    }
+
+    /**
+     * Receive the events of the stream.
+     *
+     * @param cursor cursor positioned before the first event, which is only valid during the call
+     */
+    public abstract void receive(EventCursor cursor);
+
+    @Override
+    public boolean retainsEvents() {
+        return false;
+    }
+}
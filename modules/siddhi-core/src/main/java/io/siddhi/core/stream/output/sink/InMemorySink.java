@@ -68,7 +68,8 @@ public class InMemorySink extends Sink<State> {
 
     @Override
     public Class[] getSupportedInputEventClasses() {
-        return new Class[]{Object.class};
+        // Template based payloads are built as bytes, which are handed over to the subscribers as they are
+        return new Class[]{byte[].class, Object.class};
     }
 
     @Override
@@ -78,6 +78,8 @@ public abstract class Sink<S extends State> implements SinkListener {
     private ScheduledExecutorService scheduledExecutorService;
     private ThroughputTracker throughputTracker;
     private LatencyTracker mapperLatencyTracker;
+    private LatencyTracker publishLatencyTracker;
+    private SinkPublishQueue publishQueue;
     private StateHolder<S> stateHolder;
     private ServiceDeploymentInfo serviceDeploymentInfo;
 
@@ -122,6 +124,10 @@ public abstract class Sink<S extends State> implements SinkListener {
             this.handler = sinkHandler;
         }
         scheduledExecutorService = siddhiAppContext.getScheduledExecutorService();
+        if (!(this instanceof DistributedTransport)) {
+            // Distributed transports queue the payloads at the sinks of their destinations
+            initPublishQueue(transportOptionHolder);
+        }
         serviceDeploymentInfo = exposeServiceDeploymentInfo();
         if (serviceDeploymentInfo != null) {
             serviceDeploymentInfo.addDeploymentProperties(deploymentProperties);
@@ -134,6 +140,57 @@ public abstract class Sink<S extends State> implements SinkListener {
     public abstract Class[] getSupportedInputEventClasses();
 
 
+    private void initPublishQueue(OptionHolder transportOptionHolder) {
+        int bufferSize = getIntOption(transportOptionHolder, SiddhiConstants.ANNOTATION_ELEMENT_PUBLISHER_BUFFER_SIZE,
+                "0", 0);
+        if (bufferSize == 0) {
+            return;
+        }
+        int batchSize = getIntOption(transportOptionHolder, SiddhiConstants.ANNOTATION_ELEMENT_PUBLISHER_BATCH_SIZE,
+                "1", 1);
+        int lingerMillis = getIntOption(transportOptionHolder,
+                SiddhiConstants.ANNOTATION_ELEMENT_PUBLISHER_LINGER_MS, "0", 0);
+        String backpressureValue = transportOptionHolder.getOrCreateOption(
+                SiddhiConstants.ANNOTATION_ELEMENT_PUBLISHER_BACKPRESSURE, "block").getValue();
+        SinkPublishQueue.Backpressure backpressure;
+        try {
+            backpressure = SinkPublishQueue.Backpressure.valueOf(
+                    backpressureValue.toUpperCase().replace('.', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new SiddhiAppCreationException("Option '" +
+                    SiddhiConstants.ANNOTATION_ELEMENT_PUBLISHER_BACKPRESSURE + "' of sink '" + type + "' at '" +
+                    streamDefinition.getId() + "' should be one of 'block', 'drop.oldest' or 'store', but found '" +
+                    backpressureValue + "'", e);
+        }
+        if (backpressure == SinkPublishQueue.Backpressure.STORE &&
+                siddhiAppContext.getSiddhiContext().getErrorStore() == null) {
+            LOG.error("Publisher backpressure is 'store' for sink connected to stream " + streamDefinition.getId()
+                    + " in Siddhi App " + siddhiAppContext.getName() + " but error store is not configured in " +
+                    "Siddhi Manager");
+        }
+        publishQueue = new SinkPublishQueue(this, siddhiAppContext.getName() + "-" + streamDefinition.getId() +
+                "-" + type, bufferSize, batchSize, lingerMillis, backpressure);
+        if (siddhiAppContext.getStatisticsManager() != null) {
+            publishLatencyTracker = QueryParserHelper.createLatencyTracker(siddhiAppContext,
+                    streamDefinition.getId(), SiddhiConstants.METRIC_INFIX_SINKS,
+                    type + SiddhiConstants.METRIC_DELIMITER + "publish");
+        }
+    }
+
+    private int getIntOption(OptionHolder optionHolder, String key, String defaultValue, int minValue) {
+        String value = optionHolder.getOrCreateOption(key, defaultValue).getValue();
+        try {
+            int intValue = Integer.parseInt(value.trim());
+            if (intValue >= minValue) {
+                return intValue;
+            }
+        } catch (NumberFormatException ignore) {
+        }
+        throw new SiddhiAppCreationException("Option '" + key + "' of sink '" + type + "' at '" +
+                streamDefinition.getId() + "' should be an integer greater than or equal to " + minValue +
+                ", but found '" + value + "'");
+    }
+
     public final void initOnlyTransport(StreamDefinition streamDefinition, OptionHolder transportOptionHolder,
                                         ConfigReader sinkConfigReader, String type,
                                         DistributedTransport.ConnectionCallback connectionCallback,
@@ -142,8 +199,14 @@ public abstract class Sink<S extends State> implements SinkListener {
         this.streamDefinition = streamDefinition;
         this.connectionCallback = connectionCallback;
         this.siddhiAppContext = siddhiAppContext;
+        this.onErrorAction = OnErrorAction.valueOf(transportOptionHolder
+                .getOrCreateOption(SiddhiConstants.ANNOTATION_ELEMENT_ON_ERROR, "LOG")
+                .getValue().toUpperCase());
         init(streamDefinition, transportOptionHolder, sinkConfigReader, siddhiAppContext);
+        stateHolder = new EmptyStateHolder();
+        trpDynamicOptions = new ThreadLocal<>();
         scheduledExecutorService = siddhiAppContext.getScheduledExecutorService();
+        initPublishQueue(transportOptionHolder);
         serviceDeploymentInfo = exposeServiceDeploymentInfo();
         if (serviceDeploymentInfo != null) {
             serviceDeploymentInfo.addDeploymentProperties(deploymentProperties);
@@ -184,6 +247,74 @@ public abstract class Sink<S extends State> implements SinkListener {
             mapperLatencyTracker.markOut();
         }
         DynamicOptions dynamicOptions = trpDynamicOptions.get();
+        if (publishQueue != null) {
+            publishQueue.offer(payload, dynamicOptions);
+        } else {
+            publishPayload(payload, dynamicOptions);
+        }
+    }
+
+    /**
+     * Publish a payload on behalf of a {@link DistributedTransport}. The payload is queued when the sink has a publish
+     * queue, in which case connection failures are handled by this sink, or else it is published right away.
+     *
+     * @param payload        payload of the event
+     * @param dynamicOptions of the event constructing the payload
+     * @param state          current state of the sink
+     * @throws ConnectionUnavailableException if the payload is published right away and the connection is unavailable
+     */
+    public final void publishToDestination(Object payload, DynamicOptions dynamicOptions, S state)
+            throws ConnectionUnavailableException {
+        if (publishQueue != null) {
+            publishQueue.offer(payload, dynamicOptions);
+        } else {
+            publish(payload, dynamicOptions, state);
+        }
+    }
+
+    /**
+     * Publish a batch of payloads dequeued by the {@link SinkPublishQueue} on its publisher thread. Payloads left
+     * unpublished by a connection failure go through the connection retry and error handling one at a time.
+     */
+    void publishQueued(List<Object> payloads, List<DynamicOptions> dynamicOptionsList) {
+        boolean trackLatency = publishLatencyTracker != null &&
+                Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0;
+        try {
+            if (trackLatency) {
+                publishLatencyTracker.markIn();
+            }
+            if (isConnected()) {
+                int batchSize = payloads.size();
+                S state = stateHolder.getState();
+                try {
+                    publish(payloads, dynamicOptionsList, state);
+                } catch (ConnectionUnavailableException e) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Connection unavailable while publishing a batch at Sink '" + type + "' at '" +
+                                streamDefinition.getId() + "', publishing the remaining " + payloads.size() +
+                                " payloads one at a time.", e);
+                    }
+                } finally {
+                    stateHolder.returnState(state);
+                    if (throughputTracker != null &&
+                            Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0) {
+                        throughputTracker.eventsIn(batchSize - payloads.size());
+                    }
+                }
+            }
+            for (int i = 0; i < payloads.size(); i++) {
+                trpDynamicOptions.set(dynamicOptionsList.get(i));
+                publishPayload(payloads.get(i), dynamicOptionsList.get(i));
+            }
+        } finally {
+            if (trackLatency) {
+                publishLatencyTracker.markOut();
+            }
+            trpDynamicOptions.remove();
+        }
+    }
+
+    void publishPayload(Object payload, DynamicOptions dynamicOptions) {
         if (isConnected()) {
             S state = stateHolder.getState();
             try {
@@ -251,6 +382,33 @@ public abstract class Sink<S extends State> implements SinkListener {
     public abstract void publish(Object payload, DynamicOptions dynamicOptions, S state)
             throws ConnectionUnavailableException;
 
+    /**
+     * Sending a batch of events taken from the publish queue via output transport, in order. Sinks able to send
+     * several payloads in one request override this, by default the payloads are published one at a time.
+     * <p>
+     * When a {@link ConnectionUnavailableException} is thrown the payloads already published must have been removed
+     * from the front of both lists, the remaining payloads are then published through the connection retry and
+     * {@code on.error} handling of the sink.
+     *
+     * @param payloads           payloads of the events
+     * @param dynamicOptionsList dynamic options of the events constructing each of the payloads
+     * @param state              current state of the sink
+     * @throws ConnectionUnavailableException throw when connections are unavailable.
+     */
+    public void publish(List<Object> payloads, List<DynamicOptions> dynamicOptionsList, S state)
+            throws ConnectionUnavailableException {
+        int published = 0;
+        try {
+            for (; published < payloads.size(); published++) {
+                trpDynamicOptions.set(dynamicOptionsList.get(published));
+                publish(payloads.get(published), dynamicOptionsList.get(published), state);
+            }
+        } finally {
+            payloads.subList(0, published).clear();
+            dynamicOptionsList.subList(0, published).clear();
+        }
+    }
+
 
     /**
      * Called to connect to the backend before events are published
@@ -282,6 +440,9 @@ public abstract class Sink<S extends State> implements SinkListener {
     }
 
     public void connectWithRetry() {
+        if (publishQueue != null && !isShutdown.get()) {
+            publishQueue.start();
+        }
         connectWithRetry(false);
     }
 
@@ -320,7 +481,7 @@ public abstract class Sink<S extends State> implements SinkListener {
     }
 
     public void shutdown() {
-        isShutdown.set(true);
+        stopPublishing();
         disconnect();
         destroy();
         setConnected(false);
@@ -436,11 +597,7 @@ public abstract class Sink<S extends State> implements SinkListener {
                     break;
                 case STORE:
                     connectWithRetry();
-                    ErroneousEvent erroneousEvent = new ErroneousEvent(dynamicOptions.getEvent(), e, e.getMessage());
-                    erroneousEvent.setOriginalPayload(payload);
-                    ErrorStoreHelper.storeErroneousEvent(siddhiAppContext.getSiddhiContext().getErrorStore(),
-                            ErrorOccurrence.STORE_ON_SINK_ERROR, siddhiAppContext.getName(),
-                            erroneousEvent, streamDefinition.getId());
+                    storePayload(payload, dynamicOptions, e);
                     break;
                 case LOG:
                 default:
@@ -460,6 +617,32 @@ public abstract class Sink<S extends State> implements SinkListener {
         }
     }
 
+    /**
+     * Stop publishing new payloads and publish the ones queued at the sink, called when the sink is shutdown and
+     * by {@link DistributedTransport}s for the sinks of their destinations.
+     */
+    public final void stopPublishing() {
+        isShutdown.set(true);
+        if (publishQueue != null) {
+            publishQueue.stop();
+        }
+    }
+
+    void storePayload(Object payload, DynamicOptions dynamicOptions, Exception e) {
+        ErroneousEvent erroneousEvent = new ErroneousEvent(dynamicOptions.getEvent(), e, e.getMessage());
+        erroneousEvent.setOriginalPayload(payload);
+        ErrorStoreHelper.storeErroneousEvent(siddhiAppContext.getSiddhiContext().getErrorStore(),
+                ErrorOccurrence.STORE_ON_SINK_ERROR, siddhiAppContext.getName(),
+                erroneousEvent, streamDefinition.getId());
+    }
+
+    /**
+     * @return the publish queue of the sink, or {@code null} if payloads are published by the producing threads
+     */
+    public SinkPublishQueue getPublishQueue() {
+        return publishQueue;
+    }
+
     public List<ServiceDeploymentInfo> getServiceDeploymentInfoList() {
         if (serviceDeploymentInfo != null) {
             List<ServiceDeploymentInfo> list = new ArrayList<>(1);
@@ -30,6 +30,7 @@ import io.siddhi.core.util.transport.TemplateBuilder;
 import io.siddhi.query.api.annotation.Element;
 import io.siddhi.query.api.definition.StreamDefinition;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -53,6 +54,8 @@ public abstract class SinkMapper {
     private ThreadLocal<DynamicOptions> trpDynamicOptions = new ThreadLocal<>();
     private LatencyTracker mapperLatencyTracker;
     private SiddhiAppContext siddhiAppContext;
+    private Sink sink;
+    private volatile Class payloadClass;
 
     public final void init(StreamDefinition streamDefinition, String type, OptionHolder mapOptionHolder,
                            List<Element> unmappedPayloadList, Sink sink, ConfigReader mapperConfigReader,
@@ -66,6 +69,7 @@ public abstract class SinkMapper {
         this.sinkOptionHolder = sinkOptionHolder;
         this.optionHolder = mapOptionHolder;
         this.type = type;
+        this.sink = sink;
         buildMapperTemplate(streamDefinition, unmappedPayloadList);
         init(streamDefinition, mapOptionHolder, templateBuilderMap, mapperConfigReader, siddhiAppContext);
     }
@@ -205,6 +209,50 @@ public abstract class SinkMapper {
     public abstract void mapAndSend(Event event, OptionHolder optionHolder, Map<String,
             TemplateBuilder> payloadTemplateBuilderMap, SinkListener sinkListener);
 
+    /**
+     * Build the payload of the given event from the given template, as the payload class preferred by the sink. The
+     * payload is built as UTF-8 bytes when the sink lists {@code byte[]} or {@link ByteBuffer} before {@link String}
+     * in its supported input event classes, such that the sink gets the bytes without encoding a {@link String}, and
+     * it is built as a {@link String} otherwise.
+     *
+     * @param templateBuilder template of the payload
+     * @param event           event to be mapped
+     * @return the payload as {@code byte[]}, {@link ByteBuffer} or {@link String}
+     */
+    protected Object buildPayload(TemplateBuilder templateBuilder, Event event) {
+        Class payloadClass = getPayloadClass();
+        if (payloadClass == byte[].class) {
+            return templateBuilder.buildBytes(event);
+        } else if (payloadClass == ByteBuffer.class) {
+            return templateBuilder.buildByteBuffer(event);
+        }
+        return templateBuilder.build(event);
+    }
+
+    /**
+     * Payload class preferred by the sink, used by {@link #buildPayload(TemplateBuilder, Event)}.
+     *
+     * @return {@code byte[]}, {@link ByteBuffer} or {@link String} class
+     */
+    public final Class getPayloadClass() {
+        // Resolved on first use, as the transports of distributed sinks are created after their mapper
+        if (payloadClass == null) {
+            Class preferredClass = String.class;
+            Class[] supportedInputEventClasses = sink.getSupportedInputEventClasses();
+            if (supportedInputEventClasses != null) {
+                for (Class supportedInputEventClass : supportedInputEventClasses) {
+                    if (supportedInputEventClass == byte[].class || supportedInputEventClass == ByteBuffer.class ||
+                            supportedInputEventClass == String.class) {
+                        preferredClass = supportedInputEventClass;
+                        break;
+                    }
+                }
+            }
+            payloadClass = preferredClass;
+        }
+        return payloadClass;
+    }
+
     public final String getType() {
         return this.type;
     }
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream.output.sink;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.siddhi.core.util.statistics.EventBufferHolder;
+import io.siddhi.core.util.transport.DynamicOptions;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue in front of a {@link Sink}, decoupling the threads producing the payloads from publishing them.
+ * Payloads are published in order by a dedicated publisher thread, hence connection retries of the sink, such as
+ * {@code on.error='wait'}, do not block the query threads until the queue is full.
+ * <p>
+ * The publisher takes up to {@code batch.size} payloads from the queue at a time, waiting at most {@code linger.ms}
+ * for a batch to fill, and hands each batch to the sink at once. When the queue is full the {@link Backpressure} mode
+ * decides whether the producers are blocked, the oldest queued payload is dropped, or the payload is stored in the
+ * error store.
+ */
+public class SinkPublishQueue implements EventBufferHolder {
+
+    private static final Logger log = Logger.getLogger(SinkPublishQueue.class);
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final Sink sink;
+    private final String name;
+    private final BlockingQueue<QueuedPayload> queue;
+    private final int batchSize;
+    private final long lingerMillis;
+    private final Backpressure backpressure;
+    private final AtomicLong droppedPayloads = new AtomicLong();
+    private volatile boolean running = false;
+    private volatile Thread publisherThread;
+
+    SinkPublishQueue(Sink sink, String name, int bufferSize, int batchSize, long lingerMillis,
+                     Backpressure backpressure) {
+        this.sink = sink;
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.batchSize = batchSize;
+        this.lingerMillis = lingerMillis;
+        this.backpressure = backpressure;
+    }
+
+    /**
+     * Start the publisher thread, payloads offered before starting are published by the producing threads.
+     */
+    public synchronized void start() {
+        if (publisherThread != null) {
+            return;
+        }
+        running = true;
+        publisherThread = new ThreadFactoryBuilder().setNameFormat("Siddhi-Sink-" + name + "-%d")
+                .setDaemon(true).build().newThread(this::publishQueuedPayloads);
+        publisherThread.start();
+    }
+
+    /**
+     * Publish the queued payloads and stop the publisher thread. Payloads that are not published within the shutdown
+     * timeout are dropped.
+     */
+    public synchronized void stop() {
+        Thread thread = publisherThread;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        try {
+            thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+            if (thread.isAlive()) {
+                thread.interrupt();
+                thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Dropping " + queue.size() + " payloads queued at Sink '" + name + "', as they were not " +
+                    "published within " + SHUTDOWN_TIMEOUT_MILLIS + " milliseconds.");
+            queue.clear();
+        }
+        publisherThread = null;
+    }
+
+    void offer(Object payload, DynamicOptions dynamicOptions) {
+        if (!running) {
+            sink.publishPayload(payload, dynamicOptions);
+            return;
+        }
+        QueuedPayload queuedPayload = new QueuedPayload(payload, dynamicOptions);
+        switch (backpressure) {
+            case DROP_OLDEST:
+                while (!queue.offer(queuedPayload)) {
+                    QueuedPayload droppedPayload = queue.poll();
+                    if (droppedPayload != null) {
+                        droppedPayloads.incrementAndGet();
+                        if (log.isDebugEnabled()) {
+                            log.debug("Publish queue of Sink '" + name + "' is full, dropping the oldest payload '" +
+                                    droppedPayload.payload + "'");
+                        }
+                    }
+                }
+                break;
+            case STORE:
+                if (!queue.offer(queuedPayload)) {
+                    droppedPayloads.incrementAndGet();
+                    sink.storePayload(payload, dynamicOptions, new IllegalStateException("Publish queue of Sink '" +
+                            name + "' is full"));
+                }
+                break;
+            case BLOCK:
+            default:
+                try {
+                    queue.put(queuedPayload);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedPayloads.incrementAndGet();
+                    log.error("Dropping payload '" + payload + "' at Sink '" + name + "', as the thread was " +
+                            "interrupted while waiting for space in the publish queue.");
+                }
+                break;
+        }
+    }
+
+    private void publishQueuedPayloads() {
+        List<QueuedPayload> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                QueuedPayload queuedPayload = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (queuedPayload == null) {
+                    continue;
+                }
+                batch.add(queuedPayload);
+                queue.drainTo(batch, batchSize - batch.size());
+                if (lingerMillis > 0) {
+                    long lingerEnd = System.currentTimeMillis() + lingerMillis;
+                    long remainingMillis = lingerMillis;
+                    while (batch.size() < batchSize && remainingMillis > 0 && running) {
+                        queuedPayload = queue.poll(remainingMillis, TimeUnit.MILLISECONDS);
+                        if (queuedPayload == null) {
+                            break;
+                        }
+                        batch.add(queuedPayload);
+                        queue.drainTo(batch, batchSize - batch.size());
+                        remainingMillis = lingerEnd - System.currentTimeMillis();
+                    }
+                }
+                List<Object> payloads = new ArrayList<>(batch.size());
+                List<DynamicOptions> dynamicOptionsList = new ArrayList<>(batch.size());
+                for (QueuedPayload payload : batch) {
+                    payloads.add(payload.payload);
+                    dynamicOptionsList.add(payload.dynamicOptions);
+                }
+                try {
+                    sink.publishQueued(payloads, dynamicOptionsList);
+                } catch (RuntimeException e) {
+                    log.error("Error while publishing a batch of " + batch.size() + " payloads at Sink '" + name +
+                            "', " + e.getMessage(), e);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            if (running) {
+                log.error("Publisher thread of Sink '" + name + "' was interrupted, dropping " +
+                        (batch.size() + queue.size()) + " queued payloads.");
+            }
+        }
+    }
+
+    public int getBufferSize() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getLingerMillis() {
+        return lingerMillis;
+    }
+
+    public Backpressure getBackpressure() {
+        return backpressure;
+    }
+
+    /**
+     * Number of payloads dropped or stored in the error store, as they could not be queued.
+     *
+     * @return dropped payload count
+     */
+    public long getDroppedPayloads() {
+        return droppedPayloads.get();
+    }
+
+    @Override
+    public long getBufferedEvents() {
+        return queue.size();
+    }
+
+    @Override
+    public boolean containsBufferedEvents() {
+        return true;
+    }
+
+    /**
+     * Action taken when a payload is offered to a full publish queue.
+     */
+    public enum Backpressure {
+        BLOCK,
+        DROP_OLDEST,
+        STORE
+    }
+
+    private static class QueuedPayload {
+        private final Object payload;
+        private final DynamicOptions dynamicOptions;
+
+        QueuedPayload(Object payload, DynamicOptions dynamicOptions) {
+            this.payload = payload;
+            this.dynamicOptions = dynamicOptions;
+        }
+    }
+}
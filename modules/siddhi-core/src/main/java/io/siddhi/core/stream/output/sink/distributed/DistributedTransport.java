@@ -34,6 +34,7 @@ import io.siddhi.query.api.annotation.Element;
 import io.siddhi.query.api.definition.StreamDefinition;
 import org.apache.log4j.Logger;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -164,6 +165,24 @@ public abstract class DistributedTransport extends Sink {
                                        Annotation sinkAnnotation, ConfigReader sinkConfigReader,
                                        DistributionStrategy strategy, String type, SiddhiAppContext siddhiAppContext);
 
+    /**
+     * Sinks publishing to the destinations of the distributed transport, each of them queueing its payloads when
+     * publisher buffering is configured.
+     *
+     * @return the list of sinks of the destinations
+     */
+    public List<Sink> getDestinationSinks() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void shutdown() {
+        for (Sink sink : getDestinationSinks()) {
+            sink.stopPublishing();
+        }
+        super.shutdown();
+    }
+
     /**
      * Connection callback to notify DistributionStrategy about new connection initiations and failures
      */
@@ -25,12 +25,16 @@ import io.siddhi.core.event.state.StateEvent;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventCloner;
 import io.siddhi.core.event.stream.StreamEventFactory;
+import io.siddhi.core.event.stream.holder.SnapshotableStreamEventQueue;
 import io.siddhi.core.exception.ConnectionUnavailableException;
+import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.processor.ProcessingMode;
 import io.siddhi.core.table.holder.EventHolder;
+import io.siddhi.core.table.holder.IndexedEventHolder;
 import io.siddhi.core.table.record.RecordTableHandler;
+import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.collection.AddingStreamEventExtractor;
 import io.siddhi.core.util.collection.operator.CompiledCondition;
 import io.siddhi.core.util.collection.operator.MatchingMetaInfoHolder;
@@ -45,20 +49,33 @@ import io.siddhi.core.util.snapshot.state.StateHolder;
 import io.siddhi.query.api.definition.TableDefinition;
 import io.siddhi.query.api.execution.query.output.stream.UpdateSet;
 import io.siddhi.query.api.expression.Expression;
+import io.siddhi.query.api.util.AnnotationHelper;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * In-memory event table implementation of SiddhiQL.
+ * <p>
+ * Tables annotated with {@code @ConcurrentReads} serve {@code find} and {@code contains} without locking, from an
+ * immutable version of the table. Writes stay serialized under the table-wide write lock, and each write publishes a
+ * new version before releasing the lock, hence a read that follows a write always sees it. As every write copies the
+ * table, the mode suits read-mostly tables such as reference data used by joins.
  */
 public class InMemoryTable extends Table {
     StreamEventCloner tableStreamEventCloner;
     ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
     StateHolder<TableState> stateHolder;
+    private StreamEventFactory storeEventPool;
+    private boolean concurrentReads = false;
 
     @Override
     public void init(TableDefinition tableDefinition, StreamEventFactory storeEventPool,
@@ -67,6 +84,17 @@ public class InMemoryTable extends Table {
         this.tableDefinition = tableDefinition;
         this.tableStreamEventCloner = storeEventCloner;
         EventHolder eventHolder = EventHolderPasser.parse(tableDefinition, storeEventPool, siddhiAppContext, false);
+        if (AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_CONCURRENT_READS,
+                tableDefinition.getAnnotations()) != null) {
+            if (!(eventHolder instanceof IndexedEventHolder)) {
+                throw new SiddhiAppCreationException(SiddhiConstants.ANNOTATION_CONCURRENT_READS + " annotation " +
+                        "of table '" + tableDefinition.getId() + "' requires the table to have a " +
+                        SiddhiConstants.ANNOTATION_PRIMARY_KEY + " or an " + SiddhiConstants.ANNOTATION_INDEX +
+                        " annotation.");
+            }
+            this.storeEventPool = storeEventPool;
+            this.concurrentReads = true;
+        }
 
         stateHolder = siddhiAppContext.generateStateHolder(tableDefinition.getId(),
                 () -> new TableState(eventHolder));
@@ -84,6 +112,9 @@ public class InMemoryTable extends Table {
         try {
             state.eventHolder.add(addingEventChunk);
         } finally {
+            if (concurrentReads) {
+                state.publishReadVersion();
+            }
             stateHolder.returnState(state);
             readWriteLock.writeLock().unlock();
         }
@@ -98,6 +129,9 @@ public class InMemoryTable extends Table {
             ((Operator) ((InMemoryCompiledCondition) compiledCondition).getOperatorCompiledCondition()).
                     delete(deletingEventChunk, state.eventHolder);
         } finally {
+            if (concurrentReads) {
+                state.publishReadVersion();
+            }
             stateHolder.returnState(state);
             readWriteLock.writeLock().unlock();
         }
@@ -112,6 +146,9 @@ public class InMemoryTable extends Table {
             ((Operator) ((InMemoryCompiledCondition) compiledCondition).getOperatorCompiledCondition()).
                     update(updatingEventChunk, state.eventHolder, (InMemoryCompiledUpdateSet) compiledUpdateSet);
         } finally {
+            if (concurrentReads) {
+                state.publishReadVersion();
+            }
             stateHolder.returnState(state);
             readWriteLock.writeLock().unlock();
         }
@@ -138,6 +175,9 @@ public class InMemoryTable extends Table {
                         (InMemoryCompiledUpdateSet) compiledUpdateSet, failedEvents));
             }
         } finally {
+            if (concurrentReads) {
+                state.publishReadVersion();
+            }
             stateHolder.returnState(state);
             readWriteLock.writeLock().unlock();
         }
@@ -175,6 +215,15 @@ public class InMemoryTable extends Table {
 
     @Override
     public boolean contains(StateEvent matchingEvent, CompiledCondition compiledCondition) {
+        if (concurrentReads) {
+            TableState state = stateHolder.getState();
+            try {
+                return ((Operator) ((InMemoryCompiledCondition) compiledCondition).getOperatorCompiledCondition()).
+                        contains(matchingEvent, state.readVersion);
+            } finally {
+                stateHolder.returnState(state);
+            }
+        }
         readWriteLock.readLock().lock();
         TableState state = stateHolder.getState();
         try {
@@ -199,6 +248,14 @@ public class InMemoryTable extends Table {
     @Override
     public StreamEvent find(CompiledCondition compiledCondition, StateEvent matchingEvent) {
         TableState state = stateHolder.getState();
+        if (concurrentReads) {
+            try {
+                return ((Operator) ((InMemoryCompiledCondition) compiledCondition).getOperatorCompiledCondition()).
+                        find(matchingEvent, state.readVersion, tableStreamEventCloner);
+            } finally {
+                stateHolder.returnState(state);
+            }
+        }
         readWriteLock.readLock().lock();
         try {
             return ((Operator) ((InMemoryCompiledCondition) compiledCondition).getOperatorCompiledCondition()).
@@ -209,6 +266,72 @@ public class InMemoryTable extends Table {
         }
     }
 
+    /**
+     * Get a cursor over the events of the table having a value of the given long attribute greater than or equal to
+     * {@code fromValue}, in the ascending order of that attribute. Only references to the matching events are taken
+     * when the cursor is created, and the data of each page is copied as it is read, hence the table is never copied
+     * as a whole.
+     *
+     * @param attributeName name of the long attribute to order the events by
+     * @param fromValue     smallest value of the attribute to return, or null to return all events
+     * @param pageSize      maximum number of events in a page
+     * @return iterator over the pages of copied event data
+     */
+    public Iterator<Object[][]> findInOrder(String attributeName, Long fromValue, int pageSize) {
+        int position = tableDefinition.getAttributePosition(attributeName);
+        List<StreamEvent> matchingEvents = new ArrayList<>();
+        TableState state = stateHolder.getState();
+        readWriteLock.readLock().lock();
+        try {
+            Iterator<StreamEvent> iterator;
+            if (state.eventHolder instanceof IndexedEventHolder) {
+                iterator = ((IndexedEventHolder) state.eventHolder).getAllEvents().iterator();
+            } else {
+                iterator = (SnapshotableStreamEventQueue) state.eventHolder;
+                ((SnapshotableStreamEventQueue) iterator).reset();
+            }
+            while (iterator.hasNext()) {
+                StreamEvent streamEvent = iterator.next();
+                if (fromValue == null || (Long) streamEvent.getOutputData()[position] >= fromValue) {
+                    matchingEvents.add(streamEvent);
+                }
+            }
+        } finally {
+            readWriteLock.readLock().unlock();
+            stateHolder.returnState(state);
+        }
+        matchingEvents.sort(Comparator.comparingLong(streamEvent ->
+                (Long) streamEvent.getOutputData()[position]));
+        return new Iterator<Object[][]>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < matchingEvents.size();
+            }
+
+            @Override
+            public Object[][] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int end = Math.min(index + pageSize, matchingEvents.size());
+                Object[][] page = new Object[end - index][];
+                readWriteLock.readLock().lock();
+                try {
+                    for (int i = 0; index < end; i++, index++) {
+                        Object[] data = matchingEvents.get(index).getOutputData();
+                        page[i] = Arrays.copyOf(data, data.length);
+                        matchingEvents.set(index, null);
+                    }
+                } finally {
+                    readWriteLock.readLock().unlock();
+                }
+                return page;
+            }
+        };
+    }
+
     @Override
     public CompiledCondition compileCondition(Expression condition, MatchingMetaInfoHolder matchingMetaInfoHolder,
                                               List<VariableExpressionExecutor> variableExpressionExecutors,
@@ -264,9 +387,13 @@ public class InMemoryTable extends Table {
      */
     public class TableState extends State {
         private final EventHolder eventHolder;
+        private volatile EventHolder readVersion;
 
         public TableState(EventHolder eventHolder) {
             this.eventHolder = eventHolder;
+            if (concurrentReads) {
+                publishReadVersion();
+            }
         }
 
         public EventHolder getEventHolder() {
@@ -287,7 +414,32 @@ public class InMemoryTable extends Table {
 
         @Override
         public void restore(Map<String, Object> state) {
-            eventHolder.restore((SnapshotStateList) state.get("EventHolder"));
+            readWriteLock.writeLock().lock();
+            try {
+                eventHolder.restore((SnapshotStateList) state.get("EventHolder"));
+                if (concurrentReads) {
+                    publishReadVersion();
+                }
+            } finally {
+                readWriteLock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Publish a copy of the table as the version read by the concurrent readers, has to be called while holding
+         * the write lock. The copy is never changed after it is published.
+         */
+        private void publishReadVersion() {
+            EventHolder version = EventHolderPasser.parse(tableDefinition, storeEventPool, siddhiAppContext, false);
+            StreamEvent carrier = storeEventPool.newInstance();
+            ComplexEventChunk<StreamEvent> carrierChunk = new ComplexEventChunk<>(carrier, carrier);
+            for (StreamEvent streamEvent : ((IndexedEventHolder) eventHolder).getAllEvents()) {
+                carrier.setOutputData(streamEvent.getOutputData());
+                carrier.setTimestamp(streamEvent.getTimestamp());
+                carrier.setType(streamEvent.getType());
+                version.add(carrierChunk);
+            }
+            readVersion = version;
         }
     }
 }
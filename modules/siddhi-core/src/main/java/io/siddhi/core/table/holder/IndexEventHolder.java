@@ -37,6 +37,7 @@ import org.apache.log4j.Logger;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -63,7 +64,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
     private static final long serialVersionUID = 1272291743721603253L;
     private static final float FULL_SNAPSHOT_THRESHOLD = 2.1f;
     protected final Map<Object, StreamEvent> primaryKeyData;
-    protected final Map<String, TreeMap<Object, Set<StreamEvent>>> indexData;
+    protected final Map<String, Map<Object, Set<StreamEvent>>> indexData;
     private final PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders;
     private final String tableName;
     private final String siddhiAppName;
@@ -71,9 +72,11 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
     protected String primaryKeyAttributes = null;
     private StreamEventFactory tableStreamEventFactory;
     private StreamEventConverter eventConverter;
-    private Map<String, Integer> indexMetaData;
+    private IndexReferenceHolder[] indexReferenceHolders;
     private Map<String, Integer> multiPrimaryKeyMetaData = new LinkedHashMap<>();
     private Map<String, Integer> allIndexMetaData = new HashMap<>();
+    private Set<String> compositeIndexAttributes = new HashSet<>();
+    private Set<Integer> compositeIndexPositions = new HashSet<>();
     private ArrayList<Operation> operationChangeLog = new ArrayList<>();
     private long eventsCount;
     private boolean forceFullSnapshot = true;
@@ -83,10 +86,18 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                             PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders,
                             boolean isPrimaryNumeric, Map<String, Integer> indexMetaData,
                             AbstractDefinition tableDefinition, SiddhiAppContext siddhiAppContext) {
+        this(tableStreamEventFactory, eventConverter, primaryKeyReferenceHolders, isPrimaryNumeric,
+                toIndexReferenceHolders(indexMetaData), tableDefinition, siddhiAppContext);
+    }
+
+    public IndexEventHolder(StreamEventFactory tableStreamEventFactory, StreamEventConverter eventConverter,
+                            PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders,
+                            boolean isPrimaryNumeric, IndexReferenceHolder[] indexReferenceHolders,
+                            AbstractDefinition tableDefinition, SiddhiAppContext siddhiAppContext) {
         this.tableStreamEventFactory = tableStreamEventFactory;
         this.eventConverter = eventConverter;
         this.primaryKeyReferenceHolders = primaryKeyReferenceHolders;
-        this.indexMetaData = indexMetaData;
+        this.indexReferenceHolders = indexReferenceHolders;
         this.tableName = tableDefinition.getId();
         this.siddhiAppName = siddhiAppContext.getName();
         this.siddhiAppContext = siddhiAppContext;
@@ -114,18 +125,37 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         } else {
             primaryKeyData = null;
         }
-        if (indexMetaData.size() > 0) {
-            indexData = new HashMap<String, TreeMap<Object, Set<StreamEvent>>>();
-            for (String indexAttributeName : indexMetaData.keySet()) {
-                indexData.put(indexAttributeName, new TreeMap<Object, Set<StreamEvent>>());
+        if (indexReferenceHolders.length > 0) {
+            indexData = new HashMap<String, Map<Object, Set<StreamEvent>>>();
+            for (IndexReferenceHolder indexReferenceHolder : indexReferenceHolders) {
+                if (indexReferenceHolder.isSorted()) {
+                    indexData.put(indexReferenceHolder.getIndexName(), new TreeMap<Object, Set<StreamEvent>>());
+                } else {
+                    indexData.put(indexReferenceHolder.getIndexName(), new HashMap<Object, Set<StreamEvent>>());
+                }
+                if (indexReferenceHolder.isComposite()) {
+                    for (int i = 0; i < indexReferenceHolder.getIndexPositions().length; i++) {
+                        compositeIndexAttributes.add(indexReferenceHolder.getIndexAttributes()[i]);
+                        compositeIndexPositions.add(indexReferenceHolder.getIndexPositions()[i]);
+                    }
+                } else {
+                    allIndexMetaData.put(indexReferenceHolder.getIndexName(),
+                            indexReferenceHolder.getIndexPositions()[0]);
+                }
             }
-            allIndexMetaData.putAll(indexMetaData);
         } else {
             indexData = null;
         }
 
     }
 
+    private static IndexReferenceHolder[] toIndexReferenceHolders(Map<String, Integer> indexMetaData) {
+        return indexMetaData.entrySet().stream()
+                .map(entry -> new IndexReferenceHolder(new String[]{entry.getKey()}, new int[]{entry.getValue()},
+                        true))
+                .toArray(IndexReferenceHolder[]::new);
+    }
+
     public void replace(Object key, StreamEvent streamEvent) {
         primaryKeyData.replace(key, streamEvent);
     }
@@ -156,7 +186,36 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
 
     @Override
     public boolean isAttributeIndexed(int position) {
-        return allIndexMetaData.containsValue(position);
+        return allIndexMetaData.containsValue(position) || compositeIndexPositions.contains(position);
+    }
+
+    @Override
+    public boolean isAttributeIndexSorted(String attribute) {
+        if (primaryKeyData != null && attribute.equals(primaryKeyAttributes)) {
+            return primaryKeyData instanceof TreeMap;
+        }
+        return indexData != null && indexData.get(attribute) instanceof TreeMap;
+    }
+
+    @Override
+    public boolean isCompositeIndexAttribute(String attributeName) {
+        return compositeIndexAttributes.contains(attributeName);
+    }
+
+    @Override
+    public boolean isCompositeKey(Set<String> attributes) {
+        if (primaryKeyReferenceHolders != null && primaryKeyReferenceHolders.length > 1
+                && multiPrimaryKeyMetaData.keySet().equals(attributes)) {
+            return true;
+        }
+        for (IndexReferenceHolder indexReferenceHolder : indexReferenceHolders) {
+            if (indexReferenceHolder.isComposite()
+                    && indexReferenceHolder.getIndexAttributes().length == attributes.size()
+                    && attributes.containsAll(Arrays.asList(indexReferenceHolder.getIndexAttributes()))) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -198,14 +257,14 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         }
 
         if (indexData != null) {
-            for (Map.Entry<String, Integer> indexEntry : indexMetaData.entrySet()) {
-                TreeMap<Object, Set<StreamEvent>> indexMap = indexData.get(indexEntry.getKey());
-                Object key = streamEvent.getOutputData()[indexEntry.getValue()];
+            for (IndexReferenceHolder indexReferenceHolder : indexReferenceHolders) {
+                Map<Object, Set<StreamEvent>> indexMap = indexData.get(indexReferenceHolder.getIndexName());
+                Object key = indexReferenceHolder.getIndexKey(streamEvent.getOutputData());
                 Set<StreamEvent> values = indexMap.get(key);
                 if (values == null) {
                     values = new HashSet<StreamEvent>();
                     values.add(streamEvent);
-                    indexMap.put(streamEvent.getOutputData()[indexEntry.getValue()], values);
+                    indexMap.put(key, values);
                 } else {
                     values.add(streamEvent);
                 }
@@ -254,9 +313,9 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         }
 
         if (indexData != null) {
-            for (Map.Entry<String, Integer> indexEntry : indexMetaData.entrySet()) {
-                TreeMap<Object, Set<StreamEvent>> indexMap = indexData.get(indexEntry.getKey());
-                Object key = streamEvent.getOutputData()[indexEntry.getValue()];
+            for (IndexReferenceHolder indexReferenceHolder : indexReferenceHolders) {
+                Map<Object, Set<StreamEvent>> indexMap = indexData.get(indexReferenceHolder.getIndexName());
+                Object key = indexReferenceHolder.getIndexKey(streamEvent.getOutputData());
                 if (deletedEvent != null) {
                     Set<StreamEvent> values = indexMap.get(key);
                     values.remove(deletedEvent);
@@ -268,7 +327,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                 if (values == null) {
                     values = new HashSet<StreamEvent>();
                     values.add(streamEvent);
-                    indexMap.put(streamEvent.getOutputData()[indexEntry.getValue()], values);
+                    indexMap.put(key, values);
                 } else {
                     values.add(streamEvent);
                 }
@@ -282,9 +341,9 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
             return primaryKeyData.values();
         } else if (indexData != null) {
             HashSet<StreamEvent> resultEventSet = new HashSet<StreamEvent>();
-            Iterator<TreeMap<Object, Set<StreamEvent>>> iterator = indexData.values().iterator();
+            Iterator<Map<Object, Set<StreamEvent>>> iterator = indexData.values().iterator();
             if (iterator.hasNext()) {
-                TreeMap<Object, Set<StreamEvent>> aIndexData = iterator.next();
+                Map<Object, Set<StreamEvent>> aIndexData = iterator.next();
                 for (Set<StreamEvent> streamEvents : aIndexData.values()) {
                     resultEventSet.addAll(streamEvents);
                 }
@@ -340,27 +399,27 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
             }
         } else {
             HashSet<StreamEvent> resultEventSet = new HashSet<StreamEvent>();
-            TreeMap<Object, Set<StreamEvent>> currentIndexedData = indexData.get(attribute);
+            Map<Object, Set<StreamEvent>> currentIndexedData = indexData.get(attribute);
 
             Set<StreamEvent> resultEvents;
             switch (operator) {
                 case LESS_THAN:
-                    for (Set<StreamEvent> eventSet : currentIndexedData.headMap(value, false).values()) {
+                    for (Set<StreamEvent> eventSet : getSortedIndex(attribute).headMap(value, false).values()) {
                         resultEventSet.addAll(eventSet);
                     }
                     return resultEventSet;
                 case GREATER_THAN:
-                    for (Set<StreamEvent> eventSet : currentIndexedData.tailMap(value, false).values()) {
+                    for (Set<StreamEvent> eventSet : getSortedIndex(attribute).tailMap(value, false).values()) {
                         resultEventSet.addAll(eventSet);
                     }
                     return resultEventSet;
                 case LESS_THAN_EQUAL:
-                    for (Set<StreamEvent> eventSet : currentIndexedData.headMap(value, true).values()) {
+                    for (Set<StreamEvent> eventSet : getSortedIndex(attribute).headMap(value, true).values()) {
                         resultEventSet.addAll(eventSet);
                     }
                     return resultEventSet;
                 case GREATER_THAN_EQUAL:
-                    for (Set<StreamEvent> eventSet : currentIndexedData.tailMap(value, true).values()) {
+                    for (Set<StreamEvent> eventSet : getSortedIndex(attribute).tailMap(value, true).values()) {
                         resultEventSet.addAll(eventSet);
                     }
                     return resultEventSet;
@@ -405,7 +464,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
             primaryKeyData.clear();
         }
         if (indexData != null) {
-            for (TreeMap<Object, Set<StreamEvent>> aIndexedData : indexData.values()) {
+            for (Map<Object, Set<StreamEvent>> aIndexedData : indexData.values()) {
                 aIndexedData.clear();
             }
         }
@@ -510,7 +569,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
             switch (operator) {
 
                 case LESS_THAN:
-                    for (Iterator<Set<StreamEvent>> iterator = indexData.get(attribute).
+                    for (Iterator<Set<StreamEvent>> iterator = getSortedIndex(attribute).
                             headMap(value, false).values().iterator();
                          iterator.hasNext(); ) {
                         Set<StreamEvent> deletedEventSet = iterator.next();
@@ -519,7 +578,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                     }
                     return;
                 case GREATER_THAN:
-                    for (Iterator<Set<StreamEvent>> iterator = indexData.get(attribute).
+                    for (Iterator<Set<StreamEvent>> iterator = getSortedIndex(attribute).
                             tailMap(value, false).values().iterator();
                          iterator.hasNext(); ) {
                         Set<StreamEvent> deletedEventSet = iterator.next();
@@ -528,7 +587,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                     }
                     return;
                 case LESS_THAN_EQUAL:
-                    for (Iterator<Set<StreamEvent>> iterator = indexData.get(attribute).
+                    for (Iterator<Set<StreamEvent>> iterator = getSortedIndex(attribute).
                             headMap(value, true).values().iterator();
                          iterator.hasNext(); ) {
                         Set<StreamEvent> deletedEventSet = iterator.next();
@@ -537,7 +596,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                     }
                     return;
                 case GREATER_THAN_EQUAL:
-                    for (Iterator<Set<StreamEvent>> iterator = indexData.get(attribute).
+                    for (Iterator<Set<StreamEvent>> iterator = getSortedIndex(attribute).
                             tailMap(value, true).values().iterator();
                          iterator.hasNext(); ) {
                         Set<StreamEvent> deletedEventSet = iterator.next();
@@ -582,18 +641,18 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                     return primaryKeyData.size() > 1;
             }
         } else {
-            TreeMap<Object, Set<StreamEvent>> currentIndexedData = indexData.get(attribute);
+            Map<Object, Set<StreamEvent>> currentIndexedData = indexData.get(attribute);
 
             switch (operator) {
 
                 case LESS_THAN:
-                    return currentIndexedData.lowerKey(value) != null;
+                    return getSortedIndex(attribute).lowerKey(value) != null;
                 case GREATER_THAN:
-                    return currentIndexedData.higherKey(value) != null;
+                    return getSortedIndex(attribute).higherKey(value) != null;
                 case LESS_THAN_EQUAL:
-                    return currentIndexedData.ceilingKey(value) != null;
+                    return getSortedIndex(attribute).ceilingKey(value) != null;
                 case GREATER_THAN_EQUAL:
-                    return currentIndexedData.floorKey(value) != null;
+                    return getSortedIndex(attribute).floorKey(value) != null;
                 case EQUAL:
                     return currentIndexedData.get(value) != null;
                 case NOT_EQUAL:
@@ -610,10 +669,10 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                 Object primaryKey = constructPrimaryKey(deletedEvent, primaryKeyReferenceHolders);
                 primaryKeyData.remove(primaryKey);
             }
-            for (Map.Entry<String, Integer> indexEntry : indexMetaData.entrySet()) {
-                if (!currentAttribute.equals(indexEntry.getKey())) {
-                    TreeMap<Object, Set<StreamEvent>> indexMap = indexData.get(indexEntry.getKey());
-                    Object key = deletedEvent.getOutputData()[indexEntry.getValue()];
+            for (IndexReferenceHolder indexReferenceHolder : indexReferenceHolders) {
+                if (!currentAttribute.equals(indexReferenceHolder.getIndexName())) {
+                    Map<Object, Set<StreamEvent>> indexMap = indexData.get(indexReferenceHolder.getIndexName());
+                    Object key = indexReferenceHolder.getIndexKey(deletedEvent.getOutputData());
                     Set<StreamEvent> values = indexMap.get(key);
                     if (values != null) {
                         values.remove(deletedEvent);
@@ -627,10 +686,10 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
     }
 
     private void deleteFromIndexes(StreamEvent toDeleteEvent) {
-        if (indexMetaData != null) {
-            for (Map.Entry<String, Integer> indexEntry : indexMetaData.entrySet()) {
-                TreeMap<Object, Set<StreamEvent>> indexMap = indexData.get(indexEntry.getKey());
-                Object key = toDeleteEvent.getOutputData()[indexEntry.getValue()];
+        if (indexData != null) {
+            for (IndexReferenceHolder indexReferenceHolder : indexReferenceHolders) {
+                Map<Object, Set<StreamEvent>> indexMap = indexData.get(indexReferenceHolder.getIndexName());
+                Object key = indexReferenceHolder.getIndexKey(toDeleteEvent.getOutputData());
                 Set<StreamEvent> values = indexMap.get(key);
                 if (values != null) {
                     values.remove(toDeleteEvent);
@@ -642,6 +701,15 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         }
     }
 
+    protected TreeMap<Object, Set<StreamEvent>> getSortedIndex(String attribute) {
+        Map<Object, Set<StreamEvent>> index = indexData.get(attribute);
+        if (!(index instanceof TreeMap)) {
+            throw new OperationNotSupportedException("Range lookups are not supported by the hash index on '" +
+                    attribute + "' of table '" + tableName + "', at Siddhi App '" + siddhiAppName + "'");
+        }
+        return (TreeMap<Object, Set<StreamEvent>>) index;
+    }
+
     private boolean isFullSnapshot() {
         return operationChangeLog.size() > (eventsCount * FULL_SNAPSHOT_THRESHOLD)
                 || forceFullSnapshot
@@ -44,6 +44,14 @@ public class IndexEventHolderForCache extends IndexEventHolder implements Indexe
                 tableDefinition, siddhiAppContext);
     }
 
+    public IndexEventHolderForCache(StreamEventFactory tableStreamEventFactory, StreamEventConverter eventConverter,
+                                    PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders, boolean isPrimaryNumeric,
+                                    IndexReferenceHolder[] indexReferenceHolders,
+                                    AbstractDefinition tableDefinition, SiddhiAppContext siddhiAppContext) {
+        super(tableStreamEventFactory, eventConverter, primaryKeyReferenceHolders, isPrimaryNumeric,
+                indexReferenceHolders, tableDefinition, siddhiAppContext);
+    }
+
     @Override
     protected void handleCachePolicyAttributeUpdate(StreamEvent streamEvent) {
         cacheTable.updateCachePolicyAttribute(streamEvent);
@@ -106,18 +114,18 @@ public class IndexEventHolderForCache extends IndexEventHolder implements Indexe
                     return primaryKeyData.size() > 1;
             }
         } else {
-            TreeMap<Object, Set<StreamEvent>> currentIndexedData = indexData.get(attribute);
+            Map<Object, Set<StreamEvent>> currentIndexedData = indexData.get(attribute);
 
             switch (operator) {
 
                 case LESS_THAN:
-                    return currentIndexedData.lowerKey(value) != null;
+                    return getSortedIndex(attribute).lowerKey(value) != null;
                 case GREATER_THAN:
-                    return currentIndexedData.higherKey(value) != null;
+                    return getSortedIndex(attribute).higherKey(value) != null;
                 case LESS_THAN_EQUAL:
-                    return currentIndexedData.ceilingKey(value) != null;
+                    return getSortedIndex(attribute).ceilingKey(value) != null;
                 case GREATER_THAN_EQUAL:
-                    return currentIndexedData.floorKey(value) != null;
+                    return getSortedIndex(attribute).floorKey(value) != null;
                 case EQUAL:
                     return currentIndexedData.get(value) != null;
                 case NOT_EQUAL:
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.table.holder;
+
+import io.siddhi.core.util.SiddhiConstants;
+
+import java.io.Serializable;
+
+/**
+ * IndexReferenceHolder for indexed Event Table, referring an index over one or more attributes.
+ * <p>
+ * Sorted indexes support range lookups, while hash indexes only support equality lookups. Composite indexes are keyed
+ * by the attribute values joined in the order of the table definition, the same way as composite primary keys.
+ */
+public class IndexReferenceHolder implements Serializable {
+    private static final long serialVersionUID = -1880245726455296476L;
+    private final String indexName;
+    private final String[] indexAttributes;
+    private final int[] indexPositions;
+    private final boolean sorted;
+
+    public IndexReferenceHolder(String[] indexAttributes, int[] indexPositions, boolean sorted) {
+        this.indexAttributes = indexAttributes;
+        this.indexPositions = indexPositions;
+        this.sorted = sorted;
+        if (indexAttributes.length == 1) {
+            this.indexName = indexAttributes[0];
+        } else {
+            StringBuilder indexNameBuilder = new StringBuilder();
+            for (String indexAttribute : indexAttributes) {
+                indexNameBuilder.append(indexAttribute).append(SiddhiConstants.KEY_DELIMITER);
+            }
+            this.indexName = indexNameBuilder.toString();
+        }
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public String[] getIndexAttributes() {
+        return indexAttributes;
+    }
+
+    public int[] getIndexPositions() {
+        return indexPositions;
+    }
+
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    public boolean isComposite() {
+        return indexPositions.length > 1;
+    }
+
+    public Object getIndexKey(Object[] data) {
+        if (indexPositions.length == 1) {
+            return data[indexPositions[0]];
+        } else {
+            StringBuilder stringBuilder = new StringBuilder();
+            for (int indexPosition : indexPositions) {
+                stringBuilder.append(data[indexPosition]).append(SiddhiConstants.KEY_DELIMITER);
+            }
+            return stringBuilder.toString();
+        }
+    }
+}
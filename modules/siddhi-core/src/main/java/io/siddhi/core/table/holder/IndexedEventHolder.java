@@ -33,6 +33,12 @@ public interface IndexedEventHolder extends EventHolder {
 
     boolean isAttributeIndexed(int position);
 
+    boolean isAttributeIndexSorted(String attribute);
+
+    boolean isCompositeIndexAttribute(String attributeName);
+
+    boolean isCompositeKey(Set<String> attributes);
+
     Collection<StreamEvent> getAllEvents();
 
     Collection<StreamEvent> findEvents(String attribute, Compare.Operator operator, Object value);
@@ -710,6 +710,52 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
         return compileSelection(selectAttributeBuilders, null, null, null, null, null);
     }
 
+    /**
+     * Query records matching the compiled condition and selection, reading them lazily from the store such that
+     * large results can be consumed in pages. When the cache is enabled the records are read via
+     * {@link #query(StateEvent, CompiledCondition, CompiledSelection, Attribute[])}, as they may be served by the
+     * cache.
+     *
+     * @param matchingEvent     the event to be matched with the records
+     * @param compiledCondition the compiledCondition against which records should be matched
+     * @param compiledSelection the compiledSelection that maps records to the requested format
+     * @param outputAttributes  the output attributes specified in the query
+     * @return iterator of matching records, which is closeable when it is read from the store
+     * @throws ConnectionUnavailableException
+     */
+    public Iterator<Object[]> queryRecords(StateEvent matchingEvent, CompiledCondition compiledCondition,
+                                           CompiledSelection compiledSelection, Attribute[] outputAttributes)
+            throws ConnectionUnavailableException {
+        if (cacheEnabled) {
+            StreamEvent streamEvents = query(matchingEvent, compiledCondition, compiledSelection, outputAttributes);
+            List<Object[]> records = new ArrayList<>();
+            for (StreamEvent streamEvent = streamEvents; streamEvent != null; streamEvent = streamEvent.getNext()) {
+                records.add(streamEvent.getOutputData());
+            }
+            return records.iterator();
+        }
+        findMatchingEvent = matchingEvent;
+        RecordStoreCompiledCondition recordStoreCompiledCondition = (RecordStoreCompiledCondition) compiledCondition;
+        RecordStoreCompiledSelection recordStoreCompiledSelection = (RecordStoreCompiledSelection) compiledSelection;
+        Map<String, Object> parameterMap = new HashMap<>();
+        for (Map.Entry<String, ExpressionExecutor> entry :
+                recordStoreCompiledCondition.variableExpressionExecutorMap.entrySet()) {
+            parameterMap.put(entry.getKey(), entry.getValue().execute(matchingEvent));
+        }
+        for (Map.Entry<String, ExpressionExecutor> entry :
+                recordStoreCompiledSelection.variableExpressionExecutorMap.entrySet()) {
+            parameterMap.put(entry.getKey(), entry.getValue().execute(matchingEvent));
+        }
+        if (recordTableHandler != null) {
+            return recordTableHandler.query(matchingEvent.getTimestamp(), parameterMap,
+                    recordStoreCompiledCondition.getCompiledCondition(),
+                    recordStoreCompiledSelection.compiledSelection, outputAttributes);
+        } else {
+            return query(parameterMap, recordStoreCompiledCondition.getCompiledCondition(),
+                    recordStoreCompiledSelection.compiledSelection, outputAttributes);
+        }
+    }
+
     private void addStreamEventToChunk(Attribute[] outputAttributes, ComplexEventChunk<StreamEvent>
             streamEventComplexEventChunk, Iterator<Object[]> records) {
         if (records != null) {
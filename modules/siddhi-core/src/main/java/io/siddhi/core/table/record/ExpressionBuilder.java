@@ -35,6 +35,7 @@ import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.exception.AttributeNotExistException;
 import io.siddhi.query.api.exception.SiddhiAppValidationException;
 import io.siddhi.query.api.expression.AttributeFunction;
+import io.siddhi.query.api.expression.BindVariable;
 import io.siddhi.query.api.expression.Expression;
 import io.siddhi.query.api.expression.Variable;
 import io.siddhi.query.api.expression.condition.And;
@@ -290,6 +291,9 @@ public class ExpressionBuilder {
                     throw new OperationNotSupportedException("No constant exist with type " +
                             expression.getClass().getName());
                 }
+            } else if (expression instanceof BindVariable) {
+                buildBindVariableExecutor((BindVariable) expression, expressionVisitor);
+
             } else if (expression instanceof AttributeFunction) {
                 expressionVisitor.beginVisitAttributeFunction(
                         ((AttributeFunction) expression).getNamespace(),
@@ -456,4 +460,20 @@ public class ExpressionBuilder {
         expressionVisitor.endVisitStreamVariable(id, variable.getStreamId(), variable.getAttributeName(), type);
 
     }
+
+    private void buildBindVariableExecutor(BindVariable bindVariable, ExpressionVisitor expressionVisitor) {
+        // Bind variables are passed to the store as stream variables, whose values are bound at execution
+        String id = "?" + bindVariable.getIndex();
+        ExpressionExecutor bindVariableExpressionExecutor = variableExpressionExecutorMap.get(id);
+        if (bindVariableExpressionExecutor == null) {
+            bindVariableExpressionExecutor = ExpressionParser.parseExpression(
+                    bindVariable, matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(),
+                    tableMap, variableExpressionExecutors, false, 0,
+                    ProcessingMode.BATCH, false, siddhiQueryContext);
+            variableExpressionExecutorMap.put(id, bindVariableExpressionExecutor);
+        }
+        Attribute.Type type = bindVariableExpressionExecutor.getReturnType();
+        expressionVisitor.beginVisitStreamVariable(id, null, id, type);
+        expressionVisitor.endVisitStreamVariable(id, null, id, type);
+    }
 }
@@ -50,17 +50,25 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_PLAYBACK = "Playback";
     public static final String ANNOTATION_ENFORCE_ORDER = "EnforceOrder";
     public static final String ANNOTATION_ASYNC = "Async";
+    public static final String ANNOTATION_PARALLEL_BUILD = "ParallelBuild";
 
     public static final String ANNOTATION_ON_ERROR = "OnError";
     public static final String FAULT_STREAM_PREFIX = "!";
     public static final String ANNOTATION_ELEMENT_ACTION = "action";
     public static final String ANNOTATION_ELEMENT_ON_ERROR = "on.error";
+    public static final String ANNOTATION_ELEMENT_PUBLISHER_BUFFER_SIZE = "publisher.buffer.size";
+    public static final String ANNOTATION_ELEMENT_PUBLISHER_BATCH_SIZE = "publisher.batch.size";
+    public static final String ANNOTATION_ELEMENT_PUBLISHER_LINGER_MS = "publisher.linger.ms";
+    public static final String ANNOTATION_ELEMENT_PUBLISHER_BACKPRESSURE = "publisher.backpressure";
 
     public static final String ANNOTATION_STATISTICS = "Statistics";
     public static final String ANNOTATION_INDEX_BY = "IndexBy";
     public static final String ANNOTATION_INDEX = "Index";
     public static final String ANNOTATION_PRIMARY_KEY = "PrimaryKey";
     public static final String ANNOTATION_STORE = "Store";
+    public static final String ANNOTATION_CONCURRENT_READS = "ConcurrentReads";
+    public static final String INDEX_TYPE_HASH = "hash";
+    public static final String INDEX_TYPE_SORTED = "sorted";
     public static final String ANNOTATION_SOURCE = "Source";
     public static final String ANNOTATION_SINK = "Sink";
     public static final String ANNOTATION_MAP = "Map";
@@ -85,6 +93,9 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_ELEMENT_INCLUDE = "include";
     public static final String ANNOTATION_PARTITION_BY_ID = "PartitionById";
     public static final String ANNOTATION_PERSISTED_AGGREGATION = "persistedAggregation";
+    public static final String ANNOTATION_RESULT_CACHE = "resultCache";
+    public static final String ANNOTATION_ELEMENT_SIZE = "size";
+    public static final String ANNOTATION_ELEMENT_MAX_BYTES = "max.bytes";
 
     public static final String TRUE = "true";
     public static final String TRIGGER_START = "start";
@@ -111,6 +122,9 @@ public final class SiddhiConstants {
     public static final String METRIC_INFIX_SOURCE_MAPPERS = "SourceMappers";
     public static final String METRIC_INFIX_SINKS = "Sinks";
     public static final String METRIC_INFIX_SINK_MAPPERS = "SinkMappers";
+    public static final String METRIC_INFIX_FUNCTIONS = "Functions";
+    public static final String METRIC_INFIX_PARTITIONS = "Partitions";
+    public static final String METRIC_INFIX_STARTUP = "Startup";
     public static final String METRIC_TYPE_FIND = "find";
     public static final String METRIC_TYPE_INSERT = "insert";
     public static final String METRIC_TYPE_UPDATE = "update";
@@ -124,6 +138,15 @@ public final class SiddhiConstants {
     public static final String KEY_DELIMITER = ":-:";
     public static final String KEY_DELIMITER_FILE = "-_-";
     public static final String TRANSPORT_CHANNEL_CREATION_IDENTIFIER = "transportChannelCreationEnabled";
+    public static final String ANNOTATION_SHARE_WINDOWS = "shareWindows";
+    public static final String ANNOTATION_WINDOW_STORAGE = "windowStorage";
+    public static final String ANNOTATION_ELEMENT_SPILL_DIR = "spill.dir";
+    public static final String ANNOTATION_ELEMENT_SEGMENT_SIZE = "segment.size";
+    public static final String WINDOW_STORAGE_HEAP = "heap";
+    public static final String WINDOW_STORAGE_OFF_HEAP = "offheap";
+    public static final String TIME_WINDOW = "time";
+    public static final String EXTERNAL_TIME_WINDOW = "externalTime";
+    public static final String SHARED_WINDOW_PREFIX = "SharedWindow_";
 
     public static final String NAMESPACE_PURGE = "purge";
     public static final String NAMESPACE_RETENTION_PERIOD = "retentionPeriod";
@@ -147,6 +170,10 @@ public final class SiddhiConstants {
     public static final String AGG_SHARD_ID_COL = "SHARD_ID";
     public static final String AGG_TIME_ZONE = "aggTimeZone";
     public static final String AGG_TIME_ZONE_DEFAULT = "GMT";
+    public static final String AGG_RECOVERY_PAGE_SIZE = "aggRecoveryPageSize";
+    public static final int AGG_RECOVERY_PAGE_SIZE_DEFAULT = 10000;
+    public static final String ON_DEMAND_QUERY_CACHE_SIZE = "onDemandQueryCacheSize";
+    public static final int ON_DEMAND_QUERY_CACHE_SIZE_DEFAULT = 50;
 
     public static final String REPETITIVE_PARAMETER_NOTATION = "...";
 
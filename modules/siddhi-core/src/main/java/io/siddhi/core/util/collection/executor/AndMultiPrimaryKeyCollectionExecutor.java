@@ -37,12 +37,20 @@ import java.util.List;
 public class AndMultiPrimaryKeyCollectionExecutor implements CollectionExecutor {
     private final String compositePrimaryKey;
     private final List<ExpressionExecutor> multiPrimaryKeyExpressionExecutors;
+    private final boolean primaryKey;
     private CacheTable cacheTable;
 
     public AndMultiPrimaryKeyCollectionExecutor(String compositePrimaryKey,
                                                 List<ExpressionExecutor> multiPrimaryKeyExpressionExecutors,
                                                 CacheTable cacheTable) {
+        this(compositePrimaryKey, multiPrimaryKeyExpressionExecutors, true, cacheTable);
+    }
+
+    public AndMultiPrimaryKeyCollectionExecutor(String compositePrimaryKey,
+                                                List<ExpressionExecutor> multiPrimaryKeyExpressionExecutors,
+                                                boolean primaryKey, CacheTable cacheTable) {
         this.compositePrimaryKey = compositePrimaryKey;
+        this.primaryKey = primaryKey;
         this.multiPrimaryKeyExpressionExecutors = multiPrimaryKeyExpressionExecutors;
         this.cacheTable = cacheTable;
     }
@@ -93,7 +101,10 @@ public class AndMultiPrimaryKeyCollectionExecutor implements CollectionExecutor
 
     @Override
     public Cost getDefaultCost() {
-        return Cost.SINGLE_RETURN_INDEX_MATCHING;
+        if (primaryKey) {
+            return Cost.SINGLE_RETURN_INDEX_MATCHING;
+        }
+        return Cost.MULTI_RETURN_INDEX_MATCHING;
     }
 
     private Object constructPrimaryKeyValue(StateEvent matchingEvent,
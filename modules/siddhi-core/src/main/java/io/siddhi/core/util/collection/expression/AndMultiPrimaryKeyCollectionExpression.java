@@ -33,12 +33,21 @@ public class AndMultiPrimaryKeyCollectionExpression implements CollectionExpress
     private CollectionExpression leftCollectionExpression;
     private CollectionExpression rightCollectionExpression;
     private HashSet<String> multiPrimaryKeys = new HashSet<>();
+    private final boolean primaryKey;
 
 
     public AndMultiPrimaryKeyCollectionExpression(Expression expression, CollectionScope collectionScope,
                                                   CollectionExpression leftCollectionExpression,
                                                   CollectionExpression rightCollectionExpression) {
+        this(expression, collectionScope, leftCollectionExpression, rightCollectionExpression, true);
+    }
+
+    public AndMultiPrimaryKeyCollectionExpression(Expression expression, CollectionScope collectionScope,
+                                                  CollectionExpression leftCollectionExpression,
+                                                  CollectionExpression rightCollectionExpression,
+                                                  boolean primaryKey) {
         this.expression = expression;
+        this.primaryKey = primaryKey;
         this.collectionScope = collectionScope;
         this.leftCollectionExpression = leftCollectionExpression;
         this.rightCollectionExpression = rightCollectionExpression;
@@ -54,6 +63,13 @@ public class AndMultiPrimaryKeyCollectionExpression implements CollectionExpress
         return rightCollectionExpression;
     }
 
+    /**
+     * @return whether the composite key is the primary key, rather than a non-unique composite index
+     */
+    public boolean isPrimaryKey() {
+        return primaryKey;
+    }
+
     public Expression getExpression() {
         return expression;
     }
@@ -18,6 +18,7 @@
 
 package io.siddhi.core.util.collection.operator;
 
+import io.siddhi.core.aggregation.AggregationResultCache;
 import io.siddhi.core.aggregation.Executor;
 import io.siddhi.core.aggregation.IncrementalDataAggregator;
 import io.siddhi.core.aggregation.IncrementalExecutor;
@@ -50,6 +51,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import static io.siddhi.core.util.SiddhiConstants.AGG_START_TIMESTAMP_COL;
 import static io.siddhi.query.api.expression.Expression.Time.normalizeDuration;
 
 /**
@@ -88,6 +90,8 @@ public class IncrementalAggregateCompileCondition implements CompiledCondition {
 
     private MatchingMetaInfoHolder matchingHolderInfoForTableLookups;
     private List<VariableExpressionExecutor> variableExpExecutorsForTableLookups;
+    private AggregationResultCache resultCache;
+    private final int timestampPosition;
 
     public IncrementalAggregateCompileCondition(
             boolean isOnDemandQuery,
@@ -103,7 +107,8 @@ public class IncrementalAggregateCompileCondition implements CompiledCondition {
             List<ExpressionExecutor> timestampFilterExecutors,
             MetaStreamEvent aggregateMetaSteamEvent, MatchingMetaInfoHolder alteredMatchingMetaInfoHolder,
             MatchingMetaInfoHolder matchingHolderInfoForTableLookups,
-            List<VariableExpressionExecutor> variableExpExecutorsForTableLookups) {
+            List<VariableExpressionExecutor> variableExpExecutorsForTableLookups,
+            AggregationResultCache resultCache) {
 
         this.isOnDemandQuery = isOnDemandQuery;
         this.aggregationName = aggregationName;
@@ -134,7 +139,9 @@ public class IncrementalAggregateCompileCondition implements CompiledCondition {
         this.alteredMatchingMetaInfoHolder = alteredMatchingMetaInfoHolder;
         this.matchingHolderInfoForTableLookups = matchingHolderInfoForTableLookups;
         this.variableExpExecutorsForTableLookups = variableExpExecutorsForTableLookups;
-
+        this.resultCache = resultCache;
+        this.timestampPosition = tableMetaStreamEvent.getLastInputDefinition()
+                .getAttributePosition(AGG_START_TIMESTAMP_COL);
     }
 
     public void init() {
@@ -194,16 +201,11 @@ public class IncrementalAggregateCompileCondition implements CompiledCondition {
                     + " does not contain " + perValue.toString() + " duration");
         }
 
-        Table tableForPerDuration = aggregationTableMap.get(perValue);
-
         StreamEvent withinMatchFromPersistedEvents;
-        if (isOptimisedLookup) {
-            withinMatchFromPersistedEvents = query(tableForPerDuration, matchingEvent,
-                    withinTableCompiledConditions.get(perValue), withinTableCompiledSelection.get(perValue),
-                    tableMetaStreamEvent.getLastInputDefinition().getAttributeList().toArray(new Attribute[0]));
+        if (resultCache != null) {
+            withinMatchFromPersistedEvents = findFromCacheAndTable(matchingEvent, perValue, timestampFilters);
         } else {
-            withinMatchFromPersistedEvents = tableForPerDuration.find(matchingEvent,
-                    withinTableCompiledConditions.get(perValue));
+            withinMatchFromPersistedEvents = findFromTable(matchingEvent, perValue);
         }
         complexEventChunkToHoldWithinMatches.add(withinMatchFromPersistedEvents);
 
@@ -280,6 +282,56 @@ public class IncrementalAggregateCompileCondition implements CompiledCondition {
                 aggregateEventCloner);
     }
 
+    /**
+     * Find the table records within the range, reading the records of the closed buckets from the result cache when
+     * they are cached, and only the records of the later buckets from the table.
+     */
+    private StreamEvent findFromCacheAndTable(StateEvent matchingEvent, TimePeriod.Duration perValue,
+                                              Long[] timestampFilters) {
+        long startTime = timestampFilters[0];
+        long endTime = timestampFilters[1];
+        AggregationResultCache.ReadPosition readPosition = resultCache.getReadPosition(perValue);
+        AggregationResultCache.CacheEntry cacheEntry = resultCache.get(this, perValue, startTime, endTime);
+        if (cacheEntry == null) {
+            StreamEvent events = findFromTable(matchingEvent, perValue);
+            resultCache.put(this, perValue, startTime, endTime, readPosition, events, timestampPosition);
+            return events;
+        }
+        ComplexEventChunk<StreamEvent> events = new ComplexEventChunk<>();
+        StreamEvent cachedEvents = cacheEntry.getEvents();
+        if (cachedEvents != null) {
+            events.add(cachedEvents);
+        }
+        if (cacheEntry.getCachedUntil() < endTime) {
+            // Only the buckets closed after the records were cached, and the open buckets are read from the table
+            timestampFilters[0] = cacheEntry.getCachedUntil();
+            complexEventPopulater.populateComplexEvent(matchingEvent.getStreamEvent(0), timestampFilters);
+            try {
+                StreamEvent tableEvents = findFromTable(matchingEvent, perValue);
+                if (tableEvents != null) {
+                    events.add(tableEvents);
+                }
+            } finally {
+                timestampFilters[0] = startTime;
+                complexEventPopulater.populateComplexEvent(matchingEvent.getStreamEvent(0), timestampFilters);
+            }
+            resultCache.put(this, perValue, startTime, endTime, readPosition, events.getFirst(),
+                    timestampPosition);
+        }
+        return events.getFirst();
+    }
+
+    private StreamEvent findFromTable(StateEvent matchingEvent, TimePeriod.Duration perValue) {
+        Table tableForPerDuration = aggregationTableMap.get(perValue);
+        if (isOptimisedLookup) {
+            return query(tableForPerDuration, matchingEvent,
+                    withinTableCompiledConditions.get(perValue), withinTableCompiledSelection.get(perValue),
+                    tableMetaStreamEvent.getLastInputDefinition().getAttributeList().toArray(new Attribute[0]));
+        } else {
+            return tableForPerDuration.find(matchingEvent, withinTableCompiledConditions.get(perValue));
+        }
+    }
+
     private StreamEvent query(Table tableForPerDuration, StateEvent matchingEvent, CompiledCondition compiledCondition,
                               CompiledSelection compiledSelection, Attribute[] outputAttributes) {
         if (tableForPerDuration.getIsConnected()) {
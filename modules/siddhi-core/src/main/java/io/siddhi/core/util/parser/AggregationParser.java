@@ -18,6 +18,7 @@
 
 package io.siddhi.core.util.parser;
 
+import io.siddhi.core.aggregation.AggregationResultCache;
 import io.siddhi.core.aggregation.AggregationRuntime;
 import io.siddhi.core.aggregation.Executor;
 import io.siddhi.core.aggregation.IncrementalAggregationProcessor;
@@ -115,8 +116,11 @@ import static io.siddhi.core.util.SiddhiConstants.AGG_SHARD_ID_COL;
 import static io.siddhi.core.util.SiddhiConstants.AGG_START_TIMESTAMP_COL;
 import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_ELEMENT_ENABLE;
 import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_ELEMENT_IS_READ_ONLY;
+import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_ELEMENT_MAX_BYTES;
+import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_ELEMENT_SIZE;
 import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_PARTITION_BY_ID;
 import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_PERSISTED_AGGREGATION;
+import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_RESULT_CACHE;
 import static io.siddhi.core.util.SiddhiConstants.EQUALS;
 import static io.siddhi.core.util.SiddhiConstants.FROM_TIMESTAMP;
 import static io.siddhi.core.util.SiddhiConstants.FUNCTION_NAME_CUD;
@@ -151,6 +155,7 @@ import static io.siddhi.core.util.SiddhiConstants.TO_TIMESTAMP;
  */
 public class AggregationParser {
     private static final Logger log = Logger.getLogger(AggregationParser.class);
+    private static final long DEFAULT_RESULT_CACHE_MAX_BYTES = 64 * 1024 * 1024;
 
     public static AggregationRuntime parse(AggregationDefinition aggregationDefinition,
                                            SiddhiAppContext siddhiAppContext,
@@ -479,6 +484,15 @@ public class AggregationParser {
                     aggregationDurations, aggregationTables, incrementalExecutorMap, isDistributed, shardId,
                     siddhiAppContext, processedMetaStreamEvent, tableMap, windowMap, aggregationMap, timeZone, isReadOnly, isPersistedAggregation);
 
+            AggregationResultCache resultCache = createResultCache(aggregationDefinition, isDistributed,
+                    isPersistedAggregation, isReadOnly);
+            if (resultCache != null) {
+                for (Executor executor : incrementalExecutorMap.values()) {
+                    ((IncrementalExecutor) executor).setResultCache(resultCache);
+                }
+                incrementalDataPurger.setResultCache(resultCache);
+            }
+
             IncrementalExecutor rootIncrementalExecutor = (IncrementalExecutor) incrementalExecutorMap.
                     get(aggregationDurations.get(0));
             rootIncrementalExecutor.setScheduler(scheduler);
@@ -512,7 +526,7 @@ public class AggregationParser {
                     isOptimisedLookup, defaultSelectorList, groupByVariablesList, isLatestEventColAdded,
                     baseAggregatorBeginIndex, finalBaseExpressions, incrementalDataPurger,
                     incrementalExecutorsInitialiser, ((SingleStreamRuntime) streamRuntime), processedMetaStreamEvent,
-                    latencyTrackerFind, throughputTrackerFind, timeZone);
+                    latencyTrackerFind, throughputTrackerFind, timeZone, resultCache);
 
             streamRuntime.setCommonProcessor(new IncrementalAggregationProcessor(aggregationRuntime,
                     incomingExpressionExecutors, processedMetaStreamEvent, latencyTrackerInsert,
@@ -526,6 +540,52 @@ public class AggregationParser {
         }
     }
 
+    private static AggregationResultCache createResultCache(AggregationDefinition aggregationDefinition,
+                                                            boolean isDistributed, boolean isPersistedAggregation,
+                                                            boolean isReadOnly) {
+        Annotation resultCacheAnnotation = AnnotationHelper.getAnnotation(ANNOTATION_RESULT_CACHE,
+                aggregationDefinition.getAnnotations());
+        if (resultCacheAnnotation == null) {
+            return null;
+        }
+        long maxBytes = parseResultCacheLimit(aggregationDefinition, resultCacheAnnotation,
+                ANNOTATION_ELEMENT_MAX_BYTES, DEFAULT_RESULT_CACHE_MAX_BYTES);
+        int maxEntries = (int) Math.min(Integer.MAX_VALUE, parseResultCacheLimit(aggregationDefinition,
+                resultCacheAnnotation, ANNOTATION_ELEMENT_SIZE, Integer.MAX_VALUE));
+        if (isDistributed || isPersistedAggregation || isReadOnly) {
+            // Aggregation tables are also modified by other nodes or by the database, hence cannot be cached
+            log.warn("Ignoring '@" + ANNOTATION_RESULT_CACHE + "' of aggregation '" + aggregationDefinition.getId() +
+                    "', as results of distributed, persisted or read-only aggregations cannot be cached.");
+            return null;
+        }
+        return new AggregationResultCache(maxBytes, maxEntries);
+    }
+
+    private static long parseResultCacheLimit(AggregationDefinition aggregationDefinition,
+                                              Annotation resultCacheAnnotation, String element,
+                                              long defaultValue) {
+        String value = resultCacheAnnotation.getElement(element);
+        if (value == null) {
+            return defaultValue;
+        }
+        long limit;
+        try {
+            limit = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new SiddhiAppCreationException("Annotation '@" + ANNOTATION_RESULT_CACHE + "' of aggregation '" +
+                    aggregationDefinition.getId() + "' expects a positive integer '" + element +
+                    "', but found '" + value + "'.", e, resultCacheAnnotation.getQueryContextStartIndex(),
+                    resultCacheAnnotation.getQueryContextEndIndex());
+        }
+        if (limit <= 0) {
+            throw new SiddhiAppCreationException("Annotation '@" + ANNOTATION_RESULT_CACHE + "' of aggregation '" +
+                    aggregationDefinition.getId() + "' expects a positive integer '" + element +
+                    "', but found '" + value + "'.", resultCacheAnnotation.getQueryContextStartIndex(),
+                    resultCacheAnnotation.getQueryContextEndIndex());
+        }
+        return limit;
+    }
+
     private static String getTimeZone(SiddhiAppContext siddhiAppContext) {
         String timeZone = siddhiAppContext.getSiddhiContext().getConfigManager().extractProperty(SiddhiConstants
                 .AGG_TIME_ZONE);
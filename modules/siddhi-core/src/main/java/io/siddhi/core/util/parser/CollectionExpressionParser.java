@@ -27,6 +27,7 @@ import io.siddhi.core.query.processor.ProcessingMode;
 import io.siddhi.core.table.CacheTable;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.table.holder.IndexedEventHolder;
+import io.siddhi.core.table.holder.PrimaryKeyReferenceHolder;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.collection.executor.AndMultiPrimaryKeyCollectionExecutor;
 import io.siddhi.core.util.collection.executor.AnyAndCollectionExecutor;
@@ -50,6 +51,7 @@ import io.siddhi.core.util.collection.expression.OrCollectionExpression;
 import io.siddhi.core.util.collection.operator.MatchingMetaInfoHolder;
 import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.expression.AttributeFunction;
+import io.siddhi.query.api.expression.BindVariable;
 import io.siddhi.query.api.expression.Expression;
 import io.siddhi.query.api.expression.Variable;
 import io.siddhi.query.api.expression.condition.And;
@@ -130,11 +132,11 @@ public class CollectionExpressionParser {
                 Set<String> primaryKeys = new HashSet<>();
                 primaryKeys.addAll(leftCollectionExpression.getMultiPrimaryKeys());
                 primaryKeys.addAll(rightCollectionExpression.getMultiPrimaryKeys());
-                if (indexedEventHolder.getPrimaryKeyReferenceHolders() != null
-                        && primaryKeys.size() == indexedEventHolder.getPrimaryKeyReferenceHolders().length) {
+                if (indexedEventHolder.isCompositeKey(primaryKeys)) {
                     return new AndMultiPrimaryKeyCollectionExpression(expression,
                             CollectionExpression.CollectionScope.PRIMARY_KEY_RESULT_SET,
-                            leftCollectionExpression, rightCollectionExpression);
+                            leftCollectionExpression, rightCollectionExpression,
+                            isCompositePrimaryKey(primaryKeys, indexedEventHolder));
                 } else {
                     return new AndCollectionExpression(expression,
                             CollectionExpression.CollectionScope.PARTIAL_PRIMARY_KEY_RESULT_SET,
@@ -210,6 +212,10 @@ public class CollectionExpressionParser {
                     leftCollectionExpression.getCollectionScope() == CollectionExpression.CollectionScope.PRIMARY_KEY_ATTRIBUTE ||
                     leftCollectionExpression.getCollectionScope() == CollectionExpression.CollectionScope.PARTIAL_PRIMARY_KEY_ATTRIBUTE) &&
                     rightCollectionExpression.getCollectionScope() == CollectionExpression.CollectionScope.NON) {
+                if (!isIndexLookupSupported(leftCollectionExpression, ((Compare) expression).getOperator(),
+                        indexedEventHolder)) {
+                    return new BasicCollectionExpression(expression, CollectionExpression.CollectionScope.EXHAUSTIVE);
+                }
                 switch (leftCollectionExpression.getCollectionScope()) {
                     case INDEXED_ATTRIBUTE:
                         return new CompareCollectionExpression((Compare) expression, CollectionExpression.CollectionScope.INDEXED_RESULT_SET,
@@ -248,6 +254,9 @@ public class CollectionExpressionParser {
                     case NOT_EQUAL:
                         break;
                 }
+                if (!isIndexLookupSupported(rightCollectionExpression, operator, indexedEventHolder)) {
+                    return new BasicCollectionExpression(expression, CollectionExpression.CollectionScope.EXHAUSTIVE);
+                }
                 switch (rightCollectionExpression.getCollectionScope()) {
                     case INDEXED_ATTRIBUTE:
                         return new CompareCollectionExpression((Compare) expression, CollectionExpression.CollectionScope.INDEXED_RESULT_SET,
@@ -263,7 +272,7 @@ public class CollectionExpressionParser {
                 //comparing non indexed table with stream attributes or another table attribute
                 return new BasicCollectionExpression(expression, CollectionExpression.CollectionScope.EXHAUSTIVE);
             }
-        } else if (expression instanceof Constant) {
+        } else if (expression instanceof Constant || expression instanceof BindVariable) {
             return new BasicCollectionExpression(expression, CollectionExpression.CollectionScope.NON);
         } else if (expression instanceof Variable) {
             if (((Variable) expression).getStreamId() == null) {
@@ -288,6 +297,9 @@ public class CollectionExpressionParser {
                         return new AttributeCollectionExpression(expression, ((Variable) expression).getAttributeName(),
                                 CollectionExpression.CollectionScope.PARTIAL_PRIMARY_KEY_ATTRIBUTE);
                     }
+                } else if (indexedEventHolder.isCompositeIndexAttribute(((Variable) expression).getAttributeName())) {
+                    return new AttributeCollectionExpression(expression, ((Variable) expression).getAttributeName(),
+                            CollectionExpression.CollectionScope.PARTIAL_PRIMARY_KEY_ATTRIBUTE);
                 } else {
                     return new BasicCollectionExpression(expression, CollectionExpression.CollectionScope.EXHAUSTIVE);
                 }
@@ -381,6 +393,46 @@ public class CollectionExpressionParser {
     }
 
 
+    /**
+     * Check whether the index of the given attribute can serve the comparison, as range comparisons can only be
+     * served by sorted indexes and the others have to fall back to exhaustive matching.
+     *
+     * @param attributeCollectionExpression attribute collection expression of the indexed attribute
+     * @param operator                      comparison operator with the attribute on the left
+     * @param indexedEventHolder            indexed event holder
+     * @return whether the comparison can use the index
+     */
+    private static boolean isIndexLookupSupported(CollectionExpression attributeCollectionExpression,
+                                                  Compare.Operator operator, IndexedEventHolder indexedEventHolder) {
+        if (operator == Compare.Operator.EQUAL || operator == Compare.Operator.NOT_EQUAL ||
+                attributeCollectionExpression.getCollectionScope() ==
+                        CollectionExpression.CollectionScope.PARTIAL_PRIMARY_KEY_ATTRIBUTE) {
+            return true;
+        }
+        return indexedEventHolder.isAttributeIndexSorted(
+                ((AttributeCollectionExpression) attributeCollectionExpression).getAttribute());
+    }
+
+    /**
+     * Check whether the given attributes form the composite primary key of the table, rather than a composite index.
+     *
+     * @param attributes         attributes of the composite key
+     * @param indexedEventHolder indexed event holder
+     * @return whether the attributes are the primary key attributes
+     */
+    private static boolean isCompositePrimaryKey(Set<String> attributes, IndexedEventHolder indexedEventHolder) {
+        PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders = indexedEventHolder.getPrimaryKeyReferenceHolders();
+        if (primaryKeyReferenceHolders == null || primaryKeyReferenceHolders.length != attributes.size()) {
+            return false;
+        }
+        for (PrimaryKeyReferenceHolder primaryKeyReferenceHolder : primaryKeyReferenceHolders) {
+            if (!attributes.contains(primaryKeyReferenceHolder.getPrimaryKeyAttribute())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static boolean isCollectionVariable(MatchingMetaInfoHolder matchingMetaInfoHolder, Variable variable) {
         if (variable.getStreamId() != null) {
             MetaStreamEvent collectionStreamEvent = matchingMetaInfoHolder.getMetaStateEvent().getMetaStreamEvent
@@ -491,11 +543,13 @@ public class CollectionExpressionParser {
                     compositePrimaryKey.append(attribute.getName()).append(SiddhiConstants.KEY_DELIMITER);
                 }
             }
+            boolean primaryKey = ((AndMultiPrimaryKeyCollectionExpression) collectionExpression).isPrimaryKey();
             if (isCache) {
                 return new AndMultiPrimaryKeyCollectionExecutor(compositePrimaryKey.toString(), sortedExecutors,
-                        cacheTable);
+                        primaryKey, cacheTable);
             } else {
-                return new AndMultiPrimaryKeyCollectionExecutor(compositePrimaryKey.toString(), sortedExecutors, null);
+                return new AndMultiPrimaryKeyCollectionExecutor(compositePrimaryKey.toString(), sortedExecutors,
+                        primaryKey, null);
             }
         } else if (collectionExpression instanceof AndCollectionExpression) {
             CollectionExpression leftCollectionExpression = ((AndCollectionExpression) collectionExpression)
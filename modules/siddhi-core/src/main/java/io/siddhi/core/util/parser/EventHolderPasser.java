@@ -28,6 +28,7 @@ import io.siddhi.core.exception.OperationNotSupportedException;
 import io.siddhi.core.table.holder.EventHolder;
 import io.siddhi.core.table.holder.IndexEventHolder;
 import io.siddhi.core.table.holder.IndexEventHolderForCache;
+import io.siddhi.core.table.holder.IndexReferenceHolder;
 import io.siddhi.core.table.holder.ListEventHolder;
 import io.siddhi.core.table.holder.PrimaryKeyReferenceHolder;
 import io.siddhi.core.util.SiddhiConstants;
@@ -39,8 +40,11 @@ import io.siddhi.query.api.exception.SiddhiAppValidationException;
 import io.siddhi.query.api.util.AnnotationHelper;
 import org.apache.log4j.Logger;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Class to parse {@link EventHolder}
@@ -54,7 +58,7 @@ public class EventHolderPasser {
 
         PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders = null;
 
-        Map<String, Integer> indexMetaData = new HashMap<String, Integer>();
+        Map<String, IndexReferenceHolder> indexReferenceHolders = new LinkedHashMap<>();
 
         // primaryKey.
         Annotation primaryKeyAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_PRIMARY_KEY,
@@ -73,31 +77,75 @@ public class EventHolderPasser {
 
         for (Annotation indexAnnotation : AnnotationHelper.getAnnotations(SiddhiConstants.ANNOTATION_INDEX,
                 tableDefinition.getAnnotations())) {
-            if (indexAnnotation.getElements().size() == 0) {
+            List<Element> indexElements = new ArrayList<>();
+            String indexType = null;
+            for (Element element : indexAnnotation.getElements()) {
+                if (element.getKey() == null) {
+                    indexElements.add(element);
+                } else if (element.getKey().equalsIgnoreCase(SiddhiConstants.ANNOTATION_ELEMENT_TYPE)) {
+                    indexType = element.getValue().trim();
+                } else {
+                    throw new SiddhiAppValidationException(SiddhiConstants.ANNOTATION_INDEX + " annotation of " +
+                            "in-memory table only supports the '" + SiddhiConstants.ANNOTATION_ELEMENT_TYPE +
+                            "' element, but found '" + element.getKey() + "', at '" + tableDefinition.getId() + "'",
+                            indexAnnotation.getQueryContextStartIndex(),
+                            indexAnnotation.getQueryContextEndIndex());
+                }
+            }
+            if (indexElements.size() == 0) {
                 throw new SiddhiAppValidationException(SiddhiConstants.ANNOTATION_INDEX + " annotation of " +
                         "in-memory table should contain only one index element, but found "
-                        + indexAnnotation.getElements().size() + " element",
+                        + indexElements.size() + " element",
                         indexAnnotation.getQueryContextStartIndex(),
                         indexAnnotation.getQueryContextEndIndex());
-            } else if (indexAnnotation.getElements().size() > 1) {
+            } else if (indexElements.size() > 1) {
                 throw new SiddhiAppValidationException(SiddhiConstants.ANNOTATION_INDEX + " annotation of the " +
                         "in-memory table should only contain one index element but found "
-                        + indexAnnotation.getElements().size() + " elements. To use multiple indexes, " +
+                        + indexElements.size() + " elements. To use multiple indexes, " +
                         "define multiple '@index(<index key>)' annotations with one index element " +
-                        "per each index key",
+                        "per each index key, and to index multiple attributes together, define " +
+                        "'@index(<index key>,<index key>)' with comma separated index keys",
                         indexAnnotation.getQueryContextStartIndex(),
                         indexAnnotation.getQueryContextEndIndex());
             }
-            for (Element element : indexAnnotation.getElements()) {
-                Integer previousValue = indexMetaData.put(element.getValue().trim(), tableDefinition
-                        .getAttributePosition(element.getValue().trim()));
+            String[] indexKeys = indexElements.get(0).getValue().split(",");
+            boolean sorted = indexKeys.length == 1;
+            if (indexType != null) {
+                if (indexType.equalsIgnoreCase(SiddhiConstants.INDEX_TYPE_HASH)) {
+                    sorted = false;
+                } else if (indexType.equalsIgnoreCase(SiddhiConstants.INDEX_TYPE_SORTED) && indexKeys.length == 1) {
+                    sorted = true;
+                } else {
+                    throw new SiddhiAppValidationException(SiddhiConstants.ANNOTATION_INDEX + " annotation of " +
+                            "in-memory table only supports '" + SiddhiConstants.INDEX_TYPE_HASH + "' indexes, and '" +
+                            SiddhiConstants.INDEX_TYPE_SORTED + "' indexes on single attributes, but found type '" +
+                            indexType + "' for index keys '" + indexElements.get(0).getValue() + "', at '" +
+                            tableDefinition.getId() + "'", indexAnnotation.getQueryContextStartIndex(),
+                            indexAnnotation.getQueryContextEndIndex());
+                }
+            }
+            TreeMap<Integer, String> indexAttributes = new TreeMap<>();
+            for (String indexKey : indexKeys) {
+                String previousValue = indexAttributes.put(tableDefinition.getAttributePosition(indexKey.trim()),
+                        indexKey.trim());
                 if (previousValue != null) {
-                    throw new SiddhiAppValidationException("Multiple " + SiddhiConstants.ANNOTATION_INDEX + " " +
-                            "annotations defined with same attribute '" + element.getValue().trim() + "', at '" +
+                    throw new SiddhiAppValidationException(SiddhiConstants.ANNOTATION_INDEX + " annotation " +
+                            "defined with same attribute '" + previousValue + "' multiple times, at '" +
                             tableDefinition.getId() + "'", indexAnnotation.getQueryContextStartIndex(),
                             indexAnnotation.getQueryContextEndIndex());
                 }
             }
+            IndexReferenceHolder indexReferenceHolder = new IndexReferenceHolder(
+                    indexAttributes.values().toArray(new String[0]),
+                    indexAttributes.keySet().stream().mapToInt(Integer::intValue).toArray(), sorted);
+            IndexReferenceHolder previousValue = indexReferenceHolders.put(indexReferenceHolder.getIndexName(),
+                    indexReferenceHolder);
+            if (previousValue != null) {
+                throw new SiddhiAppValidationException("Multiple " + SiddhiConstants.ANNOTATION_INDEX + " " +
+                        "annotations defined with same attribute '" + indexElements.get(0).getValue().trim() +
+                        "', at '" + tableDefinition.getId() + "'", indexAnnotation.getQueryContextStartIndex(),
+                        indexAnnotation.getQueryContextEndIndex());
+            }
         }
 
         // not support indexBy.
@@ -109,7 +157,7 @@ public class EventHolderPasser {
                     " at '" + tableDefinition.getId() + "'");
         }
 
-        if (primaryKeyReferenceHolders != null || indexMetaData.size() > 0) {
+        if (primaryKeyReferenceHolders != null || indexReferenceHolders.size() > 0) {
             boolean isNumeric = false;
             if (primaryKeyReferenceHolders != null) {
                 if (primaryKeyReferenceHolders.length == 1) {
@@ -124,10 +172,12 @@ public class EventHolderPasser {
             }
             if (isCacheTable) {
                 return new IndexEventHolderForCache(tableStreamEventFactory, eventConverter, primaryKeyReferenceHolders, isNumeric,
-                        indexMetaData, tableDefinition, siddhiAppContext);
+                        indexReferenceHolders.values().toArray(new IndexReferenceHolder[0]), tableDefinition,
+                        siddhiAppContext);
             } else {
                 return new IndexEventHolder(tableStreamEventFactory, eventConverter, primaryKeyReferenceHolders, isNumeric,
-                        indexMetaData, tableDefinition, siddhiAppContext);
+                        indexReferenceHolders.values().toArray(new IndexReferenceHolder[0]), tableDefinition,
+                        siddhiAppContext);
             }
         } else {
             MetaStreamEvent metaStreamEvent = new MetaStreamEvent();
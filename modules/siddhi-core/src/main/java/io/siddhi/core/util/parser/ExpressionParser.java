@@ -17,6 +17,7 @@
  */
 package io.siddhi.core.util.parser;
 
+import io.siddhi.core.config.SiddhiOnDemandQueryContext;
 import io.siddhi.core.config.SiddhiQueryContext;
 import io.siddhi.core.event.MetaComplexEvent;
 import io.siddhi.core.event.state.MetaStateEvent;
@@ -25,6 +26,7 @@ import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.exception.ExtensionNotFoundException;
 import io.siddhi.core.exception.OperationNotSupportedException;
 import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.executor.BindVariableExpressionExecutor;
 import io.siddhi.core.executor.ConstantExpressionExecutor;
 import io.siddhi.core.executor.EventVariableFunctionExecutor;
 import io.siddhi.core.executor.ExpressionExecutor;
@@ -177,6 +179,7 @@ import io.siddhi.query.api.exception.AttributeNotExistException;
 import io.siddhi.query.api.exception.DuplicateAttributeException;
 import io.siddhi.query.api.exception.SiddhiAppValidationException;
 import io.siddhi.query.api.expression.AttributeFunction;
+import io.siddhi.query.api.expression.BindVariable;
 import io.siddhi.query.api.expression.Expression;
 import io.siddhi.query.api.expression.Variable;
 import io.siddhi.query.api.expression.condition.And;
@@ -321,6 +324,9 @@ public class ExpressionParser {
                     return new ConstantExpressionExecutor(((DoubleConstant) expression).getValue(), Attribute.Type.DOUBLE);
                 }
 
+            } else if (expression instanceof BindVariable) {
+                return parseBindVariable((BindVariable) expression, siddhiQueryContext);
+
             } else if (expression instanceof Variable) {
                 return parseVariable((Variable) expression, metaEvent, currentState, executorList,
                         defaultStreamEventIndex, siddhiQueryContext);
@@ -1242,6 +1248,29 @@ public class ExpressionParser {
         }
     }
 
+    /**
+     * Parse the given bind variable of a prepared on-demand query and return a BindVariableExpressionExecutor
+     *
+     * @param bindVariable       Bind variable to be parsed
+     * @param siddhiQueryContext Siddhi Query Context, which has to be an on-demand query context
+     * @return BindVariableExpressionExecutor typed by the value bound to the variable
+     */
+    private static ExpressionExecutor parseBindVariable(BindVariable bindVariable,
+                                                        SiddhiQueryContext siddhiQueryContext) {
+        if (!(siddhiQueryContext instanceof SiddhiOnDemandQueryContext)) {
+            throw new SiddhiAppCreationException("Bind variables are only supported in on-demand queries",
+                    bindVariable.getQueryContextStartIndex(), bindVariable.getQueryContextEndIndex());
+        }
+        Attribute.Type[] bindVariableTypes = ((SiddhiOnDemandQueryContext) siddhiQueryContext).getBindVariableTypes();
+        if (bindVariable.getIndex() >= bindVariableTypes.length) {
+            throw new SiddhiAppCreationException("No value is bound to the bind variable at index " +
+                    bindVariable.getIndex() + ", only " + bindVariableTypes.length + " values are bound",
+                    bindVariable.getQueryContextStartIndex(), bindVariable.getQueryContextEndIndex());
+        }
+        return new BindVariableExpressionExecutor(bindVariable.getIndex(),
+                bindVariableTypes[bindVariable.getIndex()]);
+    }
+
     /**
      * Parse and validate the given Siddhi variable and return a VariableExpressionExecutor
      *
@@ -1282,7 +1311,8 @@ public class ExpressionParser {
                 type = abstractDefinition.getAttributeType(attributeName);
                 ((MetaStreamEvent) metaEvent).addData(new Attribute(attributeName, type));
             }
-            if (variable.getStreamId() != null && !variable.getStreamId().equals(abstractDefinition.getId())) {
+            if (variable.getStreamId() != null && !variable.getStreamId().equals(abstractDefinition.getId()) &&
+                    !variable.getStreamId().equals(metaStreamEvent.getInputReferenceId())) {
                 throw new SiddhiAppCreationException("Id '" + variable.getStreamId() + "' not defined within the " +
                         "current scope", variable, siddhiQueryContext.getSiddhiAppContext());
             }
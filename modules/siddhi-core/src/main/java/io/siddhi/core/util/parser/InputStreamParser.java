@@ -25,6 +25,8 @@ import io.siddhi.core.exception.OperationNotSupportedException;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.input.ProcessStreamReceiver;
 import io.siddhi.core.query.input.stream.StreamRuntime;
+import io.siddhi.core.query.input.stream.single.SingleStreamRuntime;
+import io.siddhi.core.query.processor.ProcessingMode;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.window.Window;
 import io.siddhi.query.api.definition.AbstractDefinition;
@@ -75,11 +77,21 @@ public class InputStreamParser {
             SingleInputStream singleInputStream = (SingleInputStream) inputStream;
             ProcessStreamReceiver processStreamReceiver = new ProcessStreamReceiver(singleInputStream.getStreamId(),
                     siddhiQueryContext);
-            return SingleInputStreamParser.parseInputStream((SingleInputStream) inputStream,
-                    executors, streamDefinitionMap,
+            SingleStreamRuntime singleStreamRuntime = SingleInputStreamParser.parseInputStream(
+                    (SingleInputStream) inputStream, executors, streamDefinitionMap,
                     tableDefinitionMap, windowDefinitionMap, aggregationDefinitionMap, tableMap,
                     new MetaStreamEvent(), processStreamReceiver, true,
                     outputExpectsExpiredEvents, false, false, siddhiQueryContext);
+            // Events consumed from a shared window carry the window's processing mode, such that the aggregators
+            // handle its expired events the same way as when the window was defined within the query
+            if (query != null && windowMap != null && !singleInputStream.isInnerStream()) {
+                Window window = windowMap.get(singleInputStream.getStreamId());
+                if (window != null && window.isShared()) {
+                    singleStreamRuntime.setProcessingMode(ProcessingMode.findUpdatedProcessingMode(
+                            window.getProcessingMode(), singleStreamRuntime.getProcessingMode()));
+                }
+            }
+            return singleStreamRuntime;
         } else if (inputStream instanceof JoinInputStream) {
             return JoinInputStreamParser.parseInputStream(((JoinInputStream) inputStream),
                     query, streamDefinitionMap, tableDefinitionMap, windowDefinitionMap,
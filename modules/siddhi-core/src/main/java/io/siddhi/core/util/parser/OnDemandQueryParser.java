@@ -102,6 +102,15 @@ public class OnDemandQueryParser {
                                              SiddhiAppContext siddhiAppContext,
                                              Map<String, Table> tableMap, Map<String, Window> windowMap,
                                              Map<String, AggregationRuntime> aggregationMap) {
+        return parse(onDemandQuery, onDemandQueryString, null, siddhiAppContext, tableMap, windowMap,
+                aggregationMap);
+    }
+
+    public static OnDemandQueryRuntime parse(OnDemandQuery onDemandQuery, String onDemandQueryString,
+                                             Attribute.Type[] bindVariableTypes,
+                                             SiddhiAppContext siddhiAppContext,
+                                             Map<String, Table> tableMap, Map<String, Window> windowMap,
+                                             Map<String, AggregationRuntime> aggregationMap) {
 
         final LockWrapper lockWrapper = new LockWrapper("OnDemandQueryLock");
         lockWrapper.setLock(new ReentrantLock());
@@ -121,7 +130,8 @@ public class OnDemandQueryParser {
                 Within within = null;
                 Expression per = null;
                 queryName = "store_select_query_" + onDemandQuery.getInputStore().getStoreId();
-                siddhiQueryContext = new SiddhiOnDemandQueryContext(siddhiAppContext, queryName, onDemandQueryString);
+                siddhiQueryContext = new SiddhiOnDemandQueryContext(siddhiAppContext, queryName, onDemandQueryString,
+                        bindVariableTypes);
                 InputStore inputStore = onDemandQuery.getInputStore();
                 try {
                     onCondition = Expression.value(true);
@@ -181,7 +191,8 @@ public class OnDemandQueryParser {
             case INSERT:
                 InsertIntoStream inserIntoStreamt = (InsertIntoStream) onDemandQuery.getOutputStream();
                 queryName = "store_insert_query_" + inserIntoStreamt.getId();
-                siddhiQueryContext = new SiddhiOnDemandQueryContext(siddhiAppContext, queryName, onDemandQueryString);
+                siddhiQueryContext = new SiddhiOnDemandQueryContext(siddhiAppContext, queryName, onDemandQueryString,
+                        bindVariableTypes);
                 onCondition = Expression.value(true);
 
                 return getOnDemandQueryRuntime(onDemandQuery, tableMap, windowMap, metaPosition,
@@ -189,7 +200,8 @@ public class OnDemandQueryParser {
             case DELETE:
                 DeleteStream deleteStream = (DeleteStream) onDemandQuery.getOutputStream();
                 queryName = "store_delete_query_" + deleteStream.getId();
-                siddhiQueryContext = new SiddhiOnDemandQueryContext(siddhiAppContext, queryName, onDemandQueryString);
+                siddhiQueryContext = new SiddhiOnDemandQueryContext(siddhiAppContext, queryName, onDemandQueryString,
+                        bindVariableTypes);
                 onCondition = deleteStream.getOnDeleteExpression();
 
                 return getOnDemandQueryRuntime(onDemandQuery, tableMap, windowMap, metaPosition,
@@ -197,7 +209,8 @@ public class OnDemandQueryParser {
             case UPDATE:
                 UpdateStream outputStream = (UpdateStream) onDemandQuery.getOutputStream();
                 queryName = "store_update_query_" + outputStream.getId();
-                siddhiQueryContext = new SiddhiOnDemandQueryContext(siddhiAppContext, queryName, onDemandQueryString);
+                siddhiQueryContext = new SiddhiOnDemandQueryContext(siddhiAppContext, queryName, onDemandQueryString,
+                        bindVariableTypes);
                 onCondition = outputStream.getOnUpdateExpression();
 
                 return getOnDemandQueryRuntime(onDemandQuery, tableMap, windowMap, metaPosition,
@@ -205,7 +218,8 @@ public class OnDemandQueryParser {
             case UPDATE_OR_INSERT:
                 UpdateOrInsertStream onDemandQueryOutputStream = (UpdateOrInsertStream) onDemandQuery.getOutputStream();
                 queryName = "store_update_or_insert_query_" + onDemandQueryOutputStream.getId();
-                siddhiQueryContext = new SiddhiOnDemandQueryContext(siddhiAppContext, queryName, onDemandQueryString);
+                siddhiQueryContext = new SiddhiOnDemandQueryContext(siddhiAppContext, queryName, onDemandQueryString,
+                        bindVariableTypes);
                 onCondition = onDemandQueryOutputStream.getOnUpdateExpression();
 
                 return getOnDemandQueryRuntime(onDemandQuery, tableMap, windowMap, metaPosition,
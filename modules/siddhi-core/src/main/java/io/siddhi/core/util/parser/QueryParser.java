@@ -43,6 +43,8 @@ import io.siddhi.core.table.record.AbstractQueryableRecordTable;
 import io.siddhi.core.util.ExceptionUtil;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.collection.operator.CompiledSelection;
+import io.siddhi.core.util.extension.holder.AttributeAggregatorExtensionHolder;
+import io.siddhi.core.util.extension.holder.FunctionExecutorExtensionHolder;
 import io.siddhi.core.util.lock.LockSynchronizer;
 import io.siddhi.core.util.lock.LockWrapper;
 import io.siddhi.core.util.parser.helper.QueryParserHelper;
@@ -57,6 +59,11 @@ import io.siddhi.query.api.execution.query.input.stream.JoinInputStream;
 import io.siddhi.query.api.execution.query.input.stream.SingleInputStream;
 import io.siddhi.query.api.execution.query.output.ratelimit.SnapshotOutputRate;
 import io.siddhi.query.api.execution.query.output.stream.OutputStream;
+import io.siddhi.query.api.execution.query.selection.OutputAttribute;
+import io.siddhi.query.api.execution.query.selection.Selector;
+import io.siddhi.query.api.expression.AttributeFunction;
+import io.siddhi.query.api.expression.Expression;
+import io.siddhi.query.api.expression.Variable;
 import io.siddhi.query.api.util.AnnotationHelper;
 
 import java.util.ArrayList;
@@ -112,6 +119,8 @@ public class QueryParser {
             }
             SiddhiQueryContext siddhiQueryContext = new SiddhiQueryContext(siddhiAppContext, queryName, partitionId);
             siddhiQueryContext.setPartitioned(partitioned);
+            siddhiQueryContext.setOffHeapStorageConfig(QueryParserHelper.createOffHeapStorageConfig(
+                    query.getAnnotations(), QueryParserHelper.getWindows(query.getInputStream()), queryName));
             latencyTracker = QueryParserHelper.createLatencyTracker(siddhiAppContext, siddhiQueryContext.getName(),
                     SiddhiConstants.METRIC_INFIX_QUERIES, null);
             siddhiQueryContext.setLatencyTracker(latencyTracker);
@@ -133,6 +142,8 @@ public class QueryParser {
             if (outputEventType != OutputStream.OutputEventType.CURRENT_EVENTS) {
                 outputExpectsExpiredEvents = true;
             }
+            siddhiQueryContext.setAggregateOnlySelection(!outputExpectsExpiredEvents &&
+                    isAggregateOnlySelection(query, siddhiAppContext));
             StreamRuntime streamRuntime = InputStreamParser.parse(query.getInputStream(),
                     query, streamDefinitionMap, tableDefinitionMap, windowDefinitionMap,
                     aggregationDefinitionMap, tableMap, windowMap, aggregationMap, executors,
@@ -280,4 +291,44 @@ public class QueryParser {
         }
         return queryRuntime;
     }
+
+    /**
+     * Checks whether the query consumes a single stream through a window, which is its last stream handler, and only
+     * selects aggregations and group-by attributes, such that its batch window does not need to buffer the events of a
+     * batch.
+     */
+    private static boolean isAggregateOnlySelection(Query query, SiddhiAppContext siddhiAppContext) {
+        if (!(query.getInputStream() instanceof SingleInputStream) ||
+                query.getOutputRate() instanceof SnapshotOutputRate) {
+            return false;
+        }
+        List<StreamHandler> streamHandlers = ((SingleInputStream) query.getInputStream()).getStreamHandlers();
+        if (streamHandlers.isEmpty() || !(streamHandlers.get(streamHandlers.size() - 1) instanceof
+                io.siddhi.query.api.execution.query.input.handler.Window)) {
+            return false;
+        }
+        Selector selector = query.getSelector();
+        if (selector.getSelectionList().isEmpty()) {
+            return false;
+        }
+        for (OutputAttribute outputAttribute : selector.getSelectionList()) {
+            Expression expression = outputAttribute.getExpression();
+            if (expression instanceof Variable) {
+                if (!selector.getGroupByList().contains(expression)) {
+                    return false;
+                }
+            } else if (expression instanceof AttributeFunction) {
+                String namespace = ((AttributeFunction) expression).getNamespace();
+                String name = ((AttributeFunction) expression).getName();
+                if (FunctionExecutorExtensionHolder.getInstance(siddhiAppContext).getExtension(namespace, name)
+                        != null || AttributeAggregatorExtensionHolder.getInstance(siddhiAppContext)
+                        .getExtension(namespace, name) == null) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
 }
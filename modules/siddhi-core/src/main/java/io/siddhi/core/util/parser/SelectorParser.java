@@ -130,6 +130,9 @@ public class SelectorParser {
             querySelector.setOffset(((Number)
                     (((ConstantExpressionExecutor) expressionExecutor).getValue())).longValue());
         }
+        if (siddhiQueryContext.isBatchAggregation()) {
+            querySelector.enableBatchAggregation();
+        }
         return querySelector;
     }
 
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.parser;
+
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.query.processor.stream.window.SlidingWindowProcessor;
+import io.siddhi.core.util.SiddhiAppRuntimeBuilder;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.extension.holder.WindowProcessorExtensionHolder;
+import io.siddhi.core.window.Window;
+import io.siddhi.core.window.WindowStreamReceiver;
+import io.siddhi.query.api.SiddhiApp;
+import io.siddhi.query.api.annotation.Annotation;
+import io.siddhi.query.api.annotation.Element;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.definition.StreamDefinition;
+import io.siddhi.query.api.definition.WindowDefinition;
+import io.siddhi.query.api.execution.ExecutionElement;
+import io.siddhi.query.api.execution.query.Query;
+import io.siddhi.query.api.execution.query.input.handler.Filter;
+import io.siddhi.query.api.execution.query.input.handler.StreamHandler;
+import io.siddhi.query.api.execution.query.input.stream.SingleInputStream;
+import io.siddhi.query.api.expression.Expression;
+import io.siddhi.query.api.expression.Variable;
+import io.siddhi.query.api.expression.constant.Constant;
+import io.siddhi.query.api.util.AnnotationHelper;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Planner pass that detects queries applying the same window on the same stream, and rewrites them to consume a
+ * single window instance shared among them, as if the window was defined via {@code define window}.
+ * Only non partitioned queries consuming a stream directly with a sliding window as the first stream handler,
+ * optionally followed by filters, and without output rate limiting are considered. Sharing is only enabled when the
+ * Siddhi app is annotated with {@code @app:shareWindows('true')}.
+ */
+public class SharedWindowParser {
+
+    private static final Logger log = Logger.getLogger(SharedWindowParser.class);
+
+    private SharedWindowParser() {
+
+    }
+
+    /**
+     * Define the shared windows and return the rewritten queries consuming them.
+     *
+     * @param siddhiApp               Siddhi app to be optimised
+     * @param siddhiAppRuntimeBuilder Siddhi app runtime builder where the shared windows are defined
+     * @param siddhiAppContext        Siddhi app context
+     * @return map of the original queries and their rewritten queries consuming the shared windows
+     */
+    public static Map<Query, Query> parse(SiddhiApp siddhiApp, SiddhiAppRuntimeBuilder siddhiAppRuntimeBuilder,
+                                          SiddhiAppContext siddhiAppContext) {
+        Map<Query, Query> rewrittenQueries = new IdentityHashMap<>();
+        Element shareWindowsElement = AnnotationHelper.getAnnotationElement(
+                SiddhiConstants.ANNOTATION_SHARE_WINDOWS, null, siddhiApp.getAnnotations());
+        if (shareWindowsElement == null || !Boolean.parseBoolean(shareWindowsElement.getValue())) {
+            return rewrittenQueries;
+        }
+
+        Map<WindowKey, List<Query>> windowQueries = new LinkedHashMap<>();
+        for (ExecutionElement executionElement : siddhiApp.getExecutionElementList()) {
+            if (executionElement instanceof Query) {
+                Query query = (Query) executionElement;
+                if (isShareable(query, siddhiApp, siddhiAppContext)) {
+                    SingleInputStream inputStream = (SingleInputStream) query.getInputStream();
+                    WindowKey windowKey = new WindowKey(inputStream.getStreamId(),
+                            (io.siddhi.query.api.execution.query.input.handler.Window)
+                                    inputStream.getStreamHandlers().get(0));
+                    windowQueries.computeIfAbsent(windowKey, k -> new ArrayList<>()).add(query);
+                }
+            }
+        }
+
+        for (Map.Entry<WindowKey, List<Query>> entry : windowQueries.entrySet()) {
+            if (entry.getValue().size() < 2) {
+                continue;
+            }
+            WindowKey windowKey = entry.getKey();
+            // The id is derived from the window, such that the state of the window is restored regardless of the
+            // other queries of the app and their order
+            String baseWindowId = SiddhiConstants.SHARED_WINDOW_PREFIX + windowKey.streamId + "_" +
+                    Integer.toHexString((windowKey.streamId + windowKey.window.toString()).hashCode());
+            String windowId = baseWindowId;
+            for (int collisionIndex = 1; isDefined(windowId, siddhiAppRuntimeBuilder); collisionIndex++) {
+                windowId = baseWindowId + "_" + collisionIndex;
+            }
+
+            WindowDefinition windowDefinition = WindowDefinition.id(windowId).window(windowKey.window);
+            windowDefinition.setQueryContextStartIndex(windowKey.window.getQueryContextStartIndex());
+            windowDefinition.setQueryContextEndIndex(windowKey.window.getQueryContextEndIndex());
+            for (Attribute attribute : ((StreamDefinition) siddhiAppRuntimeBuilder.getStreamDefinitionMap()
+                    .get(windowKey.streamId)).getAttributeList()) {
+                windowDefinition.attribute(attribute.getName(), attribute.getType());
+            }
+            siddhiAppRuntimeBuilder.defineWindow(windowDefinition);
+            Window window = siddhiAppRuntimeBuilder.getWindowMap().get(windowId);
+            window.setShared(true);
+            window.setPublisher(siddhiAppRuntimeBuilder.getStreamJunctions().get(windowId).constructPublisher());
+            siddhiAppRuntimeBuilder.getStreamJunctions().get(windowKey.streamId)
+                    .subscribe(new WindowStreamReceiver(windowKey.streamId, window));
+
+            for (Query query : entry.getValue()) {
+                rewrittenQueries.put(query, rewriteQuery(query, windowId));
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Window " + windowKey.window + " on stream '" + windowKey.streamId + "' is shared by " +
+                        entry.getValue().size() + " queries via '" + windowId + "' in Siddhi app '" +
+                        siddhiAppContext.getName() + "'");
+            }
+        }
+        return rewrittenQueries;
+    }
+
+    private static boolean isShareable(Query query, SiddhiApp siddhiApp, SiddhiAppContext siddhiAppContext) {
+        if (!(query.getInputStream() instanceof SingleInputStream) || query.getOutputRate() != null) {
+            return false;
+        }
+        // Queries configuring their own window storage keep their windows
+        if (AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_WINDOW_STORAGE,
+                query.getAnnotations()) != null) {
+            return false;
+        }
+        SingleInputStream inputStream = (SingleInputStream) query.getInputStream();
+        if (inputStream.isInnerStream() || inputStream.isFaultStream() ||
+                !siddhiApp.getStreamDefinitionMap().containsKey(inputStream.getStreamId())) {
+            return false;
+        }
+        List<StreamHandler> streamHandlers = inputStream.getStreamHandlers();
+        if (streamHandlers.isEmpty() ||
+                !(streamHandlers.get(0) instanceof io.siddhi.query.api.execution.query.input.handler.Window)) {
+            return false;
+        }
+        for (int i = 1; i < streamHandlers.size(); i++) {
+            if (!(streamHandlers.get(i) instanceof Filter)) {
+                return false;
+            }
+        }
+        // Only sliding windows are shared, as the reset events of batch windows are not propagated by windows
+        io.siddhi.query.api.execution.query.input.handler.Window window =
+                (io.siddhi.query.api.execution.query.input.handler.Window) streamHandlers.get(0);
+        Class windowClass = WindowProcessorExtensionHolder.getInstance(siddhiAppContext)
+                .getExtension(window.getNamespace(), window.getName());
+        if (windowClass == null || !SlidingWindowProcessor.class.isAssignableFrom(windowClass)) {
+            return false;
+        }
+        Expression[] parameters = streamHandlers.get(0).getParameters();
+        if (parameters != null) {
+            for (Expression parameter : parameters) {
+                if (!(parameter instanceof Constant) &&
+                        !(parameter instanceof Variable && ((Variable) parameter).getStreamId() == null &&
+                                ((Variable) parameter).getFunctionId() == null)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Query rewriteQuery(Query query, String windowId) {
+        SingleInputStream inputStream = (SingleInputStream) query.getInputStream();
+        // Retain the original stream name as the reference, such that the attributes qualified by it still resolve
+        String streamReferenceId = inputStream.getStreamReferenceId() != null ?
+                inputStream.getStreamReferenceId() : inputStream.getStreamId();
+        SingleInputStream windowInputStream = new SingleInputStream(streamReferenceId, windowId);
+        List<StreamHandler> streamHandlers = inputStream.getStreamHandlers();
+        for (int i = 1; i < streamHandlers.size(); i++) {
+            windowInputStream.filter((Filter) streamHandlers.get(i));
+        }
+        windowInputStream.setQueryContextStartIndex(inputStream.getQueryContextStartIndex());
+        windowInputStream.setQueryContextEndIndex(inputStream.getQueryContextEndIndex());
+
+        Query rewrittenQuery = Query.query()
+                .from(windowInputStream)
+                .select(query.getSelector())
+                .outStream(query.getOutputStream());
+        for (Annotation annotation : query.getAnnotations()) {
+            rewrittenQuery.annotation(annotation);
+        }
+        rewrittenQuery.setQueryContextStartIndex(query.getQueryContextStartIndex());
+        rewrittenQuery.setQueryContextEndIndex(query.getQueryContextEndIndex());
+        return rewrittenQuery;
+    }
+
+    private static boolean isDefined(String id, SiddhiAppRuntimeBuilder siddhiAppRuntimeBuilder) {
+        return siddhiAppRuntimeBuilder.getStreamDefinitionMap().containsKey(id) ||
+                siddhiAppRuntimeBuilder.getTableDefinitionMap().containsKey(id) ||
+                siddhiAppRuntimeBuilder.getWindowDefinitionMap().containsKey(id) ||
+                siddhiAppRuntimeBuilder.getAggregationDefinitionMap().containsKey(id);
+    }
+
+    private static class WindowKey {
+        private final String streamId;
+        private final io.siddhi.query.api.execution.query.input.handler.Window window;
+
+        WindowKey(String streamId, io.siddhi.query.api.execution.query.input.handler.Window window) {
+            this.streamId = streamId;
+            this.window = window;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            WindowKey windowKey = (WindowKey) o;
+            return streamId.equals(windowKey.streamId) && window.equals(windowKey.window);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(streamId, window);
+        }
+    }
+}
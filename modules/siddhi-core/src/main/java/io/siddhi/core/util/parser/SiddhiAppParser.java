@@ -37,6 +37,7 @@ import io.siddhi.core.window.Window;
 import io.siddhi.query.api.SiddhiApp;
 import io.siddhi.query.api.annotation.Annotation;
 import io.siddhi.query.api.annotation.Element;
+import io.siddhi.query.api.definition.AbstractDefinition;
 import io.siddhi.query.api.definition.AggregationDefinition;
 import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.definition.FunctionDefinition;
@@ -60,10 +61,16 @@ import io.siddhi.query.compiler.exception.SiddhiParserException;
 import org.apache.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Class to parse {@link SiddhiApp}
@@ -86,6 +93,7 @@ public class SiddhiAppParser {
         siddhiAppContext.setSiddhiContext(siddhiContext);
         siddhiAppContext.setSiddhiAppString(siddhiAppString);
         siddhiAppContext.setSiddhiApp(siddhiApp);
+        int buildWorkers = 1;
 
         try {
             Element element = AnnotationHelper.getAnnotationElement(SiddhiConstants.ANNOTATION_NAME, null,
@@ -110,6 +118,25 @@ public class SiddhiAppParser {
                         annotation.getQueryContextStartIndex(), annotation.getQueryContextEndIndex());
             }
 
+            annotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_PARALLEL_BUILD,
+                    siddhiApp.getAnnotations());
+            if (annotation != null) {
+                buildWorkers = Runtime.getRuntime().availableProcessors();
+                String workers = annotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_WORKERS);
+                if (workers != null) {
+                    try {
+                        buildWorkers = Integer.parseInt(workers);
+                    } catch (NumberFormatException e) {
+                        buildWorkers = 0;
+                    }
+                    if (buildWorkers <= 0) {
+                        throw new SiddhiAppValidationException("ParallelBuild annotation expects a positive " +
+                                "number of workers but found '" + workers + "'",
+                                annotation.getQueryContextStartIndex(), annotation.getQueryContextEndIndex());
+                    }
+                }
+            }
+
             annotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_STATISTICS,
                     siddhiApp.getAnnotations());
 
@@ -227,12 +254,22 @@ public class SiddhiAppParser {
 
         SiddhiAppRuntimeBuilder siddhiAppRuntimeBuilder = new SiddhiAppRuntimeBuilder(siddhiAppContext);
 
+        long startTime = System.nanoTime();
         defineStreamDefinitions(siddhiAppRuntimeBuilder, siddhiApp.getStreamDefinitionMap(), siddhiAppContext);
+        startTime = reportStartupTime(siddhiAppContext, SiddhiConstants.METRIC_INFIX_STREAMS, startTime);
         defineTableDefinitions(siddhiAppRuntimeBuilder, siddhiApp.getTableDefinitionMap(), siddhiAppContext);
+        startTime = reportStartupTime(siddhiAppContext, SiddhiConstants.METRIC_INFIX_TABLES, startTime);
         defineWindowDefinitions(siddhiAppRuntimeBuilder, siddhiApp.getWindowDefinitionMap(), siddhiAppContext);
+        long windowTime = System.nanoTime() - startTime;
+        startTime += windowTime;
         defineFunctionDefinitions(siddhiAppRuntimeBuilder, siddhiApp.getFunctionDefinitionMap(), siddhiAppContext);
+        startTime = reportStartupTime(siddhiAppContext, SiddhiConstants.METRIC_INFIX_FUNCTIONS, startTime);
         defineAggregationDefinitions(siddhiAppRuntimeBuilder, siddhiApp.getAggregationDefinitionMap(),
                 siddhiAppContext);
+        reportStartupTime(siddhiAppContext, SiddhiConstants.METRIC_INFIX_AGGREGATIONS, startTime);
+        startTime = System.nanoTime();
+        Map<Query, Query> sharedWindowQueries = SharedWindowParser.parse(siddhiApp, siddhiAppRuntimeBuilder,
+                siddhiAppContext);
         //todo fix for query API usecase
         List<String> findExecutedElements = getFindExecutedElements(siddhiApp);
         for (Window window : siddhiAppRuntimeBuilder.getWindowMap().values()) {
@@ -246,44 +283,179 @@ public class SiddhiAppParser {
                 throw t;
             }
         }
+        windowTime += System.nanoTime() - startTime;
+        reportStartupDuration(siddhiAppContext, SiddhiConstants.METRIC_INFIX_WINDOWS, windowTime);
+
+        ExecutorService buildExecutorService = null;
+        Map<ExecutionElement, Future<QueryRuntimeImpl>> queryRuntimeFutures = new IdentityHashMap<>();
+        if (buildWorkers > 1) {
+            buildExecutorService = Executors.newFixedThreadPool(buildWorkers,
+                    new ThreadFactoryBuilder().setNameFormat("Siddhi-" + siddhiAppContext.getName() +
+                            "-build-thread-%d").setDaemon(true).build());
+            submitQueryRuntimes(siddhiApp, siddhiAppRuntimeBuilder, siddhiAppContext, sharedWindowQueries,
+                    buildExecutorService, queryRuntimeFutures);
+        }
+        long queryTime = 0;
+        long partitionTime = 0;
+        try {
+            int queryIndex = 1;
+            int partitionIndex = 1;
+            for (ExecutionElement executionElement : siddhiApp.getExecutionElementList()) {
+                long elementStartTime = System.nanoTime();
+                if (executionElement instanceof Query) {
+                    try {
+                        QueryRuntimeImpl queryRuntime;
+                        Future<QueryRuntimeImpl> queryRuntimeFuture = queryRuntimeFutures.get(executionElement);
+                        if (queryRuntimeFuture != null) {
+                            queryRuntime = getQueryRuntime(queryRuntimeFuture);
+                        } else {
+                            queryRuntime = parseQuery(siddhiAppRuntimeBuilder, siddhiAppContext,
+                                    sharedWindowQueries.getOrDefault(executionElement, (Query) executionElement),
+                                    queryIndex);
+                        }
+                        siddhiAppRuntimeBuilder.addQuery(queryRuntime);
+                        siddhiAppContext.addEternalReferencedHolder(queryRuntime);
+                        queryIndex++;
+                    } catch (Throwable t) {
+                        ExceptionUtil.populateQueryContext(t, (Query) executionElement, siddhiAppContext);
+                        throw t;
+                    }
+                    queryTime += System.nanoTime() - elementStartTime;
+                } else {
+                    try {
+                        PartitionRuntimeImpl partitionRuntime = PartitionParser.parse(siddhiAppRuntimeBuilder,
+                                (Partition) executionElement, siddhiAppContext, queryIndex, partitionIndex);
+                        siddhiAppRuntimeBuilder.addPartition(partitionRuntime);
+                        queryIndex += ((Partition) executionElement).getQueryList().size();
+                        partitionIndex++;
+                    } catch (Throwable t) {
+                        ExceptionUtil.populateQueryContext(t, (Partition) executionElement, siddhiAppContext);
+                        throw t;
+                    }
+                    partitionTime += System.nanoTime() - elementStartTime;
+                }
+            }
+        } finally {
+            if (buildExecutorService != null) {
+                for (Future<QueryRuntimeImpl> queryRuntimeFuture : queryRuntimeFutures.values()) {
+                    queryRuntimeFuture.cancel(true);
+                }
+                buildExecutorService.shutdown();
+            }
+        }
+        reportStartupDuration(siddhiAppContext, SiddhiConstants.METRIC_INFIX_QUERIES, queryTime);
+        reportStartupDuration(siddhiAppContext, SiddhiConstants.METRIC_INFIX_PARTITIONS, partitionTime);
+        startTime = System.nanoTime();
+        //Done last as they have to be started last
+        defineTriggerDefinitions(siddhiAppRuntimeBuilder, siddhiApp.getTriggerDefinitionMap(), siddhiAppContext);
+        reportStartupTime(siddhiAppContext, SiddhiConstants.METRIC_INFIX_TRIGGERS, startTime);
+        return siddhiAppRuntimeBuilder;
+    }
+
+    private static void submitQueryRuntimes(SiddhiApp siddhiApp, SiddhiAppRuntimeBuilder siddhiAppRuntimeBuilder,
+                                            SiddhiAppContext siddhiAppContext, Map<Query, Query> sharedWindowQueries,
+                                            ExecutorService buildExecutorService,
+                                            Map<ExecutionElement, Future<QueryRuntimeImpl>> queryRuntimeFutures) {
+        Set<String> definedIds = new HashSet<>();
+        definedIds.addAll(siddhiAppRuntimeBuilder.getStreamDefinitionMap().keySet());
+        definedIds.addAll(siddhiAppRuntimeBuilder.getTableDefinitionMap().keySet());
+        definedIds.addAll(siddhiAppRuntimeBuilder.getWindowDefinitionMap().keySet());
+        definedIds.addAll(siddhiAppRuntimeBuilder.getAggregationDefinitionMap().keySet());
+        Set<String> inferredIds = new HashSet<>();
         int queryIndex = 1;
-        int partitionIndex = 1;
         for (ExecutionElement executionElement : siddhiApp.getExecutionElementList()) {
             if (executionElement instanceof Query) {
-                try {
-                    QueryRuntimeImpl queryRuntime = QueryParser.parse((Query) executionElement, siddhiAppContext,
-                            siddhiAppRuntimeBuilder.getStreamDefinitionMap(),
-                            siddhiAppRuntimeBuilder.getTableDefinitionMap(),
-                            siddhiAppRuntimeBuilder.getWindowDefinitionMap(),
-                            siddhiAppRuntimeBuilder.getAggregationDefinitionMap(),
-                            siddhiAppRuntimeBuilder.getTableMap(),
-                            siddhiAppRuntimeBuilder.getAggregationMap(),
-                            siddhiAppRuntimeBuilder.getWindowMap(),
-                            siddhiAppRuntimeBuilder.getLockSynchronizer(),
-                            String.valueOf(queryIndex), false, SiddhiConstants.PARTITION_ID_DEFAULT);
-                    siddhiAppRuntimeBuilder.addQuery(queryRuntime);
-                    siddhiAppContext.addEternalReferencedHolder(queryRuntime);
-                    queryIndex++;
-                } catch (Throwable t) {
-                    ExceptionUtil.populateQueryContext(t, (Query) executionElement, siddhiAppContext);
-                    throw t;
+                Query query = sharedWindowQueries.getOrDefault(executionElement, (Query) executionElement);
+                if (isIndependentQuery(query, definedIds, inferredIds,
+                        siddhiAppRuntimeBuilder.getWindowDefinitionMap())) {
+                    int index = queryIndex;
+                    queryRuntimeFutures.put(executionElement, buildExecutorService.submit(
+                            () -> parseQuery(siddhiAppRuntimeBuilder, siddhiAppContext, query, index)));
                 }
+                addInferredId(query, definedIds, inferredIds);
+                queryIndex++;
             } else {
-                try {
-                    PartitionRuntimeImpl partitionRuntime = PartitionParser.parse(siddhiAppRuntimeBuilder,
-                            (Partition) executionElement, siddhiAppContext, queryIndex, partitionIndex);
-                    siddhiAppRuntimeBuilder.addPartition(partitionRuntime);
-                    queryIndex += ((Partition) executionElement).getQueryList().size();
-                    partitionIndex++;
-                } catch (Throwable t) {
-                    ExceptionUtil.populateQueryContext(t, (Partition) executionElement, siddhiAppContext);
-                    throw t;
+                for (Query partitionQuery : ((Partition) executionElement).getQueryList()) {
+                    addInferredId(partitionQuery, definedIds, inferredIds);
                 }
+                queryIndex += ((Partition) executionElement).getQueryList().size();
             }
         }
-        //Done last as they have to be started last
-        defineTriggerDefinitions(siddhiAppRuntimeBuilder, siddhiApp.getTriggerDefinitionMap(), siddhiAppContext);
-        return siddhiAppRuntimeBuilder;
+    }
+
+    private static void addInferredId(Query query, Set<String> definedIds, Set<String> inferredIds) {
+        String outputStreamId = query.getOutputStream().getId();
+        if (outputStreamId != null && !definedIds.contains(outputStreamId)) {
+            inferredIds.add(outputStreamId);
+        }
+    }
+
+    /**
+     * Checks whether the query runtime can be built in parallel with the queries defined before it, which is when
+     * it only consumes elements defined before any query is built, it does not insert into a stream inferred by a
+     * previous query, and it does not join two named windows whose locks have to be synchronized.
+     */
+    private static boolean isIndependentQuery(Query query, Set<String> definedIds, Set<String> inferredIds,
+                                              Map<String, AbstractDefinition> windowDefinitionMap) {
+        List<String> inputStreamIds = query.getInputStream().getAllStreamIds();
+        if (!definedIds.containsAll(inputStreamIds)) {
+            return false;
+        }
+        if (query.getInputStream() instanceof JoinInputStream &&
+                windowDefinitionMap.keySet().containsAll(inputStreamIds)) {
+            return false;
+        }
+        return !inferredIds.contains(query.getOutputStream().getId());
+    }
+
+    private static QueryRuntimeImpl parseQuery(SiddhiAppRuntimeBuilder siddhiAppRuntimeBuilder,
+                                               SiddhiAppContext siddhiAppContext, Query query, int queryIndex) {
+        return QueryParser.parse(query, siddhiAppContext,
+                siddhiAppRuntimeBuilder.getStreamDefinitionMap(),
+                siddhiAppRuntimeBuilder.getTableDefinitionMap(),
+                siddhiAppRuntimeBuilder.getWindowDefinitionMap(),
+                siddhiAppRuntimeBuilder.getAggregationDefinitionMap(),
+                siddhiAppRuntimeBuilder.getTableMap(),
+                siddhiAppRuntimeBuilder.getAggregationMap(),
+                siddhiAppRuntimeBuilder.getWindowMap(),
+                siddhiAppRuntimeBuilder.getLockSynchronizer(),
+                String.valueOf(queryIndex), false, SiddhiConstants.PARTITION_ID_DEFAULT);
+    }
+
+    private static QueryRuntimeImpl getQueryRuntime(Future<QueryRuntimeImpl> queryRuntimeFuture) {
+        try {
+            return queryRuntimeFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SiddhiAppCreationException("Interrupted while building query runtime", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SiddhiAppCreationException(cause.getMessage(), cause);
+        }
+    }
+
+    private static long reportStartupTime(SiddhiAppContext siddhiAppContext, String component, long startTime) {
+        long endTime = System.nanoTime();
+        reportStartupDuration(siddhiAppContext, component, endTime - startTime);
+        return endTime;
+    }
+
+    private static void reportStartupDuration(SiddhiAppContext siddhiAppContext, String component,
+                                              long timeInNanos) {
+        if (siddhiAppContext.getStatisticsManager() != null) {
+            siddhiAppContext.getStatisticsManager().reportStartupTime(
+                    siddhiAppContext.getSiddhiContext().getStatisticsConfiguration().getMetricPrefix() +
+                            SiddhiConstants.METRIC_DELIMITER + SiddhiConstants.METRIC_INFIX_SIDDHI_APPS +
+                            SiddhiConstants.METRIC_DELIMITER + siddhiAppContext.getName() +
+                            SiddhiConstants.METRIC_DELIMITER + SiddhiConstants.METRIC_INFIX_SIDDHI +
+                            SiddhiConstants.METRIC_DELIMITER + SiddhiConstants.METRIC_INFIX_STARTUP +
+                            SiddhiConstants.METRIC_DELIMITER + component, timeInNanos);
+        }
     }
 
     private static List<String> getFindExecutedElements(SiddhiApp siddhiApp) {
@@ -36,6 +36,7 @@ import io.siddhi.core.query.processor.stream.AbstractStreamProcessor;
 import io.siddhi.core.query.processor.stream.StreamProcessor;
 import io.siddhi.core.query.processor.stream.function.StreamFunctionProcessor;
 import io.siddhi.core.query.processor.stream.window.WindowProcessor;
+import io.siddhi.core.stream.ReceiverPredicate;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.util.ExceptionUtil;
 import io.siddhi.core.util.Scheduler;
@@ -54,8 +55,19 @@ import io.siddhi.query.api.execution.query.input.handler.Window;
 import io.siddhi.query.api.execution.query.input.stream.SingleInputStream;
 import io.siddhi.query.api.expression.Expression;
 import io.siddhi.query.api.expression.Variable;
+import io.siddhi.query.api.expression.condition.And;
+import io.siddhi.query.api.expression.condition.Compare;
+import io.siddhi.query.api.expression.constant.BoolConstant;
+import io.siddhi.query.api.expression.constant.Constant;
+import io.siddhi.query.api.expression.constant.DoubleConstant;
+import io.siddhi.query.api.expression.constant.FloatConstant;
+import io.siddhi.query.api.expression.constant.IntConstant;
+import io.siddhi.query.api.expression.constant.LongConstant;
+import io.siddhi.query.api.expression.constant.StringConstant;
 import io.siddhi.query.api.extension.Extension;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -153,10 +165,121 @@ public class SingleInputStreamParser {
         }
 
         metaStreamEvent.initializeOnAfterWindowData();
+        if (processStreamReceiver.getClass() == ProcessStreamReceiver.class &&
+                !inputStream.getStreamHandlers().isEmpty() &&
+                inputStream.getStreamHandlers().get(0) instanceof Filter) {
+            processStreamReceiver.setReceiverPredicate(parseReceiverPredicate(
+                    inputStream.getStreamHandlers().get(0).getParameters()[0], inputStream,
+                    metaStreamEvent.getLastInputDefinition()));
+            if (processor instanceof FilterProcessor) {
+                processStreamReceiver.setFilterProcessor((FilterProcessor) processor);
+            }
+        }
         return new SingleStreamRuntime(processStreamReceiver, processor, processingMode, metaComplexEvent);
 
     }
 
+    /**
+     * Find a condition of the filter that can be indexed by the stream junction. As AND conditions are evaluated
+     * left to right and skip the rest on failure, only the conditions preceding all conditions that cannot be
+     * indexed are considered, such that skipping the receiver does not skip any side effects of the filter.
+     *
+     * @param filterExpression filter expression
+     * @param inputStream      input stream of the filter
+     * @param definition       definition of the events consumed by the filter
+     * @return the receiver predicate, or {@code null} if the filter cannot be indexed
+     */
+    private static ReceiverPredicate parseReceiverPredicate(Expression filterExpression,
+                                                            SingleInputStream inputStream,
+                                                            AbstractDefinition definition) {
+        List<Expression> conditions = new ArrayList<>();
+        flattenAndConditions(filterExpression, conditions);
+        ReceiverPredicate rangePredicate = null;
+        for (Expression condition : conditions) {
+            if (!(condition instanceof Compare)) {
+                break;
+            }
+            Compare compare = (Compare) condition;
+            Compare.Operator operator = compare.getOperator();
+            Expression attribute = compare.getLeftExpression();
+            Expression constant = compare.getRightExpression();
+            if (attribute instanceof Constant) {
+                attribute = compare.getRightExpression();
+                constant = compare.getLeftExpression();
+                operator = swapOperands(operator);
+            }
+            if (!(constant instanceof Constant) || !isStreamAttribute(attribute, inputStream, definition)) {
+                break;
+            }
+            String attributeName = ((Variable) attribute).getAttributeName();
+            ReceiverPredicate predicate = ReceiverPredicate.create(definition.getAttributePosition(attributeName),
+                    definition.getAttributeType(attributeName), operator, getConstantValue((Constant) constant));
+            if (predicate != null) {
+                if (predicate.getOperator() == Compare.Operator.EQUAL) {
+                    return predicate;
+                } else if (rangePredicate == null) {
+                    rangePredicate = predicate;
+                }
+            }
+        }
+        return rangePredicate;
+    }
+
+    private static void flattenAndConditions(Expression expression, List<Expression> conditions) {
+        if (expression instanceof And) {
+            flattenAndConditions(((And) expression).getLeftExpression(), conditions);
+            flattenAndConditions(((And) expression).getRightExpression(), conditions);
+        } else {
+            conditions.add(expression);
+        }
+    }
+
+    private static boolean isStreamAttribute(Expression expression, SingleInputStream inputStream,
+                                             AbstractDefinition definition) {
+        if (!(expression instanceof Variable)) {
+            return false;
+        }
+        Variable variable = (Variable) expression;
+        if (variable.getStreamIndex() != null || variable.getFunctionId() != null ||
+                !Arrays.asList(definition.getAttributeNameArray()).contains(variable.getAttributeName())) {
+            return false;
+        }
+        return variable.getStreamId() == null || variable.getStreamId().equals(inputStream.getStreamId()) ||
+                variable.getStreamId().equals(inputStream.getStreamReferenceId());
+    }
+
+    private static Compare.Operator swapOperands(Compare.Operator operator) {
+        switch (operator) {
+            case LESS_THAN:
+                return Compare.Operator.GREATER_THAN;
+            case GREATER_THAN:
+                return Compare.Operator.LESS_THAN;
+            case LESS_THAN_EQUAL:
+                return Compare.Operator.GREATER_THAN_EQUAL;
+            case GREATER_THAN_EQUAL:
+                return Compare.Operator.LESS_THAN_EQUAL;
+            default:
+                return operator;
+        }
+    }
+
+    private static Object getConstantValue(Constant constant) {
+        if (constant instanceof StringConstant) {
+            return ((StringConstant) constant).getValue();
+        } else if (constant instanceof IntConstant) {
+            return ((IntConstant) constant).getValue();
+        } else if (constant instanceof LongConstant) {
+            return ((LongConstant) constant).getValue();
+        } else if (constant instanceof DoubleConstant) {
+            return ((DoubleConstant) constant).getValue();
+        } else if (constant instanceof FloatConstant) {
+            return ((FloatConstant) constant).getValue();
+        } else if (constant instanceof BoolConstant) {
+            return ((BoolConstant) constant).getValue();
+        }
+        return null;
+    }
+
 
     public static Processor generateProcessor(StreamHandler streamHandler, MetaComplexEvent metaEvent,
                                               List<VariableExpressionExecutor> variableExpressionExecutors,
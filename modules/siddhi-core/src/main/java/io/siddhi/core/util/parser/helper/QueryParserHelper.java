@@ -27,8 +27,10 @@ import io.siddhi.core.event.state.StateEventFactory;
 import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEventCloner;
 import io.siddhi.core.event.stream.StreamEventFactory;
+import io.siddhi.core.event.stream.holder.OffHeapStorageConfig;
 import io.siddhi.core.event.stream.populater.ComplexEventPopulater;
 import io.siddhi.core.event.stream.populater.StreamEventPopulaterFactory;
+import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.input.ProcessStreamReceiver;
 import io.siddhi.core.query.input.stream.StreamRuntime;
@@ -44,8 +46,21 @@ import io.siddhi.core.util.lock.LockWrapper;
 import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.util.statistics.MemoryUsageTracker;
 import io.siddhi.core.util.statistics.ThroughputTracker;
+import io.siddhi.query.api.annotation.Annotation;
+import io.siddhi.query.api.annotation.Element;
 import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.exception.SiddhiAppValidationException;
+import io.siddhi.query.api.execution.query.input.handler.StreamHandler;
+import io.siddhi.query.api.execution.query.input.handler.Window;
+import io.siddhi.query.api.execution.query.input.stream.InputStream;
+import io.siddhi.query.api.execution.query.input.stream.JoinInputStream;
+import io.siddhi.query.api.execution.query.input.stream.SingleInputStream;
+import io.siddhi.query.api.util.AnnotationHelper;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
 import static io.siddhi.core.util.SiddhiConstants.BEFORE_WINDOW_DATA_INDEX;
@@ -311,4 +326,101 @@ public class QueryParserHelper {
         }
     }
 
+    /**
+     * Creates the off-heap storage configuration of the time windows of a query or of a window definition, based on
+     * its {@code @windowStorage(type='offheap', spill.dir='<directory>', segment.size='<bytes>')} annotation. As only
+     * the time and externalTime windows support the off-heap storage, the annotation is rejected for any other window.
+     *
+     * @param annotations annotations of the query or the window definition
+     * @param windows     windows of the query or the window definition
+     * @param name        name of the query or the window
+     * @return the off-heap storage configuration, or {@code null} when the events have to be kept in the heap
+     */
+    public static OffHeapStorageConfig createOffHeapStorageConfig(List<Annotation> annotations, List<Window> windows,
+                                                                  String name) {
+        Annotation annotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_WINDOW_STORAGE,
+                annotations);
+        if (annotation == null) {
+            return null;
+        }
+        String type = annotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_TYPE);
+        if (type == null) {
+            for (Element element : annotation.getElements()) {
+                if (element.getKey() == null) {
+                    type = element.getValue();
+                }
+            }
+        }
+        if (SiddhiConstants.WINDOW_STORAGE_HEAP.equalsIgnoreCase(type)) {
+            return null;
+        } else if (type != null && !SiddhiConstants.WINDOW_STORAGE_OFF_HEAP.equalsIgnoreCase(type)) {
+            throw new SiddhiAppValidationException("WindowStorage annotation of '" + name + "' expects type '" +
+                    SiddhiConstants.WINDOW_STORAGE_HEAP + "' or '" + SiddhiConstants.WINDOW_STORAGE_OFF_HEAP +
+                    "' but found '" + type + "'",
+                    annotation.getQueryContextStartIndex(), annotation.getQueryContextEndIndex());
+        }
+        if (windows.isEmpty()) {
+            throw new SiddhiAppValidationException("WindowStorage annotation of '" + name + "' expects a '" +
+                    SiddhiConstants.TIME_WINDOW + "' or '" + SiddhiConstants.EXTERNAL_TIME_WINDOW + "' window, " +
+                    "but found no window",
+                    annotation.getQueryContextStartIndex(), annotation.getQueryContextEndIndex());
+        }
+        for (Window window : windows) {
+            String windowName = window.getNamespace() == null || window.getNamespace().isEmpty() ?
+                    window.getName() : window.getNamespace() + ":" + window.getName();
+            if (!SiddhiConstants.TIME_WINDOW.equals(windowName) &&
+                    !SiddhiConstants.EXTERNAL_TIME_WINDOW.equals(windowName)) {
+                throw new SiddhiAppValidationException("WindowStorage annotation of '" + name + "' expects " +
+                        "only '" + SiddhiConstants.TIME_WINDOW + "' or '" + SiddhiConstants.EXTERNAL_TIME_WINDOW +
+                        "' windows, but found '" + windowName + "' window",
+                        window.getQueryContextStartIndex(), window.getQueryContextEndIndex());
+            }
+        }
+        int maxSegmentSize = OffHeapStorageConfig.DEFAULT_MAX_SEGMENT_SIZE;
+        String segmentSize = annotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_SEGMENT_SIZE);
+        if (segmentSize != null) {
+            try {
+                maxSegmentSize = Integer.parseInt(segmentSize);
+            } catch (NumberFormatException e) {
+                maxSegmentSize = 0;
+            }
+            if (maxSegmentSize <= 0) {
+                throw new SiddhiAppValidationException("WindowStorage annotation of '" + name + "' expects a " +
+                        "positive segment size in bytes but found '" + segmentSize + "'",
+                        annotation.getQueryContextStartIndex(), annotation.getQueryContextEndIndex());
+            }
+        }
+        String spillDirectory = annotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_SPILL_DIR);
+        if (spillDirectory != null) {
+            try {
+                Files.createDirectories(Paths.get(spillDirectory));
+            } catch (IOException e) {
+                throw new SiddhiAppCreationException("Cannot create the spill directory '" + spillDirectory +
+                        "' of the window storage of '" + name + "'", e,
+                        annotation.getQueryContextStartIndex(), annotation.getQueryContextEndIndex());
+            }
+        }
+        return new OffHeapStorageConfig(spillDirectory, maxSegmentSize);
+    }
+
+    /**
+     * Collects the windows of the given query input stream, such as the windows of both sides of a join.
+     *
+     * @param inputStream input stream of the query
+     * @return the windows of the input stream
+     */
+    public static List<Window> getWindows(InputStream inputStream) {
+        List<Window> windows = new ArrayList<>();
+        if (inputStream instanceof JoinInputStream) {
+            windows.addAll(getWindows(((JoinInputStream) inputStream).getLeftInputStream()));
+            windows.addAll(getWindows(((JoinInputStream) inputStream).getRightInputStream()));
+        } else if (inputStream instanceof SingleInputStream) {
+            for (StreamHandler streamHandler : ((SingleInputStream) inputStream).getStreamHandlers()) {
+                if (streamHandler instanceof Window) {
+                    windows.add((Window) streamHandler);
+                }
+            }
+        }
+        return windows;
+    }
 }
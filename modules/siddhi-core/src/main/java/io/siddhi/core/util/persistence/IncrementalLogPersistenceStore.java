@@ -0,0 +1,672 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.persistence;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.siddhi.core.exception.CannotClearSiddhiAppStateException;
+import io.siddhi.core.exception.PersistenceStoreException;
+import io.siddhi.core.util.persistence.util.IncrementalSnapshotInfo;
+import io.siddhi.core.util.persistence.util.PersistenceConstants;
+import io.siddhi.core.util.persistence.util.PersistenceHelper;
+import io.siddhi.core.util.snapshot.state.Snapshot;
+import io.siddhi.core.util.snapshot.state.SnapshotStateList;
+import org.apache.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * Implementation of Incremental Persistence Store that appends the snapshots of each Siddhi App into a single
+ * log-structured segment file, instead of writing a file per snapshot.
+ * <p>
+ * Each record of the segment holds the revision and the snapshot, and the latest records are indexed in memory by
+ * their revisions, such that the index is rebuilt by scanning the segment when the store is opened. Snapshots saved
+ * concurrently share the same fsync, and snapshots are read from the memory-mapped segment during restore. The segment
+ * is compacted in the background once the records superseded by newer base or periodic snapshots, together with the
+ * increments appended since the last compaction, exceed the compaction threshold and outweigh the other records.
+ * Compaction discards the superseded records and folds the increments of each element into a new base, such that a
+ * restore reads a single record per element instead of replaying its increments.
+ */
+public class IncrementalLogPersistenceStore implements IncrementalPersistenceStore {
+
+    public static final String COMPACTION_THRESHOLD = "compactionThreshold";
+    private static final Logger log = Logger.getLogger(IncrementalLogPersistenceStore.class);
+    private static final String SEGMENT_FILE_NAME = "segment.log";
+    private static final String COMPACTION_FILE_NAME = "segment.log.compact";
+    private static final long DEFAULT_COMPACTION_THRESHOLD = 4 * 1024 * 1024;
+    private static final int RECORD_HEADER_SIZE = 4 * 3;
+    private final Map<String, SegmentLog> segmentLogMap = new ConcurrentHashMap<>();
+    private final ExecutorService compactionExecutorService = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Siddhi-incremental-log-compactor-%d").setDaemon(true).build());
+    private String folder;
+    private long compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+
+    public IncrementalLogPersistenceStore() {
+    }
+
+    public IncrementalLogPersistenceStore(String storageFilePath) {
+        folder = storageFilePath;
+    }
+
+    public IncrementalLogPersistenceStore(String storageFilePath, long compactionThreshold) {
+        folder = storageFilePath;
+        this.compactionThreshold = validateCompactionThreshold(compactionThreshold);
+    }
+
+    private static long validateCompactionThreshold(Object threshold) {
+        long value;
+        try {
+            value = Long.parseLong(threshold.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new PersistenceStoreException("Invalid value '" + threshold + "' for '" + COMPACTION_THRESHOLD +
+                    "' of the incremental log persistence store, it should be a positive number of bytes.", e);
+        }
+        if (value <= 0) {
+            throw new PersistenceStoreException("Invalid value '" + threshold + "' for '" + COMPACTION_THRESHOLD +
+                    "' of the incremental log persistence store, it should be a positive number of bytes.");
+        }
+        return value;
+    }
+
+    @Override
+    public void save(IncrementalSnapshotInfo snapshotInfo, byte[] snapshot) {
+        try {
+            SegmentLog segmentLog = getSegmentLog(snapshotInfo.getSiddhiAppId(), true);
+            segmentLog.sync(segmentLog.append(snapshotInfo, snapshot));
+            if (log.isDebugEnabled()) {
+                log.debug("Incremental persistence of '" + snapshotInfo.getSiddhiAppId() +
+                        "' with revision '" + snapshotInfo.getRevision() + "' persisted successfully.");
+            }
+        } catch (IOException | PersistenceStoreException e) {
+            log.error("Cannot save the revision '" + snapshotInfo.getRevision() + "' of SiddhiApp: '" +
+                    snapshotInfo.getSiddhiAppId() + "' to the file system.", e);
+        }
+    }
+
+    @Override
+    public void setProperties(Map properties) {
+        Object threshold = properties.get(COMPACTION_THRESHOLD);
+        if (threshold != null) {
+            compactionThreshold = validateCompactionThreshold(threshold);
+        }
+    }
+
+    @Override
+    public byte[] load(IncrementalSnapshotInfo snapshotInfo) {
+        byte[] bytes = null;
+        try {
+            SegmentLog segmentLog = getSegmentLog(snapshotInfo.getSiddhiAppId(), false);
+            if (segmentLog != null) {
+                bytes = segmentLog.read(snapshotInfo.getRevision());
+            }
+            if (bytes == null) {
+                log.error("Cannot load the revision '" + snapshotInfo.getRevision() + "' of SiddhiApp '" +
+                        snapshotInfo.getSiddhiAppId() + "' as it is not found in the file system.");
+            } else if (log.isDebugEnabled()) {
+                log.debug("State loaded for SiddhiApp '" + snapshotInfo.getSiddhiAppId() + "' revision '" +
+                        snapshotInfo.getRevision() + "' from file system.");
+            }
+        } catch (IOException | PersistenceStoreException e) {
+            log.error("Cannot load the revision '" + snapshotInfo.getRevision() + "' of SiddhiApp '" +
+                    snapshotInfo.getSiddhiAppId() + "' from file system.", e);
+        }
+        return bytes;
+    }
+
+    @Override
+    public List<IncrementalSnapshotInfo> getListOfRevisionsToLoad(long restoreTime, String siddhiAppName) {
+        SegmentLog segmentLog = getSegmentLog(siddhiAppName, false);
+        if (segmentLog == null) {
+            return null;
+        }
+        List<IncrementalSnapshotInfo> results = new ArrayList<>();
+        for (IncrementalSnapshotInfo snapshotInfo : segmentLog.getSnapshotInfos()) {
+            if (snapshotInfo.getTime() <= restoreTime && snapshotInfo.getQueryName() != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("List of revisions to load : " + snapshotInfo.getRevision());
+                }
+                results.add(snapshotInfo);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public String getLastRevision(String siddhiAppName) {
+        SegmentLog segmentLog = getSegmentLog(siddhiAppName, false);
+        if (segmentLog == null) {
+            return null;
+        }
+        IncrementalSnapshotInfo lastSnapshotInfo = null;
+        for (IncrementalSnapshotInfo snapshotInfo : segmentLog.getSnapshotInfos()) {
+            if (snapshotInfo.getQueryName() != null &&
+                    (lastSnapshotInfo == null || snapshotInfo.getTime() > lastSnapshotInfo.getTime())) {
+                lastSnapshotInfo = snapshotInfo;
+            }
+        }
+        if (lastSnapshotInfo != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Latest revision to load: " + lastSnapshotInfo.getTime() +
+                        PersistenceConstants.REVISION_SEPARATOR + siddhiAppName);
+            }
+            return lastSnapshotInfo.getRevision();
+        }
+        return null;
+    }
+
+    @Override
+    public void clearAllRevisions(String siddhiAppName) {
+        SegmentLog segmentLog = segmentLogMap.remove(siddhiAppName);
+        if (segmentLog != null) {
+            segmentLog.close();
+        }
+        // A compaction file is left behind when the store stops while compacting
+        File compactionFile = getSegmentFile(siddhiAppName, COMPACTION_FILE_NAME);
+        if (compactionFile.exists() && !compactionFile.delete()) {
+            log.error("file is not deleted successfully : " + compactionFile.getName());
+            throw new CannotClearSiddhiAppStateException("Persistence state " +
+                    "file is not deleted : " + compactionFile.getName());
+        }
+        File segmentFile = getSegmentFile(siddhiAppName, SEGMENT_FILE_NAME);
+        if (!segmentFile.exists()) {
+            log.info("No revisions were found to delete for the Siddhi App " + siddhiAppName);
+            return;
+        }
+        if (!segmentFile.delete()) {
+            log.error("file is not deleted successfully : " + segmentFile.getName());
+            throw new CannotClearSiddhiAppStateException("Persistence state " +
+                    "file is not deleted : " + segmentFile.getName());
+        }
+    }
+
+    private File getSegmentFile(String siddhiAppName, String fileName) {
+        return new File(folder + File.separator + siddhiAppName + File.separator + fileName);
+    }
+
+    private SegmentLog getSegmentLog(String siddhiAppName, boolean create) {
+        SegmentLog segmentLog = segmentLogMap.get(siddhiAppName);
+        if (segmentLog != null) {
+            return segmentLog;
+        }
+        if (!create && !getSegmentFile(siddhiAppName, SEGMENT_FILE_NAME).exists()) {
+            return null;
+        }
+        return segmentLogMap.computeIfAbsent(siddhiAppName, name -> {
+            try {
+                return new SegmentLog(name);
+            } catch (IOException e) {
+                throw new PersistenceStoreException("Cannot open the persistence segment of SiddhiApp '" +
+                        name + "'.", e);
+            }
+        });
+    }
+
+    /**
+     * Record of the segment, referring the position of a snapshot.
+     */
+    private static class Record {
+        private final IncrementalSnapshotInfo snapshotInfo;
+        private final long start;
+        private final int size;
+        private final int length;
+
+        private Record(IncrementalSnapshotInfo snapshotInfo, long start, int size, int length) {
+            this.snapshotInfo = snapshotInfo;
+            this.start = start;
+            this.size = size;
+            this.length = length;
+        }
+
+        private long getSnapshotPosition() {
+            return start + size - length;
+        }
+    }
+
+    /**
+     * Append-only segment of a Siddhi App, with the index of its live records.
+     */
+    private class SegmentLog {
+        private final String siddhiAppName;
+        private final File segmentFile;
+        private final Object syncLock = new Object();
+        private final Map<String, Record> recordMap = new HashMap<>();
+        private final Map<String, List<Record>> recordsOfElementMap = new HashMap<>();
+        private FileChannel channel;
+        private volatile long writePosition;
+        private long syncedPosition;
+        private long liveBytes;
+        private long supersededBytes;
+        private long incrementBytes;
+        private MappedByteBuffer mappedBuffer;
+        private boolean compactionScheduled;
+
+        private SegmentLog(String siddhiAppName) throws IOException {
+            this.siddhiAppName = siddhiAppName;
+            this.segmentFile = getSegmentFile(siddhiAppName, SEGMENT_FILE_NAME);
+            Files.createDirectories(segmentFile.toPath().getParent());
+            channel = FileChannel.open(segmentFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            scan();
+        }
+
+        /**
+         * Rebuild the index from the records of the segment, discarding any partially written record at its end.
+         */
+        private void scan() throws IOException {
+            long size = channel.size();
+            long position = 0;
+            ByteBuffer header = ByteBuffer.allocate(4);
+            while (position + RECORD_HEADER_SIZE <= size) {
+                header.clear();
+                if (!readFully(header, position)) {
+                    break;
+                }
+                int revisionLength = header.getInt(0);
+                if (revisionLength <= 0 || position + RECORD_HEADER_SIZE + revisionLength > size) {
+                    break;
+                }
+                ByteBuffer body = ByteBuffer.allocate(revisionLength + 8);
+                if (!readFully(body, position + 4)) {
+                    break;
+                }
+                int length = body.getInt(revisionLength);
+                int checksum = body.getInt(revisionLength + 4);
+                int recordSize = RECORD_HEADER_SIZE + revisionLength + length;
+                if (length < 0 || position + recordSize > size) {
+                    break;
+                }
+                ByteBuffer snapshot = ByteBuffer.allocate(length);
+                if (!readFully(snapshot, position + recordSize - length) ||
+                        checksum != checksum(snapshot.array())) {
+                    break;
+                }
+                String revision = new String(body.array(), 0, revisionLength, StandardCharsets.UTF_8);
+                index(new Record(PersistenceHelper.convertRevision(revision), position, recordSize, length));
+                position += recordSize;
+            }
+            if (position < size) {
+                log.warn("Discarding the incomplete records at the end of the persistence segment of SiddhiApp '" +
+                        siddhiAppName + "', from position " + position + ".");
+                channel.truncate(position);
+            }
+            writePosition = position;
+            syncedPosition = position;
+        }
+
+        private boolean readFully(ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    return false;
+                }
+                position += read;
+            }
+            return true;
+        }
+
+        /**
+         * Append the snapshot to the segment.
+         *
+         * @return position up to which the segment needs to be synced for the snapshot to be durable
+         */
+        private synchronized long append(IncrementalSnapshotInfo snapshotInfo, byte[] snapshot) throws IOException {
+            ByteBuffer buffer = encode(snapshotInfo, snapshot);
+            int recordSize = buffer.remaining();
+            long position = writePosition;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            index(new Record(snapshotInfo, writePosition, recordSize, snapshot.length));
+            writePosition = position;
+            long compactableBytes = supersededBytes + incrementBytes;
+            if (!compactionScheduled && compactableBytes >= compactionThreshold &&
+                    compactableBytes >= liveBytes - incrementBytes) {
+                compactionScheduled = true;
+                compactionExecutorService.execute(this::compact);
+            }
+            return position;
+        }
+
+        private ByteBuffer encode(IncrementalSnapshotInfo snapshotInfo, byte[] snapshot) {
+            byte[] revision = snapshotInfo.getRevision().getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + revision.length + snapshot.length);
+            buffer.putInt(revision.length).put(revision).putInt(snapshot.length).putInt(checksum(snapshot))
+                    .put(snapshot);
+            buffer.flip();
+            return buffer;
+        }
+
+        /**
+         * Sync the segment up to the given position, such that a single fsync covers all the snapshots appended
+         * concurrently.
+         */
+        private void sync(long position) throws IOException {
+            synchronized (syncLock) {
+                if (channel != null && syncedPosition < position) {
+                    long appendedPosition = writePosition;
+                    channel.force(false);
+                    syncedPosition = appendedPosition;
+                }
+            }
+        }
+
+        private void index(Record record) {
+            IncrementalSnapshotInfo snapshotInfo = record.snapshotInfo;
+            Record replacedRecord = recordMap.put(snapshotInfo.getRevision(), record);
+            List<Record> records = recordsOfElementMap.computeIfAbsent(snapshotInfo.getId(),
+                    id -> new ArrayList<>());
+            if (replacedRecord != null) {
+                records.remove(replacedRecord);
+                supersede(replacedRecord);
+            }
+            records.add(record);
+            liveBytes += record.size;
+            if (snapshotInfo.getType() == IncrementalSnapshotInfo.SnapshotType.INCREMENT) {
+                incrementBytes += record.size;
+                return;
+            }
+            // Same as cleaning old revisions, a base supersedes the older non periodic snapshots of the element,
+            // and a periodic snapshot supersedes the older periodic snapshots
+            for (Iterator<Record> iterator = records.iterator(); iterator.hasNext(); ) {
+                Record olderRecord = iterator.next();
+                IncrementalSnapshotInfo olderSnapshotInfo = olderRecord.snapshotInfo;
+                if (olderSnapshotInfo.getTime() < snapshotInfo.getTime() &&
+                        ((snapshotInfo.getType() == IncrementalSnapshotInfo.SnapshotType.BASE &&
+                                olderSnapshotInfo.getType() != IncrementalSnapshotInfo.SnapshotType.PERIODIC) ||
+                                (snapshotInfo.getType() == IncrementalSnapshotInfo.SnapshotType.PERIODIC &&
+                                        olderSnapshotInfo.getType() ==
+                                                IncrementalSnapshotInfo.SnapshotType.PERIODIC))) {
+                    iterator.remove();
+                    recordMap.remove(olderSnapshotInfo.getRevision());
+                    supersede(olderRecord);
+                }
+            }
+        }
+
+        private void supersede(Record record) {
+            liveBytes -= record.size;
+            supersededBytes += record.size;
+            if (record.snapshotInfo.getType() == IncrementalSnapshotInfo.SnapshotType.INCREMENT) {
+                // Increments folded by an earlier compaction are no longer counted
+                incrementBytes = Math.max(0, incrementBytes - record.size);
+            }
+        }
+
+        private synchronized List<IncrementalSnapshotInfo> getSnapshotInfos() {
+            List<IncrementalSnapshotInfo> snapshotInfos = new ArrayList<>(recordMap.size());
+            for (Record record : recordMap.values()) {
+                snapshotInfos.add(record.snapshotInfo);
+            }
+            return snapshotInfos;
+        }
+
+        private byte[] read(String revision) throws IOException {
+            ByteBuffer buffer;
+            long position;
+            int length;
+            synchronized (this) {
+                Record record = recordMap.get(revision);
+                if (record == null) {
+                    return null;
+                }
+                position = record.getSnapshotPosition();
+                length = record.length;
+                if (writePosition <= Integer.MAX_VALUE) {
+                    if (mappedBuffer == null || mappedBuffer.capacity() < position + length) {
+                        mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, writePosition);
+                    }
+                    buffer = mappedBuffer.duplicate();
+                    buffer.position((int) position);
+                } else {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                }
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return bytes;
+        }
+
+        /**
+         * Rewrite the segment with only the live records, dropping the superseded ones and folding the increments
+         * of each element into its base.
+         */
+        private void compact() {
+            synchronized (this) {
+                synchronized (syncLock) {
+                    compactionScheduled = false;
+                    if (channel == null) {
+                        return;
+                    }
+                    Path compactionPath = getSegmentFile(siddhiAppName, COMPACTION_FILE_NAME).toPath();
+                    Map<Record, Record> foldedRecords = new HashMap<>();
+                    Map<Record, byte[]> foldedSnapshots = new HashMap<>();
+                    for (List<Record> elementRecords : recordsOfElementMap.values()) {
+                        fold(elementRecords, foldedRecords, foldedSnapshots);
+                    }
+                    List<Record> records = new ArrayList<>(recordMap.values());
+                    records.sort(Comparator.comparingLong(record -> record.start));
+                    List<Record> compactedRecords = new ArrayList<>(records.size());
+                    try {
+                        long position = 0;
+                        try (FileChannel compactionChannel = FileChannel.open(compactionPath,
+                                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                StandardOpenOption.WRITE)) {
+                            for (Record record : records) {
+                                Record compactedRecord;
+                                if (foldedSnapshots.containsKey(record)) {
+                                    // The folded record takes the place of the base it is folded into
+                                    Record foldedRecord = foldedRecords.get(record);
+                                    ByteBuffer buffer = encode(foldedRecord.snapshotInfo,
+                                            foldedSnapshots.get(record));
+                                    while (buffer.hasRemaining()) {
+                                        compactionChannel.write(buffer);
+                                    }
+                                    compactedRecord = new Record(foldedRecord.snapshotInfo, position,
+                                            foldedRecord.size, foldedRecord.length);
+                                } else if (foldedRecords.containsKey(record)) {
+                                    continue;
+                                } else {
+                                    long transferred = 0;
+                                    while (transferred < record.size) {
+                                        transferred += channel.transferTo(record.start + transferred,
+                                                record.size - transferred, compactionChannel);
+                                    }
+                                    compactedRecord = new Record(record.snapshotInfo, position, record.size,
+                                            record.length);
+                                }
+                                compactedRecords.add(compactedRecord);
+                                position += compactedRecord.size;
+                            }
+                            compactionChannel.force(true);
+                        }
+                        channel.close();
+                        Files.move(compactionPath, segmentFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                                StandardCopyOption.ATOMIC_MOVE);
+                        channel = FileChannel.open(segmentFile.toPath(), StandardOpenOption.READ,
+                                StandardOpenOption.WRITE);
+                        recordMap.clear();
+                        recordsOfElementMap.clear();
+                        liveBytes = 0;
+                        for (Record record : compactedRecords) {
+                            index(record);
+                        }
+                        writePosition = position;
+                        syncedPosition = position;
+                        supersededBytes = 0;
+                        incrementBytes = 0;
+                        mappedBuffer = null;
+                        if (log.isDebugEnabled()) {
+                            log.debug("Compacted the persistence segment of SiddhiApp '" + siddhiAppName +
+                                    "' to " + position + " bytes.");
+                        }
+                    } catch (IOException e) {
+                        log.error("Error in compacting the persistence segment of SiddhiApp '" +
+                                siddhiAppName + "'.", e);
+                        try {
+                            if (!channel.isOpen()) {
+                                channel = FileChannel.open(segmentFile.toPath(), StandardOpenOption.READ,
+                                        StandardOpenOption.WRITE);
+                            }
+                        } catch (IOException ex) {
+                            log.error("Cannot reopen the persistence segment of SiddhiApp '" +
+                                    siddhiAppName + "'.", ex);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Fold the increments of an element into its base, the same way the snapshot service combines them during
+         * restore, such that each snapshot item holds the list of its base and increment snapshots. The folded
+         * record is a base at the time of the latest increment, and the element is left as it is when its records
+         * cannot be read or do not hold snapshots.
+         *
+         * @param elementRecords  live records of the element
+         * @param foldedRecords   map to add the folded record against the base and each folded increment
+         * @param foldedSnapshots map to add the folded snapshot against the base
+         */
+        private void fold(List<Record> elementRecords, Map<Record, Record> foldedRecords,
+                          Map<Record, byte[]> foldedSnapshots) {
+            Record base = null;
+            List<Record> increments = new ArrayList<>();
+            for (Record record : elementRecords) {
+                if (record.snapshotInfo.getType() == IncrementalSnapshotInfo.SnapshotType.BASE) {
+                    base = record;
+                } else if (record.snapshotInfo.getType() == IncrementalSnapshotInfo.SnapshotType.INCREMENT) {
+                    increments.add(record);
+                }
+            }
+            if (base == null || increments.isEmpty()) {
+                return;
+            }
+            increments.sort(Comparator.comparingLong(record -> record.snapshotInfo.getTime()));
+            try {
+                Map<String, Object> foldedState = new HashMap<>();
+                long time = base.snapshotInfo.getTime();
+                if (!foldInto(foldedState, base)) {
+                    return;
+                }
+                for (Record increment : increments) {
+                    if (!foldInto(foldedState, increment)) {
+                        return;
+                    }
+                    time = Math.max(time, increment.snapshotInfo.getTime());
+                }
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
+                    objectOutputStream.writeObject(foldedState);
+                }
+                byte[] snapshot = outputStream.toByteArray();
+                IncrementalSnapshotInfo snapshotInfo = base.snapshotInfo;
+                IncrementalSnapshotInfo foldedSnapshotInfo = new IncrementalSnapshotInfo(
+                        snapshotInfo.getSiddhiAppId(), snapshotInfo.getPartitionId(), snapshotInfo.getQueryName(),
+                        snapshotInfo.getElementId(), time, IncrementalSnapshotInfo.SnapshotType.BASE,
+                        snapshotInfo.getPartitionGroupByKey());
+                Record foldedRecord = new Record(foldedSnapshotInfo, base.start,
+                        encode(foldedSnapshotInfo, snapshot).remaining(), snapshot.length);
+                foldedRecords.put(base, foldedRecord);
+                for (Record increment : increments) {
+                    foldedRecords.put(increment, foldedRecord);
+                }
+                foldedSnapshots.put(base, snapshot);
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                log.warn("Cannot fold the increments of '" + base.snapshotInfo.getId() + "' in the persistence " +
+                        "segment of SiddhiApp '" + siddhiAppName + "', hence they are kept as they are.", e);
+            }
+        }
+
+        /**
+         * Add the snapshot items of the record to the folded state.
+         *
+         * @return false if the record holds items that are not snapshots, and cannot be folded
+         */
+        @SuppressWarnings("unchecked")
+        private boolean foldInto(Map<String, Object> foldedState, Record record)
+                throws IOException, ClassNotFoundException {
+            ByteBuffer buffer = ByteBuffer.allocate(record.length);
+            if (!readFully(buffer, record.getSnapshotPosition())) {
+                throw new IOException("Cannot read the revision '" + record.snapshotInfo.getRevision() + "'.");
+            }
+            Map<String, Object> itemSnapshots;
+            try (ObjectInputStream objectInputStream =
+                         new ObjectInputStream(new ByteArrayInputStream(buffer.array()))) {
+                itemSnapshots = (Map<String, Object>) objectInputStream.readObject();
+            }
+            for (Map.Entry<String, Object> itemSnapshot : itemSnapshots.entrySet()) {
+                if (!(itemSnapshot.getValue() instanceof Snapshot)) {
+                    return false;
+                }
+                Snapshot snapshot = (Snapshot) itemSnapshot.getValue();
+                SnapshotStateList snapshotStateList = (SnapshotStateList) foldedState.computeIfAbsent(
+                        itemSnapshot.getKey(), key -> new SnapshotStateList());
+                if (!snapshot.isIncrementalSnapshot()) {
+                    snapshotStateList.getSnapshotStates().clear();
+                }
+                snapshotStateList.putSnapshotState(record.snapshotInfo.getTime(), snapshot);
+            }
+            return true;
+        }
+
+        private void close() {
+            synchronized (this) {
+                synchronized (syncLock) {
+                    try {
+                        if (channel != null) {
+                            channel.close();
+                        }
+                    } catch (IOException e) {
+                        log.error("Error in closing the persistence segment of SiddhiApp '" +
+                                siddhiAppName + "'.", e);
+                    }
+                    channel = null;
+                    mappedBuffer = null;
+                }
+            }
+        }
+    }
+
+    private static int checksum(byte[] bytes) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes, 0, bytes.length);
+        return (int) crc32.getValue();
+    }
+}
@@ -35,13 +35,20 @@ import io.siddhi.core.util.snapshot.state.State;
 import io.siddhi.core.util.snapshot.state.StateHolder;
 import org.apache.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service level implementation to take/restore snapshots of processing elements.
@@ -54,6 +61,8 @@ public class SnapshotService {
     private final ThreadBarrier threadBarrier;
     private ConcurrentHashMap<String, PartitionIdStateHolder> partitionIdStates;
     private SiddhiAppContext siddhiAppContext;
+    private final AtomicInteger elementsToRestoreCount = new AtomicInteger();
+    private final AtomicInteger restoredElementCount = new AtomicInteger();
 
     public SnapshotService(SiddhiAppContext siddhiAppContext) {
         this.siddhiAppContext = siddhiAppContext;
@@ -72,21 +81,33 @@ public class SnapshotService {
     public Map<String, StateHolder> getStateHolderMap(String partitionId, String queryName) {
         Boolean skipSnapshotable = skipStateStorageThreadLocal.get();
         if (skipSnapshotable == null || !skipSnapshotable) {
-            PartitionIdStateHolder partitionIdStateHolder = this.partitionIdStates.get(partitionId);
-            if (partitionIdStateHolder == null) {
-                partitionIdStateHolder = new PartitionIdStateHolder(partitionId);
-                this.partitionIdStates.put(partitionId, partitionIdStateHolder);
-            }
-            ElementStateHolder elementStateHolder = partitionIdStateHolder.getElementState(queryName);
-            if (elementStateHolder == null) {
-                elementStateHolder = new ElementStateHolder(queryName, new HashMap<>());
-                partitionIdStateHolder.addElementState(queryName, elementStateHolder);
-            }
-            return elementStateHolder.elementHolderMap;
+            PartitionIdStateHolder partitionIdStateHolder = this.partitionIdStates.computeIfAbsent(partitionId,
+                    PartitionIdStateHolder::new);
+            return partitionIdStateHolder.queryStateHolderMap.computeIfAbsent(queryName,
+                    elementId -> new ElementStateHolder(elementId, new HashMap<>())).elementHolderMap;
         }
         return null;
     }
 
+    /**
+     * Get the number of elements whose states are being restored by the ongoing or the last restore.
+     *
+     * @return number of elements to restore
+     */
+    public int getElementsToRestoreCount() {
+        return elementsToRestoreCount.get();
+    }
+
+    /**
+     * Get the number of elements whose states are restored so far by the ongoing or the last restore, to track the
+     * progress of the restore.
+     *
+     * @return number of restored elements
+     */
+    public int getRestoredElementCount() {
+        return restoredElementCount.get();
+    }
+
     public byte[] fullSnapshot() {
         try {
             SnapshotRequest.requestForFullSnapshot(true);
@@ -348,7 +369,8 @@ public class SnapshotService {
             try {
                 //cleaning old group by states
                 cleanGroupByStates();
-                //restore data
+                //restore data, where the states of each element are restored by a single task
+                Map<String, List<Runnable>> elementRestoreTasks = new LinkedHashMap<>();
                 for (Map.Entry<String, Map<String, Map<String, Map<String, Map<String, Object>>>>> partitionIdSnapshot :
                         fullSnapshot.entrySet()) {
                     PartitionIdStateHolder partitionStateHolder = partitionIdStates.get(partitionIdSnapshot.getKey());
@@ -371,53 +393,26 @@ public class SnapshotService {
                                 if (stateHolder == null) {
                                     continue;
                                 }
-                                try {
-                                    String partitionKey = null;
-                                    String groupByKey = null;
-                                    if (partitionGroupByKeySnapshot.getKey() != null) {
-                                        String[] keys = partitionGroupByKeySnapshot.getKey().split("--");
-                                        if (keys.length == 2) {
-                                            if (!keys[0].equals("null")) {
-                                                partitionKey = keys[0];
-                                            }
-                                            if (!keys[1].equals("null")) {
-                                                groupByKey = keys[1];
-                                            }
-                                        }
-                                    }
-                                    SiddhiAppContext.startPartitionFlow(partitionKey);
-                                    SiddhiAppContext.startGroupByFlow(groupByKey);
-                                    State state = stateHolder.getState();
-                                    try {
-                                        if (state == null) {
-                                            continue;
-                                        }
-                                        Map<String, Object> snapshotRestores = new HashMap<>();
-                                        for (Map.Entry<String, Object> itemSnapshot :
-                                                elementSnapshot.getValue().entrySet()) {
-                                            if (itemSnapshot.getValue() instanceof Snapshot) {
-                                                SnapshotStateList snapshotStateList = new SnapshotStateList();
-                                                snapshotStateList.putSnapshotState(0L,
-                                                        (Snapshot) itemSnapshot.getValue());
-                                                snapshotRestores.put(itemSnapshot.getKey(), snapshotStateList);
-                                            } else {
-                                                snapshotRestores.put(itemSnapshot.getKey(),
-                                                        itemSnapshot.getValue());
-                                            }
-                                        }
-                                        state.restore(snapshotRestores);
-                                    } finally {
-                                        stateHolder.returnState(state);
-                                    }
-                                } finally {
-                                    SiddhiAppContext.stopPartitionFlow();
-                                    SiddhiAppContext.stopGroupByFlow();
-                                }
+                                elementRestoreTasks.computeIfAbsent(partitionIdSnapshot.getKey() +
+                                        PersistenceConstants.REVISION_SEPARATOR + querySnapshot.getKey() +
+                                        PersistenceConstants.REVISION_SEPARATOR + elementSnapshot.getKey(),
+                                        k -> new ArrayList<>()).add(() -> restoreElementSnapshot(stateHolder,
+                                        partitionGroupByKeySnapshot.getKey(), elementSnapshot.getValue()));
                             }
                         }
                     }
 
                 }
+                List<Runnable> restoreTasks = new ArrayList<>(elementRestoreTasks.size());
+                for (List<Runnable> elementRestores : elementRestoreTasks.values()) {
+                    restoreTasks.add(() -> {
+                        for (Runnable elementRestore : elementRestores) {
+                            elementRestore.run();
+                        }
+                        restoredElementCount.incrementAndGet();
+                    });
+                }
+                runRestoreTasks(restoreTasks);
             } catch (Throwable t) {
                 throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " +
                         siddhiAppContext.getName() + " not completed properly because content of Siddhi " +
@@ -429,6 +424,49 @@ public class SnapshotService {
         }
     }
 
+    private void restoreElementSnapshot(StateHolder stateHolder, String partitionGroupByKey,
+                                        Map<String, Object> elementSnapshot) {
+        try {
+            String partitionKey = null;
+            String groupByKey = null;
+            if (partitionGroupByKey != null) {
+                String[] keys = partitionGroupByKey.split("--");
+                if (keys.length == 2) {
+                    if (!keys[0].equals("null")) {
+                        partitionKey = keys[0];
+                    }
+                    if (!keys[1].equals("null")) {
+                        groupByKey = keys[1];
+                    }
+                }
+            }
+            SiddhiAppContext.startPartitionFlow(partitionKey);
+            SiddhiAppContext.startGroupByFlow(groupByKey);
+            State state = stateHolder.getState();
+            try {
+                if (state == null) {
+                    return;
+                }
+                Map<String, Object> snapshotRestores = new HashMap<>();
+                for (Map.Entry<String, Object> itemSnapshot : elementSnapshot.entrySet()) {
+                    if (itemSnapshot.getValue() instanceof Snapshot) {
+                        SnapshotStateList snapshotStateList = new SnapshotStateList();
+                        snapshotStateList.putSnapshotState(0L, (Snapshot) itemSnapshot.getValue());
+                        snapshotRestores.put(itemSnapshot.getKey(), snapshotStateList);
+                    } else {
+                        snapshotRestores.put(itemSnapshot.getKey(), itemSnapshot.getValue());
+                    }
+                }
+                state.restore(snapshotRestores);
+            } finally {
+                stateHolder.returnState(state);
+            }
+        } finally {
+            SiddhiAppContext.stopPartitionFlow();
+            SiddhiAppContext.stopGroupByFlow();
+        }
+    }
+
     public void restore(Map<String, Map<String, Map<String, Map<Long, Map<IncrementalSnapshotInfo, byte[]>>>>>
                                 snapshot)
             throws CannotRestoreSiddhiAppStateException {
@@ -438,7 +476,9 @@ public class SnapshotService {
             try {
                 //cleaning old group by states
                 cleanGroupByStates();
-                //restore data
+                //restore the states of each element by a single task, which applies the snapshots of the element in
+                //order while decoding the next snapshot of the element
+                Map<String, List<IncrementalElementSnapshot>> elementSnapshotsMap = new LinkedHashMap<>();
                 for (Map.Entry<String, Map<String, Map<String, Map<Long, Map<IncrementalSnapshotInfo, byte[]>>>>>
                         partitionIdSnapshot : snapshot.entrySet()) {
                     PartitionIdStateHolder partitionStateHolder = partitionIdStates.get(partitionIdSnapshot.getKey());
@@ -449,11 +489,34 @@ public class SnapshotService {
                          iterator = partitionIdSnapshot.getValue().entrySet().iterator(); iterator.hasNext(); ) {
                         Map.Entry<String, Map<String, Map<Long, Map<IncrementalSnapshotInfo, byte[]>>>>
                                 partitionGroupByKeySnapshot = iterator.next();
-                        restoreIncrementalSnapshot(partitionStateHolder, partitionGroupByKeySnapshot.getValue());
+                        for (Map<Long, Map<IncrementalSnapshotInfo, byte[]>> incrementalStateByTime :
+                                partitionGroupByKeySnapshot.getValue().values()) {
+                            for (Map<IncrementalSnapshotInfo, byte[]> incrementalStateByInfo :
+                                    incrementalStateByTime.values()) {
+                                for (Map.Entry<IncrementalSnapshotInfo, byte[]> incrementalStateByInfoEntry :
+                                        incrementalStateByInfo.entrySet()) {
+                                    IncrementalSnapshotInfo snapshotInfo = incrementalStateByInfoEntry.getKey();
+                                    byte[] bytes = incrementalStateByInfoEntry.getValue();
+                                    elementSnapshotsMap.computeIfAbsent(partitionIdSnapshot.getKey() +
+                                            PersistenceConstants.REVISION_SEPARATOR + snapshotInfo.getQueryName() +
+                                            PersistenceConstants.REVISION_SEPARATOR + snapshotInfo.getElementId(),
+                                            k -> new ArrayList<>()).add(new IncrementalElementSnapshot(
+                                            partitionStateHolder, snapshotInfo, bytes));
+                                }
+                            }
+                        }
                         iterator.remove();
                     }
 
                 }
+                List<Runnable> restoreTasks = new ArrayList<>(elementSnapshotsMap.size());
+                for (List<IncrementalElementSnapshot> elementSnapshots : elementSnapshotsMap.values()) {
+                    restoreTasks.add(() -> {
+                        restoreIncrementalSnapshot(elementSnapshots);
+                        restoredElementCount.incrementAndGet();
+                    });
+                }
+                runRestoreTasks(restoreTasks);
             } catch (Throwable t) {
                 throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " +
                         siddhiAppContext.getName() + " not completed properly because content of Siddhi " +
@@ -465,114 +528,26 @@ public class SnapshotService {
         }
     }
 
-    private void restoreIncrementalSnapshot(PartitionIdStateHolder partitionIdStateHolder,
-                                            Map<String, Map<Long, Map<IncrementalSnapshotInfo,
-                                                    byte[]>>> incrementalStateByTime) {
-        if (incrementalStateByTime != null) {
-            String id = null;
-            State state = null;
-            StateHolder stateHolder = null;
-            Map<String, Object> deserializedStateMap = null;
-            try {
-                for (Iterator<Map.Entry<String, Map<Long, Map<IncrementalSnapshotInfo, byte[]>>>> iterator =
-                     incrementalStateByTime.entrySet().iterator(); iterator.hasNext(); ) {
-                    Map.Entry<String, Map<Long, Map<IncrementalSnapshotInfo, byte[]>>> incrementalStateByTimeEntry =
-                            iterator.next();
-                    iterator.remove();
-                    for (Iterator<Map.Entry<Long, Map<IncrementalSnapshotInfo, byte[]>>> partitionGroupByKeyIterator =
-                         incrementalStateByTimeEntry.getValue().entrySet().iterator();
-                         partitionGroupByKeyIterator.hasNext(); ) {
-                        Map.Entry<Long, Map<IncrementalSnapshotInfo, byte[]>>
-                                partitionGroupByKeyStateByTimeEntry = partitionGroupByKeyIterator.next();
-                        partitionGroupByKeyIterator.remove();
-                        for (Iterator<Map.Entry<IncrementalSnapshotInfo, byte[]>> iterator1 =
-                             partitionGroupByKeyStateByTimeEntry.getValue().entrySet().iterator();
-                             iterator1.hasNext(); ) {
-                            Map.Entry<IncrementalSnapshotInfo, byte[]> incrementalStateByInfoEntry = iterator1.next();
-                            iterator1.remove();
-                            IncrementalSnapshotInfo incrementalSnapshotInfo = incrementalStateByInfoEntry.getKey();
-                            Map<String, Object> singleIncrementSnapshot = (Map<String, Object>)
-                                    ByteSerializer.byteToObject(
-                                            incrementalStateByInfoEntry.getValue(),
-                                            siddhiAppContext);
-                            if (singleIncrementSnapshot != null) {
-                                if (!incrementalSnapshotInfo.getId().equals(id)) {
-                                    if (id != null) {
-                                        state.restore(deserializedStateMap);
-                                        SiddhiAppContext.startPartitionFlow(id);
-                                        try {
-                                            stateHolder.returnState(state);
-                                        } finally {
-                                            SiddhiAppContext.stopPartitionFlow();
-                                        }
-                                        id = null;
-                                        state = null;
-                                        stateHolder = null;
-                                        deserializedStateMap = null;
-                                    }
-                                    ElementStateHolder elementStateHolder = partitionIdStateHolder.
-                                            queryStateHolderMap.get(incrementalSnapshotInfo.getQueryName());
-                                    if (elementStateHolder == null) {
-                                        continue;
-                                    }
-                                    stateHolder = elementStateHolder.elementHolderMap.get(
-                                            incrementalSnapshotInfo.getElementId());
-                                    if (stateHolder == null) {
-                                        continue;
-                                    }
-                                    String partitionKey = null;
-                                    String groupByKey = null;
-                                    String[] keys = incrementalSnapshotInfo.getPartitionGroupByKey().split("--");
-                                    if (keys.length == 2) {
-                                        if (!keys[0].equals("null")) {
-                                            partitionKey = keys[0];
-                                        }
-                                        if (!keys[1].equals("null")) {
-                                            groupByKey = keys[1];
-                                        }
-                                    }
-                                    SiddhiAppContext.startPartitionFlow(partitionKey);
-                                    SiddhiAppContext.startGroupByFlow(groupByKey);
-                                    try {
-                                        state = stateHolder.getState();
-                                    } finally {
-                                        SiddhiAppContext.stopGroupByFlow();
-                                        SiddhiAppContext.stopPartitionFlow();
-                                    }
-                                    if (state != null) {
-                                        id = incrementalSnapshotInfo.getId();
-                                        deserializedStateMap = new HashMap<>();
-                                    }
-                                }
-                                if (state != null) {
-                                    for (Map.Entry<String, Object> singleIncrementSnapshotEntry :
-                                            singleIncrementSnapshot.entrySet()) {
-                                        if (singleIncrementSnapshotEntry.getValue() instanceof Snapshot) {
-                                            Snapshot snapshot = (Snapshot)
-                                                    singleIncrementSnapshotEntry.getValue();
-                                            SnapshotStateList snapshotStateList = (SnapshotStateList)
-                                                    deserializedStateMap.computeIfAbsent(
-                                                            singleIncrementSnapshotEntry.getKey(),
-                                                            k -> new SnapshotStateList());
-                                            if (snapshot.isIncrementalSnapshot()) {
-                                                snapshotStateList.putSnapshotState(
-                                                        partitionGroupByKeyStateByTimeEntry.getKey(),
-                                                        snapshot);
-                                            } else {
-                                                snapshotStateList.getSnapshotStates().clear();
-                                                snapshotStateList.putSnapshotState(
-                                                        partitionGroupByKeyStateByTimeEntry.getKey(),
-                                                        snapshot);
-                                            }
-                                        } else {
-                                            deserializedStateMap.put(singleIncrementSnapshotEntry.getKey(),
-                                                    singleIncrementSnapshotEntry.getValue());
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
+    /**
+     * Restore the states of an element from its snapshots, ordered by their ids and times. Only the snapshot following
+     * the one being applied is decoded meanwhile, such that the decoded snapshots are not all held at once.
+     */
+    private void restoreIncrementalSnapshot(List<IncrementalElementSnapshot> elementSnapshots) {
+        String id = null;
+        State state = null;
+        StateHolder stateHolder = null;
+        Map<String, Object> deserializedStateMap = null;
+        try {
+            CompletableFuture<Object> nextSnapshot = elementSnapshots.get(0).decode();
+            for (int i = 0; i < elementSnapshots.size(); i++) {
+                IncrementalElementSnapshot elementSnapshot = elementSnapshots.get(i);
+                IncrementalSnapshotInfo incrementalSnapshotInfo = elementSnapshot.snapshotInfo;
+                Map<String, Object> singleIncrementSnapshot = (Map<String, Object>) nextSnapshot.join();
+                nextSnapshot = i + 1 < elementSnapshots.size() ? elementSnapshots.get(i + 1).decode() : null;
+                if (singleIncrementSnapshot == null) {
+                    continue;
+                }
+                if (!incrementalSnapshotInfo.getId().equals(id)) {
                     if (id != null) {
                         state.restore(deserializedStateMap);
                         SiddhiAppContext.startPartitionFlow(id);
@@ -586,21 +561,115 @@ public class SnapshotService {
                         stateHolder = null;
                         deserializedStateMap = null;
                     }
-                }
-            } finally {
-                if (id != null && stateHolder != null && state != null) {
-                    SiddhiAppContext.startPartitionFlow(id);
+                    ElementStateHolder elementStateHolder = elementSnapshot.partitionIdStateHolder.
+                            queryStateHolderMap.get(incrementalSnapshotInfo.getQueryName());
+                    if (elementStateHolder == null) {
+                        continue;
+                    }
+                    stateHolder = elementStateHolder.elementHolderMap.get(incrementalSnapshotInfo.getElementId());
+                    if (stateHolder == null) {
+                        continue;
+                    }
+                    String partitionKey = null;
+                    String groupByKey = null;
+                    String[] keys = incrementalSnapshotInfo.getPartitionGroupByKey().split("--");
+                    if (keys.length == 2) {
+                        if (!keys[0].equals("null")) {
+                            partitionKey = keys[0];
+                        }
+                        if (!keys[1].equals("null")) {
+                            groupByKey = keys[1];
+                        }
+                    }
+                    SiddhiAppContext.startPartitionFlow(partitionKey);
+                    SiddhiAppContext.startGroupByFlow(groupByKey);
                     try {
-                        stateHolder.returnState(state);
+                        state = stateHolder.getState();
                     } finally {
+                        SiddhiAppContext.stopGroupByFlow();
                         SiddhiAppContext.stopPartitionFlow();
                     }
-                    id = null;
-                    state = null;
-                    stateHolder = null;
+                    if (state != null) {
+                        id = incrementalSnapshotInfo.getId();
+                        deserializedStateMap = new HashMap<>();
+                    }
+                }
+                if (state != null) {
+                    for (Map.Entry<String, Object> singleIncrementSnapshotEntry :
+                            singleIncrementSnapshot.entrySet()) {
+                        if (singleIncrementSnapshotEntry.getValue() instanceof Snapshot) {
+                            Snapshot snapshot = (Snapshot) singleIncrementSnapshotEntry.getValue();
+                            SnapshotStateList snapshotStateList = (SnapshotStateList)
+                                    deserializedStateMap.computeIfAbsent(singleIncrementSnapshotEntry.getKey(),
+                                            k -> new SnapshotStateList());
+                            if (!snapshot.isIncrementalSnapshot()) {
+                                snapshotStateList.getSnapshotStates().clear();
+                            }
+                            snapshotStateList.putSnapshotState(incrementalSnapshotInfo.getTime(), snapshot);
+                        } else {
+                            deserializedStateMap.put(singleIncrementSnapshotEntry.getKey(),
+                                    singleIncrementSnapshotEntry.getValue());
+                        }
+                    }
                 }
             }
+            if (id != null) {
+                state.restore(deserializedStateMap);
+                SiddhiAppContext.startPartitionFlow(id);
+                try {
+                    stateHolder.returnState(state);
+                } finally {
+                    SiddhiAppContext.stopPartitionFlow();
+                }
+                id = null;
+                state = null;
+                stateHolder = null;
+            }
+        } finally {
+            if (id != null && stateHolder != null && state != null) {
+                SiddhiAppContext.startPartitionFlow(id);
+                try {
+                    stateHolder.returnState(state);
+                } finally {
+                    SiddhiAppContext.stopPartitionFlow();
+                }
+            }
+        }
+    }
 
+    /**
+     * Run the given restore tasks in parallel on the common fork-join pool and wait for their completion, rethrowing
+     * the first failure.
+     */
+    private void runRestoreTasks(List<Runnable> restoreTasks) throws Throwable {
+        elementsToRestoreCount.set(restoreTasks.size());
+        restoredElementCount.set(0);
+        if (restoreTasks.size() <= 1) {
+            for (Runnable restoreTask : restoreTasks) {
+                restoreTask.run();
+            }
+            return;
+        }
+        List<Future<?>> futures = new ArrayList<>(restoreTasks.size());
+        for (Runnable restoreTask : restoreTasks) {
+            futures.add(ForkJoinPool.commonPool().submit(restoreTask));
+        }
+        Throwable failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Restored the states of " + restoreTasks.size() + " elements of SiddhiApp '" +
+                    siddhiAppContext.getName() + "'.");
         }
     }
 
@@ -771,9 +840,37 @@ public class SnapshotService {
         }
     }
 
+    /**
+     * Serialized snapshot of an element to be decoded for an incremental restore.
+     */
+    private class IncrementalElementSnapshot {
+        private final PartitionIdStateHolder partitionIdStateHolder;
+        private final IncrementalSnapshotInfo snapshotInfo;
+        private byte[] bytes;
+
+        private IncrementalElementSnapshot(PartitionIdStateHolder partitionIdStateHolder,
+                                           IncrementalSnapshotInfo snapshotInfo, byte[] bytes) {
+            this.partitionIdStateHolder = partitionIdStateHolder;
+            this.snapshotInfo = snapshotInfo;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Start decoding the snapshot on the common fork-join pool, releasing its serialized bytes once decoded.
+         *
+         * @return the decoded snapshot
+         */
+        private CompletableFuture<Object> decode() {
+            byte[] snapshotBytes = bytes;
+            bytes = null;
+            return CompletableFuture.supplyAsync(() -> ByteSerializer.byteToObject(snapshotBytes, siddhiAppContext),
+                    ForkJoinPool.commonPool());
+        }
+    }
+
     class PartitionIdStateHolder {
         private final String partitionId;
-        private final Map<String, ElementStateHolder> queryStateHolderMap = new HashMap<>();
+        private final Map<String, ElementStateHolder> queryStateHolderMap = new ConcurrentHashMap<>();
 
         public PartitionIdStateHolder(String partitionId) {
             this.partitionId = partitionId;
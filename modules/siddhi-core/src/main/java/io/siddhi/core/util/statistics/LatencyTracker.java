@@ -34,6 +34,14 @@ public interface LatencyTracker {
      */
     void markOut();
 
+    /**
+     * This is to be called to record the latency of an execution that is not started and stopped by the same thread
+     *
+     * @param latencyInNanos latency of the execution in nanoseconds
+     */
+    default void recordLatency(long latencyInNanos) {
+    }
+
     /**
      * @return Name of the latency tracker
      */
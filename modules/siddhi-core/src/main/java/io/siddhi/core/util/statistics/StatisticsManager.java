@@ -28,4 +28,13 @@ public interface StatisticsManager {
     void stopReporting();
 
     void cleanup();
+
+    /**
+     * Report the time taken to build a component of the Siddhi app during its creation.
+     *
+     * @param name        metric name of the component
+     * @param timeInNanos time taken to build the component in nanoseconds
+     */
+    default void reportStartupTime(String name, long timeInNanos) {
+    }
 }
@@ -22,6 +22,8 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import io.siddhi.core.util.statistics.LatencyTracker;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Class to calculate Siddhi latency.
  */
@@ -72,6 +74,11 @@ public class SiddhiLatencyMetric implements LatencyTracker {
         }
     }
 
+    @Override
+    public void recordLatency(long latencyInNanos) {
+        execLatencyTimer.get().update(latencyInNanos, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * @return Name of the latency tracker
      */
@@ -84,6 +84,11 @@ public class SiddhiStatisticsManager implements StatisticsManager {
         }
     }
 
+    @Override
+    public void reportStartupTime(String name, long timeInNanos) {
+        metricRegistry.timer(name).update(timeInNanos, TimeUnit.NANOSECONDS);
+    }
+
     @Override
     public void cleanup() {
 
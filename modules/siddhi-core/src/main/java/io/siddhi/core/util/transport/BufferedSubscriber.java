@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.transport;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import io.siddhi.core.event.Event;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link InMemoryBroker.Subscriber} that decouples the publishers from the wrapped subscriber via a bounded ring
+ * buffer, consumed by a dedicated thread. Publishers block when the buffer is full, hence a slow subscriber applies
+ * backpressure to its publishers instead of dropping messages.
+ * <p>
+ * Consecutive {@link Event} and {@link Event}[] messages consumed together are delivered to the wrapped subscriber
+ * as a single {@link Event}[] batch. As publishers may reuse their events, events are copied when buffered.
+ * Publishers hold the read lock while claiming and publishing a slot, such that stopping waits for the in-flight
+ * publishers before draining the buffer, and the publishers arriving later, or still waiting for a free slot of a
+ * full buffer, deliver to the wrapped subscriber directly.
+ */
+public class BufferedSubscriber implements InMemoryBroker.Subscriber {
+
+    private static final Logger log = Logger.getLogger(BufferedSubscriber.class);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final InMemoryBroker.Subscriber subscriber;
+    private final int bufferSize;
+    private volatile Disruptor<MessageHolder> disruptor;
+    private volatile RingBuffer<MessageHolder> ringBuffer;
+    private volatile boolean stopping;
+    private final ReentrantReadWriteLock publishLock = new ReentrantReadWriteLock();
+
+    public BufferedSubscriber(InMemoryBroker.Subscriber subscriber, int bufferSize) {
+        this.subscriber = subscriber;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Start the consumer thread, must be called before subscribing to the {@link InMemoryBroker}.
+     */
+    public synchronized void start() {
+        if (disruptor != null) {
+            return;
+        }
+        disruptor = new Disruptor<>(MessageHolder::new, bufferSize,
+                new ThreadFactoryBuilder().setNameFormat("Siddhi-InMemory-" + subscriber.getTopic() + "-%d")
+                        .setDaemon(true).build(),
+                ProducerType.MULTI, new BlockingWaitStrategy());
+        disruptor.handleEventsWith(new MessageHandler());
+        ringBuffer = disruptor.start();
+        stopping = false;
+    }
+
+    /**
+     * Deliver the buffered messages and stop the consumer thread, should be called after unsubscribing from the
+     * {@link InMemoryBroker}.
+     */
+    public synchronized void stop() {
+        if (disruptor == null) {
+            return;
+        }
+        stopping = true;
+        publishLock.writeLock().lock();
+        try {
+            ringBuffer = null;
+        } finally {
+            publishLock.writeLock().unlock();
+        }
+        try {
+            disruptor.shutdown(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Dropping the messages buffered for topic '" + subscriber.getTopic() + "', as they were not " +
+                    "consumed within " + SHUTDOWN_TIMEOUT_MILLIS + " milliseconds.");
+            disruptor.halt();
+        }
+        disruptor = null;
+    }
+
+    @Override
+    public void onMessage(Object msg) {
+        publishLock.readLock().lock();
+        try {
+            RingBuffer<MessageHolder> ringBuffer = this.ringBuffer;
+            if (ringBuffer != null) {
+                long sequenceNo = claim(ringBuffer);
+                if (sequenceNo >= 0) {
+                    try {
+                        ringBuffer.get(sequenceNo).message = copy(msg);
+                    } finally {
+                        ringBuffer.publish(sequenceNo);
+                    }
+                    return;
+                }
+            }
+        } finally {
+            publishLock.readLock().unlock();
+        }
+        subscriber.onMessage(msg);
+    }
+
+    @Override
+    public String getTopic() {
+        return subscriber.getTopic();
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Number of messages that are buffered and yet to be consumed.
+     *
+     * @return buffered message count
+     */
+    public long getBufferedMessages() {
+        RingBuffer<MessageHolder> ringBuffer = this.ringBuffer;
+        if (ringBuffer == null) {
+            return 0;
+        }
+        return ringBuffer.getBufferSize() - ringBuffer.remainingCapacity();
+    }
+
+    private long claim(RingBuffer<MessageHolder> ringBuffer) {
+        while (!stopping) {
+            try {
+                return ringBuffer.tryNext();
+            } catch (InsufficientCapacityException e) {
+                LockSupport.parkNanos(1);
+            }
+        }
+        return -1;
+    }
+
+    private Object copy(Object msg) {
+        if (msg instanceof Event) {
+            return copy((Event) msg);
+        } else if (msg instanceof Event[]) {
+            Event[] events = (Event[]) msg;
+            Event[] copiedEvents = new Event[events.length];
+            for (int i = 0; i < events.length; i++) {
+                copiedEvents[i] = copy(events[i]);
+            }
+            return copiedEvents;
+        }
+        return msg;
+    }
+
+    private Event copy(Event event) {
+        return new Event(event.getData().length).copyFrom(event);
+    }
+
+    private static class MessageHolder {
+        private Object message;
+    }
+
+    private class MessageHandler implements EventHandler<MessageHolder> {
+
+        private final List<Event> eventBatch = new ArrayList<>();
+
+        @Override
+        public void onEvent(MessageHolder messageHolder, long sequence, boolean endOfBatch) {
+            Object message = messageHolder.message;
+            messageHolder.message = null;
+            if (message instanceof Event) {
+                eventBatch.add((Event) message);
+            } else if (message instanceof Event[]) {
+                for (Event event : (Event[]) message) {
+                    eventBatch.add(event);
+                }
+            } else {
+                flush();
+                deliver(message);
+            }
+            if (endOfBatch || eventBatch.size() >= bufferSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (eventBatch.isEmpty()) {
+                return;
+            }
+            if (eventBatch.size() == 1) {
+                deliver(eventBatch.get(0));
+            } else {
+                deliver(eventBatch.toArray(new Event[0]));
+            }
+            eventBatch.clear();
+        }
+
+        private void deliver(Object message) {
+            try {
+                subscriber.onMessage(message);
+            } catch (RuntimeException e) {
+                log.error("Error while delivering message '" + message + "' of topic '" + subscriber.getTopic() +
+                        "', " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -19,9 +19,10 @@
 package io.siddhi.core.util.transport;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * In-memory broker to support in-memory transport.
@@ -58,13 +59,18 @@ public class InMemoryBroker {
         String getTopic();
     }
 
+    /**
+     * Broker keeping the subscribers of each topic in copy-on-write arrays, such that messages are published without
+     * acquiring any locks while subscriptions are being changed.
+     */
     private static class MessageBroker implements Broker {
 
+        private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
         private final Object mutex = new Object();
-        private Map<String, List<Subscriber>> topicSubscribers;
+        private final Map<String, Subscriber[]> topicSubscribers;
 
         public MessageBroker() {
-            this.topicSubscribers = new HashMap<>();
+            this.topicSubscribers = new ConcurrentHashMap<>();
         }
 
         @Override
@@ -73,39 +79,36 @@ public class InMemoryBroker {
                 throw new NullPointerException("Subscriber cannot be null.");
             }
             synchronized (mutex) {
-                if (topicSubscribers.containsKey(subscriber.getTopic())) {
-                    if (!topicSubscribers.get(subscriber.getTopic()).contains(subscriber)) {
-                        List<Subscriber> list = new ArrayList<>(topicSubscribers.get(subscriber.getTopic()));
-                        list.add(subscriber);
-                        topicSubscribers.put(subscriber.getTopic(), list);
+                Subscriber[] subscribers = topicSubscribers.getOrDefault(subscriber.getTopic(), NO_SUBSCRIBERS);
+                for (Subscriber existingSubscriber : subscribers) {
+                    if (existingSubscriber.equals(subscriber)) {
+                        return;
                     }
-                } else {
-                    topicSubscribers.put(subscriber.getTopic(), new ArrayList<Subscriber>() {
-                        {
-                            add(subscriber);
-                        }
-                    });
                 }
+                Subscriber[] newSubscribers = Arrays.copyOf(subscribers, subscribers.length + 1);
+                newSubscribers[subscribers.length] = subscriber;
+                topicSubscribers.put(subscriber.getTopic(), newSubscribers);
             }
         }
 
         @Override
         public void unregister(Subscriber subscriber) {
             synchronized (mutex) {
-                try {
-                    List<Subscriber> list = new ArrayList<>(topicSubscribers.get(subscriber.getTopic()));
-                    list.remove(subscriber);
-                    topicSubscribers.put(subscriber.getTopic(), list);
-                } catch (Exception ignored) {
+                Subscriber[] subscribers = topicSubscribers.get(subscriber.getTopic());
+                if (subscribers == null) {
+                    return;
+                }
+                List<Subscriber> newSubscribers = new ArrayList<>(Arrays.asList(subscribers));
+                if (newSubscribers.remove(subscriber)) {
+                    topicSubscribers.put(subscriber.getTopic(), newSubscribers.toArray(NO_SUBSCRIBERS));
                 }
             }
         }
 
         @Override
         public void broadcast(String topic, Object msg) throws SubscriberUnAvailableException {
-            List<Subscriber> subscribers;
-            if (this.topicSubscribers.containsKey(topic) && !this.topicSubscribers.get(topic).isEmpty()) {
-                subscribers = this.topicSubscribers.get(topic);
+            Subscriber[] subscribers = topicSubscribers.get(topic);
+            if (subscribers != null && subscribers.length > 0) {
                 for (Subscriber subscriber : subscribers) {
                     subscriber.onMessage(msg);
                 }
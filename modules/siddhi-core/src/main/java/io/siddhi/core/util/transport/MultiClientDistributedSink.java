@@ -53,7 +53,7 @@ public class MultiClientDistributedSink extends DistributedTransport {
             throws ConnectionUnavailableException {
         Sink transport = transports.get(destinationId);
         try {
-            transport.publish(payload, transportOptions, state);
+            transport.publishToDestination(payload, transportOptions, state);
         } catch (ConnectionUnavailableException e) {
             transport.setConnected(false);
             strategy.destinationFailed(destinationId);
@@ -131,6 +131,11 @@ public class MultiClientDistributedSink extends DistributedTransport {
         transports.forEach(Sink::destroy);
     }
 
+    @Override
+    public List<Sink> getDestinationSinks() {
+        return transports;
+    }
+
     @Override
     public List<ServiceDeploymentInfo> getServiceDeploymentInfoList() {
         List<ServiceDeploymentInfo> serviceDeploymentInfoList = new ArrayList<>();
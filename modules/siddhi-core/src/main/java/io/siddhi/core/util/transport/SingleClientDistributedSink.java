@@ -35,6 +35,7 @@ import io.siddhi.query.api.exception.SiddhiAppValidationException;
 import io.siddhi.query.api.extension.Extension;
 import org.apache.log4j.Logger;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -57,8 +58,12 @@ public class SingleClientDistributedSink extends DistributedTransport {
     public void publish(Object payload, DynamicOptions transportOptions, Integer destinationId, State s)
             throws ConnectionUnavailableException {
         try {
+            if (sink.getPublishQueue() != null) {
+                // Queued payloads are published later, hence each destination needs its own dynamic options
+                transportOptions = new DynamicOptions(transportOptions.getEvent());
+            }
             transportOptions.setVariableOptionIndex(destinationId);
-            sink.publish(payload, transportOptions, s);
+            sink.publishToDestination(payload, transportOptions, s);
         } catch (ConnectionUnavailableException e) {
             sink.setConnected(false);
             strategy.destinationFailed(destinationId);
@@ -142,6 +147,11 @@ public class SingleClientDistributedSink extends DistributedTransport {
         return null;
     }
 
+    @Override
+    public List<Sink> getDestinationSinks() {
+        return Collections.singletonList(sink);
+    }
+
     public List<ServiceDeploymentInfo> getServiceDeploymentInfoList() {
         return sink.getServiceDeploymentInfoList();
     }
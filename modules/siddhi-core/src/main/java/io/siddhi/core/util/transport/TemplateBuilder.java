@@ -21,11 +21,13 @@ package io.siddhi.core.util.transport;
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.NoSuchAttributeException;
-import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.stream.output.sink.SinkMapper;
 import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.definition.StreamDefinition;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -35,13 +37,23 @@ import java.util.regex.Pattern;
 
 /**
  * Template builder used by {@link SinkMapper} to generate custom payload.
+ * <p>
+ * The template is compiled once into its literal segments, kept both as strings and as UTF-8 bytes, and the positions
+ * of the attributes in between them, each written by a writer specific to the attribute type. Hence building a payload
+ * only appends the segments and the attribute values, either to a {@link StringBuilder} presized to the length of the
+ * payloads built before, or as UTF-8 bytes to a reused per-thread buffer, which are handed over to sinks accepting
+ * {@code byte[]} or {@link ByteBuffer} payloads without an intermediate {@link String}.
  */
 public class TemplateBuilder {
 
     private static final Pattern DYNAMIC_PATTERN = Pattern.compile("(\\{\\{[^{}]*\\}\\})|[{}]");
-    private static final String SPLIT_PATTERN = "(\\{.\\{|\\}.\\})";
-    private int[] positionArray;
-    private String[] splitTemplateArray;
+    private static final int MAX_ESTIMATED_LENGTH = 8192;
+    private static final ThreadLocal<ByteWriter> BYTE_WRITER = ThreadLocal.withInitial(ByteWriter::new);
+    private String[] literals;
+    private byte[][] literalBytes;
+    private int[] positions;
+    private AttributeWriter[] attributeWriters;
+    private volatile int estimatedLength;
     private boolean isObjectMessage = false;
     private int objectIndex = -1;
     private Attribute.Type type = Attribute.Type.STRING;
@@ -86,6 +98,60 @@ public class TemplateBuilder {
 
     }
 
+    /**
+     * Build the payload of the given event as UTF-8 bytes. Object messages of {@code byte[]} attributes are returned
+     * as they are.
+     *
+     * @param event event to be mapped
+     * @return the payload bytes, which are not reused and can be handed over to the sink
+     */
+    public byte[] buildBytes(Event event) {
+        return buildBytes(event.getData());
+    }
+
+    /**
+     * Build the payload of the given event as UTF-8 bytes. Object messages of {@code byte[]} attributes are returned
+     * as they are.
+     *
+     * @param complexEvent event to be mapped
+     * @return the payload bytes, which are not reused and can be handed over to the sink
+     */
+    public byte[] buildBytes(ComplexEvent complexEvent) {
+        return buildBytes(complexEvent.getOutputData());
+    }
+
+    /**
+     * Build the payload of the given event as a buffer of UTF-8 bytes. Object messages of {@link ByteBuffer} and
+     * {@code byte[]} attributes are returned as they are, or wrapped without copying them.
+     *
+     * @param event event to be mapped
+     * @return the payload buffer, which is not reused and can be handed over to the sink
+     */
+    public ByteBuffer buildByteBuffer(Event event) {
+        if (isObjectMessage && event.getData()[objectIndex] instanceof ByteBuffer) {
+            return (ByteBuffer) event.getData()[objectIndex];
+        }
+        return ByteBuffer.wrap(buildBytes(event.getData()));
+    }
+
+    private byte[] buildBytes(Object[] data) {
+        if (isObjectMessage) {
+            Object value = data[objectIndex];
+            if (value instanceof byte[]) {
+                return (byte[]) value;
+            }
+            return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        }
+        ByteWriter byteWriter = BYTE_WRITER.get();
+        byteWriter.reset();
+        for (int i = 0; i < positions.length; i++) {
+            byteWriter.write(literalBytes[i]);
+            attributeWriters[i].write(data[positions[i]], byteWriter);
+        }
+        byteWriter.write(literalBytes[positions.length]);
+        return byteWriter.toByteArray();
+    }
+
     private void parse(StreamDefinition streamDefinition, String template) {
 
         if (Arrays.asList(streamDefinition.getAttributeNameArray()).contains(template.trim())) {
@@ -96,62 +162,66 @@ public class TemplateBuilder {
             if (template.matches("^`[^\\s]*`$")) {
                 template = template.replaceAll("^`|`$", "");
             }
-
-            String templateString = parseTextMessage(streamDefinition, template);
-            String[] templateArray = templateString.split(SPLIT_PATTERN);
-            assignTemplateArrayAttributePositions(templateArray, streamDefinition);
-            this.splitTemplateArray = templateArray;
+            compileTextMessage(streamDefinition, template);
         }
     }
 
-    private String parseTextMessage(StreamDefinition streamDefinition, String template) {
+    private void compileTextMessage(StreamDefinition streamDefinition, String template) {
         // note: currently we do not support arbitrary data to be mapped with dynamic options
         List<String> attributes = Arrays.asList(streamDefinition.getAttributeNameArray());
-        StringBuffer result = new StringBuffer();
+        List<String> literalList = new ArrayList<>();
+        List<Integer> positionList = new ArrayList<>();
+        int literalStart = 0;
         Matcher m = DYNAMIC_PATTERN.matcher(template);
         while (m.find()) {
             if (m.group(1) != null) {
-                int attrIndex = attributes.indexOf(m.group(1).replaceAll("\\p{Ps}", "").replaceAll("\\p{Pe}", ""));
+                int attrIndex = attributes.indexOf(m.group(1).replaceAll("\\p{Ps}", "")
+                        .replaceAll("\\p{Pe}", ""));
                 if (attrIndex >= 0) {
-                    m.appendReplacement(result, String.format("{.{%s}.}", attrIndex));
+                    literalList.add(template.substring(literalStart, m.start()));
+                    literalStart = m.end();
+                    positionList.add(attrIndex);
                 } else {
                     throw new NoSuchAttributeException(String.format("Attribute : %s does not exist in %s.",
                             m.group(1), streamDefinition));
                 }
-            } else {
-                m.appendReplacement(result, m.group() + "");
             }
         }
-        m.appendTail(result);
-        return result.toString();
+        literalList.add(template.substring(literalStart));
+
+        this.literals = literalList.toArray(new String[0]);
+        this.literalBytes = new byte[literals.length][];
+        int literalLength = 0;
+        for (int i = 0; i < literals.length; i++) {
+            literalBytes[i] = literals[i].getBytes(StandardCharsets.UTF_8);
+            literalLength += literals[i].length();
+        }
+        this.positions = new int[positionList.size()];
+        this.attributeWriters = new AttributeWriter[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = positionList.get(i);
+            attributeWriters[i] = AttributeWriter.of(
+                    streamDefinition.getAttributeList().get(positions[i]).getType());
+        }
+        this.estimatedLength = Math.min(literalLength + positions.length * 16, MAX_ESTIMATED_LENGTH);
     }
 
     private String formatMessage(Object[] outputData) {
-        StringBuilder stringBuilder = new StringBuilder();
-        for (int i = 0; i < splitTemplateArray.length; i++) {
-            if (i % 2 == 0) {
-                stringBuilder.append(splitTemplateArray[i]);
-            } else {
-                stringBuilder.append(outputData[positionArray[i / 2]]);
-            }
+        StringBuilder stringBuilder = new StringBuilder(estimatedLength);
+        appendMessage(outputData, stringBuilder);
+        // Outsized payloads are not used to presize the builders of the following payloads
+        if (stringBuilder.length() > estimatedLength && stringBuilder.length() <= MAX_ESTIMATED_LENGTH) {
+            estimatedLength = stringBuilder.length();
         }
         return stringBuilder.toString();
     }
 
-    private void assignTemplateArrayAttributePositions(String[] splitTemplateArray,
-                                                       StreamDefinition streamDefinition) {
-        this.positionArray = new int[splitTemplateArray.length / 2];
-        int positionCount = 0;
-        for (int i = 0; i < splitTemplateArray.length; i++) {
-            if (i % 2 != 0) {
-                try {
-                    positionArray[positionCount++] = Integer.parseInt(splitTemplateArray[i]);
-                } catch (NumberFormatException e) {
-                    throw new SiddhiAppCreationException(String.format("Invalid mapping configuration provided in " +
-                            "%s. Mapping parameter should be surrounded only with '{{' and '}}'.", streamDefinition));
-                }
-            }
+    private void appendMessage(Object[] outputData, StringBuilder stringBuilder) {
+        for (int i = 0; i < positions.length; i++) {
+            stringBuilder.append(literals[i]);
+            attributeWriters[i].append(outputData[positions[i]], stringBuilder);
         }
+        stringBuilder.append(literals[positions.length]);
     }
 
     public Attribute.Type getType() {
@@ -161,4 +231,205 @@ public class TemplateBuilder {
     public boolean isObjectMessage() {
         return isObjectMessage;
     }
+
+    /**
+     * Writes the attribute values of a given type, avoiding the intermediate strings where the value can be written
+     * directly.
+     */
+    private enum AttributeWriter {
+        STRING {
+            @Override
+            void append(Object value, StringBuilder stringBuilder) {
+                if (value instanceof String) {
+                    stringBuilder.append((String) value);
+                } else {
+                    stringBuilder.append(value);
+                }
+            }
+
+            @Override
+            void write(Object value, ByteWriter byteWriter) {
+                byteWriter.write(value instanceof String ? (String) value : String.valueOf(value));
+            }
+        },
+        INT {
+            @Override
+            void append(Object value, StringBuilder stringBuilder) {
+                if (value instanceof Integer) {
+                    stringBuilder.append(((Integer) value).intValue());
+                } else {
+                    stringBuilder.append(value);
+                }
+            }
+
+            @Override
+            void write(Object value, ByteWriter byteWriter) {
+                if (value instanceof Integer) {
+                    byteWriter.write(((Integer) value).intValue());
+                } else {
+                    byteWriter.write(String.valueOf(value));
+                }
+            }
+        },
+        LONG {
+            @Override
+            void append(Object value, StringBuilder stringBuilder) {
+                if (value instanceof Long) {
+                    stringBuilder.append(((Long) value).longValue());
+                } else {
+                    stringBuilder.append(value);
+                }
+            }
+
+            @Override
+            void write(Object value, ByteWriter byteWriter) {
+                if (value instanceof Long) {
+                    byteWriter.write(((Long) value).longValue());
+                } else {
+                    byteWriter.write(String.valueOf(value));
+                }
+            }
+        },
+        FLOAT {
+            @Override
+            void append(Object value, StringBuilder stringBuilder) {
+                if (value instanceof Float) {
+                    stringBuilder.append(((Float) value).floatValue());
+                } else {
+                    stringBuilder.append(value);
+                }
+            }
+        },
+        DOUBLE {
+            @Override
+            void append(Object value, StringBuilder stringBuilder) {
+                if (value instanceof Double) {
+                    stringBuilder.append(((Double) value).doubleValue());
+                } else {
+                    stringBuilder.append(value);
+                }
+            }
+        },
+        OBJECT;
+
+        static AttributeWriter of(Attribute.Type type) {
+            switch (type) {
+                case STRING:
+                    return STRING;
+                case INT:
+                    return INT;
+                case LONG:
+                    return LONG;
+                case FLOAT:
+                    return FLOAT;
+                case DOUBLE:
+                    return DOUBLE;
+                default:
+                    return OBJECT;
+            }
+        }
+
+        void append(Object value, StringBuilder stringBuilder) {
+            stringBuilder.append(value);
+        }
+
+        void write(Object value, ByteWriter byteWriter) {
+            byteWriter.write(String.valueOf(value));
+        }
+    }
+
+    /**
+     * Reused buffer the UTF-8 payload bytes are written to, which is not retained beyond 64 KB after building an
+     * outsized payload.
+     */
+    private static class ByteWriter {
+        private static final byte[] NULL_BYTES = "null".getBytes(StandardCharsets.UTF_8);
+        private static final int INITIAL_CAPACITY = 256;
+        private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+        private byte[] buffer = new byte[INITIAL_CAPACITY];
+        private int length;
+
+        void reset() {
+            length = 0;
+            if (buffer.length > MAX_RETAINED_CAPACITY) {
+                buffer = new byte[INITIAL_CAPACITY];
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, capacity));
+            }
+        }
+
+        void write(byte[] bytes) {
+            ensureCapacity(length + bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+
+        void write(int value) {
+            write((long) value);
+        }
+
+        void write(long value) {
+            if (value == Long.MIN_VALUE) {
+                write(Long.toString(value));
+                return;
+            }
+            ensureCapacity(length + 20);
+            if (value < 0) {
+                buffer[length++] = '-';
+                value = -value;
+            }
+            int start = length;
+            do {
+                buffer[length++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                byte digit = buffer[i];
+                buffer[i] = buffer[j];
+                buffer[j] = digit;
+            }
+        }
+
+        void write(String value) {
+            if (value == null) {
+                write(NULL_BYTES);
+                return;
+            }
+            int size = value.length();
+            ensureCapacity(length + size * 3);
+            for (int i = 0; i < size; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    buffer[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    buffer[length++] = (byte) (0xC0 | (c >> 6));
+                    buffer[length++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    if (Character.isHighSurrogate(c) && i + 1 < size &&
+                            Character.isLowSurrogate(value.charAt(i + 1))) {
+                        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                        buffer[length++] = (byte) (0xF0 | (codePoint >> 18));
+                        buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                        buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                        buffer[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                    } else {
+                        // Malformed surrogates are replaced as done when encoding strings
+                        buffer[length++] = '?';
+                    }
+                } else {
+                    buffer[length++] = (byte) (0xE0 | (c >> 12));
+                    buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buffer[length++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+    }
 }
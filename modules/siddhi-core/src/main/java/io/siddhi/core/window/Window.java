@@ -54,6 +54,7 @@ import io.siddhi.query.api.execution.query.output.stream.OutputStream;
 import io.siddhi.query.api.expression.Expression;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
@@ -108,7 +109,10 @@ public class Window implements FindableProcessor, MemoryCalculable {
     private LatencyTracker latencyTrackerFind;
     private ThroughputTracker throughputTrackerFind;
     private ThroughputTracker throughputTrackerInsert;
-
+    /**
+     * Whether the window is implicitly defined to be shared by queries applying the same window on the same stream.
+     */
+    private boolean shared = false;
 
     /**
      * Construct a Window object.
@@ -162,6 +166,9 @@ public class Window implements FindableProcessor, MemoryCalculable {
         boolean outputExpectsExpiredEvents = outputEventType != OutputStream.OutputEventType.CURRENT_EVENTS;
 
         SiddhiQueryContext siddhiQueryContext = new SiddhiQueryContext(siddhiAppContext, windowName);
+        siddhiQueryContext.setOffHeapStorageConfig(QueryParserHelper.createOffHeapStorageConfig(
+                windowDefinition.getAnnotations(), Collections.singletonList(windowDefinition.getWindow()),
+                windowName));
         WindowProcessor internalWindowProcessor = (WindowProcessor) SingleInputStreamParser.generateProcessor
                 (windowDefinition.getWindow(), metaStreamEvent, new ArrayList<VariableExpressionExecutor>(),
                         tableMap, false,
@@ -199,6 +206,20 @@ public class Window implements FindableProcessor, MemoryCalculable {
         this.outputPublisher = publisher;
     }
 
+    /**
+     * Check whether the window is implicitly defined to be shared by queries applying the same window on the same
+     * stream, in which case it is not exposed as a window of the Siddhi app.
+     *
+     * @return true if the window is a shared window
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    public void setShared(boolean shared) {
+        this.shared = shared;
+    }
+
     /**
      * Return the {@link WindowDefinition} used to construct this Window.
      *
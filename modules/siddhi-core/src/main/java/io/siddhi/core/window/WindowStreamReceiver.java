@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.window;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.stream.StreamJunction;
+
+import java.util.List;
+
+/**
+ * {@link StreamJunction.Receiver} that directly adds the events of a stream into a {@link Window}.
+ * Used to feed the windows that are shared by the queries consuming the same stream with the same window.
+ */
+public class WindowStreamReceiver implements StreamJunction.Receiver {
+
+    private final String streamId;
+    private final Window window;
+
+    public WindowStreamReceiver(String streamId, Window window) {
+        this.streamId = streamId;
+        this.window = window;
+    }
+
+    @Override
+    public String getStreamId() {
+        return streamId;
+    }
+
+    @Override
+    public boolean retainsEvents() {
+        // Received events are converted to stream events
+        return false;
+    }
+
+    @Override
+    public void receive(ComplexEvent complexEvent) {
+        ComplexEvent lastEvent = complexEvent;
+        while (lastEvent.getNext() != null) {
+            lastEvent = lastEvent.getNext();
+        }
+        window.add(new ComplexEventChunk<>(complexEvent, lastEvent));
+    }
+
+    @Override
+    public void receive(Event event) {
+        StreamEvent streamEvent = toStreamEvent(event);
+        window.add(new ComplexEventChunk<>(streamEvent, streamEvent));
+    }
+
+    @Override
+    public void receive(List<Event> events) {
+        receive(events.toArray(new Event[0]));
+    }
+
+    @Override
+    public void receive(long timestamp, Object[] data) {
+        StreamEvent streamEvent = new StreamEvent(0, 0, 0);
+        streamEvent.setTimestamp(timestamp);
+        streamEvent.setOutputData(data);
+        window.add(new ComplexEventChunk<>(streamEvent, streamEvent));
+    }
+
+    @Override
+    public void receive(Event[] events) {
+        if (events.length == 0) {
+            return;
+        }
+        StreamEvent firstEvent = toStreamEvent(events[0]);
+        StreamEvent currentEvent = firstEvent;
+        for (int i = 1; i < events.length; i++) {
+            StreamEvent nextEvent = toStreamEvent(events[i]);
+            currentEvent.setNext(nextEvent);
+            currentEvent = nextEvent;
+        }
+        window.add(new ComplexEventChunk<>(firstEvent, currentEvent));
+    }
+
+    public Window getWindow() {
+        return window;
+    }
+
+    private StreamEvent toStreamEvent(Event event) {
+        // The window copies the data on insertion, hence the event data is not cloned here
+        StreamEvent streamEvent = new StreamEvent(0, 0, 0);
+        streamEvent.setTimestamp(event.getTimestamp());
+        streamEvent.setOutputData(event.getData());
+        streamEvent.setType(event.isExpired() ? ComplexEvent.Type.EXPIRED : ComplexEvent.Type.CURRENT);
+        return streamEvent;
+    }
+}
@@ -1132,5 +1132,182 @@ public class Aggregation2TestCase {
         SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(stockStream + query);
         siddhiAppRuntime.shutdown();
     }
-}
 
+    @Test(dependsOnMethods = {"incrementalStreamProcessorTestInvalidTimeZone"})
+    public void incrementalStreamProcessorTestPagedRecovery() throws InterruptedException {
+        LOG.info("incrementalStreamProcessorTestPagedRecovery - Recreate executors from tables in pages");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        Map<String, String> configMap = new HashMap<>();
+        configMap.put("aggRecoveryPageSize", "2");
+        siddhiManager.setConfigManager(new InMemoryConfigManager(null, null, configMap));
+
+        String streams = "" +
+                "define stream stockStream (symbol string, price float, timestamp long); " +
+                "define stream secondsStream (AGG_TIMESTAMP long, AGG_EVENT_TIMESTAMP long, symbol string, " +
+                "AGG_SUM_price double, AGG_COUNT long); ";
+        String query = "" +
+                "define aggregation stockAggregation " +
+                "from stockStream " +
+                "select symbol, sum(price) as totalPrice, avg(price) as avgPrice " +
+                "group by symbol " +
+                "aggregate by timestamp every sec...hour; " +
+                "" +
+                "from secondsStream " +
+                "insert into stockAggregation_SECONDS; ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        siddhiAppRuntime.start();
+        try {
+            // Seconds table records stored before the aggregation executors are initialised, having more records
+            // per timestamp than the recovery page size
+            long timestamp = 1496289900000L;
+            siddhiAppRuntime.getInputHandler("secondsStream").send(new Event[]{
+                    new Event(timestamp, new Object[]{timestamp, timestamp, "WSO2", 10d, 1L}),
+                    new Event(timestamp, new Object[]{timestamp, timestamp, "IBM", 20d, 2L}),
+                    new Event(timestamp, new Object[]{timestamp, timestamp, "ORACLE", 30d, 1L}),
+                    new Event(timestamp, new Object[]{timestamp + 1000, timestamp + 1000, "WSO2", 5d, 1L}),
+                    new Event(timestamp, new Object[]{timestamp + 2000, timestamp + 2000, "WSO2", 5d, 1L}),
+                    new Event(timestamp, new Object[]{timestamp + 2000, timestamp + 2000, "IBM", 4d, 1L}),
+                    new Event(timestamp, new Object[]{timestamp + 60000, timestamp + 60000, "WSO2", 7d, 1L}),
+                    new Event(timestamp, new Object[]{timestamp + 61000, timestamp + 61000, "IBM", 8d, 2L})
+            });
+
+            Event[] events = siddhiAppRuntime.query("" +
+                    "from stockAggregation " +
+                    "within 0L, 2000000000000L " +
+                    "per 'hours' " +
+                    "select AGG_TIMESTAMP, symbol, totalPrice, avgPrice");
+            EventPrinter.print(events);
+            AssertJUnit.assertNotNull(events);
+            List<Object[]> expected = Arrays.asList(
+                    new Object[]{1496289600000L, "IBM", 32.0, 6.4},
+                    new Object[]{1496289600000L, "ORACLE", 30.0, 30.0},
+                    new Object[]{1496289600000L, "WSO2", 27.0, 6.75}
+            );
+            List<Object[]> eventsList = new ArrayList<>();
+            for (Event event : events) {
+                eventsList.add(event.getData());
+            }
+            AssertJUnit.assertTrue("Data Matched", SiddhiTestHelper.isUnsortedEventsMatch(eventsList, expected));
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test(dependsOnMethods = {"incrementalStreamProcessorTestPagedRecovery"})
+    public void incrementalStreamProcessorTestResultCache() throws InterruptedException {
+        LOG.info("incrementalStreamProcessorTestResultCache - Cache aggregates read from the tables");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "@app:playback " +
+                "define stream stockStream (symbol string, price float); " +
+                "define stream hoursStream (AGG_TIMESTAMP long, symbol string, AGG_SUM_price double); ";
+        String query = "" +
+                "@resultCache(size='10', max.bytes='1048576') " +
+                "define aggregation stockAggregation " +
+                "from stockStream " +
+                "select symbol, sum(price) as totalPrice " +
+                "group by symbol " +
+                "aggregate every sec...hour; " +
+                "" +
+                "from hoursStream " +
+                "insert into stockAggregation_HOURS; ";
+        String onDemandQuery = "" +
+                "from stockAggregation " +
+                "within 0L, 2000000000000L " +
+                "per 'hours' " +
+                "select AGG_TIMESTAMP, symbol, totalPrice";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        InputHandler stockStreamInputHandler = siddhiAppRuntime.getInputHandler("stockStream");
+        siddhiAppRuntime.start();
+        try {
+            long hour = 1496289600000L;
+            stockStreamInputHandler.send(hour, new Object[]{"WSO2", 10f});
+            stockStreamInputHandler.send(hour + 1000, new Object[]{"WSO2", 20f});
+            // Completes the first hour, which is written to the hours table
+            stockStreamInputHandler.send(hour + 3600000, new Object[]{"WSO2", 30f});
+            Thread.sleep(500);
+
+            List<Object[]> expected = new ArrayList<>();
+            expected.add(new Object[]{hour, "WSO2", 30.0});
+            expected.add(new Object[]{hour + 3600000, "WSO2", 30.0});
+            AssertJUnit.assertTrue("Data Matched", SiddhiTestHelper.isUnsortedEventsMatch(
+                    toList(siddhiAppRuntime.query(onDemandQuery)), expected));
+
+            // Records written to the aggregation tables by other queries are not visible while cached
+            siddhiAppRuntime.getInputHandler("hoursStream").send(new Object[]{hour - 3600000, "IBM", 50d});
+            // Aggregates of the open hour are computed from the in-memory data
+            stockStreamInputHandler.send(hour + 3601000, new Object[]{"WSO2", 5f});
+            expected.set(1, new Object[]{hour + 3600000, "WSO2", 35.0});
+            AssertJUnit.assertTrue("Data Matched", SiddhiTestHelper.isUnsortedEventsMatch(
+                    toList(siddhiAppRuntime.query(onDemandQuery)), expected));
+
+            // Completing the second hour only reads the newly closed bucket from the hours table
+            stockStreamInputHandler.send(hour + 7200000, new Object[]{"WSO2", 40f});
+            Thread.sleep(500);
+            expected.add(new Object[]{hour + 7200000, "WSO2", 40.0});
+            AssertJUnit.assertTrue("Data Matched", SiddhiTestHelper.isUnsortedEventsMatch(
+                    toList(siddhiAppRuntime.query(onDemandQuery)), expected));
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test(dependsOnMethods = {"incrementalStreamProcessorTestResultCache"})
+    public void incrementalStreamProcessorTestResultCacheMaxBytes() throws InterruptedException {
+        LOG.info("incrementalStreamProcessorTestResultCacheMaxBytes - Aggregates larger than the cache are not " +
+                "cached");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "@app:playback " +
+                "define stream stockStream (symbol string, price float); " +
+                "define stream hoursStream (AGG_TIMESTAMP long, symbol string, AGG_SUM_price double); ";
+        String query = "" +
+                "@resultCache(max.bytes='64') " +
+                "define aggregation stockAggregation " +
+                "from stockStream " +
+                "select symbol, sum(price) as totalPrice " +
+                "group by symbol " +
+                "aggregate every sec...hour; " +
+                "" +
+                "from hoursStream " +
+                "insert into stockAggregation_HOURS; ";
+        String onDemandQuery = "" +
+                "from stockAggregation " +
+                "within 0L, 2000000000000L " +
+                "per 'hours' " +
+                "select AGG_TIMESTAMP, symbol, totalPrice";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        InputHandler stockStreamInputHandler = siddhiAppRuntime.getInputHandler("stockStream");
+        siddhiAppRuntime.start();
+        try {
+            long hour = 1496289600000L;
+            stockStreamInputHandler.send(hour, new Object[]{"WSO2", 10f});
+            stockStreamInputHandler.send(hour + 3600000, new Object[]{"WSO2", 30f});
+            Thread.sleep(500);
+
+            List<Object[]> expected = new ArrayList<>();
+            expected.add(new Object[]{hour, "WSO2", 10.0});
+            expected.add(new Object[]{hour + 3600000, "WSO2", 30.0});
+            AssertJUnit.assertTrue("Data Matched", SiddhiTestHelper.isUnsortedEventsMatch(
+                    toList(siddhiAppRuntime.query(onDemandQuery)), expected));
+
+            // Nothing is cached, hence records written to the aggregation tables are read right away
+            siddhiAppRuntime.getInputHandler("hoursStream").send(new Object[]{hour - 3600000, "IBM", 50d});
+            expected.add(new Object[]{hour - 3600000, "IBM", 50.0});
+            AssertJUnit.assertTrue("Data Matched", SiddhiTestHelper.isUnsortedEventsMatch(
+                    toList(siddhiAppRuntime.query(onDemandQuery)), expected));
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    private List<Object[]> toList(Event[] events) {
+        EventPrinter.print(events);
+        AssertJUnit.assertNotNull(events);
+        List<Object[]> eventsList = new ArrayList<>();
+        for (Event event : events) {
+            eventsList.add(event.getData());
+        }
+        return eventsList;
+    }
+}
@@ -22,20 +22,27 @@ import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
+import io.siddhi.core.exception.PersistenceStoreException;
+import io.siddhi.core.query.extension.util.RestoreProgressFunctionExtension;
 import io.siddhi.core.query.output.callback.QueryCallback;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.core.util.SiddhiTestHelper;
 import io.siddhi.core.util.persistence.IncrementalFileSystemPersistenceStore;
+import io.siddhi.core.util.persistence.IncrementalLogPersistenceStore;
+import io.siddhi.core.util.persistence.util.IncrementalSnapshotInfo;
 import org.apache.log4j.Logger;
 import org.testng.Assert;
 import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -1172,6 +1179,7 @@ public class IncrementalPersistenceTestCase {
         //loading
         try {
             siddhiAppRuntime.restoreLastRevision();
+            AssertJUnit.assertEquals(1.0, siddhiAppRuntime.getRestoreProgress());
         } catch (CannotRestoreSiddhiAppStateException e) {
             Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed");
         }
@@ -1280,4 +1288,277 @@ public class IncrementalPersistenceTestCase {
 
         AssertJUnit.assertEquals(true, eventArrived);
     }
+
+    @Test
+    public void incrementalPersistenceTest13() throws InterruptedException {
+        log.info("Incremental persistence test 13 - length window query with log persistence store");
+        final int inputEventCount = 10;
+        final int eventWindowSize = 4;
+
+        IncrementalLogPersistenceStore persistenceStore = new IncrementalLogPersistenceStore(storageFilePath, 1);
+        persistenceStore.clearAllRevisions("incrementalPersistenceTest13");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setIncrementalPersistenceStore(persistenceStore);
+
+        String siddhiApp = "" +
+                "@app:name('incrementalPersistenceTest13') " +
+                "" +
+                "define stream StockStream ( symbol string, price float, volume int );" +
+                "" +
+                "@info(name = 'query1')" +
+                "from StockStream[price>10]#window.length(" + eventWindowSize + ") " +
+                "select symbol, price, sum(volume) as totalVol " +
+                "insert into OutStream ";
+
+        QueryCallback queryCallback = new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                eventArrived = true;
+                for (Event inEvent : inEvents) {
+                    count++;
+                    lastValue = (Long) inEvent.getData(2);
+                }
+            }
+        };
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        for (int i = 0; i < inputEventCount; i++) {
+            inputHandler.send(new Object[]{"IBM", 75.6f + i, 100});
+        }
+        AssertJUnit.assertEquals(new Long(400), lastValue);
+
+        //persisting
+        siddhiAppRuntime.persist();
+        Thread.sleep(1000);
+
+        inputHandler.send(new Object[]{"IBM", 100.4f, 100});
+        inputHandler.send(new Object[]{"WSO2", 200.4f, 100});
+        inputHandler.send(new Object[]{"IBM", 300.4f, 100});
+        inputHandler.send(new Object[]{"WSO2", 400.4f, 200});
+        siddhiAppRuntime.persist();
+        Thread.sleep(1000);
+        siddhiAppRuntime.persist();
+        Thread.sleep(1000);
+        siddhiAppRuntime.shutdown();
+
+        // All the revisions are kept in a single segment file
+        String[] files = new File(storageFilePath + File.separator + "incrementalPersistenceTest13").list();
+        AssertJUnit.assertNotNull(files);
+        AssertJUnit.assertEquals(Arrays.asList("segment.log"), Arrays.asList(files));
+
+        // Restore through a new store instance, which reads the index from the segment
+        siddhiManager = new SiddhiManager();
+        siddhiManager.setIncrementalPersistenceStore(new IncrementalLogPersistenceStore(storageFilePath));
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        //loading
+        try {
+            siddhiAppRuntime.restoreLastRevision();
+        } catch (CannotRestoreSiddhiAppStateException e) {
+            log.error(e.getMessage(), e);
+            Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed");
+        }
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM", 500.6f, 300});
+        inputHandler.send(new Object[]{"WSO2", 600.6f, 400});
+
+        //shutdown Siddhi app
+        siddhiAppRuntime.shutdown();
+
+        AssertJUnit.assertEquals(new Long(1000), lastValue);
+        AssertJUnit.assertEquals(true, eventArrived);
+    }
+
+    @Test
+    public void incrementalPersistenceTest14() throws InterruptedException {
+        log.info("Incremental persistence test 14 - restore progress of many elements");
+        List<Long> counts = new ArrayList<>();
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setIncrementalPersistenceStore(new IncrementalFileSystemPersistenceStore(storageFilePath));
+        siddhiManager.setExtension("custom:restoreProgress", RestoreProgressFunctionExtension.class);
+
+        String siddhiApp = "" +
+                "@app:name('incrementalPersistenceTest14') " +
+                "define stream StockStream (symbol string, price float, volume int); " +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select custom:restoreProgress(symbol) as count " +
+                "insert into OutStream; " +
+                "@info(name = 'query2') " +
+                "from StockStream[volume > 10] " +
+                "select custom:restoreProgress(price) as count " +
+                "insert into CountStream2; " +
+                "@info(name = 'query3') " +
+                "from StockStream#window.lengthBatch(2) " +
+                "select custom:restoreProgress(volume) as count " +
+                "insert into CountStream3; ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        StreamCallback streamCallback = new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    counts.add((Long) event.getData(0));
+                }
+            }
+        };
+        siddhiAppRuntime.addCallback("OutStream", streamCallback);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        siddhiAppRuntime.persist();
+        Thread.sleep(500);
+        inputHandler.send(new Object[]{"WSO2", 57.6f, 200});
+        siddhiAppRuntime.persist();
+        Thread.sleep(500);
+        siddhiAppRuntime.shutdown();
+
+        RestoreProgressFunctionExtension.RESTORE_PROGRESS.clear();
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        RestoreProgressFunctionExtension.siddhiAppRuntime = siddhiAppRuntime;
+        siddhiAppRuntime.addCallback("OutStream", streamCallback);
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        try {
+            siddhiAppRuntime.restoreLastRevision();
+        } catch (CannotRestoreSiddhiAppStateException e) {
+            Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed");
+        } finally {
+            RestoreProgressFunctionExtension.siddhiAppRuntime = null;
+        }
+        // Each function state is restored while its own element is still being restored
+        AssertJUnit.assertEquals(3, RestoreProgressFunctionExtension.RESTORE_PROGRESS.size());
+        for (double progress : RestoreProgressFunctionExtension.RESTORE_PROGRESS) {
+            AssertJUnit.assertTrue("Restore progress " + progress, progress >= 0 && progress < 1);
+        }
+        AssertJUnit.assertEquals(1.0, siddhiAppRuntime.getRestoreProgress());
+
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"GOOG", 37.6f, 300});
+        siddhiAppRuntime.shutdown();
+
+        AssertJUnit.assertEquals(Arrays.asList(1L, 2L, 3L), counts);
+    }
+
+    @Test
+    public void incrementalPersistenceTest15() throws InterruptedException {
+        log.info("Incremental persistence test 15 - increments folded into their base by the log persistence " +
+                "store");
+        final int eventWindowSize = 4;
+
+        IncrementalLogPersistenceStore persistenceStore = new IncrementalLogPersistenceStore(storageFilePath, 1);
+        persistenceStore.clearAllRevisions("incrementalPersistenceTest15");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setIncrementalPersistenceStore(persistenceStore);
+
+        String siddhiApp = "" +
+                "@app:name('incrementalPersistenceTest15') " +
+                "" +
+                "define stream StockStream ( symbol string, price float, volume int );" +
+                "" +
+                "@info(name = 'query1')" +
+                "from StockStream[price>10]#window.length(" + eventWindowSize + ") " +
+                "select symbol, price, sum(volume) as totalVol " +
+                "insert into OutStream ";
+
+        QueryCallback queryCallback = new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                eventArrived = true;
+                for (Event inEvent : inEvents) {
+                    count++;
+                    lastValue = (Long) inEvent.getData(2);
+                }
+            }
+        };
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        //persisting a base followed by increments
+        for (int i = 0; i < 5; i++) {
+            inputHandler.send(new Object[]{"IBM", 75.6f + i, 100 * (i + 1)});
+            siddhiAppRuntime.persist();
+            Thread.sleep(500);
+        }
+        siddhiAppRuntime.shutdown();
+        AssertJUnit.assertEquals(new Long(1400), lastValue);
+
+        // Compaction leaves only the folded base of each element
+        List<IncrementalSnapshotInfo> snapshotInfos = null;
+        for (int i = 0; i < 20; i++) {
+            snapshotInfos = persistenceStore.getListOfRevisionsToLoad(System.currentTimeMillis(),
+                    "incrementalPersistenceTest15");
+            boolean folded = true;
+            for (IncrementalSnapshotInfo snapshotInfo : snapshotInfos) {
+                if (snapshotInfo.getType() == IncrementalSnapshotInfo.SnapshotType.INCREMENT) {
+                    folded = false;
+                }
+            }
+            if (folded) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        AssertJUnit.assertNotNull(snapshotInfos);
+        AssertJUnit.assertFalse(snapshotInfos.isEmpty());
+        for (IncrementalSnapshotInfo snapshotInfo : snapshotInfos) {
+            AssertJUnit.assertNotSame(IncrementalSnapshotInfo.SnapshotType.INCREMENT, snapshotInfo.getType());
+        }
+
+        // Restore through a new store instance, which reads the folded bases from the segment
+        siddhiManager = new SiddhiManager();
+        siddhiManager.setIncrementalPersistenceStore(new IncrementalLogPersistenceStore(storageFilePath));
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        //loading
+        try {
+            siddhiAppRuntime.restoreLastRevision();
+        } catch (CannotRestoreSiddhiAppStateException e) {
+            log.error(e.getMessage(), e);
+            Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed");
+        }
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM", 500.6f, 600});
+
+        //shutdown Siddhi app
+        siddhiAppRuntime.shutdown();
+
+        AssertJUnit.assertEquals(new Long(1800), lastValue);
+    }
+
+    @Test(expectedExceptions = PersistenceStoreException.class)
+    public void incrementalPersistenceTest16() {
+        log.info("Incremental persistence test 16 - invalid compaction threshold of the log persistence store");
+        IncrementalLogPersistenceStore persistenceStore = new IncrementalLogPersistenceStore(storageFilePath);
+        persistenceStore.setProperties(Collections.singletonMap("compactionThreshold", "0"));
+    }
+
+    @Test
+    public void incrementalPersistenceTest17() throws IOException {
+        log.info("Incremental persistence test 17 - clearing a compaction left behind by the log persistence " +
+                "store");
+        File folder = new File(storageFilePath + File.separator + "incrementalPersistenceTest17");
+        AssertJUnit.assertTrue(folder.isDirectory() || folder.mkdirs());
+        File compactionFile = new File(folder, "segment.log.compact");
+        AssertJUnit.assertTrue(compactionFile.exists() || compactionFile.createNewFile());
+
+        new IncrementalLogPersistenceStore(storageFilePath).clearAllRevisions("incrementalPersistenceTest17");
+        AssertJUnit.assertFalse(compactionFile.exists());
+    }
 }
@@ -26,6 +26,7 @@ import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.statistics.metrics.Level;
+import io.siddhi.query.api.exception.SiddhiAppValidationException;
 import org.apache.log4j.Logger;
 import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
@@ -33,6 +34,9 @@ import org.testng.annotations.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 public class StatisticsTestCase {
     private static final Logger log = Logger.getLogger(StatisticsTestCase.class);
@@ -618,5 +622,112 @@ public class StatisticsTestCase {
 
     }
 
+    @Test
+    public void statisticsTest9() throws InterruptedException {
+        log.info("statistics test 9");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:statistics(reporter = 'console', interval = '1' )" +
+                "@app:parallelBuild(workers = '4')" +
+                " " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "define window cseEventWindow (symbol string, price float, volume int) length(5);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into filteredStream ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from filteredStream " +
+                "select symbol, price * 2 as price, volume " +
+                "insert into outputStream ;" +
+                "" +
+                "@info(name = 'query3') " +
+                "from cseEventStream#window.length(2) " +
+                "select symbol, sum(volume) as totalVolume " +
+                "insert into totalStream ;" +
+                "" +
+                "@info(name = 'query4') " +
+                "from cseEventStream " +
+                "insert into cseEventWindow ;" +
+                "" +
+                "@info(name = 'query5') " +
+                "from cseEventStream[volume > 90] " +
+                "select * " +
+                "insert into outputStream ;" +
+                "" +
+                "partition with (symbol of cseEventStream) " +
+                "begin " +
+                "   @info(name = 'query6') " +
+                "   from cseEventStream " +
+                "   select symbol, count() as eventCount " +
+                "   insert into countStream ; " +
+                "end;";
 
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                eventArrived = true;
+                for (Event event : events) {
+                    count++;
+                    if ("WSO2".equals(event.getData(0)) && count == 1) {
+                        AssertJUnit.assertEquals(111.2f, event.getData(1));
+                    }
+                }
+            }
+        });
+        List<Object> totalVolumes = new ArrayList<>();
+        siddhiAppRuntime.addCallback("totalStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    totalVolumes.add(event.getData(1));
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(baos);
+        PrintStream old = System.out;
+        System.setOut(ps);
+
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"WSO2", 55.6f, 100});
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        inputHandler.send(new Object[]{"WSO2", 57.6f, 10});
+
+        Thread.sleep(1100);
+        siddhiAppRuntime.shutdown();
+        System.out.flush();
+        String output = baos.toString();
+        System.setOut(old);
+        log.info(output);
+
+        AssertJUnit.assertTrue(eventArrived);
+        AssertJUnit.assertEquals(4, count);
+        AssertJUnit.assertEquals(Arrays.asList(100L, 200L, 110L), totalVolumes);
+        AssertJUnit.assertTrue(output.contains(SiddhiConstants.METRIC_INFIX_SIDDHI + SiddhiConstants.METRIC_DELIMITER +
+                SiddhiConstants.METRIC_INFIX_STARTUP + SiddhiConstants.METRIC_DELIMITER +
+                SiddhiConstants.METRIC_INFIX_QUERIES));
+    }
+
+    @Test(expectedExceptions = SiddhiAppValidationException.class)
+    public void statisticsTest10() {
+        log.info("statistics test 10");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:parallelBuild(workers = '0')" +
+                " " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
 }
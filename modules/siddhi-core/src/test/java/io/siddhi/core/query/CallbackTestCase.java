@@ -21,6 +21,8 @@ package io.siddhi.core.query;
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.event.EventCursor;
+import io.siddhi.core.query.output.callback.CursorQueryCallback;
 import io.siddhi.core.query.output.callback.QueryCallback;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.util.EventPrinter;
@@ -30,6 +32,9 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Created on 1/24/15.
  */
@@ -83,4 +88,45 @@ public class CallbackTestCase {
         siddhiAppRuntime.shutdown();
     }
 
+    @Test
+    public void callbackTest2() throws InterruptedException {
+        log.info("callback test2");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.length(1) " +
+                "select symbol, price, volume " +
+                "insert all events into outputStream ;";
+        final List<Event> events = new ArrayList<>();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", new CursorQueryCallback() {
+            @Override
+            public void receive(long timestamp, EventCursor cursor) {
+                eventArrived = true;
+                while (cursor.next()) {
+                    AssertJUnit.assertEquals(3, cursor.getAttributeCount());
+                    if (cursor.isExpired()) {
+                        AssertJUnit.assertEquals("IBM", cursor.getString(0));
+                        AssertJUnit.assertEquals(10f, cursor.getFloat(1));
+                    } else {
+                        events.add(cursor.toEvent());
+                    }
+                    count++;
+                }
+            }
+        });
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 10f, 100L});
+        inputHandler.send(new Object[]{"WSO2", 20f, 200L});
+        AssertJUnit.assertEquals(3, count);
+        AssertJUnit.assertTrue(eventArrived);
+        AssertJUnit.assertEquals(2, events.size());
+        AssertJUnit.assertEquals(100L, events.get(0).getData(2));
+        AssertJUnit.assertEquals(200L, events.get(1).getData(2));
+        siddhiAppRuntime.shutdown();
+    }
+
 }
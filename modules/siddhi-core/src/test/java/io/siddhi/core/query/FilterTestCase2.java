@@ -39,6 +39,8 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -1776,4 +1778,51 @@ public class FilterTestCase2 {
 
 
     }
+
+    @Test
+    public void filterTest123() throws InterruptedException {
+        log.info("filter test123");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "define stream cseEventStream (symbol string, price float, volume long);";
+        String query = "@info(name = 'query1') " +
+                "from cseEventStream[volume < 150]#window.length(2) " +
+                "select symbol, volume " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        final List<Object[]> results = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    results.add(event.getData());
+                }
+                count.addAndGet(inEvents.length);
+                eventArrived.set(true);
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Event[]{
+                new Event(System.currentTimeMillis(), new Object[]{"IBM", 700f, 100L}),
+                new Event(System.currentTimeMillis(), new Object[]{"WSO2", 60.5f, 200L}),
+                new Event(System.currentTimeMillis(), new Object[]{"ORACLE", 50f, 10L}),
+                new Event(System.currentTimeMillis(), new Object[]{"GOOG", 50f, 300L})});
+        inputHandler.send(new Object[]{"WSO2", 60.5f, 500L});
+        inputHandler.send(new Object[]{"MSFT", 70f, 20L});
+        SiddhiTestHelper.waitForEvents(10, 3, count, 100);
+        AssertJUnit.assertEquals(3, count.get());
+        AssertJUnit.assertTrue(eventArrived.get());
+        AssertJUnit.assertArrayEquals(new Object[]{"IBM", 100L}, results.get(0));
+        AssertJUnit.assertArrayEquals(new Object[]{"ORACLE", 10L}, results.get(1));
+        AssertJUnit.assertArrayEquals(new Object[]{"MSFT", 20L}, results.get(2));
+        siddhiAppRuntime.shutdown();
+
+    }
 }
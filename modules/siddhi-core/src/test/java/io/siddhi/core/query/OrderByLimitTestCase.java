@@ -824,4 +824,48 @@ public class OrderByLimitTestCase {
 
         }
     }
+
+    @Test
+    public void limitTest20() throws InterruptedException {
+        log.info("limitTest20 - order by with limit and offset over a batch with equal values");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "define stream cseEventStream (symbol string, price float, volume int);";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.lengthBatch(100) " +
+                "select symbol, price, volume " +
+                "order by price desc " +
+                "limit 5 " +
+                "offset 2 " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                // Prices are i % 10, hence the ten events priced 9 are ordered by their arrival
+                AssertJUnit.assertEquals(5, inEvents.length);
+                for (int i = 0; i < inEvents.length; i++) {
+                    AssertJUnit.assertEquals(9f, inEvents[i].getData(1));
+                    AssertJUnit.assertEquals(9 + (i + 2) * 10, inEvents[i].getData(2));
+                }
+                inEventCount = inEventCount + inEvents.length;
+                eventArrived.set(true);
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 100; i++) {
+            inputHandler.send(new Object[]{"WSO2", (float) (i % 10), i});
+        }
+        SiddhiTestHelper.waitForEvents(100, 5, inEventCount, 1000);
+        AssertJUnit.assertEquals(5, inEventCount);
+        AssertJUnit.assertTrue(eventArrived.get());
+        siddhiAppRuntime.shutdown();
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.aggregator;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.query.extension.util.RangeAggregatorExecutor;
+import io.siddhi.core.query.extension.util.SumOfSquaresAggregatorExecutor;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.EventPrinter;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class AssociativeAggregatorExtensionTestCase {
+
+    private static final Logger log = Logger.getLogger(AssociativeAggregatorExtensionTestCase.class);
+    private List<Object> results;
+
+    @BeforeMethod
+    public void init() {
+        results = new ArrayList<>();
+    }
+
+    private SiddhiAppRuntime createRuntime(String query) {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("custom:range", RangeAggregatorExecutor.class);
+        siddhiManager.setExtension("custom:sumOfSquares", SumOfSquaresAggregatorExecutor.class);
+        String inStreamDefinition = "define stream inputStream (symbol string, price double);";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(inStreamDefinition + query);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    results.add(event.getData(0));
+                }
+            }
+        });
+        return siddhiAppRuntime;
+    }
+
+    private void send(SiddhiAppRuntime siddhiAppRuntime, double... prices) throws InterruptedException {
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("inputStream");
+        for (double price : prices) {
+            inputHandler.send(new Object[]{"IBM", price});
+        }
+    }
+
+    @Test
+    public void testNonInvertibleSlidingAggregation() throws InterruptedException {
+        log.info("AssociativeAggregator TestCase 1: two-stack sliding aggregation");
+        SiddhiAppRuntime siddhiAppRuntime = createRuntime("" +
+                "@info(name = 'query1') " +
+                "from inputStream#window.length(3) " +
+                "select custom:range(price) as priceRange " +
+                "insert into outputStream;");
+        siddhiAppRuntime.start();
+        send(siddhiAppRuntime, 5, 1, 9, 4, 7, 2, 3, 3);
+        AssertJUnit.assertEquals(Arrays.asList(0.0, 4.0, 8.0, 8.0, 5.0, 5.0, 5.0, 1.0), results);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testNonInvertibleOutOfOrderEviction() throws InterruptedException {
+        log.info("AssociativeAggregator TestCase 2: out of order eviction");
+        SiddhiAppRuntime siddhiAppRuntime = createRuntime("" +
+                "@info(name = 'query1') " +
+                "from inputStream#window.sort(2, price, 'asc') " +
+                "select custom:range(price) as priceRange " +
+                "insert all events into outputStream;");
+        siddhiAppRuntime.start();
+        send(siddhiAppRuntime, 5, 1, 9, 4);
+        AssertJUnit.assertEquals(3.0, results.get(results.size() - 1));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testInvertibleSlidingAggregation() throws InterruptedException {
+        log.info("AssociativeAggregator TestCase 3: subtract on evict aggregation");
+        SiddhiAppRuntime siddhiAppRuntime = createRuntime("" +
+                "@info(name = 'query1') " +
+                "from inputStream#window.length(2) " +
+                "select custom:sumOfSquares(price) as total " +
+                "insert into outputStream;");
+        siddhiAppRuntime.start();
+        send(siddhiAppRuntime, 1, 2, 3, 4);
+        AssertJUnit.assertEquals(Arrays.asList(1.0, 5.0, 13.0, 25.0), results);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testBatchAggregation() throws InterruptedException {
+        log.info("AssociativeAggregator TestCase 4: batch aggregation");
+        SiddhiAppRuntime siddhiAppRuntime = createRuntime("" +
+                "@info(name = 'query1') " +
+                "from inputStream#window.lengthBatch(2) " +
+                "select custom:range(price) as priceRange " +
+                "insert into outputStream;");
+        siddhiAppRuntime.start();
+        send(siddhiAppRuntime, 1, 4, 10, 3);
+        AssertJUnit.assertEquals(Arrays.asList(3.0, 7.0), results);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testSlidingAggregationWithGroupBy() throws InterruptedException {
+        log.info("AssociativeAggregator TestCase 5: two-stack sliding aggregation with group by");
+        SiddhiAppRuntime siddhiAppRuntime = createRuntime("" +
+                "@info(name = 'query1') " +
+                "from inputStream#window.length(4) " +
+                "select custom:range(price) as priceRange, symbol " +
+                "group by symbol " +
+                "insert into outputStream;");
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("inputStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 10.0});
+        inputHandler.send(new Object[]{"WSO2", 1.0});
+        inputHandler.send(new Object[]{"IBM", 15.0});
+        inputHandler.send(new Object[]{"WSO2", 2.0});
+        inputHandler.send(new Object[]{"IBM", 12.0});
+        AssertJUnit.assertEquals(Arrays.asList(0.0, 0.0, 5.0, 1.0, 3.0), results);
+        siddhiAppRuntime.shutdown();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query.extension.util;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.annotation.Parameter;
+import io.siddhi.annotation.ReturnAttribute;
+import io.siddhi.annotation.util.DataType;
+import io.siddhi.core.config.SiddhiQueryContext;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.query.selector.attribute.aggregator.AssociativeAttributeAggregatorExecutor;
+import io.siddhi.core.util.config.ConfigReader;
+import io.siddhi.query.api.definition.Attribute.Type;
+
+@Extension(
+        name = "range",
+        namespace = "custom",
+        description = "Return the difference between the maximum and the minimum of the given values.",
+        parameters = {
+                @Parameter(name = "arg",
+                        description = "The value to calculate the range.",
+                        type = {DataType.DOUBLE})
+        },
+        returnAttributes = @ReturnAttribute(
+                description = "Returns the range as a double.",
+                type = {DataType.DOUBLE}),
+        examples = @Example(
+                syntax = "from inputStream#window.length(3)\n" +
+                        "select custom:range(price) as priceRange\n" +
+                        "insert into outputStream;",
+                description = "This will return the price range of the last three events."
+        )
+)
+public class RangeAggregatorExecutor extends AssociativeAttributeAggregatorExecutor {
+
+    @Override
+    protected void init(ExpressionExecutor[] attributeExpressionExecutors, ConfigReader configReader,
+                        SiddhiQueryContext siddhiQueryContext) {
+    }
+
+    @Override
+    protected Object lift(Object data) {
+        double value = (Double) data;
+        return new double[]{value, value};
+    }
+
+    @Override
+    protected Object combine(Object olderPartial, Object newerPartial) {
+        double[] older = (double[]) olderPartial;
+        double[] newer = (double[]) newerPartial;
+        return new double[]{Math.min(older[0], newer[0]), Math.max(older[1], newer[1])};
+    }
+
+    @Override
+    protected Object lower(Object partial) {
+        if (partial == null) {
+            return null;
+        }
+        double[] minMax = (double[]) partial;
+        return minMax[1] - minMax[0];
+    }
+
+    @Override
+    public Type getReturnType() {
+        return Type.DOUBLE;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.extension.util;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.annotation.Parameter;
+import io.siddhi.annotation.ReturnAttribute;
+import io.siddhi.annotation.util.DataType;
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.config.SiddhiQueryContext;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.function.FunctionExecutor;
+import io.siddhi.core.util.config.ConfigReader;
+import io.siddhi.core.util.snapshot.state.State;
+import io.siddhi.core.util.snapshot.state.StateFactory;
+import io.siddhi.query.api.definition.Attribute;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Extension(
+        name = "restoreProgress",
+        namespace = "custom",
+        description = "Count the given values, and record the restore progress of the Siddhi app when the count " +
+                "is restored.",
+        parameters = {
+                @Parameter(name = "arg",
+                        description = "The value to be counted.",
+                        type = {DataType.INT, DataType.LONG, DataType.DOUBLE, DataType.FLOAT, DataType.STRING,
+                                DataType.BOOL, DataType.OBJECT})
+        },
+        returnAttributes = @ReturnAttribute(
+                description = "Returns the number of values counted.",
+                type = {DataType.LONG}),
+        examples = @Example(
+                syntax = "from fooStream\n" +
+                        "select custom:restoreProgress(symbol) as count\n" +
+                        "insert into barStream",
+                description = "This will return the number of events arrived so far as count."
+        )
+)
+public class RestoreProgressFunctionExtension extends FunctionExecutor<RestoreProgressFunctionExtension.CountState> {
+
+    public static final List<Double> RESTORE_PROGRESS = Collections.synchronizedList(new ArrayList<>());
+    public static volatile SiddhiAppRuntime siddhiAppRuntime;
+
+    @Override
+    protected StateFactory<CountState> init(ExpressionExecutor[] attributeExpressionExecutors,
+                                            ConfigReader configReader, SiddhiQueryContext siddhiQueryContext) {
+        return CountState::new;
+    }
+
+    @Override
+    public Attribute.Type getReturnType() {
+        return Attribute.Type.LONG;
+    }
+
+    @Override
+    protected Object execute(Object[] data, CountState state) {
+        return ++state.count;
+    }
+
+    @Override
+    protected Object execute(Object data, CountState state) {
+        return ++state.count;
+    }
+
+    static class CountState extends State {
+        private long count = 0;
+
+        @Override
+        public boolean canDestroy() {
+            return false;
+        }
+
+        @Override
+        public Map<String, Object> snapshot() {
+            Map<String, Object> state = new HashMap<>();
+            state.put("Count", count);
+            return state;
+        }
+
+        @Override
+        public void restore(Map<String, Object> state) {
+            count = (Long) state.get("Count");
+            SiddhiAppRuntime runtime = siddhiAppRuntime;
+            if (runtime != null) {
+                RESTORE_PROGRESS.add(runtime.getRestoreProgress());
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query.extension.util;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.annotation.Parameter;
+import io.siddhi.annotation.ReturnAttribute;
+import io.siddhi.annotation.util.DataType;
+import io.siddhi.core.config.SiddhiQueryContext;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.query.selector.attribute.aggregator.AssociativeAttributeAggregatorExecutor;
+import io.siddhi.core.util.config.ConfigReader;
+import io.siddhi.query.api.definition.Attribute.Type;
+
+@Extension(
+        name = "sumOfSquares",
+        namespace = "custom",
+        description = "Return the sum of squares of the given values.",
+        parameters = {
+                @Parameter(name = "arg",
+                        description = "The value to be squared and summed.",
+                        type = {DataType.DOUBLE})
+        },
+        returnAttributes = @ReturnAttribute(
+                description = "Returns the sum of squares as a double.",
+                type = {DataType.DOUBLE}),
+        examples = @Example(
+                syntax = "from inputStream#window.length(3)\n" +
+                        "select custom:sumOfSquares(price) as total\n" +
+                        "insert into outputStream;",
+                description = "This will return the sum of squared prices of the last three events."
+        )
+)
+public class SumOfSquaresAggregatorExecutor extends AssociativeAttributeAggregatorExecutor {
+
+    @Override
+    protected void init(ExpressionExecutor[] attributeExpressionExecutors, ConfigReader configReader,
+                        SiddhiQueryContext siddhiQueryContext) {
+    }
+
+    @Override
+    protected Object lift(Object data) {
+        double value = (Double) data;
+        return value * value;
+    }
+
+    @Override
+    protected Object combine(Object olderPartial, Object newerPartial) {
+        return (Double) olderPartial + (Double) newerPartial;
+    }
+
+    @Override
+    protected Object lower(Object partial) {
+        return partial;
+    }
+
+    @Override
+    protected boolean isInvertible() {
+        return true;
+    }
+
+    @Override
+    protected Object inverse(Object partial, Object removedPartial) {
+        return (Double) partial - (Double) removedPartial;
+    }
+
+    @Override
+    public Type getReturnType() {
+        return Type.DOUBLE;
+    }
+}
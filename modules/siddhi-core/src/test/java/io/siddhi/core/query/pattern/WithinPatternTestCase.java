@@ -444,4 +444,57 @@ public class WithinPatternTestCase {
 
         siddhiAppRuntime.shutdown();
     }
+
+    @Test
+    public void testQuery8() throws InterruptedException {
+        log.info("testPatternWithin8 - OUT 10 : Within clause for states waiting on another stream");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = "" +
+                "define stream Stream1 (symbol string, price float, volume int); " +
+                "define stream Stream2 (symbol string, price float, volume int); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from every e1=Stream1[price>20] -> e2=Stream2[price>e1.price] within 1 sec " +
+                "select e1.volume as volume1, e2.symbol as symbol2 " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        // Only the events of Stream1 that arrived within 1 sec of the Stream2 event are matched
+                        AssertJUnit.assertEquals(40 + inEventCount, event.getData(0));
+                        inEventCount++;
+                    }
+                }
+                if (removeEvents != null) {
+                    removeEventCount = removeEventCount + removeEvents.length;
+                }
+                eventArrived = true;
+            }
+
+        });
+
+        InputHandler stream1 = siddhiAppRuntime.getInputHandler("Stream1");
+        InputHandler stream2 = siddhiAppRuntime.getInputHandler("Stream2");
+
+        siddhiAppRuntime.start();
+
+        for (int i = 0; i < 50; i++) {
+            stream1.send(1000 + i * 100, new Object[]{"WSO2", 55.6f, i});
+        }
+        stream2.send(6000, new Object[]{"IBM", 55.7f, 100});
+
+        AssertJUnit.assertEquals("Number of success events", 10, inEventCount);
+        AssertJUnit.assertEquals("Number of remove events", 0, removeEventCount);
+        AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+
+        siddhiAppRuntime.shutdown();
+    }
 }
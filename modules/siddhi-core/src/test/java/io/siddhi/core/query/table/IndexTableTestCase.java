@@ -2234,4 +2234,117 @@ public class IndexTableTestCase {
         }
     }
 
+    @Test
+    public void indexTableTest34() throws InterruptedException {
+        log.info("indexTableTest34 - composite hash index and hash index");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream CheckStockStream (symbol string, volume long); " +
+                "define stream UpdateStockStream (symbol string, oldVolume long, price float, volume long); " +
+                "define stream DeleteStockStream (symbol string, volume long); " +
+                "@Index('symbol,volume') " +
+                "@Index('price', type='hash') " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStockStream join StockTable " +
+                " on CheckStockStream.volume==StockTable.volume AND CheckStockStream.symbol==StockTable.symbol " +
+                "   AND StockTable.price > 50 " +
+                "select CheckStockStream.symbol, StockTable.volume " +
+                "insert into OutStream;" +
+                "" +
+                "@info(name = 'query3') " +
+                "from UpdateStockStream " +
+                "update StockTable " +
+                "   set StockTable.price = price, StockTable.volume = volume " +
+                "   on StockTable.symbol == symbol AND StockTable.volume == oldVolume ;" +
+                "" +
+                "@info(name = 'query4') " +
+                "from DeleteStockStream " +
+                "delete StockTable " +
+                "   on StockTable.symbol == symbol AND StockTable.volume == volume ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            inEventsList.add(event.getData());
+                            inEventCount.incrementAndGet();
+                        }
+                        eventArrived = true;
+                    }
+                    if (removeEvents != null) {
+                        removeEventCount = removeEventCount + removeEvents.length;
+                    }
+                    eventArrived = true;
+                }
+            });
+
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+            InputHandler updateStockStream = siddhiAppRuntime.getInputHandler("UpdateStockStream");
+            InputHandler deleteStockStream = siddhiAppRuntime.getInputHandler("DeleteStockStream");
+
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+            stockStream.send(new Object[]{"IBM", 75.6f, 100L});
+            stockStream.send(new Object[]{"WSO2", 45.6f, 200L});
+            checkStockStream.send(new Object[]{"WSO2", 100L});
+            checkStockStream.send(new Object[]{"WSO2", 200L});
+            updateStockStream.send(new Object[]{"WSO2", 200L, 57.6f, 300L});
+            checkStockStream.send(new Object[]{"WSO2", 200L});
+            checkStockStream.send(new Object[]{"WSO2", 300L});
+            deleteStockStream.send(new Object[]{"IBM", 100L});
+            checkStockStream.send(new Object[]{"IBM", 100L});
+
+            List<Object[]> expected = Arrays.asList(
+                    new Object[]{"WSO2", 100L},
+                    new Object[]{"WSO2", 300L}
+            );
+            SiddhiTestHelper.waitForEvents(100, 2, inEventCount, 60000);
+            AssertJUnit.assertEquals("In events matched", true, SiddhiTestHelper.isEventsMatch(inEventsList, expected));
+            AssertJUnit.assertEquals("Number of success events", 2, inEventCount.get());
+            AssertJUnit.assertEquals("Number of remove events", 0, removeEventCount);
+            AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test(expectedExceptions = SiddhiAppValidationException.class)
+    public void indexTableTest35() throws InterruptedException {
+        log.info("indexTableTest35");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@Index('symbol,volume', type='sorted') " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "";
+
+        SiddhiAppRuntime siddhiAppRuntime = null;
+        try {
+            siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+
+        } finally {
+            if (siddhiAppRuntime != null) {
+                siddhiAppRuntime.shutdown();
+            }
+        }
+    }
+
 }
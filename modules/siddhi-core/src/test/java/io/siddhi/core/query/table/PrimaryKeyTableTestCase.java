@@ -21,14 +21,19 @@ package io.siddhi.core.query.table;
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
+import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.core.util.SiddhiTestHelper;
+import io.siddhi.core.util.persistence.InMemoryPersistenceStore;
 import io.siddhi.query.api.exception.AttributeNotExistException;
 import io.siddhi.query.api.exception.DuplicateAnnotationException;
 import io.siddhi.query.compiler.exception.SiddhiParserException;
 import org.apache.log4j.Logger;
+import org.testng.Assert;
 import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -2690,4 +2695,182 @@ public class PrimaryKeyTableTestCase {
         }
     }
 
+    @Test
+    public void concurrentReadsTest1() throws InterruptedException {
+        log.info("concurrentReadsTest1 - reads of a table with concurrent reads after updates and deletes");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream CheckStockStream (symbol string); " +
+                "define stream UpdateStockStream (symbol string, price float, volume long); " +
+                "define stream DeleteStockStream (symbol string); " +
+                "@PrimaryKey('symbol') " +
+                "@ConcurrentReads " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from UpdateStockStream " +
+                "update StockTable " +
+                "   on StockTable.symbol == symbol ;" +
+                "" +
+                "@info(name = 'query3') " +
+                "from DeleteStockStream " +
+                "delete StockTable " +
+                "   on StockTable.symbol == symbol ;" +
+                "" +
+                "@info(name = 'query4') " +
+                "from CheckStockStream join StockTable " +
+                " on CheckStockStream.symbol == StockTable.symbol " +
+                "select CheckStockStream.symbol, StockTable.volume " +
+                "insert into OutStream;" +
+                "" +
+                "@info(name = 'query5') " +
+                "from CheckStockStream[not ((symbol == StockTable.symbol) in StockTable)] " +
+                "select symbol, -1L as volume " +
+                "insert into OutStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            siddhiAppRuntime.addCallback("OutStream", new StreamCallback() {
+                @Override
+                public void receive(Event[] events) {
+                    EventPrinter.print(events);
+                    for (Event event : events) {
+                        inEventsList.add(event.getData());
+                        inEventCount.incrementAndGet();
+                    }
+                    eventArrived = true;
+                }
+            });
+
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+            InputHandler updateStockStream = siddhiAppRuntime.getInputHandler("UpdateStockStream");
+            InputHandler deleteStockStream = siddhiAppRuntime.getInputHandler("DeleteStockStream");
+            siddhiAppRuntime.start();
+
+            stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+            stockStream.send(new Object[]{"IBM", 75.6f, 10L});
+            checkStockStream.send(new Object[]{"WSO2"});
+            checkStockStream.send(new Object[]{"WSO2"});
+            updateStockStream.send(new Object[]{"WSO2", 57.6f, 200L});
+            checkStockStream.send(new Object[]{"WSO2"});
+            checkStockStream.send(new Object[]{"IBM"});
+            deleteStockStream.send(new Object[]{"IBM"});
+            checkStockStream.send(new Object[]{"IBM"});
+            stockStream.send(new Object[]{"ORACLE", 45.6f, 50L});
+            checkStockStream.send(new Object[]{"ORACLE"});
+
+            List<Object[]> expected = Arrays.asList(
+                    new Object[]{"WSO2", 100L},
+                    new Object[]{"WSO2", 100L},
+                    new Object[]{"WSO2", 200L},
+                    new Object[]{"IBM", 10L},
+                    new Object[]{"IBM", -1L},
+                    new Object[]{"ORACLE", 50L}
+            );
+            SiddhiTestHelper.waitForEvents(100, 6, inEventCount, 60000);
+            AssertJUnit.assertEquals("In events matched", true,
+                    SiddhiTestHelper.isEventsMatch(inEventsList, expected));
+            AssertJUnit.assertEquals("Number of success events", 6, inEventCount.get());
+            AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void concurrentReadsTest2() {
+        log.info("concurrentReadsTest2 - concurrent reads of a table without primary key or index");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@ConcurrentReads " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;";
+
+        siddhiManager.createSiddhiAppRuntime(streams + query);
+    }
+
+    @Test
+    public void concurrentReadsTest3() throws InterruptedException {
+        log.info("concurrentReadsTest3 - reads of a table with concurrent reads after a restore");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(new InMemoryPersistenceStore());
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream CheckStockStream (symbol string); " +
+                "define stream DeleteStockStream (symbol string); " +
+                "@PrimaryKey('symbol') " +
+                "@ConcurrentReads " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from DeleteStockStream " +
+                "delete StockTable " +
+                "   on StockTable.symbol == symbol ;" +
+                "" +
+                "@info(name = 'query3') " +
+                "from CheckStockStream join StockTable " +
+                " on CheckStockStream.symbol == StockTable.symbol " +
+                "select CheckStockStream.symbol, StockTable.volume " +
+                "insert into OutStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            siddhiAppRuntime.addCallback("OutStream", new StreamCallback() {
+                @Override
+                public void receive(Event[] events) {
+                    EventPrinter.print(events);
+                    for (Event event : events) {
+                        inEventsList.add(event.getData());
+                        inEventCount.incrementAndGet();
+                    }
+                    eventArrived = true;
+                }
+            });
+
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+            InputHandler deleteStockStream = siddhiAppRuntime.getInputHandler("DeleteStockStream");
+            siddhiAppRuntime.start();
+
+            stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+            siddhiAppRuntime.persist();
+            deleteStockStream.send(new Object[]{"WSO2"});
+            checkStockStream.send(new Object[]{"WSO2"});
+            Thread.sleep(500);
+            try {
+                siddhiAppRuntime.restoreLastRevision();
+            } catch (CannotRestoreSiddhiAppStateException e) {
+                Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed", e);
+            }
+            checkStockStream.send(new Object[]{"WSO2"});
+
+            List<Object[]> expected = new ArrayList<>();
+            expected.add(new Object[]{"WSO2", 100L});
+            SiddhiTestHelper.waitForEvents(100, 1, inEventCount, 60000);
+            AssertJUnit.assertEquals("In events matched", true,
+                    SiddhiTestHelper.isEventsMatch(inEventsList, expected));
+            AssertJUnit.assertEquals("Number of success events", 1, inEventCount.get());
+            AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
 }
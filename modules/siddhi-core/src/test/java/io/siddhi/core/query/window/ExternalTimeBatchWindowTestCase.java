@@ -32,6 +32,9 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -1777,4 +1780,65 @@ public class ExternalTimeBatchWindowTestCase {
         org.testng.AssertJUnit.assertEquals("Remove Events ", 0, removeEventCount);
         siddhiManager.shutdown();
     }
+
+    @Test
+    public void externalTimeBatchWindowTest27() throws InterruptedException {
+        log.info("externalTimeBatchWindow test27");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String cseEventStream = "" +
+                "define stream LoginEvents (timestamp long, ip string, bytes int) ;";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from LoginEvents#window.externalTimeBatch(timestamp, 1 sec, 0, 0, true) " +
+                "select ip, max(timestamp) as batchEndTime, sum(bytes) as totalBytes, count() as total " +
+                "group by ip " +
+                "insert into uniqueIps ; " +
+                "" +
+                "@info(name = 'query2') " +
+                "from LoginEvents#window.externalTimeBatch(timestamp, 1 sec, 0, 0, true) " +
+                "select ip, max(timestamp) as batchEndTime, sum(bytes) as totalBytes, count() as total " +
+                "group by ip " +
+                "insert all events into allIps ;";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        // Only query1 aggregates the events of each batch as they arrive, as query2 also selects expired events
+        List<String> aggregatedEvents = new ArrayList<>();
+        List<String> bufferedEvents = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    aggregatedEvents.add(Arrays.toString(event.getData()));
+                }
+            }
+        });
+        siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        bufferedEvents.add(Arrays.toString(event.getData()));
+                    }
+                }
+            }
+        });
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("LoginEvents");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{1366335804341L, "192.10.1.3", 10});
+        inputHandler.send(new Object[]{1366335804342L, "192.10.1.4", 20});
+        inputHandler.send(new Object[]{1366335804700L, "192.10.1.3", 30});
+        inputHandler.send(new Event[]{
+                new Event(System.currentTimeMillis(), new Object[]{1366335805341L, "192.10.1.3", 40}),
+                new Event(System.currentTimeMillis(), new Object[]{1366335805500L, "192.10.1.4", 50}),
+                new Event(System.currentTimeMillis(), new Object[]{1366335807341L, "192.10.1.5", 60}),
+                new Event(System.currentTimeMillis(), new Object[]{1366335807342L, "192.10.1.5", 70})
+        });
+        inputHandler.send(new Object[]{1366335809341L, "192.10.1.6", 80});
+        AssertJUnit.assertEquals(Arrays.asList(
+                "[192.10.1.3, 1366335805000, 40, 2]", "[192.10.1.4, 1366335805000, 20, 1]",
+                "[192.10.1.3, 1366335806000, 40, 1]", "[192.10.1.4, 1366335806000, 50, 1]",
+                "[192.10.1.5, 1366335808000, 130, 2]"), aggregatedEvents);
+        AssertJUnit.assertEquals(bufferedEvents, aggregatedEvents);
+        siddhiAppRuntime.shutdown();
+    }
 }
@@ -224,4 +224,57 @@ public class ExternalTimeWindowTestCase {
         AssertJUnit.assertEquals("Remove Events ", 4, removeEventCount);
         siddhiAppRuntime.shutdown();
     }
+
+    @Test
+    public void externalTimeWindowTest5() throws InterruptedException {
+
+        log.info("externalTimeWindow test5");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "" +
+                "define stream LoginEvents (timestamp long, ip string) ;";
+        String query = "" +
+                "@windowStorage(type='offheap', segment.size='64') " +
+                "@info(name = 'query1') " +
+                "from LoginEvents#window.externalTime(timestamp,5 sec) " +
+                "select timestamp, ip  " +
+                "insert all events into uniqueIps ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    inEventCount = inEventCount + inEvents.length;
+                }
+                if (removeEvents != null) {
+                    for (Event removeEvent : removeEvents) {
+                        AssertJUnit.assertEquals("192.10.1." + (removeEventCount + 3), removeEvent.getData(1));
+                        removeEventCount++;
+                    }
+                }
+                eventArrived = true;
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("LoginEvents");
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{1366335804341L, "192.10.1.3"});
+        inputHandler.send(new Object[]{1366335804342L, "192.10.1.4"});
+        inputHandler.send(new Object[]{1366335814341L, "192.10.1.5"});
+        inputHandler.send(new Object[]{1366335814345L, "192.10.1.6"});
+        inputHandler.send(new Object[]{1366335824341L, "192.10.1.7"});
+
+        AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+        AssertJUnit.assertEquals("In Events ", 5, inEventCount);
+        AssertJUnit.assertEquals("Remove Events ", 4, removeEventCount);
+        siddhiAppRuntime.shutdown();
+
+    }
 }
@@ -20,6 +20,7 @@ package io.siddhi.core.query.window;
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
 import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.query.output.callback.QueryCallback;
 import io.siddhi.core.stream.input.InputHandler;
@@ -29,6 +30,10 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class TimeBatchWindowTestCase {
     private static final Logger log = Logger.getLogger(TimeBatchWindowTestCase.class);
     private int inEventCount;
@@ -1067,4 +1072,89 @@ public class TimeBatchWindowTestCase {
         siddhiAppRuntime.shutdown();
     }
 
+    @Test
+    public void timeWindowBatchTest23() throws InterruptedException {
+        log.info("Time batch window aggregating the events of each batch as they arrive");
+        String siddhiApp = "" +
+                "@app:playback " +
+                "define stream cseEventStream (symbol string, price float, volume int); " +
+                "@info(name = 'query1') " +
+                "from cseEventStream[volume != 7]#window.timeBatch(1 sec)[price > 0] " +
+                "select symbol, sum(volume) as totalVolume, count() as count, max(price) as maxPrice " +
+                "group by symbol " +
+                "having count > 2 " +
+                "insert into outputStream ;";
+
+        // Only the window being the last stream handler lets the selector aggregate the events as they arrive
+        List<String> expected = runTimeBatchWindowApp(siddhiApp);
+        List<String> actual = runTimeBatchWindowApp(siddhiApp.replace("[price > 0]", ""));
+        AssertJUnit.assertEquals(17, expected.size());
+        AssertJUnit.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void timeWindowBatchTest24() throws InterruptedException, CannotRestoreSiddhiAppStateException {
+        log.info("Restoring a time batch window aggregating the events of each batch as they arrive");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:playback " +
+                "define stream cseEventStream (symbol string, price float, volume int); " +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.timeBatch(1 sec) " +
+                "select sum(volume) as totalVolume, count() as count " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(1000, new Object[]{"IBM", 700f, 1});
+        inputHandler.send(1100, new Object[]{"WSO2", 60.5f, 2});
+        byte[] snapshot = siddhiAppRuntime.snapshot();
+        siddhiAppRuntime.shutdown();
+
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    inEventCount = inEventCount + inEvents.length;
+                    AssertJUnit.assertEquals(6L, inEvents[0].getData(0));
+                    AssertJUnit.assertEquals(3L, inEvents[0].getData(1));
+                }
+            }
+        });
+        inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        siddhiAppRuntime.restore(snapshot);
+        inputHandler.send(1200, new Object[]{"IBM", 700f, 3});
+        inputHandler.send(2500, new Object[]{"ORACLE", 10f, 4});
+        AssertJUnit.assertEquals(1, inEventCount);
+        siddhiAppRuntime.shutdown();
+    }
+
+    private List<String> runTimeBatchWindowApp(String siddhiApp) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<String> inEvents = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] currentEvents, Event[] expiredEvents) {
+                if (currentEvents != null) {
+                    for (Event event : currentEvents) {
+                        inEvents.add(event.getTimestamp() + Arrays.toString(event.getData()));
+                    }
+                }
+            }
+        });
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        String[] symbols = new String[]{"IBM", "WSO2", "ORACLE"};
+        for (int i = 0; i < 60; i++) {
+            inputHandler.send(1000 + i * 100, new Object[]{symbols[i % 3], 10f + i % 7, i});
+        }
+        inputHandler.send(8000, new Object[]{"IBM", 10f, 60});
+        siddhiAppRuntime.shutdown();
+        return inEvents;
+    }
 }
@@ -20,16 +20,25 @@ package io.siddhi.core.query.window;
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
 import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.query.output.callback.QueryCallback;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.EventPrinter;
+import io.siddhi.query.api.exception.SiddhiAppValidationException;
 import org.apache.log4j.Logger;
 import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class TimeWindowTestCase {
     private static final Logger log = Logger.getLogger(TimeWindowTestCase.class);
     private int inEventCount;
@@ -222,4 +231,157 @@ public class TimeWindowTestCase {
         SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
     }
 
+    @Test
+    public void timeWindowTest7() throws InterruptedException, IOException {
+        log.info("Time window with off-heap storage spilled to disk");
+        File spillDirectory = Files.createTempDirectory("siddhi-window-test").toFile();
+        String siddhiApp = "" +
+                "@app:playback " +
+                "define stream cseEventStream (symbol string, price float, volume int); " +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.time(1 sec) " +
+                "select symbol, sum(volume) as totalVolume, max(price) as maxPrice " +
+                "insert all events into outputStream ;";
+
+        try {
+            List<String> expected = runTimeWindowApp(siddhiApp);
+            List<String> actual = runTimeWindowApp(siddhiApp.replace("@info", "@windowStorage(type='offheap', " +
+                    "spill.dir='" + spillDirectory.getAbsolutePath().replace("\\", "/") + "', segment.size='64') " +
+                    "@info"));
+            AssertJUnit.assertEquals(1900, expected.size());
+            AssertJUnit.assertEquals(expected, actual);
+            AssertJUnit.assertEquals(0, spillDirectory.list().length);
+        } finally {
+            File[] files = spillDirectory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            spillDirectory.delete();
+        }
+    }
+
+    @Test
+    public void timeWindowTest8() throws InterruptedException {
+        log.info("Named time window with off-heap storage probed by a join");
+        String siddhiApp = "" +
+                "@app:playback " +
+                "define stream cseEventStream (symbol string, price float, volume int); " +
+                "define stream checkStream (symbol string); " +
+                "define window cseEventWindow (symbol string, price float, volume int) time(1 sec); " +
+                "from cseEventStream " +
+                "insert into cseEventWindow; " +
+                "@info(name = 'query1') " +
+                "from checkStream join cseEventWindow " +
+                "on checkStream.symbol == cseEventWindow.symbol " +
+                "select cseEventWindow.symbol, cseEventWindow.price, cseEventWindow.volume " +
+                "insert into outputStream ;";
+
+        List<String> expected = runTimeWindowApp(siddhiApp);
+        List<String> actual = runTimeWindowApp(siddhiApp.replace("define window",
+                "@windowStorage('offheap') define window"));
+        AssertJUnit.assertTrue(expected.size() > 0);
+        AssertJUnit.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void timeWindowTest9() throws InterruptedException, CannotRestoreSiddhiAppStateException {
+        log.info("Restoring a time window with off-heap storage");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:playback " +
+                "define stream cseEventStream (symbol string, price float, volume int); " +
+                "@windowStorage(type='offheap') " +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.time(1 sec) " +
+                "select symbol, price, volume " +
+                "insert all events into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(100, new Object[]{"IBM", 700f, 1});
+        inputHandler.send(200, new Object[]{"WSO2", 60.5f, 2});
+        inputHandler.send(300, new Object[]{null, 50f, 3});
+        byte[] snapshot = siddhiAppRuntime.snapshot();
+        siddhiAppRuntime.shutdown();
+
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (removeEvents != null) {
+                    for (Event event : removeEvents) {
+                        removeEventCount++;
+                        AssertJUnit.assertEquals(removeEventCount, event.getData(2));
+                    }
+                }
+            }
+        });
+        inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        siddhiAppRuntime.restore(snapshot);
+        inputHandler.send(1250, new Object[]{"ORACLE", 10f, 4});
+        AssertJUnit.assertEquals(2, removeEventCount);
+        inputHandler.send(1400, new Object[]{"ORACLE", 10f, 5});
+        AssertJUnit.assertEquals(3, removeEventCount);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppValidationException.class)
+    public void timeWindowTest10() {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, price float, volume int); " +
+                "@windowStorage(type='disk') " +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.time(1 sec) " +
+                "select symbol, price, volume " +
+                "insert all events into outputStream ;";
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test(expectedExceptions = SiddhiAppValidationException.class)
+    public void timeWindowTest11() {
+        log.info("Off-heap storage of a delay window");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, price float, volume int); " +
+                "@windowStorage(type='offheap') " +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.delay(1 sec) " +
+                "select symbol, price, volume " +
+                "insert all events into outputStream ;";
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    private List<String> runTimeWindowApp(String siddhiApp) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<String> outputs = new ArrayList<>();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    outputs.add(event.getTimestamp() + ":" + event.isExpired() + ":" +
+                            Arrays.toString(event.getData()));
+                }
+            }
+        });
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        InputHandler checkInputHandler = siddhiAppRuntime.getStreamDefinitionMap().containsKey("checkStream") ?
+                siddhiAppRuntime.getInputHandler("checkStream") : null;
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 1000; i++) {
+            inputHandler.send(i * 10, new Object[]{"SYMBOL" + (i % 7), 10f + i % 13, i});
+            if (checkInputHandler != null && i % 50 == 0) {
+                checkInputHandler.send(i * 10, new Object[]{"SYMBOL" + (i % 5)});
+            }
+        }
+        siddhiAppRuntime.shutdown();
+        siddhiManager.shutdown();
+        return outputs;
+    }
 }
@@ -22,6 +22,8 @@ import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.OnDemandQueryCreationException;
+import io.siddhi.core.query.OnDemandQueryCursor;
+import io.siddhi.core.query.PreparedOnDemandQuery;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.query.api.definition.Attribute;
@@ -32,6 +34,10 @@ import org.testng.Assert;
 import org.testng.AssertJUnit;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class OnDemandQueryTableTestCase {
 
     private static final Logger log = Logger.getLogger(OnDemandQueryTableTestCase.class);
@@ -886,4 +892,297 @@ public class OnDemandQueryTableTestCase {
 
         siddhiAppRuntime.shutdown();
     }
+
+    @Test
+    public void test22() throws InterruptedException {
+        log.info("Testing prepared on-demand queries with bind variables");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@PrimaryKey('symbol') " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+        stockStream.send(new Object[]{"IBM", 75.6f, 200L});
+        stockStream.send(new Object[]{"GOOG", 57.6f, 300L});
+        Thread.sleep(500);
+
+        PreparedOnDemandQuery symbolQuery = siddhiAppRuntime.prepareQuery("" +
+                "from StockTable " +
+                "on symbol == ? " +
+                "select symbol, volume ");
+        Event[] events = symbolQuery.execute("IBM");
+        EventPrinter.print(events);
+        AssertJUnit.assertEquals(1, events.length);
+        AssertJUnit.assertEquals(200L, events[0].getData(1));
+
+        events = symbolQuery.execute("WSO2");
+        EventPrinter.print(events);
+        AssertJUnit.assertEquals(1, events.length);
+        AssertJUnit.assertEquals(100L, events[0].getData(1));
+
+        events = siddhiAppRuntime.query("" +
+                "from StockTable " +
+                "on price > ? and volume < ? " +
+                "select symbol, price + ? as price ", 56f, 300L, 1f);
+        EventPrinter.print(events);
+        AssertJUnit.assertEquals(1, events.length);
+        AssertJUnit.assertEquals("IBM", events[0].getData(0));
+        AssertJUnit.assertEquals(76.6f, events[0].getData(1));
+
+        // Bound values of a different type compile the query again for the new types
+        events = siddhiAppRuntime.query("" +
+                "from StockTable " +
+                "on price > ? and volume < ? " +
+                "select symbol, price + ? as price ", 56, 400, 1d);
+        EventPrinter.print(events);
+        AssertJUnit.assertEquals(2, events.length);
+        AssertJUnit.assertEquals(Attribute.Type.DOUBLE, siddhiAppRuntime.getOnDemandQueryOutputAttributes(
+                "from StockTable select symbol, price + 1d as price ")[1].getType());
+
+        siddhiAppRuntime.prepareQuery("" +
+                "select ? as newPrice " +
+                "update StockTable " +
+                "set StockTable.price = newPrice " +
+                "on StockTable.volume == ? ").execute(60f, 300L);
+        events = symbolQuery.execute("GOOG");
+        EventPrinter.print(events);
+        AssertJUnit.assertEquals(1, events.length);
+        events = siddhiAppRuntime.query("from StockTable on symbol == 'GOOG' and price == ? ", 60f);
+        AssertJUnit.assertEquals(1, events.length);
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void test23() throws InterruptedException {
+        log.info("Testing prepared on-demand queries on a store");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@Store(type='testStoreContainingInMemoryTable') " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+        stockStream.send(new Object[]{"IBM", 75.6f, 200L});
+        stockStream.send(new Object[]{"WSO2", 57.6f, 300L});
+        Thread.sleep(500);
+
+        PreparedOnDemandQuery preparedQuery = siddhiAppRuntime.prepareQuery("" +
+                "from StockTable " +
+                "on symbol == ? and volume > ? " +
+                "select symbol, price ");
+        Event[] events = preparedQuery.execute("WSO2", 50L);
+        EventPrinter.print(events);
+        AssertJUnit.assertEquals(2, events.length);
+
+        events = preparedQuery.execute("WSO2", 200L);
+        EventPrinter.print(events);
+        AssertJUnit.assertEquals(1, events.length);
+        AssertJUnit.assertEquals(57.6f, events[0].getData(1));
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void test24() throws InterruptedException {
+        log.info("Testing prepared on-demand query failures");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = "" +
+                "define table StockTable (symbol string, price float, volume long); ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams);
+        siddhiAppRuntime.start();
+
+        PreparedOnDemandQuery preparedQuery = siddhiAppRuntime.prepareQuery("" +
+                "from StockTable " +
+                "on symbol == ? and volume > ? ");
+        try {
+            preparedQuery.execute("WSO2");
+            Assert.fail("Expected OnDemandQueryCreationException exception");
+        } catch (OnDemandQueryCreationException e) {
+            Assert.assertTrue(e.getMessage().contains("No value is bound to the bind variable at index 1"));
+        }
+        try {
+            preparedQuery.execute("WSO2", null);
+            Assert.fail("Expected OnDemandQueryCreationException exception");
+        } catch (OnDemandQueryCreationException e) {
+            Assert.assertTrue(e.getMessage().contains("index 1 is null"));
+        }
+        try {
+            siddhiAppRuntime.prepareQuery("from StockTable on symbol == ?? ");
+            Assert.fail("Expected SiddhiParserException exception");
+        } catch (SiddhiParserException e) {
+            // expected
+        }
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void test25() throws InterruptedException {
+        log.info("Testing on-demand queries returning events in pages");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        for (int i = 0; i < 25; i++) {
+            stockStream.send(new Object[]{i % 2 == 0 ? "WSO2" : "IBM", (float) i, (long) i});
+        }
+        Thread.sleep(500);
+
+        List<Integer> pageSizes = new ArrayList<>();
+        long volume = 0;
+        try (OnDemandQueryCursor cursor = siddhiAppRuntime.queryStream("" +
+                "from StockTable " +
+                "select symbol, volume ", 10)) {
+            while (cursor.hasNext()) {
+                Event[] page = cursor.next();
+                pageSizes.add(page.length);
+                for (Event event : page) {
+                    AssertJUnit.assertEquals(volume++, event.getData(1));
+                }
+            }
+        }
+        AssertJUnit.assertEquals(Arrays.asList(10, 10, 5), pageSizes);
+
+        pageSizes.clear();
+        volume = 0;
+        try (OnDemandQueryCursor cursor = siddhiAppRuntime.queryStream("" +
+                "from StockTable " +
+                "on symbol == 'WSO2' " +
+                "select symbol, volume " +
+                "limit 7 " +
+                "offset 2 ", 5)) {
+            while (cursor.hasNext()) {
+                Event[] page = cursor.next();
+                pageSizes.add(page.length);
+                for (Event event : page) {
+                    AssertJUnit.assertEquals(4 + volume, event.getData(1));
+                    volume += 2;
+                }
+            }
+        }
+        AssertJUnit.assertEquals(Arrays.asList(5, 2), pageSizes);
+
+        String pagedQuery = "" +
+                "from StockTable " +
+                "on symbol == 'IBM' " +
+                "select symbol, volume " +
+                "limit 3 ";
+        try (OnDemandQueryCursor cursor1 = siddhiAppRuntime.queryStream(pagedQuery, 2);
+             OnDemandQueryCursor cursor2 = siddhiAppRuntime.queryStream(pagedQuery, 2)) {
+            // Cursors of the same query are consumed independently of each other and of the executed queries
+            AssertJUnit.assertEquals(2, cursor1.next().length);
+            AssertJUnit.assertEquals(3, siddhiAppRuntime.query(pagedQuery).length);
+            Event[] page = cursor2.next();
+            AssertJUnit.assertEquals(1L, page[0].getData(1));
+            AssertJUnit.assertEquals(3L, page[1].getData(1));
+            page = cursor1.next();
+            AssertJUnit.assertEquals(1, page.length);
+            AssertJUnit.assertEquals(5L, page[0].getData(1));
+            AssertJUnit.assertFalse(cursor1.hasNext());
+            AssertJUnit.assertEquals(1, cursor2.next().length);
+            AssertJUnit.assertFalse(cursor2.hasNext());
+        }
+
+        try (OnDemandQueryCursor cursor = siddhiAppRuntime.queryStream("" +
+                "from StockTable " +
+                "select symbol, sum(volume) as totalVolume " +
+                "group by symbol " +
+                "order by symbol ", 1)) {
+            Event[] page = cursor.next();
+            AssertJUnit.assertEquals(1, page.length);
+            AssertJUnit.assertEquals("IBM", page[0].getData(0));
+            AssertJUnit.assertEquals(144L, page[0].getData(1));
+            page = cursor.next();
+            AssertJUnit.assertEquals("WSO2", page[0].getData(0));
+            AssertJUnit.assertEquals(156L, page[0].getData(1));
+            AssertJUnit.assertFalse(cursor.hasNext());
+        }
+
+        try (OnDemandQueryCursor cursor = siddhiAppRuntime.queryStream("" +
+                "from StockTable " +
+                "on volume > 100 ", 5)) {
+            AssertJUnit.assertFalse(cursor.hasNext());
+        }
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void test26() throws InterruptedException {
+        log.info("Testing on-demand queries on a store returning events in pages");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@Store(type='testStoreContainingInMemoryTable') " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        for (int i = 0; i < 12; i++) {
+            stockStream.send(new Object[]{"WSO2", (float) i, (long) i});
+        }
+        Thread.sleep(500);
+
+        List<Integer> pageSizes = new ArrayList<>();
+        try (OnDemandQueryCursor cursor = siddhiAppRuntime.queryStream("" +
+                "from StockTable " +
+                "on volume >= 2 " +
+                "select symbol, price ", 4)) {
+            while (cursor.hasNext()) {
+                pageSizes.add(cursor.next().length);
+            }
+        }
+        AssertJUnit.assertEquals(Arrays.asList(4, 4, 2), pageSizes);
+
+        OnDemandQueryCursor cursor = siddhiAppRuntime.queryStream("from StockTable select symbol, price ", 5);
+        AssertJUnit.assertEquals(5, cursor.next().length);
+        cursor.close();
+        AssertJUnit.assertFalse(cursor.hasNext());
+
+        siddhiAppRuntime.shutdown();
+    }
 }
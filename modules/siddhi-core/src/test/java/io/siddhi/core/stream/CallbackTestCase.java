@@ -21,10 +21,12 @@ package io.siddhi.core.stream;
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.event.EventCursor;
 import io.siddhi.core.exception.DefinitionNotExistException;
 import io.siddhi.core.exception.QueryNotExistException;
 import io.siddhi.core.query.output.callback.QueryCallback;
 import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.CursorStreamCallback;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.core.util.SiddhiTestHelper;
@@ -34,6 +36,8 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -260,4 +264,100 @@ public class CallbackTestCase {
         siddhiAppRuntime.shutdown();
     }
 
+    @Test
+    public void callbackTest6() throws InterruptedException {
+        log.info("callback test6");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[volume > 50] " +
+                "select symbol, price, volume " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Event> events = new ArrayList<>();
+        siddhiAppRuntime.addCallback("OutputStream", new CursorStreamCallback() {
+            @Override
+            public void receive(EventCursor cursor) {
+                eventArrived = true;
+                while (cursor.next()) {
+                    AssertJUnit.assertEquals(3, cursor.getAttributeCount());
+                    AssertJUnit.assertFalse(cursor.isExpired());
+                    if (count == 0) {
+                        AssertJUnit.assertEquals("IBM", cursor.getString(0));
+                        AssertJUnit.assertEquals(10f, cursor.getFloat(1));
+                        AssertJUnit.assertEquals(100L, cursor.getLong(2));
+                    }
+                    events.add(cursor.toEvent());
+                    count++;
+                }
+            }
+        });
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 10f, 100L});
+        inputHandler.send(new Object[]{"WSO2", 20f, 10L});
+        inputHandler.send(new Event[]{
+                new Event(System.currentTimeMillis(), new Object[]{"ORACLE", 30f, 200L}),
+                new Event(System.currentTimeMillis(), new Object[]{"GOOG", 40f, 300L})});
+        AssertJUnit.assertTrue(eventArrived);
+        AssertJUnit.assertEquals(3, count);
+        AssertJUnit.assertEquals("IBM", events.get(0).getData(0));
+        AssertJUnit.assertEquals("ORACLE", events.get(1).getData(0));
+        AssertJUnit.assertEquals(300L, events.get(2).getData(2));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void callbackTest7() throws InterruptedException {
+        log.info("callback test7");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.length(1) " +
+                "select symbol, price, volume " +
+                "insert all events into IntermediateStream ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from IntermediateStream[volume > 50] " +
+                "select symbol, volume " +
+                "insert into OutputStream ;";
+
+        StreamCallback intermediateCallback = new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                eventArrived2 = true;
+            }
+        };
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                eventArrived = true;
+                for (Event event : events) {
+                    AssertJUnit.assertFalse(event.isExpired());
+                    count++;
+                }
+            }
+        });
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 10f, 100L});
+        inputHandler.send(new Object[]{"WSO2", 20f, 10L});
+        // Expired events of query1 are consumed as current events by query2
+        AssertJUnit.assertEquals(2, count);
+        siddhiAppRuntime.addCallback("IntermediateStream", intermediateCallback);
+        inputHandler.send(new Object[]{"ORACLE", 30f, 200L});
+        AssertJUnit.assertEquals(3, count);
+        AssertJUnit.assertTrue(eventArrived);
+        AssertJUnit.assertTrue(eventArrived2);
+        siddhiAppRuntime.shutdown();
+    }
+
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.stream;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.query.input.ProcessStreamReceiver;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.EventPrinter;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.expression.condition.Compare;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReceiverPredicateIndexTestCase {
+
+    private static final Logger log = Logger.getLogger(ReceiverPredicateIndexTestCase.class);
+
+    private ProcessStreamReceiver receiver(ReceiverPredicate receiverPredicate) {
+        ProcessStreamReceiver processStreamReceiver = new ProcessStreamReceiver("StockStream", null);
+        processStreamReceiver.setReceiverPredicate(receiverPredicate);
+        return processStreamReceiver;
+    }
+
+    @Test
+    public void testPredicateIndexMatching() {
+        log.info("ReceiverPredicateIndexTestCase test1");
+        List<StreamJunction.Receiver> receivers = new ArrayList<>();
+        receivers.add(receiver(ReceiverPredicate.create(0, Attribute.Type.STRING, Compare.Operator.EQUAL, "IBM")));
+        receivers.add(receiver(ReceiverPredicate.create(1, Attribute.Type.FLOAT, Compare.Operator.GREATER_THAN,
+                50)));
+        receivers.add(receiver(ReceiverPredicate.create(1, Attribute.Type.FLOAT,
+                Compare.Operator.GREATER_THAN_EQUAL, 55.5)));
+        receivers.add(receiver(ReceiverPredicate.create(2, Attribute.Type.LONG, Compare.Operator.LESS_THAN, 20)));
+        receivers.add(receiver(ReceiverPredicate.create(2, Attribute.Type.LONG, Compare.Operator.LESS_THAN_EQUAL,
+                20L)));
+        receivers.add(receiver(null));
+        ReceiverPredicateIndex predicateIndex = ReceiverPredicateIndex.build(receivers);
+        AssertJUnit.assertNotNull(predicateIndex);
+
+        AssertJUnit.assertTrue(Arrays.equals(new boolean[]{true, false, false, false, true, true},
+                predicateIndex.match(new Object[]{"IBM", 50f, 20L})));
+        AssertJUnit.assertTrue(Arrays.equals(new boolean[]{false, true, true, true, true, true},
+                predicateIndex.match(new Object[]{"WSO2", 55.5f, 10L})));
+        AssertJUnit.assertTrue(Arrays.equals(new boolean[]{false, true, false, false, false, true},
+                predicateIndex.match(new Object[]{"WSO2", 51f, 30L})));
+        // Null values never satisfy compare conditions
+        AssertJUnit.assertTrue(Arrays.equals(new boolean[]{false, false, false, false, false, true},
+                predicateIndex.match(new Object[]{null, null, null})));
+        // Values of unexpected types are left for the receivers to evaluate
+        AssertJUnit.assertTrue(Arrays.equals(new boolean[]{false, true, true, false, false, true},
+                predicateIndex.match(new Object[]{"WSO2", "55", 40L})));
+    }
+
+    @Test
+    public void testUnindexablePredicates() {
+        log.info("ReceiverPredicateIndexTestCase test2");
+        AssertJUnit.assertNull(ReceiverPredicate.create(0, Attribute.Type.STRING, Compare.Operator.NOT_EQUAL,
+                "IBM"));
+        AssertJUnit.assertNull(ReceiverPredicate.create(0, Attribute.Type.STRING, Compare.Operator.GREATER_THAN,
+                "IBM"));
+        // Integral attributes compared with floating point values are compared in floating point
+        AssertJUnit.assertNull(ReceiverPredicate.create(2, Attribute.Type.LONG, Compare.Operator.GREATER_THAN,
+                10.5));
+        // Not exactly representable as a float
+        AssertJUnit.assertNull(ReceiverPredicate.create(1, Attribute.Type.FLOAT, Compare.Operator.EQUAL,
+                16777217));
+
+        List<StreamJunction.Receiver> receivers = new ArrayList<>();
+        receivers.add(receiver(ReceiverPredicate.create(0, Attribute.Type.STRING, Compare.Operator.EQUAL, "IBM")));
+        receivers.add(receiver(null));
+        AssertJUnit.assertNull(ReceiverPredicateIndex.build(receivers));
+    }
+
+    @Test
+    public void testIndexedFilterQueries() throws InterruptedException {
+        log.info("ReceiverPredicateIndexTestCase test3");
+        String[] conditions = new String[]{
+                "symbol == 'IBM'",
+                "symbol == 'WSO2' and price > 50",
+                "price > 50",
+                "55 <= price",
+                "volume < 30 and symbol != 'IBM'",
+                "volume == 30",
+                "price != 40",
+                "volume > 10.5",
+                "price > 40 and symbol == 'IBM'",
+                "StockStream.symbol == 'ORACLE' or volume == 10"
+        };
+        StringBuilder siddhiApp = new StringBuilder("define stream StockStream (symbol string, price float, " +
+                "volume long); ");
+        for (int i = 0; i < conditions.length; i++) {
+            siddhiApp.append("@info(name = 'query").append(i).append("') ")
+                    .append("from StockStream[").append(conditions[i]).append("] ")
+                    .append("select symbol, price, volume ")
+                    .append("insert into OutputStream").append(i).append("; ");
+        }
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp.toString());
+        AtomicInteger[] counts = new AtomicInteger[conditions.length];
+        for (int i = 0; i < conditions.length; i++) {
+            AtomicInteger count = new AtomicInteger();
+            counts[i] = count;
+            siddhiAppRuntime.addCallback("OutputStream" + i, new StreamCallback() {
+                @Override
+                public void receive(Event[] events) {
+                    EventPrinter.print(events);
+                    count.addAndGet(events.length);
+                }
+            });
+        }
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 70f, 10L});
+        inputHandler.send(new Object[]{"WSO2", 40f, 20L});
+        inputHandler.send(new Object[]{"WSO2", 55f, 30L});
+        inputHandler.send(new Event[]{
+                new Event(System.currentTimeMillis(), new Object[]{"IBM", 45f, 40L}),
+                new Event(System.currentTimeMillis(), new Object[]{"ORACLE", 60f, 20L}),
+                new Event(System.currentTimeMillis(), new Object[]{"WSO2", 50f, 30L})
+        });
+        siddhiAppRuntime.shutdown();
+
+        int[] expectedCounts = new int[]{2, 1, 3, 3, 2, 2, 5, 5, 2, 2};
+        for (int i = 0; i < conditions.length; i++) {
+            AssertJUnit.assertEquals("Unexpected output for '" + conditions[i] + "'", expectedCounts[i],
+                    counts[i].get());
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.stream.output.sink;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.sink.distributed.DistributedTransport;
+import io.siddhi.core.transport.TestBatchInMemorySink;
+import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.transport.InMemoryBroker;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class SinkPublishQueueTestCase {
+
+    private static final Logger log = Logger.getLogger(SinkPublishQueueTestCase.class);
+
+    private InMemoryBroker.Subscriber subscriber(String topic, List<Object> received) {
+        return new InMemoryBroker.Subscriber() {
+            @Override
+            public void onMessage(Object msg) {
+                EventPrinter.print(new Event[]{(Event) msg});
+                received.add(((Event) msg).getData(1));
+            }
+
+            @Override
+            public String getTopic() {
+                return topic;
+            }
+        };
+    }
+
+    @Test
+    public void sinkPublishQueueTest1() throws InterruptedException {
+        log.info("sinkPublishQueueTest1 - on.error='wait' does not block the query thread when a publish " +
+                "queue is used");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@sink(type='inMemory', topic='WSO2_QUEUE', on.error='wait', publisher.buffer.size='16', " +
+                "   publisher.batch.size='4', publisher.linger.ms='10', @map(type='passThrough')) " +
+                "define stream OutputStream (symbol string, price float); " +
+                "from StockStream " +
+                "select symbol, price " +
+                "insert into OutputStream; ";
+
+        List<Object> received = new CopyOnWriteArrayList<>();
+        InMemoryBroker.Subscriber subscriber = subscriber("WSO2_QUEUE", received);
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        try {
+            AssertJUnit.assertNotNull(siddhiAppRuntime.getSinks().iterator().next().get(0).getPublishQueue());
+            long startTime = System.currentTimeMillis();
+            for (int i = 0; i < 10; i++) {
+                inputHandler.send(new Object[]{"WSO2", (float) i, 100L});
+            }
+            AssertJUnit.assertTrue("Query thread was blocked by the disconnected sink",
+                    System.currentTimeMillis() - startTime < 2000);
+            AssertJUnit.assertEquals(0, received.size());
+
+            InMemoryBroker.subscribe(subscriber);
+            long endTime = System.currentTimeMillis() + 15000;
+            while (received.size() < 10 && System.currentTimeMillis() < endTime) {
+                Thread.sleep(100);
+            }
+            AssertJUnit.assertEquals(10, received.size());
+            for (int i = 0; i < 10; i++) {
+                AssertJUnit.assertEquals((float) i, received.get(i));
+            }
+        } finally {
+            siddhiAppRuntime.shutdown();
+            InMemoryBroker.unsubscribe(subscriber);
+        }
+    }
+
+    @Test(dependsOnMethods = "sinkPublishQueueTest1")
+    public void sinkPublishQueueTest2() throws InterruptedException {
+        log.info("sinkPublishQueueTest2 - oldest queued payloads are dropped when the publish queue is full");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@sink(type='inMemory', topic='IBM_QUEUE', on.error='wait', publisher.buffer.size='2', " +
+                "   publisher.backpressure='drop.oldest', @map(type='passThrough')) " +
+                "define stream OutputStream (symbol string, price float); " +
+                "from StockStream " +
+                "select symbol, price " +
+                "insert into OutputStream; ";
+
+        List<Object> received = new CopyOnWriteArrayList<>();
+        InMemoryBroker.Subscriber subscriber = subscriber("IBM_QUEUE", received);
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        try {
+            // The first payload is taken by the publisher, which then waits for the sink to connect
+            inputHandler.send(new Object[]{"IBM", 0f, 100L});
+            Thread.sleep(500);
+            for (int i = 1; i < 6; i++) {
+                inputHandler.send(new Object[]{"IBM", (float) i, 100L});
+            }
+            SinkPublishQueue publishQueue = siddhiAppRuntime.getSinks().iterator().next().get(0).getPublishQueue();
+            AssertJUnit.assertEquals(2, publishQueue.getBufferedEvents());
+            AssertJUnit.assertEquals(3, publishQueue.getDroppedPayloads());
+
+            InMemoryBroker.subscribe(subscriber);
+            long endTime = System.currentTimeMillis() + 15000;
+            while (received.size() < 3 && System.currentTimeMillis() < endTime) {
+                Thread.sleep(100);
+            }
+            AssertJUnit.assertEquals(3, received.size());
+            AssertJUnit.assertEquals(0f, received.get(0));
+            AssertJUnit.assertEquals(4f, received.get(1));
+            AssertJUnit.assertEquals(5f, received.get(2));
+        } finally {
+            siddhiAppRuntime.shutdown();
+            InMemoryBroker.unsubscribe(subscriber);
+        }
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void sinkPublishQueueTest3() {
+        log.info("sinkPublishQueueTest3 - invalid publisher backpressure");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@sink(type='inMemory', topic='IBM_QUEUE', publisher.buffer.size='2', " +
+                "   publisher.backpressure='drop.newest', @map(type='passThrough')) " +
+                "define stream OutputStream (symbol string, price float); " +
+                "from StockStream " +
+                "select symbol, price " +
+                "insert into OutputStream; ";
+        try {
+            siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        } finally {
+            siddhiManager.shutdown();
+        }
+    }
+
+    @Test(dependsOnMethods = "sinkPublishQueueTest2")
+    public void sinkPublishQueueTest4() throws InterruptedException {
+        log.info("sinkPublishQueueTest4 - payloads queued within the linger time are published as a batch");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("sink:testBatchInMemory", TestBatchInMemorySink.class);
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@sink(type='testBatchInMemory', topic='BATCH_QUEUE', publisher.buffer.size='16', " +
+                "   publisher.batch.size='4', publisher.linger.ms='500', @map(type='passThrough')) " +
+                "define stream OutputStream (symbol string, price float); " +
+                "from StockStream " +
+                "select symbol, price " +
+                "insert into OutputStream; ";
+
+        List<Object> received = new CopyOnWriteArrayList<>();
+        InMemoryBroker.Subscriber subscriber = subscriber("BATCH_QUEUE", received);
+        InMemoryBroker.subscribe(subscriber);
+        TestBatchInMemorySink.BATCH_SIZES.clear();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        try {
+            for (int i = 0; i < 8; i++) {
+                inputHandler.send(new Object[]{"WSO2", (float) i, 100L});
+            }
+            long endTime = System.currentTimeMillis() + 15000;
+            while (received.size() < 8 && System.currentTimeMillis() < endTime) {
+                Thread.sleep(100);
+            }
+            AssertJUnit.assertEquals(8, received.size());
+            for (int i = 0; i < 8; i++) {
+                AssertJUnit.assertEquals((float) i, received.get(i));
+            }
+            AssertJUnit.assertEquals(Arrays.asList(4, 4), TestBatchInMemorySink.BATCH_SIZES);
+        } finally {
+            siddhiAppRuntime.shutdown();
+            InMemoryBroker.unsubscribe(subscriber);
+        }
+    }
+
+    @Test(dependsOnMethods = "sinkPublishQueueTest4")
+    public void sinkPublishQueueTest5() throws InterruptedException {
+        log.info("sinkPublishQueueTest5 - distributed sinks queue the payloads of each destination");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@sink(type='testInMemory', publisher.buffer.size='16', @map(type='passThrough'), " +
+                "   @distribution(strategy='roundRobin', " +
+                "       @destination(topic = 'DESTINATION_1'), " +
+                "       @destination(topic = 'DESTINATION_2'))) " +
+                "define stream OutputStream (symbol string, price float); " +
+                "from StockStream " +
+                "select symbol, price " +
+                "insert into OutputStream; ";
+
+        List<Object> received1 = new CopyOnWriteArrayList<>();
+        List<Object> received2 = new CopyOnWriteArrayList<>();
+        InMemoryBroker.Subscriber subscriber1 = subscriber("DESTINATION_1", received1);
+        InMemoryBroker.Subscriber subscriber2 = subscriber("DESTINATION_2", received2);
+        InMemoryBroker.subscribe(subscriber1);
+        InMemoryBroker.subscribe(subscriber2);
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        try {
+            Sink sink = siddhiAppRuntime.getSinks().iterator().next().get(0);
+            AssertJUnit.assertNull(sink.getPublishQueue());
+            List<Sink> destinationSinks = ((DistributedTransport) sink).getDestinationSinks();
+            AssertJUnit.assertEquals(2, destinationSinks.size());
+            for (Sink destinationSink : destinationSinks) {
+                AssertJUnit.assertNotNull(destinationSink.getPublishQueue());
+            }
+            for (int i = 0; i < 6; i++) {
+                inputHandler.send(new Object[]{"WSO2", (float) i, 100L});
+            }
+            long endTime = System.currentTimeMillis() + 15000;
+            while (received1.size() + received2.size() < 6 && System.currentTimeMillis() < endTime) {
+                Thread.sleep(100);
+            }
+            AssertJUnit.assertEquals(Arrays.asList(0f, 2f, 4f), received1);
+            AssertJUnit.assertEquals(Arrays.asList(1f, 3f, 5f), received2);
+        } finally {
+            siddhiAppRuntime.shutdown();
+            InMemoryBroker.unsubscribe(subscriber1);
+            InMemoryBroker.unsubscribe(subscriber2);
+        }
+    }
+}
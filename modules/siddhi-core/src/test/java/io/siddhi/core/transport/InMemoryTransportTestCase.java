@@ -28,17 +28,27 @@ import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.core.util.config.InMemoryConfigManager;
+import io.siddhi.core.util.transport.BufferedSubscriber;
 import io.siddhi.core.util.transport.InMemoryBroker;
 import io.siddhi.core.util.transport.SubscriberUnAvailableException;
+import io.siddhi.core.util.transport.TemplateBuilder;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.definition.StreamDefinition;
 import org.apache.log4j.Logger;
 import org.testng.Assert;
 import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -1621,4 +1631,293 @@ public class InMemoryTransportTestCase {
         Assert.assertEquals(wso2Count.get(), 3);
         siddhiManager.shutdown();
     }
+
+    @Test(dependsOnMethods = {"inMemoryTestCase22"})
+    public void inMemoryTestCase23() throws InterruptedException {
+        log.info("Test inMemoryTestCase23 - buffered inMemory source");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String publisherApp = "" +
+                "define stream CheckStockStream (symbol string, volume long); " +
+                "@sink(type='inMemory', topic='BufferedStream', @map(type='passThrough')) " +
+                "define stream OutputStream (symbol string, volume long); " +
+                "" +
+                "from CheckStockStream " +
+                "select * " +
+                "insert into OutputStream; ";
+
+        String consumerApp = "" +
+                "@source(type='inMemory', topic='BufferedStream', buffer.size='16', @map(type='passThrough')) " +
+                "define stream InputStream (symbol string, volume long); ";
+
+        SiddhiAppRuntime publisherRuntime = siddhiManager.createSiddhiAppRuntime(publisherApp);
+        SiddhiAppRuntime consumerRuntime = siddhiManager.createSiddhiAppRuntime(consumerApp);
+
+        AtomicInteger eventCount = new AtomicInteger(0);
+        AtomicInteger outOfOrderCount = new AtomicInteger(0);
+        consumerRuntime.addCallback("InputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    if ((Long) event.getData(1) != eventCount.getAndIncrement()) {
+                        outOfOrderCount.incrementAndGet();
+                    }
+                }
+            }
+        });
+        InputHandler stockStream = publisherRuntime.getInputHandler("CheckStockStream");
+
+        publisherRuntime.start();
+        consumerRuntime.start();
+
+        for (long i = 0; i < 1000; i++) {
+            stockStream.send(new Object[]{"WSO2", i});
+        }
+        Thread.sleep(500);
+        AssertJUnit.assertEquals("Number of events", 1000, eventCount.get());
+        AssertJUnit.assertEquals("Number of events out of order", 0, outOfOrderCount.get());
+        siddhiManager.shutdown();
+    }
+
+    @Test(dependsOnMethods = {"inMemoryTestCase23"}, expectedExceptions = SiddhiAppCreationException.class)
+    public void inMemoryTestCase24() {
+        log.info("Test inMemoryTestCase24 - invalid buffer size");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String consumerApp = "" +
+                "@source(type='inMemory', topic='BufferedStream', buffer.size='100', @map(type='passThrough')) " +
+                "define stream InputStream (symbol string, volume long); ";
+        try {
+            siddhiManager.createSiddhiAppRuntime(consumerApp);
+        } finally {
+            siddhiManager.shutdown();
+        }
+    }
+
+    @Test(dependsOnMethods = {"inMemoryTestCase24"})
+    public void inMemoryTestCase25() {
+        log.info("Test compiled payload templates built as strings and as bytes");
+        StreamDefinition streamDefinition = StreamDefinition.id("FooStream")
+                .attribute("symbol", Attribute.Type.STRING)
+                .attribute("price", Attribute.Type.FLOAT)
+                .attribute("volume", Attribute.Type.LONG)
+                .attribute("count", Attribute.Type.INT)
+                .attribute("payload", Attribute.Type.OBJECT);
+
+        TemplateBuilder templateBuilder = new TemplateBuilder(streamDefinition,
+                "{\"symbol\":\"{{symbol}}\", \"price\":{{price}}, \"volume\":{{volume}}, " +
+                        "\"count\":{{count}}, \"note\":\"{a{b}c} \u00fc\u20ac\ud83d\ude00\"}");
+        Event event = new Event(System.currentTimeMillis(),
+                new Object[]{"WSO2\u00e9", 55.6f, Long.MIN_VALUE, -120, null});
+        String expected = "{\"symbol\":\"WSO2\u00e9\", \"price\":55.6, \"volume\":-9223372036854775808, " +
+                "\"count\":-120, \"note\":\"{a{b}c} \u00fc\u20ac\ud83d\ude00\"}";
+        AssertJUnit.assertEquals(expected, templateBuilder.build(event));
+        AssertJUnit.assertTrue(Arrays.equals(expected.getBytes(StandardCharsets.UTF_8),
+                templateBuilder.buildBytes(event)));
+        AssertJUnit.assertEquals(ByteBuffer.wrap(expected.getBytes(StandardCharsets.UTF_8)),
+                templateBuilder.buildByteBuffer(event));
+
+        event = new Event(System.currentTimeMillis(), new Object[]{null, null, 0L, null, null});
+        expected = "{\"symbol\":\"null\", \"price\":null, \"volume\":0, " +
+                "\"count\":null, \"note\":\"{a{b}c} \u00fc\u20ac\ud83d\ude00\"}";
+        AssertJUnit.assertEquals(expected, templateBuilder.build(event));
+        AssertJUnit.assertTrue(Arrays.equals(expected.getBytes(StandardCharsets.UTF_8),
+                templateBuilder.buildBytes(event)));
+
+        // Payloads larger than the presized builders are still built in full
+        char[] symbol = new char[20000];
+        Arrays.fill(symbol, 'W');
+        event = new Event(System.currentTimeMillis(), new Object[]{new String(symbol), 1f, 1L, 1, null});
+        expected = "{\"symbol\":\"" + new String(symbol) + "\", \"price\":1.0, \"volume\":1, " +
+                "\"count\":1, \"note\":\"{a{b}c} \u00fc\u20ac\ud83d\ude00\"}";
+        AssertJUnit.assertEquals(expected, templateBuilder.build(event));
+        AssertJUnit.assertTrue(Arrays.equals(expected.getBytes(StandardCharsets.UTF_8),
+                templateBuilder.buildBytes(event)));
+
+        TemplateBuilder objectTemplateBuilder = new TemplateBuilder(streamDefinition, "payload");
+        byte[] payload = "WSO2".getBytes(StandardCharsets.UTF_8);
+        event = new Event(System.currentTimeMillis(), new Object[]{"WSO2", 55.6f, 100L, 10, payload});
+        AssertJUnit.assertTrue(objectTemplateBuilder.isObjectMessage());
+        AssertJUnit.assertSame(payload, objectTemplateBuilder.build(event));
+        AssertJUnit.assertSame(payload, objectTemplateBuilder.buildBytes(event));
+        AssertJUnit.assertSame(payload, objectTemplateBuilder.buildByteBuffer(event).array());
+    }
+
+    @Test
+    public void inMemoryTestCase26() throws InterruptedException, SubscriberUnAvailableException {
+        log.info("Test batch source mapping with reused event buffers");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@source(type='inMemory', topic='BATCH_REUSED', @map(type='testBatch')) " +
+                "define stream FooStream (symbol string, price float, volume long); " +
+                "define stream BarStream (symbol string, price float, volume long); " +
+                "@info(name='query1') " +
+                "from FooStream select * insert into BarStream; ";
+        List<Event> received = new ArrayList<>();
+        TestBatchSourceMapper.COMMITTED_BUFFERS.clear();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("BarStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                received.addAll(Arrays.asList(events));
+            }
+        });
+        siddhiAppRuntime.start();
+        try {
+            InMemoryBroker.publish("BATCH_REUSED", "WSO2,55.6,100;IBM,75.6,200");
+            InMemoryBroker.publish("BATCH_REUSED", "GOOG,51.2,300;ORCL,42.5,400");
+            AssertJUnit.assertEquals(4, received.size());
+            AssertJUnit.assertEquals("WSO2", received.get(0).getData(0));
+            AssertJUnit.assertEquals(200L, received.get(1).getData(2));
+            AssertJUnit.assertEquals("GOOG", received.get(2).getData(0));
+            AssertJUnit.assertEquals(42.5f, received.get(3).getData(1));
+            // Events of the source stream are only consumed by the query, hence the buffer is reused
+            AssertJUnit.assertEquals(2, TestBatchSourceMapper.COMMITTED_BUFFERS.size());
+            AssertJUnit.assertSame(TestBatchSourceMapper.COMMITTED_BUFFERS.get(0),
+                    TestBatchSourceMapper.COMMITTED_BUFFERS.get(1));
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test(dependsOnMethods = {"inMemoryTestCase26"})
+    public void inMemoryTestCase27() throws InterruptedException, SubscriberUnAvailableException {
+        log.info("Test batch source mapping when the events are retained by the stream");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@source(type='inMemory', topic='BATCH_RETAINED', @map(type='testBatch')) " +
+                "define stream FooStream (symbol string, price float, volume long); ";
+        List<Event> received = new ArrayList<>();
+        TestBatchSourceMapper.COMMITTED_BUFFERS.clear();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("FooStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                received.addAll(Arrays.asList(events));
+            }
+        });
+        siddhiAppRuntime.start();
+        try {
+            InMemoryBroker.publish("BATCH_RETAINED", "WSO2,55.6,100;IBM,75.6,200");
+            InMemoryBroker.publish("BATCH_RETAINED", "GOOG,51.2,300;ORCL,42.5,400");
+            // The stream callback receives the committed events, hence they are not reused
+            AssertJUnit.assertEquals(2, TestBatchSourceMapper.COMMITTED_BUFFERS.size());
+            AssertJUnit.assertNotSame(TestBatchSourceMapper.COMMITTED_BUFFERS.get(0)[0],
+                    TestBatchSourceMapper.COMMITTED_BUFFERS.get(1)[0]);
+            AssertJUnit.assertEquals(4, received.size());
+            AssertJUnit.assertEquals("WSO2", received.get(0).getData(0));
+            AssertJUnit.assertEquals("IBM", received.get(1).getData(0));
+            AssertJUnit.assertEquals("GOOG", received.get(2).getData(0));
+            AssertJUnit.assertEquals("ORCL", received.get(3).getData(0));
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test(dependsOnMethods = {"inMemoryTestCase27"})
+    public void inMemoryTestCase28() throws InterruptedException {
+        log.info("Test stopping a buffered subscriber while its publisher waits on the full buffer");
+        CountDownLatch consumerLatch = new CountDownLatch(1);
+        AtomicInteger eventCount = new AtomicInteger(0);
+        BufferedSubscriber bufferedSubscriber = new BufferedSubscriber(new InMemoryBroker.Subscriber() {
+            @Override
+            public void onMessage(Object msg) {
+                try {
+                    consumerLatch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                eventCount.addAndGet(msg instanceof Event[] ? ((Event[]) msg).length : 1);
+            }
+
+            @Override
+            public String getTopic() {
+                return "BufferedStop";
+            }
+        }, 2);
+        bufferedSubscriber.start();
+
+        Thread publisher = new Thread(() -> {
+            for (long i = 0; i < 10; i++) {
+                bufferedSubscriber.onMessage(new Event(i, new Object[]{"WSO2", i}));
+            }
+        });
+        publisher.setDaemon(true);
+        publisher.start();
+        Thread.sleep(200);
+        AssertJUnit.assertTrue("Publisher waits on the full buffer", publisher.isAlive());
+
+        Thread stopper = new Thread(bufferedSubscriber::stop);
+        stopper.setDaemon(true);
+        stopper.start();
+        Thread.sleep(200);
+        consumerLatch.countDown();
+        publisher.join(5000);
+        stopper.join(5000);
+        AssertJUnit.assertFalse(publisher.isAlive());
+        AssertJUnit.assertFalse(stopper.isAlive());
+        AssertJUnit.assertEquals("Number of events", 10, eventCount.get());
+    }
+
+    @Test(dependsOnMethods = {"inMemoryTestCase28"})
+    public void inMemoryTestCase29() throws InterruptedException {
+        log.info("Test template payloads built as the payload class preferred by the sink");
+        List<Object> bytePayloads = new ArrayList<>();
+        List<Object> stringPayloads = new ArrayList<>();
+        InMemoryBroker.Subscriber byteSubscriber = new InMemoryBroker.Subscriber() {
+            @Override
+            public void onMessage(Object msg) {
+                bytePayloads.add(msg);
+            }
+
+            @Override
+            public String getTopic() {
+                return "TextBytes";
+            }
+        };
+        InMemoryBroker.Subscriber stringSubscriber = new InMemoryBroker.Subscriber() {
+            @Override
+            public void onMessage(Object msg) {
+                stringPayloads.add(msg);
+            }
+
+            @Override
+            public String getTopic() {
+                return "TextString";
+            }
+        };
+        InMemoryBroker.subscribe(byteSubscriber);
+        InMemoryBroker.subscribe(stringSubscriber);
+
+        String siddhiApp = "" +
+                "define stream FooStream (symbol string, price float, volume long); " +
+                "@sink(type='inMemory', topic='TextBytes', " +
+                "   @map(type='testText', @payload('{{symbol}}:{{price}}:{{volume}}'))) " +
+                "@sink(type='testStringInMemory', topic='TextString', " +
+                "   @map(type='testText', @payload('{{symbol}}:{{price}}:{{volume}}'))) " +
+                "define stream BarStream (symbol string, price float, volume long); " +
+                "from FooStream select * insert into BarStream; ";
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler fooStream = siddhiAppRuntime.getInputHandler("FooStream");
+        siddhiAppRuntime.start();
+        try {
+            fooStream.send(new Object[]{"WSO2\u00e9", 55.6f, 100L});
+            fooStream.send(new Object[]{"IBM", 75.6f, -200L});
+
+            AssertJUnit.assertEquals(2, bytePayloads.size());
+            AssertJUnit.assertTrue(Arrays.equals("WSO2\u00e9:55.6:100".getBytes(StandardCharsets.UTF_8),
+                    (byte[]) bytePayloads.get(0)));
+            AssertJUnit.assertTrue(Arrays.equals("IBM:75.6:-200".getBytes(StandardCharsets.UTF_8),
+                    (byte[]) bytePayloads.get(1)));
+            AssertJUnit.assertEquals(Arrays.asList("WSO2\u00e9:55.6:100", "IBM:75.6:-200"), stringPayloads);
+        } finally {
+            siddhiAppRuntime.shutdown();
+            InMemoryBroker.unsubscribe(byteSubscriber);
+            InMemoryBroker.unsubscribe(stringSubscriber);
+        }
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.transport;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.annotation.Parameter;
+import io.siddhi.annotation.util.DataType;
+import io.siddhi.core.exception.ConnectionUnavailableException;
+import io.siddhi.core.stream.output.sink.InMemorySink;
+import io.siddhi.core.util.snapshot.state.State;
+import io.siddhi.core.util.transport.DynamicOptions;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Extension(
+        name = "testBatchInMemory",
+        namespace = "sink",
+        description = "In-memory sink for testing batch publishing of the payloads taken from the publish queue. " +
+                "This dummy sink records the size of each batch it is given before publishing the payloads.",
+        parameters = @Parameter(name = "topic", type = DataType.STRING, description = "Event will be delivered to all" +
+                "the subscribers of the same topic"),
+        examples = @Example(
+                syntax = "@sink(type='testBatchInMemory', topic='topic1', publisher.buffer.size='16', " +
+                        "publisher.batch.size='4', publisher.linger.ms='100', @map(type='passThrough'))\n" +
+                        "define stream BarStream (symbol string, price float, volume long);",
+                description = "In the following example BarStream uses testBatchInMemory transport which emit the " +
+                        "Siddhi events internally in batches of up to four events."
+        )
+)
+public class TestBatchInMemorySink extends InMemorySink {
+
+    public static final List<Integer> BATCH_SIZES = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<Object> payloads, List<DynamicOptions> dynamicOptionsList, State state)
+            throws ConnectionUnavailableException {
+        BATCH_SIZES.add(payloads.size());
+        super.publish(payloads, dynamicOptionsList, state);
+    }
+}
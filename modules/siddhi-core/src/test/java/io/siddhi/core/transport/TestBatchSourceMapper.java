@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.transport;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.MappingFailedException;
+import io.siddhi.core.stream.input.source.InputEventHandler;
+import io.siddhi.core.stream.input.source.PassThroughSourceMapper;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Test batch mapper implementation used for testing purposes, which maps each received string of
+ * 'symbol,price,volume' records separated by ';' into a batch of events.
+ */
+@Extension(
+        name = "testBatch",
+        namespace = "sourceMapper",
+        description = "testBatch mapper maps 'symbol,price,volume' records separated by ';' into a batch of events.",
+        examples = @Example(
+                syntax = "@source(type='inMemory', @map(type='testBatch'),\n" +
+                        "define stream BarStream (symbol string, price float, volume long);",
+                description = "In this example each received string is mapped into a batch of BarStream events."
+        )
+)
+public class TestBatchSourceMapper extends PassThroughSourceMapper {
+
+    static final List<Event[]> COMMITTED_BUFFERS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Class[] getSupportedInputEventClasses() {
+        return new Class[]{String.class};
+    }
+
+    @Override
+    protected void mapAndProcess(Object eventObject, InputEventHandler inputEventHandler)
+            throws MappingFailedException, InterruptedException {
+        String[] records = ((String) eventObject).split(";");
+        Event[] events = inputEventHandler.getEventBuffer(records.length);
+        for (int i = 0; i < records.length; i++) {
+            String[] values = records[i].split(",");
+            Object[] data = events[i].getData();
+            data[0] = values[0];
+            data[1] = Float.parseFloat(values[1]);
+            data[2] = Long.parseLong(values[2]);
+        }
+        COMMITTED_BUFFERS.add(events);
+        inputEventHandler.commitEventBuffer(events);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.transport;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.output.sink.SinkListener;
+import io.siddhi.core.stream.output.sink.SinkMapper;
+import io.siddhi.core.util.config.ConfigReader;
+import io.siddhi.core.util.transport.OptionHolder;
+import io.siddhi.core.util.transport.TemplateBuilder;
+import io.siddhi.query.api.definition.StreamDefinition;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Implementation of {@link SinkMapper} mapping the events with their payload template, as done by the text and JSON
+ * mappers, building the payloads as the class preferred by the sink.
+ */
+@Extension(
+        name = "testText",
+        namespace = "sinkMapper",
+        description = "Maps the events with the given payload template.",
+        examples = @Example(
+                syntax = "@sink(type='inMemory', @map(type='testText', @payload('{{symbol}}:{{price}}')))\n" +
+                        "define stream BarStream (symbol string, price float, volume long);",
+                description = "In the following example BarStream events are published as 'symbol:price' text."
+        )
+)
+public class TestTextSinkMapper extends SinkMapper {
+
+    private TemplateBuilder templateBuilder;
+
+    @Override
+    public String[] getSupportedDynamicOptions() {
+        return new String[0];
+    }
+
+    @Override
+    public void init(StreamDefinition streamDefinition, OptionHolder optionHolder, Map<String, TemplateBuilder>
+            payloadTemplateBuilderMap, ConfigReader mapperConfigReader, SiddhiAppContext siddhiAppContext) {
+        templateBuilder = payloadTemplateBuilderMap.values().iterator().next();
+    }
+
+    @Override
+    public Class[] getOutputEventClasses() {
+        return new Class[]{String.class, byte[].class, ByteBuffer.class};
+    }
+
+    @Override
+    public void mapAndSend(Event[] events, OptionHolder optionHolder,
+                           Map<String, TemplateBuilder> payloadTemplateBuilderMap, SinkListener sinkListener) {
+        for (Event event : events) {
+            sinkListener.publish(buildPayload(templateBuilder, event));
+        }
+    }
+
+    @Override
+    public void mapAndSend(Event event, OptionHolder optionHolder,
+                           Map<String, TemplateBuilder> payloadTemplateBuilderMap, SinkListener sinkListener) {
+        sinkListener.publish(buildPayload(templateBuilder, event));
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.window;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
+import io.siddhi.core.query.QueryRuntime;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.query.api.execution.query.input.stream.SingleInputStream;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class SharedWindowTestCase {
+
+    private static final Logger log = Logger.getLogger(SharedWindowTestCase.class);
+
+    private List<Object> collect(SiddhiAppRuntime siddhiAppRuntime, String streamId, List<Object> results) {
+        siddhiAppRuntime.addCallback(streamId, new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    results.add(event.getData(0));
+                }
+            }
+        });
+        return results;
+    }
+
+    private int countSharedWindowQueries(SiddhiAppRuntime siddhiAppRuntime) {
+        int count = 0;
+        for (QueryRuntime queryRuntime : siddhiAppRuntime.getQueries()) {
+            if (((SingleInputStream) queryRuntime.getQuery().getInputStream()).getStreamId()
+                    .startsWith(SiddhiConstants.SHARED_WINDOW_PREFIX)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private List<List<Object>> runLengthWindowApp(String appAnnotation) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = appAnnotation +
+                "define stream StockStream (symbol string, price float, volume int); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream#window.length(2) " +
+                "select sum(volume) as totalVolume " +
+                "insert into OutputStream1; " +
+                "" +
+                "@info(name = 'query2') " +
+                "from StockStream#window.length(2)[price > 50] " +
+                "select max(StockStream.price) as maxPrice " +
+                "insert all events into OutputStream2; " +
+                "" +
+                "@info(name = 'query3') " +
+                "from StockStream#window.length(3) " +
+                "select count() as total " +
+                "insert into OutputStream3; " +
+                "" +
+                "@info(name = 'query4') " +
+                "from StockStream#window.length(2) " +
+                "select symbol, min(price) as minPrice " +
+                "group by symbol " +
+                "insert into OutputStream4; ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<List<Object>> results = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            results.add(collect(siddhiAppRuntime, "OutputStream" + i, new ArrayList<>()));
+        }
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 70f, 10});
+        inputHandler.send(new Object[]{"WSO2", 40f, 20});
+        inputHandler.send(new Object[]{"IBM", 60f, 30});
+        inputHandler.send(new Object[]{"WSO2", 80f, 40});
+        inputHandler.send(new Object[]{"IBM", 55f, 50});
+        inputHandler.send(new Object[]{"IBM", 45f, 60});
+        results.add(Arrays.asList(countSharedWindowQueries(siddhiAppRuntime), siddhiAppRuntime.getWindows().size(),
+                siddhiAppRuntime.getWindowDefinitionMap().size()));
+        siddhiAppRuntime.shutdown();
+        return results;
+    }
+
+    @Test
+    public void testSharedLengthWindow() throws InterruptedException {
+        log.info("SharedWindowTestCase test1");
+        List<List<Object>> sharedResults = runLengthWindowApp("@app:shareWindows('true') ");
+        List<List<Object>> results = runLengthWindowApp("");
+
+        // Shared windows are not exposed as windows of the app
+        AssertJUnit.assertEquals(Arrays.asList(3, 0, 0), sharedResults.get(4));
+        AssertJUnit.assertEquals(Arrays.asList(0, 0, 0), results.get(4));
+        AssertJUnit.assertEquals(Arrays.asList(10L, 30L, 50L, 70L, 90L, 110L), sharedResults.get(0));
+        AssertJUnit.assertEquals(Arrays.asList(1L, 2L, 3L, 3L, 3L, 3L), sharedResults.get(2));
+        for (int i = 0; i < 4; i++) {
+            AssertJUnit.assertEquals(results.get(i), sharedResults.get(i));
+        }
+    }
+
+    private List<List<Object>> runTimeWindowApp(String appAnnotation) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = appAnnotation +
+                "@app:playback " +
+                "define stream StockStream (symbol string, price float, volume int); " +
+                "define stream TickStream (symbol string); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream#window.time(500 milliseconds) " +
+                "select sum(volume) as totalVolume " +
+                "insert all events into OutputStream1; " +
+                "" +
+                "@info(name = 'query2') " +
+                "from StockStream#window.time(500 milliseconds) " +
+                "select symbol, count() as total " +
+                "group by symbol " +
+                "insert all events into OutputStream2; ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<List<Object>> results = new ArrayList<>();
+        results.add(collect(siddhiAppRuntime, "OutputStream1", new ArrayList<>()));
+        results.add(collect(siddhiAppRuntime, "OutputStream2", new ArrayList<>()));
+        siddhiAppRuntime.start();
+        siddhiAppRuntime.getInputHandler("StockStream").send(1000, new Object[]{"IBM", 70f, 10});
+        siddhiAppRuntime.getInputHandler("StockStream").send(1100, new Object[]{"WSO2", 40f, 20});
+        // Advances the playback time beyond the expiry of each of the events
+        siddhiAppRuntime.getInputHandler("TickStream").send(1550, new Object[]{"IBM"});
+        siddhiAppRuntime.getInputHandler("TickStream").send(1650, new Object[]{"IBM"});
+        results.add(Collections.singletonList(countSharedWindowQueries(siddhiAppRuntime)));
+        siddhiAppRuntime.shutdown();
+        return results;
+    }
+
+    @Test
+    public void testSharedTimeWindow() throws InterruptedException {
+        log.info("SharedWindowTestCase test2");
+        List<List<Object>> sharedResults = runTimeWindowApp("@app:shareWindows('true') ");
+        List<List<Object>> results = runTimeWindowApp("");
+
+        AssertJUnit.assertEquals(Collections.singletonList(2), sharedResults.get(2));
+        AssertJUnit.assertEquals(Arrays.asList(10L, 30L, 20L, null), sharedResults.get(0));
+        AssertJUnit.assertEquals(Arrays.asList("IBM", "WSO2", "IBM", "WSO2"), sharedResults.get(1));
+        AssertJUnit.assertEquals(results.subList(0, 2), sharedResults.subList(0, 2));
+    }
+
+    @Test
+    public void testBatchWindowNotShared() throws InterruptedException {
+        log.info("SharedWindowTestCase test3");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:shareWindows('true') " +
+                "define stream StockStream (symbol string, price float, volume int); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream#window.lengthBatch(2) " +
+                "select sum(volume) as totalVolume " +
+                "insert into OutputStream1; " +
+                "" +
+                "@info(name = 'query2') " +
+                "from StockStream#window.lengthBatch(2) " +
+                "select count() as total " +
+                "insert into OutputStream2; ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Object> results1 = collect(siddhiAppRuntime, "OutputStream1", new ArrayList<>());
+        AssertJUnit.assertEquals(0, countSharedWindowQueries(siddhiAppRuntime));
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 70f, 10});
+        inputHandler.send(new Object[]{"WSO2", 40f, 20});
+        inputHandler.send(new Object[]{"IBM", 60f, 30});
+        inputHandler.send(new Object[]{"WSO2", 80f, 40});
+        AssertJUnit.assertEquals(Arrays.asList(30L, 70L), results1);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testWindowSharingDisabled() throws InterruptedException {
+        log.info("SharedWindowTestCase test4");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:shareWindows('false') " +
+                "define stream StockStream (symbol string, price float, volume int); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream#window.length(2) " +
+                "select sum(volume) as totalVolume " +
+                "insert into OutputStream1; " +
+                "" +
+                "@info(name = 'query2') " +
+                "from StockStream#window.length(2) " +
+                "select count() as total " +
+                "insert into OutputStream2; ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Object> results1 = collect(siddhiAppRuntime, "OutputStream1", new ArrayList<>());
+        AssertJUnit.assertEquals(0, countSharedWindowQueries(siddhiAppRuntime));
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 70f, 10});
+        inputHandler.send(new Object[]{"WSO2", 40f, 20});
+        inputHandler.send(new Object[]{"IBM", 60f, 30});
+        AssertJUnit.assertEquals(Arrays.asList(10L, 30L, 50L), results1);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testSharedWindowRestoredAfterAddingQueries() throws CannotRestoreSiddhiAppStateException,
+            InterruptedException {
+        log.info("SharedWindowTestCase test5");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String queries = "" +
+                "@info(name = 'query1') " +
+                "from StockStream#window.length(3) " +
+                "select count() as total " +
+                "insert into OutputStream1; " +
+                "" +
+                "@info(name = 'query2') " +
+                "from StockStream#window.length(3) " +
+                "select sum(volume) as totalVolume " +
+                "insert into OutputStream2; ";
+        String siddhiApp = "" +
+                "@app:name('SharedWindowApp') " +
+                "@app:shareWindows('true') " +
+                "define stream StockStream (symbol string, price float, volume int); ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp + queries);
+        siddhiAppRuntime.start();
+        siddhiAppRuntime.getInputHandler("StockStream").send(new Object[]{"IBM", 70f, 10});
+        siddhiAppRuntime.getInputHandler("StockStream").send(new Object[]{"WSO2", 40f, 20});
+        byte[] snapshot = siddhiAppRuntime.snapshot();
+        siddhiAppRuntime.shutdown();
+
+        // Queries sharing another window are added in front of the existing queries
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp +
+                "@info(name = 'query3') " +
+                "from StockStream#window.length(5) " +
+                "select max(price) as maxPrice " +
+                "insert into OutputStream3; " +
+                "" +
+                "@info(name = 'query4') " +
+                "from StockStream#window.length(5) " +
+                "select min(price) as minPrice " +
+                "insert into OutputStream4; " + queries);
+        AssertJUnit.assertEquals(4, countSharedWindowQueries(siddhiAppRuntime));
+        List<Object> results1 = collect(siddhiAppRuntime, "OutputStream1", new ArrayList<>());
+        siddhiAppRuntime.start();
+        siddhiAppRuntime.restore(snapshot);
+        siddhiAppRuntime.getInputHandler("StockStream").send(new Object[]{"IBM", 60f, 30});
+        siddhiAppRuntime.getInputHandler("StockStream").send(new Object[]{"WSO2", 80f, 40});
+        AssertJUnit.assertEquals(Arrays.asList(3L, 3L), results1);
+        siddhiAppRuntime.shutdown();
+    }
+}
@@ -80,6 +80,10 @@ public abstract class Expression implements SiddhiElement {
         return new Variable(attributeName);
     }
 
+    public static BindVariable bindVariable(int index) {
+        return new BindVariable(index);
+    }
+
     public static Add add(Expression leftValue, Expression rightValue) {
         return new Add(leftValue, rightValue);
     }
@@ -471,6 +471,7 @@ math_operation
     |function_operation                           #basic_math_operation
     |constant_value                               #basic_math_operation
     |attribute_reference                          #basic_math_operation
+    |bind_variable                                #basic_math_operation
     ;
 
 function_operation
@@ -580,6 +581,10 @@ join
     ;
 
 
+bind_variable
+    :QUESTION
+    ;
+
 constant_value
     :bool_value
     |signed_double_value
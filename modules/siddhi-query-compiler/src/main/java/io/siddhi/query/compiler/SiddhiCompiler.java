@@ -45,13 +45,18 @@ import io.siddhi.query.api.execution.query.StoreQuery;
 import io.siddhi.query.api.expression.Expression;
 import io.siddhi.query.api.expression.constant.TimeConstant;
 import io.siddhi.query.compiler.exception.SiddhiParserException;
+import io.siddhi.query.compiler.internal.ParseTreeCache;
 import io.siddhi.query.compiler.internal.SiddhiErrorListener;
 import io.siddhi.query.compiler.internal.SiddhiQLBaseVisitorImpl;
-import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.antlr.v4.runtime.tree.ParseTree;
 
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -60,151 +65,55 @@ import java.util.regex.Pattern;
  */
 public class SiddhiCompiler {
 
-    public static SiddhiApp parse(String siddhiApp) {
-        CharStream input = CharStreams.fromString(siddhiApp);
-        SiddhiQLLexer lexer = new SiddhiQLLexer(input);
+    private static final int PARSE_CACHE_SIZE = Integer.getInteger("siddhi.compiler.parse.cache.size", 64);
+    private static final ParseTreeCache SIDDHI_APP_PARSE_TREES = new ParseTreeCache(PARSE_CACHE_SIZE);
+    private static final ParseTreeCache ON_DEMAND_QUERY_PARSE_TREES = new ParseTreeCache(PARSE_CACHE_SIZE);
+    private static final ThreadLocal<SiddhiQLLexer> LEXER = ThreadLocal.withInitial(() -> {
+        SiddhiQLLexer lexer = new SiddhiQLLexer(null);
         lexer.removeErrorListeners();
         lexer.addErrorListener(SiddhiErrorListener.INSTANCE);
+        return lexer;
+    });
+    private static final ThreadLocal<SiddhiQLParser> PARSER = ThreadLocal.withInitial(() -> new SiddhiQLParser(null));
 
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        SiddhiQLParser parser = new SiddhiQLParser(tokens);
-        //            parser.setErrorHandler(new BailErrorStrategy());
-        parser.removeErrorListeners();
-        parser.addErrorListener(SiddhiErrorListener.INSTANCE);
-        ParseTree tree = parser.parse();
-
-        SiddhiQLVisitor eval = new SiddhiQLBaseVisitorImpl();
-        return (SiddhiApp) eval.visit(tree);
+    public static SiddhiApp parse(String siddhiApp) {
+        return (SiddhiApp) visit(parseTree(siddhiApp, SiddhiQLParser::parse, SIDDHI_APP_PARSE_TREES));
     }
 
     public static StreamDefinition parseStreamDefinition(String streamDefinition) {
-        CharStream input = CharStreams.fromString(streamDefinition);
-        SiddhiQLLexer lexer = new SiddhiQLLexer(input);
-        lexer.removeErrorListeners();
-        lexer.addErrorListener(SiddhiErrorListener.INSTANCE);
-
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        SiddhiQLParser parser = new SiddhiQLParser(tokens);
-        parser.removeErrorListeners();
-        parser.addErrorListener(SiddhiErrorListener.INSTANCE);
-        ParseTree tree = parser.definition_stream_final();
-
-        SiddhiQLVisitor eval = new SiddhiQLBaseVisitorImpl();
-        return (StreamDefinition) eval.visit(tree);
+        return (StreamDefinition) visit(parseTree(streamDefinition, SiddhiQLParser::definition_stream_final, null));
     }
 
     public static TableDefinition parseTableDefinition(String tableDefinition) throws SiddhiParserException {
-        CharStream input = CharStreams.fromString(tableDefinition);
-        SiddhiQLLexer lexer = new SiddhiQLLexer(input);
-        lexer.removeErrorListeners();
-        lexer.addErrorListener(SiddhiErrorListener.INSTANCE);
-
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        SiddhiQLParser parser = new SiddhiQLParser(tokens);
-        parser.removeErrorListeners();
-        parser.addErrorListener(SiddhiErrorListener.INSTANCE);
-        ParseTree tree = parser.definition_table_final();
-
-        SiddhiQLVisitor eval = new SiddhiQLBaseVisitorImpl();
-        return (TableDefinition) eval.visit(tree);
+        return (TableDefinition) visit(parseTree(tableDefinition, SiddhiQLParser::definition_table_final, null));
     }
 
     public static AggregationDefinition parseAggregationDefinition(String aggregationDefinition)
             throws SiddhiParserException {
-        CharStream input = CharStreams.fromString(aggregationDefinition);
-        SiddhiQLLexer lexer = new SiddhiQLLexer(input);
-        lexer.removeErrorListeners();
-        lexer.addErrorListener(SiddhiErrorListener.INSTANCE);
-
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        SiddhiQLParser parser = new SiddhiQLParser(tokens);
-        parser.removeErrorListeners();
-        parser.addErrorListener(SiddhiErrorListener.INSTANCE);
-        ParseTree tree = parser.definition_aggregation_final();
-
-        SiddhiQLVisitor eval = new SiddhiQLBaseVisitorImpl();
-        return (AggregationDefinition) eval.visit(tree);
+        return (AggregationDefinition) visit(parseTree(aggregationDefinition,
+                SiddhiQLParser::definition_aggregation_final, null));
     }
 
     public static Partition parsePartition(String partition) throws SiddhiParserException {
-        CharStream input = CharStreams.fromString(partition);
-        SiddhiQLLexer lexer = new SiddhiQLLexer(input);
-        lexer.removeErrorListeners();
-        lexer.addErrorListener(SiddhiErrorListener.INSTANCE);
-
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        SiddhiQLParser parser = new SiddhiQLParser(tokens);
-        parser.removeErrorListeners();
-        parser.addErrorListener(SiddhiErrorListener.INSTANCE);
-        ParseTree tree = parser.partition_final();
-
-        SiddhiQLVisitor eval = new SiddhiQLBaseVisitorImpl();
-        return (Partition) eval.visit(tree);
+        return (Partition) visit(parseTree(partition, SiddhiQLParser::partition_final, null));
     }
 
     public static Query parseQuery(String query) throws SiddhiParserException {
-        CharStream input = CharStreams.fromString(query);
-        SiddhiQLLexer lexer = new SiddhiQLLexer(input);
-        lexer.removeErrorListeners();
-        lexer.addErrorListener(SiddhiErrorListener.INSTANCE);
-
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        SiddhiQLParser parser = new SiddhiQLParser(tokens);
-        parser.removeErrorListeners();
-        parser.addErrorListener(SiddhiErrorListener.INSTANCE);
-        ParseTree tree = parser.query_final();
-
-        SiddhiQLVisitor eval = new SiddhiQLBaseVisitorImpl();
-        return (Query) eval.visit(tree);
+        return (Query) visit(parseTree(query, SiddhiQLParser::query_final, null));
     }
 
     public static FunctionDefinition parseFunctionDefinition(String functionDefinition) throws SiddhiParserException {
-        CharStream input = CharStreams.fromString(functionDefinition);
-        SiddhiQLLexer lexer = new SiddhiQLLexer(input);
-        lexer.removeErrorListeners();
-        lexer.addErrorListener(SiddhiErrorListener.INSTANCE);
-
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        SiddhiQLParser parser = new SiddhiQLParser(tokens);
-        parser.removeErrorListeners();
-        parser.addErrorListener(SiddhiErrorListener.INSTANCE);
-        ParseTree tree = parser.definition_function_final();
-
-        SiddhiQLVisitor eval = new SiddhiQLBaseVisitorImpl();
-        return (FunctionDefinition) eval.visit(tree);
+        return (FunctionDefinition) visit(parseTree(functionDefinition,
+                SiddhiQLParser::definition_function_final, null));
     }
 
     public static TimeConstant parseTimeConstantDefinition(String timeConstantDefinition) throws SiddhiParserException {
-        CharStream input = CharStreams.fromString(timeConstantDefinition);
-        SiddhiQLLexer lexer = new SiddhiQLLexer(input);
-        lexer.removeErrorListeners();
-        lexer.addErrorListener(SiddhiErrorListener.INSTANCE);
-
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        SiddhiQLParser parser = new SiddhiQLParser(tokens);
-        parser.removeErrorListeners();
-        parser.addErrorListener(SiddhiErrorListener.INSTANCE);
-        ParseTree tree = parser.time_value();
-
-        SiddhiQLVisitor eval = new SiddhiQLBaseVisitorImpl();
-        return (TimeConstant) eval.visit(tree);
+        return (TimeConstant) visit(parseTree(timeConstantDefinition, SiddhiQLParser::time_value, null));
     }
 
     public static OnDemandQuery parseOnDemandQuery(String onDemandQueryString) throws SiddhiParserException {
-        CharStream input = CharStreams.fromString(onDemandQueryString);
-        SiddhiQLLexer lexer = new SiddhiQLLexer(input);
-        lexer.removeErrorListeners();
-        lexer.addErrorListener(SiddhiErrorListener.INSTANCE);
-
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        SiddhiQLParser parser = new SiddhiQLParser(tokens);
-        parser.removeErrorListeners();
-        parser.addErrorListener(SiddhiErrorListener.INSTANCE);
-        ParseTree tree = parser.store_query_final();
-
-        SiddhiQLVisitor eval = new SiddhiQLBaseVisitorImpl();
-        OnDemandQuery onDemandQuery = (OnDemandQuery) eval.visit(tree);
-        return onDemandQuery;
+        return (OnDemandQuery) visit(parseTree(onDemandQueryString, SiddhiQLParser::store_query_final,
+                ON_DEMAND_QUERY_PARSE_TREES));
     }
 
     public static StoreQuery parseStoreQuery(String storeQuery) throws SiddhiParserException {
@@ -212,23 +121,66 @@ public class SiddhiCompiler {
         return new StoreQuery(onDemandQuery);
     }
 
-
     public static Expression parseExpression(String expression) {
-        CharStream input = CharStreams.fromString(expression);
-        SiddhiQLLexer lexer = new SiddhiQLLexer(input);
-        lexer.removeErrorListeners();
-        lexer.addErrorListener(SiddhiErrorListener.INSTANCE);
+        return (Expression) visit(parseTree(expression, SiddhiQLParser::expression, null));
+    }
 
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        SiddhiQLParser parser = new SiddhiQLParser(tokens);
-        parser.removeErrorListeners();
-        parser.addErrorListener(SiddhiErrorListener.INSTANCE);
-        ParseTree tree = parser.expression();
+    /**
+     * Clear the cached parse trees of Siddhi apps and on-demand queries.
+     */
+    public static void clearParseCache() {
+        SIDDHI_APP_PARSE_TREES.clear();
+        ON_DEMAND_QUERY_PARSE_TREES.clear();
+    }
 
-        SiddhiQLVisitor eval = new SiddhiQLBaseVisitorImpl();
-        return (Expression) eval.visit(tree);
+    /**
+     * Parse the given content with the given rule. The content is first parsed in SLL prediction mode, bailing out on
+     * the first syntax error, and only reparsed in full LL prediction mode when that fails, such that syntax errors
+     * are reported as before. Lexer and parser instances are reused per thread, while the DFA cache of the generated
+     * parser is shared by all of them.
+     */
+    private static ParseTree parseTree(String content, Function<SiddhiQLParser, ParseTree> rule,
+                                       ParseTreeCache parseTreeCache) {
+        if (parseTreeCache != null) {
+            ParseTree tree = parseTreeCache.get(content);
+            if (tree != null) {
+                return tree;
+            }
+        }
+        SiddhiQLLexer lexer = LEXER.get();
+        SiddhiQLParser parser = PARSER.get();
+        try {
+            lexer.setInputStream(CharStreams.fromString(content));
+            CommonTokenStream tokens = new CommonTokenStream(lexer);
+            parser.setTokenStream(tokens);
+            parser.removeErrorListeners();
+            parser.setErrorHandler(new BailErrorStrategy());
+            parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+            ParseTree tree;
+            try {
+                tree = rule.apply(parser);
+            } catch (ParseCancellationException e) {
+                tokens.seek(0);
+                parser.reset();
+                parser.addErrorListener(SiddhiErrorListener.INSTANCE);
+                parser.setErrorHandler(new DefaultErrorStrategy());
+                parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+                tree = rule.apply(parser);
+            }
+            if (parseTreeCache != null) {
+                parseTreeCache.put(content, tree);
+            }
+            return tree;
+        } finally {
+            parser.setTokenStream(null);
+            lexer.setInputStream(null);
+        }
     }
 
+    private static Object visit(ParseTree tree) {
+        SiddhiQLVisitor eval = new SiddhiQLBaseVisitorImpl();
+        return eval.visit(tree);
+    }
 
     public static String updateVariables(String siddhiApp) {
         String updatedSiddhiApp = siddhiApp;
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.query.compiler.internal;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least recently used cache of parse trees keyed by the content they were parsed from. Parse trees are not
+ * modified once parsed, hence they can be visited again to build new query API objects for the same content.
+ */
+public class ParseTreeCache {
+
+    private final int maxSize;
+    private final Map<String, ParseTree> parseTrees;
+
+    public ParseTreeCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.parseTrees = new LinkedHashMap<String, ParseTree>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ParseTree> eldest) {
+                return size() > ParseTreeCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized ParseTree get(String content) {
+        return parseTrees.get(content);
+    }
+
+    public synchronized void put(String content, ParseTree parseTree) {
+        if (maxSize > 0) {
+            parseTrees.put(content, parseTree);
+        }
+    }
+
+    public synchronized int size() {
+        return parseTrees.size();
+    }
+
+    public synchronized void clear() {
+        parseTrees.clear();
+    }
+}
@@ -72,6 +72,7 @@ import io.siddhi.query.api.execution.query.selection.OrderByAttribute;
 import io.siddhi.query.api.execution.query.selection.OutputAttribute;
 import io.siddhi.query.api.execution.query.selection.Selector;
 import io.siddhi.query.api.expression.AttributeFunction;
+import io.siddhi.query.api.expression.BindVariable;
 import io.siddhi.query.api.expression.Expression;
 import io.siddhi.query.api.expression.Variable;
 import io.siddhi.query.api.expression.condition.Compare;
@@ -89,6 +90,8 @@ import io.siddhi.query.compiler.SiddhiQLParser;
 import io.siddhi.query.compiler.exception.SiddhiParserException;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.misc.NotNull;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.Trees;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -101,6 +104,7 @@ import java.util.Set;
 public class SiddhiQLBaseVisitorImpl extends SiddhiQLBaseVisitor {
 
     private Set<String> activeStreams = new HashSet<String>();
+    private List<ParseTree> bindVariableNodes;
 
     /**
      * {@inheritDoc}
@@ -2146,11 +2150,33 @@ public class SiddhiQLBaseVisitorImpl extends SiddhiQLBaseVisitor {
             return visit(ctx.null_check());
         } else if (ctx.function_operation() != null) {
             return visit(ctx.function_operation());
+        } else if (ctx.bind_variable() != null) {
+            return visit(ctx.bind_variable());
         } else {
             throw newSiddhiParserException(ctx);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Bind variables are indexed in the order they appear in the parse tree.</p>
+     *
+     * @param ctx
+     */
+    @Override
+    public BindVariable visitBind_variable(@NotNull SiddhiQLParser.Bind_variableContext ctx) {
+        if (bindVariableNodes == null) {
+            ParseTree root = ctx;
+            while (root.getParent() != null) {
+                root = root.getParent();
+            }
+            bindVariableNodes = new ArrayList<>(Trees.findAllRuleNodes(root, SiddhiQLParser.RULE_bind_variable));
+        }
+        BindVariable bindVariable = Expression.bindVariable(bindVariableNodes.indexOf(ctx));
+        populateQueryContext(bindVariable, ctx);
+        return bindVariable;
+    }
+
     /**
      * {@inheritDoc}
      * <p>The default implementation returns the result of calling
@@ -166,6 +166,30 @@ public class QueryStoreTestCase {
 
     }
 
-}
+    @Test
+    public void test5() {
+        OnDemandQuery query = SiddhiCompiler.parseOnDemandQuery("" +
+                "from StockTable " +
+                "on price > ? and symbol == ? " +
+                "select symbol, price * ? as price ;"
+        );
+        AssertJUnit.assertNotNull(query);
 
+        OnDemandQuery api = OnDemandQuery.query().
+                from(
+                        InputStore.store("StockTable").
+                                on(Expression.and(
+                                        Expression.compare(Expression.variable("price"),
+                                                Compare.Operator.GREATER_THAN, Expression.bindVariable(0)),
+                                        Expression.compare(Expression.variable("symbol"),
+                                                Compare.Operator.EQUAL, Expression.bindVariable(1))))).
+                select(
+                        Selector.selector().
+                                select(Expression.variable("symbol")).
+                                select("price", Expression.multiply(Expression.variable("price"),
+                                        Expression.bindVariable(2)))
+                );
+        AssertJUnit.assertEquals(api, query);
+    }
 
+}
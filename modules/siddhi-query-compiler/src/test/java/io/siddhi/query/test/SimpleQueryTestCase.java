@@ -18,6 +18,7 @@
 
 package io.siddhi.query.test;
 
+import io.siddhi.query.api.SiddhiApp;
 import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.definition.FunctionDefinition;
 import io.siddhi.query.api.exception.DuplicateAttributeException;
@@ -866,6 +867,29 @@ public class SimpleQueryTestCase {
         SiddhiCompiler.parse(cseEventStream);
     }
 
+    @Test
+    public void testCompilerParseCache() {
+        String siddhiAppString = "define stream StockStream (symbol string, price float); " +
+                "from StockStream[price > 10] select * insert into OutputStream;";
+
+        SiddhiApp siddhiApp = SiddhiCompiler.parse(siddhiAppString);
+        SiddhiApp cachedSiddhiApp = SiddhiCompiler.parse(siddhiAppString);
+        AssertJUnit.assertEquals(siddhiApp, cachedSiddhiApp);
+        AssertJUnit.assertNotSame(siddhiApp.getExecutionElementList().get(0),
+                cachedSiddhiApp.getExecutionElementList().get(0));
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                SiddhiCompiler.parse("define stream StockStream (symbol string, price float); " +
+                        "from StockStream[price > ] select * insert into OutputStream;");
+                AssertJUnit.fail("Invalid Siddhi app parsed");
+            } catch (SiddhiParserException e) {
+                AssertJUnit.assertTrue(e.getMessageWithOutContext().startsWith("Syntax error in SiddhiQL"));
+                AssertJUnit.assertEquals(1, e.getQueryContextStartIndex()[0]);
+            }
+        }
+    }
+
     @Test
     public void testFunctionDefinition() throws SiddhiParserException {
         FunctionDefinition functionDefinition = SiddhiCompiler.